@@ -99,7 +99,12 @@ public enum ErrorType {
     /**
      * The request cannot be processed.
      */
-    UNPROCESSABLE_REQUEST("The request cannot be processed");
+    UNPROCESSABLE_REQUEST("The request cannot be processed"),
+
+    /**
+     * The service is temporarily unable to handle the request.
+     */
+    SERVICE_UNAVAILABLE("Service is unavailable");
 
     /**
      * The text type value.
@@ -0,0 +1,81 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.stats;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Summary of flow RTT samples collected for one flow direction during one aggregation window. Latencies and the
+ * timestamp are in nanoseconds, the timestamp is the time of the latest sample in the window.
+ */
+@Value
+@Builder
+public class FlowRttStatsSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("flow_id")
+    String flowId;
+
+    @JsonProperty("direction")
+    String direction;
+
+    @JsonProperty("timestamp")
+    long timestamp;
+
+    @JsonProperty("count")
+    int count;
+
+    @JsonProperty("min")
+    long min;
+
+    @JsonProperty("avg")
+    long avg;
+
+    @JsonProperty("max")
+    long max;
+
+    @JsonProperty("p95")
+    long p95;
+
+    @JsonProperty("p99")
+    long p99;
+
+    @JsonCreator
+    public FlowRttStatsSummary(@JsonProperty("flow_id") String flowId,
+                               @JsonProperty("direction") String direction,
+                               @JsonProperty("timestamp") long timestamp,
+                               @JsonProperty("count") int count,
+                               @JsonProperty("min") long min,
+                               @JsonProperty("avg") long avg,
+                               @JsonProperty("max") long max,
+                               @JsonProperty("p95") long p95,
+                               @JsonProperty("p99") long p99) {
+        this.flowId = flowId;
+        this.direction = direction;
+        this.timestamp = timestamp;
+        this.count = count;
+        this.min = min;
+        this.avg = avg;
+        this.max = max;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+}
@@ -0,0 +1,84 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.payload.flow;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Represents a row of the diverse group overlapping matrix - intersection stats between the flow's primary or
+ * protected path and the rest of the group, and between the path and each path of other flows in the group.
+ */
+@Data
+@NoArgsConstructor
+public class DiverseGroupOverlapPayload implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("flowid")
+    private String flowId;
+
+    @JsonProperty("protected_path")
+    private boolean protectedPath;
+
+    @JsonProperty("overlapping_segments")
+    private OverlappingSegmentsStats overlappingSegments;
+
+    @JsonProperty("other_paths")
+    private List<PathOverlapPayload> otherPaths;
+
+    @Builder
+    @JsonCreator
+    public DiverseGroupOverlapPayload(
+            @JsonProperty("flowid") String flowId,
+            @JsonProperty("protected_path") boolean protectedPath,
+            @JsonProperty("overlapping_segments") OverlappingSegmentsStats overlappingSegments,
+            @JsonProperty("other_paths") List<PathOverlapPayload> otherPaths) {
+        this.flowId = flowId;
+        this.protectedPath = protectedPath;
+        this.overlappingSegments = overlappingSegments;
+        this.otherPaths = otherPaths;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class PathOverlapPayload implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @JsonProperty("flowid")
+        private String flowId;
+
+        @JsonProperty("protected_path")
+        private boolean protectedPath;
+
+        @JsonProperty("overlapping_segments")
+        private OverlappingSegmentsStats overlappingSegments;
+
+        @JsonCreator
+        public PathOverlapPayload(@JsonProperty("flowid") String flowId,
+                                  @JsonProperty("protected_path") boolean protectedPath,
+                                  @JsonProperty("overlapping_segments") OverlappingSegmentsStats overlappingSegments) {
+            this.flowId = flowId;
+            this.protectedPath = protectedPath;
+            this.overlappingSegments = overlappingSegments;
+        }
+    }
+}
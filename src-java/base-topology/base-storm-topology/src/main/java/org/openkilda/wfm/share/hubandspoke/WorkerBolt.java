@@ -28,7 +28,9 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -119,6 +121,15 @@ public abstract class WorkerBolt extends CoordinatedBolt {
      * @param values response to be sent to the hub.
      */
     protected void emitResponseToHub(Tuple input, Values values) {
+        emitResponsesToHub(input, Collections.singletonList(values));
+    }
+
+    /**
+     * Send several responses for one pending request to the hub bolt, the request is completed by this call.
+     * @param input request or response tuple (use key to lookup original request).
+     * @param responses responses to be sent to the hub.
+     */
+    protected void emitResponsesToHub(Tuple input, List<Values> responses) {
         String key;
         try {
             key = pullKey(input);
@@ -131,8 +142,10 @@ public abstract class WorkerBolt extends CoordinatedBolt {
         if (processingRequest == null) {
             throw new IllegalStateException(format("Attempt to send response for non pending task with id %s", key));
         }
-        getOutput().emitDirect(processingRequest.getSourceTask(), workerConfig.getStreamToHub(), getCurrentTuple(),
-                               values);
+        for (Values values : responses) {
+            getOutput().emitDirect(processingRequest.getSourceTask(), workerConfig.getStreamToHub(), getCurrentTuple(),
+                                   values);
+        }
     }
 
     protected abstract void onHubRequest(Tuple input) throws Exception;
@@ -0,0 +1,270 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.service;
+
+import org.openkilda.messaging.payload.flow.OverlappingSegmentsStats;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.share.service.IntersectionComputer.Edge;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Materialised overlapping statistics of the flow paths in a diverse flow group.
+ *
+ * <p>Flow paths are not changed in place - a reroute allocates new paths with new path ids. So the footprint (edges
+ * and switches) of a path pair is computed once, and on each update only the members whose path ids have changed
+ * are re-indexed. Pairwise statistics are computed on the first request and kept until one of the pairs leaves the
+ * group.
+ */
+public class DiverseGroupOverlapIndex {
+    private final Map<String, Member> members = new HashMap<>();
+    private final Map<PathPair, Footprint> footprints = new HashMap<>();
+
+    private final Map<Edge, Integer> edgeUsage = new HashMap<>();
+    private final Map<SwitchId, Integer> switchUsage = new HashMap<>();
+
+    private final Map<PathPair, OverlappingSegmentsStats> groupStats = new HashMap<>();
+    private final Map<PathPair, Map<PathPair, OverlappingSegmentsStats>> pairStats = new HashMap<>();
+
+    /**
+     * Synchronise the index with the current set of group members. Only added, removed and rerouted members are
+     * processed.
+     *
+     * @return true if the group has been changed since the previous update.
+     */
+    public boolean update(Collection<Flow> flows) {
+        Map<String, Flow> actual = new HashMap<>();
+        for (Flow flow : flows) {
+            actual.put(flow.getFlowId(), flow);
+        }
+
+        List<Member> outdated = new ArrayList<>();
+        for (Member entry : members.values()) {
+            Flow flow = actual.get(entry.getFlowId());
+            if (flow == null || !entry.isActual(flow)) {
+                outdated.add(entry);
+            }
+        }
+        outdated.forEach(this::removeMember);
+
+        boolean isChanged = !outdated.isEmpty();
+        for (Flow flow : flows) {
+            if (!members.containsKey(flow.getFlowId())) {
+                addMember(flow);
+                isChanged = true;
+            }
+        }
+
+        if (isChanged) {
+            // any member change affects the "overlapping with the rest of the group" counters
+            groupStats.clear();
+        }
+        return isChanged;
+    }
+
+    public Collection<Member> getMembers() {
+        return Collections.unmodifiableCollection(members.values());
+    }
+
+    /**
+     * Returns {@link OverlappingSegmentsStats} between the path pair and the paths of all other flows in the group.
+     */
+    public OverlappingSegmentsStats getOverlappingStats(PathPair target) {
+        return groupStats.computeIfAbsent(target, this::computeGroupStats);
+    }
+
+    /**
+     * Returns {@link OverlappingSegmentsStats} between the target path pair and the other path pair.
+     */
+    public OverlappingSegmentsStats getOverlappingStats(PathPair target, PathPair other) {
+        return pairStats.computeIfAbsent(target, ignore -> new HashMap<>())
+                .computeIfAbsent(other, ignore -> computePairStats(target, other));
+    }
+
+    private void addMember(Flow flow) {
+        Member entry = new Member(flow);
+        members.put(entry.getFlowId(), entry);
+
+        Set<Edge> edges = new HashSet<>();
+        Set<SwitchId> switches = new HashSet<>();
+        for (PathPair pair : entry.getPairs()) {
+            Footprint footprint = Footprint.of(flow, pair);
+            footprints.put(pair, footprint);
+            edges.addAll(footprint.getEdges());
+            switches.addAll(footprint.getSwitches());
+        }
+        edges.forEach(edge -> edgeUsage.merge(edge, 1, Integer::sum));
+        switches.forEach(sw -> switchUsage.merge(sw, 1, Integer::sum));
+    }
+
+    private void removeMember(Member entry) {
+        members.remove(entry.getFlowId());
+
+        Set<Edge> edges = new HashSet<>();
+        Set<SwitchId> switches = new HashSet<>();
+        for (PathPair pair : entry.getPairs()) {
+            Footprint footprint = footprints.remove(pair);
+            if (footprint != null) {
+                edges.addAll(footprint.getEdges());
+                switches.addAll(footprint.getSwitches());
+            }
+            pairStats.remove(pair);
+            pairStats.values().forEach(row -> row.remove(pair));
+        }
+        edges.forEach(edge -> edgeUsage.computeIfPresent(edge, (key, count) -> count > 1 ? count - 1 : null));
+        switches.forEach(sw -> switchUsage.computeIfPresent(sw, (key, count) -> count > 1 ? count - 1 : null));
+    }
+
+    private OverlappingSegmentsStats computeGroupStats(PathPair target) {
+        Footprint footprint = footprints.getOrDefault(target, Footprint.EMPTY);
+
+        // the flow owning the target pair is counted in usage once, so the rest of the group uses entries with
+        // the usage counter greater than 1
+        int edgesOverlap = 0;
+        for (Edge edge : footprint.getEdges()) {
+            if (1 < edgeUsage.getOrDefault(edge, 0)) {
+                edgesOverlap++;
+            }
+        }
+        int switchesOverlap = 0;
+        for (SwitchId sw : footprint.getSwitches()) {
+            if (1 < switchUsage.getOrDefault(sw, 0)) {
+                switchesOverlap++;
+            }
+        }
+        return footprint.makeStats(edgesOverlap, switchesOverlap);
+    }
+
+    private OverlappingSegmentsStats computePairStats(PathPair target, PathPair other) {
+        Footprint targetFootprint = footprints.getOrDefault(target, Footprint.EMPTY);
+        Footprint otherFootprint = footprints.getOrDefault(other, Footprint.EMPTY);
+        return targetFootprint.makeStats(
+                countCommon(targetFootprint.getEdges(), otherFootprint.getEdges()),
+                countCommon(targetFootprint.getSwitches(), otherFootprint.getSwitches()));
+    }
+
+    private static <T> int countCommon(Set<T> left, Set<T> right) {
+        Set<T> small = left.size() <= right.size() ? left : right;
+        Set<T> big = small == left ? right : left;
+        int count = 0;
+        for (T entry : small) {
+            if (big.contains(entry)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Forward and reverse path ids of a flow's primary or protected path.
+     */
+    @Value
+    public static class PathPair {
+        PathId forward;
+        PathId reverse;
+
+        public static PathPair primary(Flow flow) {
+            return new PathPair(flow.getForwardPathId(), flow.getReversePathId());
+        }
+
+        /**
+         * Returns the protected path pair of the flow or null if the flow has no protected paths.
+         */
+        public static PathPair protectedPair(Flow flow) {
+            if (flow.getProtectedForwardPathId() == null && flow.getProtectedReversePathId() == null) {
+                return null;
+            }
+            return new PathPair(flow.getProtectedForwardPathId(), flow.getProtectedReversePathId());
+        }
+    }
+
+    /**
+     * Indexed group member.
+     */
+    @Getter
+    public static class Member {
+        private final String flowId;
+        private final PathPair primary;
+        private final PathPair protectedPair;
+
+        Member(Flow flow) {
+            flowId = flow.getFlowId();
+            primary = PathPair.primary(flow);
+            protectedPair = PathPair.protectedPair(flow);
+        }
+
+        List<PathPair> getPairs() {
+            return protectedPair == null ? Collections.singletonList(primary) : Arrays.asList(primary, protectedPair);
+        }
+
+        boolean isActual(Flow flow) {
+            return primary.equals(PathPair.primary(flow))
+                    && Objects.equals(protectedPair, PathPair.protectedPair(flow));
+        }
+    }
+
+    @Value
+    private static class Footprint {
+        static final Footprint EMPTY = new Footprint(Collections.emptySet(), Collections.emptySet());
+
+        Set<Edge> edges;
+        Set<SwitchId> switches;
+
+        static Footprint of(Flow flow, PathPair pair) {
+            Set<Edge> edges = new HashSet<>();
+            Set<SwitchId> switches = new HashSet<>();
+            for (PathId pathId : new PathId[]{pair.getForward(), pair.getReverse()}) {
+                FlowPath path = pathId == null ? null : flow.getPath(pathId).orElse(null);
+                if (path == null) {
+                    continue;
+                }
+                for (PathSegment segment : path.getSegments()) {
+                    Edge edge = Edge.fromPathSegment(segment);
+                    edges.add(edge);
+                    switches.add(edge.getSrcSwitch());
+                    switches.add(edge.getDestSwitch());
+                }
+            }
+            return new Footprint(edges, switches);
+        }
+
+        OverlappingSegmentsStats makeStats(int edgesOverlap, int switchesOverlap) {
+            return new OverlappingSegmentsStats(
+                    edgesOverlap, switchesOverlap,
+                    percent(edgesOverlap, edges.size()), percent(switchesOverlap, switches.size()));
+        }
+
+        private static int percent(int n, int from) {
+            return (int) ((n * 100.0f) / from);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.payload.flow.OverlappingSegmentsStats;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.share.flow.TestFlowBuilder;
+import org.openkilda.wfm.share.service.DiverseGroupOverlapIndex.PathPair;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class DiverseGroupOverlapIndexTest {
+    private static final SwitchId SWITCH_ID_A = new SwitchId("00:00:00:00:00:00:00:0A");
+    private static final SwitchId SWITCH_ID_B = new SwitchId("00:00:00:00:00:00:00:0B");
+    private static final SwitchId SWITCH_ID_C = new SwitchId("00:00:00:00:00:00:00:0C");
+    private static final SwitchId SWITCH_ID_D = new SwitchId("00:00:00:00:00:00:00:0D");
+
+    private static final String FLOW_ID = "flow-id";
+    private static final String FLOW_ID2 = "new-flow-id";
+
+    private static final PathId PATH_ID = new PathId("old-path");
+    private static final PathId PATH_ID_REVERSE = new PathId("old-path-reverse");
+    private static final PathId NEW_PATH_ID = new PathId("new-path");
+    private static final PathId NEW_PATH_ID_REVERSE = new PathId("new-path-reverse");
+    private static final PathId PROTECTED_PATH_ID = new PathId("protected-path");
+    private static final PathId PROTECTED_PATH_ID_REVERSE = new PathId("protected-path-reverse");
+    private static final PathId REROUTED_PATH_ID = new PathId("rerouted-path");
+    private static final PathId REROUTED_PATH_ID_REVERSE = new PathId("rerouted-path-reverse");
+
+    private static final OverlappingSegmentsStats ZERO_STATS =
+            new OverlappingSegmentsStats(0, 0, 0, 0);
+
+    private Flow flow;
+    private Flow flow2;
+
+    @Before
+    public void setup() {
+        flow = new TestFlowBuilder(FLOW_ID)
+                .srcSwitch(makeSwitch(SWITCH_ID_A))
+                .destSwitch(makeSwitch(SWITCH_ID_C))
+                .build();
+        setPrimaryPaths(flow, PATH_ID, PATH_ID_REVERSE, SWITCH_ID_B);
+
+        flow2 = new TestFlowBuilder(FLOW_ID2)
+                .srcSwitch(makeSwitch(SWITCH_ID_A))
+                .destSwitch(makeSwitch(SWITCH_ID_C))
+                .build();
+    }
+
+    @Test
+    public void noGroupIntersectionsInOneFlow() {
+        DiverseGroupOverlapIndex index = new DiverseGroupOverlapIndex();
+        assertTrue(index.update(Collections.singletonList(flow)));
+
+        assertEquals(ZERO_STATS, index.getOverlappingStats(PathPair.primary(flow)));
+    }
+
+    @Test
+    public void fullIntersection() {
+        setPrimaryPaths(flow2, NEW_PATH_ID, NEW_PATH_ID_REVERSE, SWITCH_ID_B);
+
+        DiverseGroupOverlapIndex index = new DiverseGroupOverlapIndex();
+        index.update(Lists.newArrayList(flow, flow2));
+
+        OverlappingSegmentsStats expected = new OverlappingSegmentsStats(2, 3, 100, 100);
+        assertEquals(expected, index.getOverlappingStats(PathPair.primary(flow)));
+        assertEquals(expected, index.getOverlappingStats(PathPair.primary(flow), PathPair.primary(flow2)));
+    }
+
+    @Test
+    public void partialIntersection() {
+        setPrimaryPaths(flow2, NEW_PATH_ID, NEW_PATH_ID_REVERSE, SWITCH_ID_D);
+
+        DiverseGroupOverlapIndex index = new DiverseGroupOverlapIndex();
+        index.update(Lists.newArrayList(flow, flow2));
+
+        OverlappingSegmentsStats expected = new OverlappingSegmentsStats(0, 2, 0, 66);
+        assertEquals(expected, index.getOverlappingStats(PathPair.primary(flow)));
+        assertEquals(expected, index.getOverlappingStats(PathPair.primary(flow), PathPair.primary(flow2)));
+    }
+
+    @Test
+    public void shouldNotIntersectProtectedPathOfSameFlow() {
+        setProtectedPaths(flow, SWITCH_ID_B);
+
+        DiverseGroupOverlapIndex index = new DiverseGroupOverlapIndex();
+        index.update(Collections.singletonList(flow));
+
+        assertEquals(ZERO_STATS, index.getOverlappingStats(PathPair.primary(flow)));
+        assertEquals(ZERO_STATS, index.getOverlappingStats(PathPair.protectedPair(flow)));
+    }
+
+    @Test
+    public void shouldIntersectWithProtectedPathOfOtherFlow() {
+        setPrimaryPaths(flow2, NEW_PATH_ID, NEW_PATH_ID_REVERSE, SWITCH_ID_D);
+        setProtectedPaths(flow2, SWITCH_ID_B);
+
+        DiverseGroupOverlapIndex index = new DiverseGroupOverlapIndex();
+        index.update(Lists.newArrayList(flow, flow2));
+
+        assertEquals(new OverlappingSegmentsStats(2, 3, 100, 100),
+                index.getOverlappingStats(PathPair.primary(flow)));
+        assertEquals(new OverlappingSegmentsStats(0, 2, 0, 66),
+                index.getOverlappingStats(PathPair.primary(flow), PathPair.primary(flow2)));
+        assertEquals(new OverlappingSegmentsStats(2, 3, 100, 100),
+                index.getOverlappingStats(PathPair.primary(flow), PathPair.protectedPair(flow2)));
+    }
+
+    @Test
+    public void shouldReindexReroutedFlow() {
+        setPrimaryPaths(flow2, NEW_PATH_ID, NEW_PATH_ID_REVERSE, SWITCH_ID_B);
+
+        DiverseGroupOverlapIndex index = new DiverseGroupOverlapIndex();
+        index.update(Lists.newArrayList(flow, flow2));
+        assertEquals(new OverlappingSegmentsStats(2, 3, 100, 100),
+                index.getOverlappingStats(PathPair.primary(flow)));
+
+        assertFalse(index.update(Lists.newArrayList(flow, flow2)));
+
+        setPrimaryPaths(flow2, REROUTED_PATH_ID, REROUTED_PATH_ID_REVERSE, SWITCH_ID_D);
+        assertTrue(index.update(Lists.newArrayList(flow, flow2)));
+        assertEquals(new OverlappingSegmentsStats(0, 2, 0, 66),
+                index.getOverlappingStats(PathPair.primary(flow)));
+    }
+
+    @Test
+    public void shouldForgetRemovedFlow() {
+        setPrimaryPaths(flow2, NEW_PATH_ID, NEW_PATH_ID_REVERSE, SWITCH_ID_B);
+
+        DiverseGroupOverlapIndex index = new DiverseGroupOverlapIndex();
+        index.update(Lists.newArrayList(flow, flow2));
+        assertTrue(index.update(Collections.singletonList(flow)));
+
+        assertEquals(1, index.getMembers().size());
+        assertEquals(ZERO_STATS, index.getOverlappingStats(PathPair.primary(flow)));
+        assertEquals(ZERO_STATS, index.getOverlappingStats(
+                PathPair.primary(flow), new PathPair(NEW_PATH_ID, NEW_PATH_ID_REVERSE)));
+    }
+
+    private void setPrimaryPaths(Flow target, PathId forwardId, PathId reverseId, SwitchId transit) {
+        target.addPaths(buildPath(forwardId, SWITCH_ID_A, transit, SWITCH_ID_C, 1, 2),
+                buildPath(reverseId, SWITCH_ID_C, transit, SWITCH_ID_A, 2, 1));
+        target.setForwardPathId(forwardId);
+        target.setReversePathId(reverseId);
+    }
+
+    private void setProtectedPaths(Flow target, SwitchId transit) {
+        target.addPaths(buildPath(PROTECTED_PATH_ID, SWITCH_ID_A, transit, SWITCH_ID_C, 1, 2),
+                buildPath(PROTECTED_PATH_ID_REVERSE, SWITCH_ID_C, transit, SWITCH_ID_A, 2, 1));
+        target.setProtectedForwardPathId(PROTECTED_PATH_ID);
+        target.setProtectedReversePathId(PROTECTED_PATH_ID_REVERSE);
+    }
+
+    private FlowPath buildPath(PathId pathId, SwitchId src, SwitchId transit, SwitchId dst,
+                               int srcPort, int dstPort) {
+        return FlowPath.builder()
+                .pathId(pathId)
+                .srcSwitch(makeSwitch(src))
+                .destSwitch(makeSwitch(dst))
+                .segments(Lists.newArrayList(
+                        buildPathSegment(pathId, src, transit, srcPort, srcPort),
+                        buildPathSegment(pathId, transit, dst, dstPort, dstPort)))
+                .build();
+    }
+
+    private PathSegment buildPathSegment(PathId pathId, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort) {
+        return PathSegment.builder()
+                .pathId(pathId)
+                .srcSwitch(makeSwitch(srcDpid))
+                .destSwitch(makeSwitch(dstDpid))
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .build();
+    }
+
+    private Switch makeSwitch(SwitchId switchId) {
+        return Switch.builder().switchId(switchId).build();
+    }
+}
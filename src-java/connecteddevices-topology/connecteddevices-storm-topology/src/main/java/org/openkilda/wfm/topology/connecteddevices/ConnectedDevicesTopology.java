@@ -29,6 +29,7 @@ import org.apache.storm.topology.TopologyBuilder;
 
 public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesTopologyConfig> {
     public static final String CONNECTED_DEVICES_SPOUT_ID = "connected-devices-spout";
+    public static final String FLOW_NOTIFY_SPOUT_ID = "flow-notify-spout";
     public static final String PACKET_BOLT_ID = "packet-bolt";
 
     public ConnectedDevicesTopology(LaunchEnvironment env) {
@@ -61,14 +62,19 @@ public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesT
     }
 
     private void createPacketBolt(TopologyBuilder builder, PersistenceManager persistenceManager) {
-        PacketBolt routerBolt = new PacketBolt(persistenceManager, ZooKeeperSpout.SPOUT_ID);
+        ConnectedDevicesTopologyConfig config = getConfig();
+        PacketBolt routerBolt = new PacketBolt(persistenceManager, config.getFlowIndexTtl(), config.getCacheSize(),
+                config.getLastSeenFlushInterval(), ZooKeeperSpout.SPOUT_ID);
+        // each bolt instance keeps own flow index, so all of them must receive flow notifications
         declareBolt(builder, routerBolt, PACKET_BOLT_ID)
                 .shuffleGrouping(CONNECTED_DEVICES_SPOUT_ID)
+                .allGrouping(FLOW_NOTIFY_SPOUT_ID)
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
     }
 
     private void createSpout(TopologyBuilder builder) {
         declareKafkaSpout(builder, topologyConfig.getKafkaTopoConnectedDevicesTopic(), CONNECTED_DEVICES_SPOUT_ID);
+        declareKafkaSpout(builder, topologyConfig.getKafkaFlowHsNotifyTopic(), FLOW_NOTIFY_SPOUT_ID);
     }
 
     private void createZkBolt(TopologyBuilder builder) {
@@ -18,6 +18,10 @@ package org.openkilda.wfm.topology.connecteddevices;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import javax.validation.constraints.Min;
 
 @Configuration
 public interface ConnectedDevicesTopologyConfig extends AbstractTopologyConfig {
@@ -25,4 +29,23 @@ public interface ConnectedDevicesTopologyConfig extends AbstractTopologyConfig {
     default String getKafkaTopoConnectedDevicesTopic() {
         return getKafkaTopics().getTopoConnectedDevicesTopic();
     }
+
+    default String getKafkaFlowHsNotifyTopic() {
+        return getKafkaTopics().getFlowHsFlowMonitoringNotifyTopic();
+    }
+
+    @Key("connected.devices.flow.index.ttl")
+    @Default("600")
+    @Min(1)
+    int getFlowIndexTtl();
+
+    @Key("connected.devices.cache.size")
+    @Default("100000")
+    @Min(1)
+    int getCacheSize();
+
+    @Key("connected.devices.last.seen.flush.interval")
+    @Default("5")
+    @Min(1)
+    int getLastSeenFlushInterval();
 }
@@ -17,13 +17,16 @@ package org.openkilda.wfm.topology.connecteddevices.bolts;
 
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
+import org.openkilda.bluegreen.LifecycleEvent;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.ArpInfoData;
 import org.openkilda.messaging.info.event.LldpInfoData;
+import org.openkilda.messaging.info.flow.UpdateFlowInfo;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
@@ -34,24 +37,40 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Slf4j
 public class PacketBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
+    private final int flowIndexTtl;
+    private final int cacheSize;
+    private final int lastSeenFlushInterval;
     private transient PacketService packetService;
 
-    public PacketBolt(PersistenceManager persistenceManager, String lifeCycleEventSourceComponent) {
+    public PacketBolt(PersistenceManager persistenceManager, int flowIndexTtl, int cacheSize,
+                      int lastSeenFlushInterval, String lifeCycleEventSourceComponent) {
         super(lifeCycleEventSourceComponent);
         this.persistenceManager = persistenceManager;
+        this.flowIndexTtl = flowIndexTtl;
+        this.cacheSize = cacheSize;
+        this.lastSeenFlushInterval = lastSeenFlushInterval;
     }
 
     @Override
     protected void init() {
-        packetService = new PacketService(persistenceManager);
+        packetService = new PacketService(persistenceManager, Duration.ofSeconds(flowIndexTtl), cacheSize);
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
+        if (TupleUtils.isTick(input)) {
+            packetService.flushLastSeenUpdates();
+            return;
+        }
+
         if (active) {
             Message message = pullValue(input, FIELD_ID_PAYLOAD, Message.class);
 
@@ -62,6 +81,8 @@ public class PacketBolt extends AbstractBolt {
                     packetService.handleLldpData((LldpInfoData) data);
                 } else if (data instanceof ArpInfoData) {
                     packetService.handleArpData((ArpInfoData) data);
+                } else if (data instanceof UpdateFlowInfo) {
+                    packetService.handleFlowChanged(((UpdateFlowInfo) data).getFlowId());
                 } else {
                     unhandledInput(input);
                 }
@@ -71,6 +92,27 @@ public class PacketBolt extends AbstractBolt {
         }
     }
 
+    @Override
+    protected boolean deactivate(LifecycleEvent event) {
+        // flow events are not consumed while the bolt is inactive, so cached resolutions can't be trusted anymore
+        packetService.flushLastSeenUpdates();
+        packetService.clearCaches();
+        return super.deactivate(event);
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(super.getComponentConfiguration(), lastSeenFlushInterval);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
@@ -0,0 +1,212 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.connecteddevices.service;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.SwitchId;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory index of flow resolutions made for connected devices packets. Keys are the values the flow was looked up
+ * by (transit VLAN, endpoint with VLAN, one switch flow in port with output VLAN). Entries are dropped when a flow
+ * lifecycle event for the flow is received, on TTL expiration or when the index is full (least recently used first).
+ * Fallback resolutions (a packet VLAN resolved to a full port flow) are dropped on any flow lifecycle event, because
+ * a flow created later on the exact endpoint must take them over.
+ */
+public class FlowResolutionIndex {
+    private final Clock clock;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final LinkedHashMap<IndexKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<IndexKey>> keysByFlowId = new HashMap<>();
+    private final Set<IndexKey> fallbackKeys = new HashSet<>();
+
+    public FlowResolutionIndex(Duration ttl, int maxSize) {
+        this(Clock.systemUTC(), ttl, maxSize);
+    }
+
+    FlowResolutionIndex(Clock clock, Duration ttl, int maxSize) {
+        this.clock = clock;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Return the flow resolved earlier by the key.
+     */
+    public Optional<FlowEndpoints> get(IndexKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            remove(key, entry.flow.getFlowId());
+            return Optional.empty();
+        }
+        return Optional.of(entry.flow);
+    }
+
+    /**
+     * Store the flow resolved by the key.
+     */
+    public void put(IndexKey key, FlowEndpoints flow) {
+        put(key, flow, false);
+    }
+
+    /**
+     * Store the full port flow the key has fallen back to.
+     */
+    public void putFallback(IndexKey key, FlowEndpoints flow) {
+        put(key, flow, true);
+    }
+
+    private void put(IndexKey key, FlowEndpoints flow, boolean fallback) {
+        if (fallback) {
+            fallbackKeys.add(key);
+        } else {
+            fallbackKeys.remove(key);
+        }
+        Entry previous = entries.put(key, new Entry(flow, clock.millis() + ttlMillis));
+        if (previous != null && !previous.flow.getFlowId().equals(flow.getFlowId())) {
+            removeFlowKey(previous.flow.getFlowId(), key);
+        }
+        keysByFlowId.computeIfAbsent(flow.getFlowId(), ignore -> new HashSet<>()).add(key);
+
+        if (entries.size() > maxSize) {
+            Iterator<Map.Entry<IndexKey, Entry>> eldest = entries.entrySet().iterator();
+            Map.Entry<IndexKey, Entry> evicted = eldest.next();
+            eldest.remove();
+            fallbackKeys.remove(evicted.getKey());
+            removeFlowKey(evicted.getValue().flow.getFlowId(), evicted.getKey());
+        }
+    }
+
+    /**
+     * Drop all resolutions of the flow, must be called on any flow create/update/reroute/delete.
+     */
+    public void invalidate(String flowId) {
+        Set<IndexKey> keys = keysByFlowId.remove(flowId);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+            fallbackKeys.removeAll(keys);
+        }
+    }
+
+    /**
+     * Drop all fallback resolutions, must be called on any flow create/update/reroute/delete.
+     */
+    public void invalidateFallbacks() {
+        for (IndexKey key : fallbackKeys) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                removeFlowKey(entry.flow.getFlowId(), key);
+            }
+        }
+        fallbackKeys.clear();
+    }
+
+    public void clear() {
+        entries.clear();
+        keysByFlowId.clear();
+        fallbackKeys.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void remove(IndexKey key, String flowId) {
+        entries.remove(key);
+        fallbackKeys.remove(key);
+        removeFlowKey(flowId, key);
+    }
+
+    private void removeFlowKey(String flowId, IndexKey key) {
+        Set<IndexKey> keys = keysByFlowId.get(flowId);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByFlowId.remove(flowId);
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final FlowEndpoints flow;
+        private final long expiresAt;
+    }
+
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class IndexKey {
+        KeyType type;
+        SwitchId switchId;
+        int port;
+        int vlan;
+
+        public static IndexKey transitVlan(int vlan) {
+            return new IndexKey(KeyType.TRANSIT_VLAN, null, 0, vlan);
+        }
+
+        public static IndexKey endpoint(SwitchId switchId, int port, int vlan) {
+            return new IndexKey(KeyType.ENDPOINT, switchId, port, vlan);
+        }
+
+        public static IndexKey oneSwitchFlow(SwitchId switchId, int inPort, int outVlan) {
+            return new IndexKey(KeyType.ONE_SWITCH_FLOW, switchId, inPort, outVlan);
+        }
+    }
+
+    public enum KeyType {
+        TRANSIT_VLAN,
+        ENDPOINT,
+        ONE_SWITCH_FLOW
+    }
+
+    /**
+     * Detached copy of flow fields required to resolve connected device packets.
+     */
+    @Value
+    public static class FlowEndpoints {
+        String flowId;
+        SwitchId srcSwitchId;
+        int srcPort;
+        int srcVlan;
+        SwitchId destSwitchId;
+        int destPort;
+        int destVlan;
+        boolean oneSwitchFlow;
+
+        public static FlowEndpoints of(Flow flow) {
+            return new FlowEndpoints(flow.getFlowId(), flow.getSrcSwitchId(), flow.getSrcPort(), flow.getSrcVlan(),
+                    flow.getDestSwitchId(), flow.getDestPort(), flow.getDestVlan(), flow.isOneSwitchFlow());
+        }
+    }
+}
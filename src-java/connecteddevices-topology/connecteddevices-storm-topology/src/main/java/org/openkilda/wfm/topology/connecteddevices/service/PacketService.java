@@ -33,6 +33,7 @@ import static org.openkilda.model.cookie.Cookie.LLDP_TRANSIT_COOKIE;
 import org.openkilda.messaging.info.event.ArpInfoData;
 import org.openkilda.messaging.info.event.ConnectedDevicePacketBase;
 import org.openkilda.messaging.info.event.LldpInfoData;
+import org.openkilda.model.ConnectedDeviceType;
 import org.openkilda.model.Flow;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchConnectedDevice;
@@ -44,12 +45,17 @@ import org.openkilda.persistence.repositories.SwitchConnectedDeviceRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.openkilda.persistence.tx.TransactionManager;
+import org.openkilda.wfm.topology.connecteddevices.service.FlowResolutionIndex.FlowEndpoints;
+import org.openkilda.wfm.topology.connecteddevices.service.FlowResolutionIndex.IndexKey;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -62,30 +68,48 @@ public class PacketService {
     private TransitVlanRepository transitVlanRepository;
     private FlowRepository flowRepository;
 
-    public PacketService(PersistenceManager persistenceManager) {
+    private final FlowResolutionIndex flowResolutionIndex;
+    // attributes of devices as they were written into DB, used to detect packets which change nothing but last seen
+    private final Map<DeviceKey, DeviceAttributes> knownDevices;
+    private Map<DeviceKey, Long> pendingLastSeen = new LinkedHashMap<>();
+
+    public PacketService(PersistenceManager persistenceManager, Duration flowIndexTtl, int cacheSize) {
         transactionManager = persistenceManager.getTransactionManager();
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         switchConnectedDeviceRepository = persistenceManager.getRepositoryFactory()
                 .createSwitchConnectedDeviceRepository();
         transitVlanRepository = persistenceManager.getRepositoryFactory().createTransitVlanRepository();
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
+        flowResolutionIndex = new FlowResolutionIndex(flowIndexTtl, cacheSize);
+        knownDevices = new LinkedHashMap<DeviceKey, DeviceAttributes>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DeviceKey, DeviceAttributes> eldest) {
+                return size() > cacheSize;
+            }
+        };
     }
 
     /**
      * Handle LLDP info data.
      */
     public void handleLldpData(LldpInfoData data) {
-        transactionManager.doInTransaction(() -> {
+        FlowRelatedData flowRelatedData = findFlowRelatedData(data);
+        if (flowRelatedData == null) {
+            return;
+        }
 
-            FlowRelatedData flowRelatedData = findFlowRelatedData(data);
-            if (flowRelatedData == null) {
-                return;
-            }
+        DeviceKey key = DeviceKey.of(data, flowRelatedData.originalVlan);
+        DeviceAttributes attributes = DeviceAttributes.of(data, flowRelatedData);
+        if (attributes.equals(knownDevices.get(key))) {
+            deferLastSeenUpdate(key, data.getTimestamp());
+            return;
+        }
 
+        boolean written = transactionManager.doInTransaction(() -> {
             SwitchConnectedDevice device = getOrCreateLldpDevice(data, flowRelatedData.originalVlan);
 
             if (device == null) {
-                return;
+                return false;
             }
 
             device.setTtl(data.getTtl());
@@ -97,30 +121,105 @@ public class PacketService {
             device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
             device.setFlowId(flowRelatedData.flowId);
             device.setSource(flowRelatedData.source);
+            return true;
         });
+        if (written) {
+            knownDevices.put(key, attributes);
+        }
     }
 
     /**
      * Handle Arp info data.
      */
     public void handleArpData(ArpInfoData data) {
-        transactionManager.doInTransaction(() -> {
+        FlowRelatedData flowRelatedData = findFlowRelatedData(data);
+        if (flowRelatedData == null) {
+            return;
+        }
 
-            FlowRelatedData flowRelatedData = findFlowRelatedData(data);
-            if (flowRelatedData == null) {
-                return;
-            }
+        DeviceKey key = DeviceKey.of(data, flowRelatedData.originalVlan);
+        DeviceAttributes attributes = DeviceAttributes.of(flowRelatedData);
+        if (attributes.equals(knownDevices.get(key))) {
+            deferLastSeenUpdate(key, data.getTimestamp());
+            return;
+        }
 
+        boolean written = transactionManager.doInTransaction(() -> {
             SwitchConnectedDevice device = getOrCreateArpDevice(data, flowRelatedData.originalVlan);
 
             if (device == null) {
-                return;
+                return false;
             }
 
             device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
             device.setFlowId(flowRelatedData.flowId);
             device.setSource(flowRelatedData.source);
+            return true;
         });
+        if (written) {
+            knownDevices.put(key, attributes);
+        }
+    }
+
+    /**
+     * Handle flow create/update/reroute/delete notification, the flow must be resolved from DB again.
+     */
+    public void handleFlowChanged(String flowId) {
+        log.debug("Invalidate connected devices flow resolutions for flow {}", flowId);
+        flowResolutionIndex.invalidate(flowId);
+        // the changed flow may take over the endpoint resolved to a full port flow, it is unknown without DB read
+        flowResolutionIndex.invalidateFallbacks();
+    }
+
+    /**
+     * Write deferred "last seen" updates of known devices into DB in one transaction.
+     */
+    public void flushLastSeenUpdates() {
+        if (pendingLastSeen.isEmpty()) {
+            return;
+        }
+        Map<DeviceKey, Long> updates = pendingLastSeen;
+        pendingLastSeen = new LinkedHashMap<>();
+
+        try {
+            transactionManager.doInTransaction(() -> updates.forEach(this::updateLastSeen));
+        } catch (Exception e) {
+            log.error("Failed to write last seen time of {} connected devices: {}", updates.size(), e.getMessage(), e);
+            updates.keySet().forEach(knownDevices::remove);
+        }
+    }
+
+    /**
+     * Drop all cached data, pending updates must be flushed before.
+     */
+    public void clearCaches() {
+        flowResolutionIndex.clear();
+        knownDevices.clear();
+    }
+
+    private void deferLastSeenUpdate(DeviceKey key, long timestamp) {
+        pendingLastSeen.merge(key, timestamp, Math::max);
+    }
+
+    private void updateLastSeen(DeviceKey key, long timestamp) {
+        Optional<SwitchConnectedDevice> device;
+        if (key.getType() == LLDP) {
+            device = switchConnectedDeviceRepository.findLldpByUniqueFieldCombination(key.getSwitchId(),
+                    key.getPortNumber(), key.getVlan(), key.getMacAddress(), key.getChassisId(), key.getPortId());
+        } else {
+            device = switchConnectedDeviceRepository.findArpByUniqueFieldCombination(key.getSwitchId(),
+                    key.getPortNumber(), key.getVlan(), key.getMacAddress(), key.getIpAddress());
+        }
+
+        if (!device.isPresent()) {
+            log.info("Connected device {} was removed, last seen time {} is skipped", key, timestamp);
+            knownDevices.remove(key);
+            return;
+        }
+        Instant lastSeen = Instant.ofEpochMilli(timestamp);
+        if (device.get().getTimeLastSeen() == null || device.get().getTimeLastSeen().isBefore(lastSeen)) {
+            device.get().setTimeLastSeen(lastSeen);
+        }
     }
 
     private FlowRelatedData findFlowRelatedData(ConnectedDevicePacketBase data) {
@@ -155,7 +254,7 @@ public class PacketService {
             return null;
         }
         int transitVlan = data.getVlans().get(0);
-        Flow flow = findFlowByTransitVlan(transitVlan);
+        FlowEndpoints flow = findFlowByTransitVlan(transitVlan);
 
         if (flow == null) {
             return null;
@@ -190,7 +289,7 @@ public class PacketService {
     @VisibleForTesting
     FlowRelatedData findFlowRelatedDataForVxlanFlow(ConnectedDevicePacketBase data) {
         int inputVlan = data.getVlans().isEmpty() ? 0 : data.getVlans().get(0);
-        Flow flow = getFlowBySwitchIdPortAndVlan(
+        FlowEndpoints flow = getFlowBySwitchIdPortAndVlan(
                 data.getSwitchId(), data.getPortNumber(), inputVlan, getPacketName(data));
 
         if (flow == null) {
@@ -214,7 +313,7 @@ public class PacketService {
         int outputVlan = data.getVlans().isEmpty() ? 0 : data.getVlans().get(0);
         // second vlan with which we got LLDP packet in Floodlight. Exists only for some full port flows.
         int customerVlan = data.getVlans().size() > 1 ? data.getVlans().get(1) : 0;
-        Flow flow = getFlowBySwitchIdInPortAndOutVlan(
+        FlowEndpoints flow = getFlowBySwitchIdInPortAndOutVlan(
                 data.getSwitchId(), data.getPortNumber(), outputVlan, getPacketName(data));
 
         if (flow == null) {
@@ -269,7 +368,7 @@ public class PacketService {
     }
 
     private FlowRelatedData getOneSwitchOnePortFlowRelatedData(
-            Flow flow, int outputVlan, int customerVlan, ConnectedDevicePacketBase data) {
+            FlowEndpoints flow, int outputVlan, int customerVlan, ConnectedDevicePacketBase data) {
         if (flow.getDestVlan() == outputVlan) {
             if (flow.getSrcVlan() == FULL_PORT_VLAN) {
                 // case 1:  customer vlan 0 ==> src vlan 0, dst vlan 2 ==> output vlan 2, vlans in packet: [2]
@@ -294,7 +393,13 @@ public class PacketService {
         return null;
     }
 
-    private Flow findFlowByTransitVlan(int vlan) {
+    private FlowEndpoints findFlowByTransitVlan(int vlan) {
+        IndexKey key = IndexKey.transitVlan(vlan);
+        Optional<FlowEndpoints> indexed = flowResolutionIndex.get(key);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
         Optional<TransitVlan> transitVlan = transitVlanRepository.findByVlan(vlan);
 
         if (!transitVlan.isPresent()) {
@@ -306,19 +411,26 @@ public class PacketService {
             log.warn("Couldn't find flow by flow ID '{}", transitVlan.get().getFlowId());
             return null;
         }
-        return flow.get();
+        return index(key, flow.get());
     }
 
-    private Flow getFlowBySwitchIdPortAndVlan(SwitchId switchId, int portNumber, int vlan, String packetName) {
+    private FlowEndpoints getFlowBySwitchIdPortAndVlan(
+            SwitchId switchId, int portNumber, int vlan, String packetName) {
+        IndexKey key = IndexKey.endpoint(switchId, portNumber, vlan);
+        Optional<FlowEndpoints> indexed = flowResolutionIndex.get(key);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
         Optional<Flow> flow = flowRepository.findByEndpointAndVlan(switchId, portNumber, vlan);
 
         if (flow.isPresent()) {
-            return flow.get();
+            return index(key, flow.get());
         } else {
             // may be it's a full port flow
             Optional<Flow> fullPortFlow = flowRepository.findByEndpointAndVlan(switchId, portNumber, FULL_PORT_VLAN);
             if (fullPortFlow.isPresent()) {
-                return fullPortFlow.get();
+                return indexFallback(key, fullPortFlow.get());
             } else {
                 log.warn("Couldn't find Flow for {} packet on endpoint: Switch {}, port {}, vlan {}",
                         packetName, switchId, portNumber, vlan);
@@ -327,17 +439,24 @@ public class PacketService {
         }
     }
 
-    private Flow getFlowBySwitchIdInPortAndOutVlan(SwitchId switchId, int inPort, int outVlan, String packetName) {
+    private FlowEndpoints getFlowBySwitchIdInPortAndOutVlan(
+            SwitchId switchId, int inPort, int outVlan, String packetName) {
+        IndexKey key = IndexKey.oneSwitchFlow(switchId, inPort, outVlan);
+        Optional<FlowEndpoints> indexed = flowResolutionIndex.get(key);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
         Optional<Flow> flow = flowRepository.findOneSwitchFlowBySwitchIdInPortAndOutVlan(switchId, inPort, outVlan);
 
         if (flow.isPresent()) {
-            return flow.get();
+            return index(key, flow.get());
         } else {
             // may be it's a full port flow
             Optional<Flow> fullPortFlow = flowRepository.findOneSwitchFlowBySwitchIdInPortAndOutVlan(
                     switchId, inPort, FULL_PORT_VLAN);
             if (fullPortFlow.isPresent()) {
-                return fullPortFlow.get();
+                return indexFallback(key, fullPortFlow.get());
             } else {
                 log.warn("Couldn't find Flow for {} packet by: Switch {}, InPort {}, OutVlan {}",
                         packetName, switchId, inPort, outVlan);
@@ -346,6 +465,18 @@ public class PacketService {
         }
     }
 
+    private FlowEndpoints index(IndexKey key, Flow flow) {
+        FlowEndpoints endpoints = FlowEndpoints.of(flow);
+        flowResolutionIndex.put(key, endpoints);
+        return endpoints;
+    }
+
+    private FlowEndpoints indexFallback(IndexKey key, Flow flow) {
+        FlowEndpoints endpoints = FlowEndpoints.of(flow);
+        flowResolutionIndex.putFallback(key, endpoints);
+        return endpoints;
+    }
+
     private SwitchConnectedDevice getOrCreateLldpDevice(LldpInfoData data, int vlan) {
         Optional<SwitchConnectedDevice> device = switchConnectedDeviceRepository
                 .findLldpByUniqueFieldCombination(
@@ -427,4 +558,49 @@ public class PacketService {
         String flowId;
         Boolean source; // device connected to source of Flow or to destination
     }
+
+    @Value
+    static class DeviceKey {
+        ConnectedDeviceType type;
+        SwitchId switchId;
+        int portNumber;
+        int vlan;
+        String macAddress;
+        String chassisId;
+        String portId;
+        String ipAddress;
+
+        static DeviceKey of(LldpInfoData data, int vlan) {
+            return new DeviceKey(LLDP, data.getSwitchId(), data.getPortNumber(), vlan, data.getMacAddress(),
+                    data.getChassisId(), data.getPortId(), null);
+        }
+
+        static DeviceKey of(ArpInfoData data, int vlan) {
+            return new DeviceKey(ARP, data.getSwitchId(), data.getPortNumber(), vlan, data.getMacAddress(),
+                    null, null, data.getIpAddress());
+        }
+    }
+
+    @Value
+    static class DeviceAttributes {
+        Integer ttl;
+        String portDescription;
+        String systemName;
+        String systemDescription;
+        String systemCapabilities;
+        String managementAddress;
+        String flowId;
+        Boolean source;
+
+        static DeviceAttributes of(LldpInfoData data, FlowRelatedData flowRelatedData) {
+            return new DeviceAttributes(data.getTtl(), data.getPortDescription(), data.getSystemName(),
+                    data.getSystemDescription(), data.getSystemCapabilities(), data.getManagementAddress(),
+                    flowRelatedData.flowId, flowRelatedData.source);
+        }
+
+        static DeviceAttributes of(FlowRelatedData flowRelatedData) {
+            return new DeviceAttributes(null, null, null, null, null, null,
+                    flowRelatedData.flowId, flowRelatedData.source);
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.connecteddevices.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.stubs.ManualClock;
+import org.openkilda.wfm.topology.connecteddevices.service.FlowResolutionIndex.FlowEndpoints;
+import org.openkilda.wfm.topology.connecteddevices.service.FlowResolutionIndex.IndexKey;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+
+public class FlowResolutionIndexTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final FlowEndpoints FLOW_1 = new FlowEndpoints("flow1", SWITCH_ID_1, 1, 10, SWITCH_ID_2, 2, 20,
+            false);
+    private static final FlowEndpoints FLOW_2 = new FlowEndpoints("flow2", SWITCH_ID_1, 3, 0, SWITCH_ID_1, 4, 0,
+            true);
+
+    private ManualClock clock;
+    private FlowResolutionIndex index;
+
+    @Before
+    public void setUp() {
+        clock = new ManualClock();
+        index = new FlowResolutionIndex(clock, Duration.ofSeconds(60), 3);
+    }
+
+    @Test
+    public void shouldReturnIndexedFlow() {
+        index.put(IndexKey.transitVlan(100), FLOW_1);
+        index.put(IndexKey.endpoint(SWITCH_ID_1, 1, 10), FLOW_1);
+
+        assertEquals(FLOW_1, index.get(IndexKey.transitVlan(100)).get());
+        assertEquals(FLOW_1, index.get(IndexKey.endpoint(SWITCH_ID_1, 1, 10)).get());
+        assertFalse(index.get(IndexKey.transitVlan(101)).isPresent());
+        assertFalse(index.get(IndexKey.oneSwitchFlow(SWITCH_ID_1, 1, 10)).isPresent());
+    }
+
+    @Test
+    public void shouldInvalidateAllKeysOfFlow() {
+        index.put(IndexKey.transitVlan(100), FLOW_1);
+        index.put(IndexKey.endpoint(SWITCH_ID_1, 1, 10), FLOW_1);
+        index.put(IndexKey.oneSwitchFlow(SWITCH_ID_1, 3, 0), FLOW_2);
+
+        index.invalidate(FLOW_1.getFlowId());
+
+        assertEquals(1, index.size());
+        assertFalse(index.get(IndexKey.transitVlan(100)).isPresent());
+        assertTrue(index.get(IndexKey.oneSwitchFlow(SWITCH_ID_1, 3, 0)).isPresent());
+    }
+
+    @Test
+    public void shouldInvalidateOnlyFallbackKeys() {
+        index.put(IndexKey.endpoint(SWITCH_ID_1, 1, 10), FLOW_1);
+        index.putFallback(IndexKey.endpoint(SWITCH_ID_1, 3, 20), FLOW_2);
+        index.putFallback(IndexKey.endpoint(SWITCH_ID_1, 3, 30), FLOW_2);
+
+        index.invalidateFallbacks();
+
+        assertEquals(1, index.size());
+        assertTrue(index.get(IndexKey.endpoint(SWITCH_ID_1, 1, 10)).isPresent());
+        assertFalse(index.get(IndexKey.endpoint(SWITCH_ID_1, 3, 20)).isPresent());
+    }
+
+    @Test
+    public void shouldNotInvalidateFallbackKeyReplacedByExactResolution() {
+        index.putFallback(IndexKey.endpoint(SWITCH_ID_1, 3, 20), FLOW_2);
+        index.put(IndexKey.endpoint(SWITCH_ID_1, 3, 20), FLOW_1);
+
+        index.invalidateFallbacks();
+
+        assertEquals(FLOW_1, index.get(IndexKey.endpoint(SWITCH_ID_1, 3, 20)).get());
+    }
+
+    @Test
+    public void shouldExpireEntries() {
+        index.put(IndexKey.transitVlan(100), FLOW_1);
+        clock.adjust(Duration.ofSeconds(59));
+        assertTrue(index.get(IndexKey.transitVlan(100)).isPresent());
+
+        clock.adjust(Duration.ofSeconds(1));
+        assertFalse(index.get(IndexKey.transitVlan(100)).isPresent());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntry() {
+        index.put(IndexKey.transitVlan(100), FLOW_1);
+        index.put(IndexKey.transitVlan(101), FLOW_1);
+        index.put(IndexKey.transitVlan(102), FLOW_2);
+        index.get(IndexKey.transitVlan(100));
+
+        index.put(IndexKey.transitVlan(103), FLOW_2);
+
+        assertEquals(3, index.size());
+        assertTrue(index.get(IndexKey.transitVlan(100)).isPresent());
+        assertFalse(index.get(IndexKey.transitVlan(101)).isPresent());
+    }
+
+    @Test
+    public void shouldMoveKeyToNewFlow() {
+        index.put(IndexKey.transitVlan(100), FLOW_1);
+        index.put(IndexKey.transitVlan(100), FLOW_2);
+
+        index.invalidate(FLOW_1.getFlowId());
+
+        assertEquals(FLOW_2, index.get(IndexKey.transitVlan(100)).get());
+    }
+}
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.connecteddevices.service;
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.openkilda.model.cookie.Cookie.ARP_INPUT_PRE_DROP_COOKIE;
 import static org.openkilda.model.cookie.Cookie.LLDP_INPUT_PRE_DROP_COOKIE;
@@ -44,6 +45,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -70,6 +72,7 @@ public class PacketServiceTest extends InMemoryGraphBasedTest {
     public static final String MANAGEMENT_ADDRESS_1 = "127.0.0.1";
     public static final String MANAGEMENT_ADDRESS_2 = "192.168.1.1";
     public static final String FLOW_ID = "flow1";
+    public static final String FLOW_ID_2 = "flow2";
     public static final String PATH_ID = "path1";
     public static final SwitchId SWITCH_ID_1 = new SwitchId("01");
     public static final SwitchId SWITCH_ID_2 = new SwitchId("02");
@@ -86,7 +89,7 @@ public class PacketServiceTest extends InMemoryGraphBasedTest {
     private static SwitchRepository switchRepository;
     private static FlowRepository flowRepository;
     private static TransitVlanRepository transitVlanRepository;
-    private static PacketService packetService;
+    private PacketService packetService;
 
     @BeforeClass
     public static void setUpOnce() {
@@ -95,11 +98,11 @@ public class PacketServiceTest extends InMemoryGraphBasedTest {
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
         transitVlanRepository = persistenceManager.getRepositoryFactory().createTransitVlanRepository();
-        packetService = new PacketService(persistenceManager);
     }
 
     @Before
     public void setUp() {
+        packetService = new PacketService(persistenceManager, Duration.ofMinutes(10), 1000);
         switchRepository.add(Switch.builder().switchId(SWITCH_ID_1).build());
         switchRepository.add(Switch.builder().switchId(SWITCH_ID_2).build());
     }
@@ -129,6 +132,7 @@ public class PacketServiceTest extends InMemoryGraphBasedTest {
         Thread.sleep(10);
         // update
         packetService.handleLldpData(createLldpInfoDataData());
+        packetService.flushLastSeenUpdates();
 
         Collection<SwitchConnectedDevice> devices = switchConnectedDeviceRepository.findAll();
         assertEquals(1, devices.size());
@@ -143,6 +147,7 @@ public class PacketServiceTest extends InMemoryGraphBasedTest {
         Thread.sleep(10);
         // update
         packetService.handleArpData(createArpInfoData());
+        packetService.flushLastSeenUpdates();
 
         Collection<SwitchConnectedDevice> devices = switchConnectedDeviceRepository.findAll();
         assertEquals(1, devices.size());
@@ -284,6 +289,76 @@ public class PacketServiceTest extends InMemoryGraphBasedTest {
         runHandleArpDataWithAddedDevice(updatedData);
     }
 
+    @Test
+    public void testLastSeenUpdateIsDeferredUntilFlush() {
+        LldpInfoData data = createLldpInfoDataData();
+        packetService.handleLldpData(data);
+
+        LldpInfoData sameData = createLldpInfoDataData();
+        sameData.setTimestamp(data.getTimestamp() + 1000);
+        packetService.handleLldpData(sameData);
+
+        SwitchConnectedDevice device = switchConnectedDeviceRepository.findAll().iterator().next();
+        assertEquals(device.getTimeFirstSeen(), device.getTimeLastSeen());
+
+        packetService.flushLastSeenUpdates();
+        device = switchConnectedDeviceRepository.findAll().iterator().next();
+        assertEquals(sameData.getTimestamp(), device.getTimeLastSeen().toEpochMilli());
+    }
+
+    @Test
+    public void testLastSeenIsNotMovedBack() {
+        LldpInfoData data = createLldpInfoDataData();
+        packetService.handleLldpData(data);
+
+        LldpInfoData outdatedData = createLldpInfoDataData();
+        outdatedData.setTimestamp(data.getTimestamp() - 1000);
+        packetService.handleLldpData(outdatedData);
+        packetService.flushLastSeenUpdates();
+
+        SwitchConnectedDevice device = switchConnectedDeviceRepository.findAll().iterator().next();
+        assertEquals(data.getTimestamp(), device.getTimeLastSeen().toEpochMilli());
+    }
+
+    @Test
+    public void testRemovedDeviceIsCreatedAgain() {
+        packetService.handleArpData(createArpInfoData());
+        switchConnectedDeviceRepository.findAll().forEach(switchConnectedDeviceRepository::remove);
+
+        // device is known, so last seen update is deferred and the flush finds out that device was removed
+        packetService.handleArpData(createArpInfoData());
+        packetService.flushLastSeenUpdates();
+        assertTrue(switchConnectedDeviceRepository.findAll().isEmpty());
+
+        packetService.handleArpData(createArpInfoData());
+        assertEquals(1, switchConnectedDeviceRepository.findAll().size());
+    }
+
+    @Test
+    public void testFlowResolutionIsCachedUntilFlowChanged() {
+        createFlow(FLOW_ID, VLAN_1, VLAN_3, VLAN_2, false, false);
+        LldpInfoData data = createLldpInfoDataData(SWITCH_ID_1, newArrayList(VLAN_2), PORT_NUMBER_1);
+        assertEquals(FLOW_ID, packetService.findFlowRelatedDataForVlanFlow(data).getFlowId());
+
+        transitVlanRepository.findAll().forEach(transitVlanRepository::remove);
+        assertEquals(FLOW_ID, packetService.findFlowRelatedDataForVlanFlow(data).getFlowId());
+
+        packetService.handleFlowChanged(FLOW_ID);
+        assertNull(packetService.findFlowRelatedDataForVlanFlow(data));
+    }
+
+    @Test
+    public void testFullPortFallbackIsDroppedWhenExactVlanFlowCreated() {
+        createFlow(FLOW_ID, VLAN_0, VLAN_0, null, false, false);
+        LldpInfoData data = createLldpInfoDataData(SWITCH_ID_1, newArrayList(VLAN_1), PORT_NUMBER_1);
+        assertEquals(FLOW_ID, packetService.findFlowRelatedDataForVxlanFlow(data).getFlowId());
+
+        createFlow(FLOW_ID_2, VLAN_1, VLAN_0, null, false, false);
+        packetService.handleFlowChanged(FLOW_ID_2);
+
+        assertEquals(FLOW_ID_2, packetService.findFlowRelatedDataForVxlanFlow(data).getFlowId());
+    }
+
     private Object[][] getOneSwitchOnePortFlowParameters() {
         return new Object[][] {
                 // inVlan, srcVlan, dstVlan, vlansInPacket, sourceSwitch
@@ -0,0 +1,51 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.api.request;
+
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set of flow segment requests addressed to the same switch, executed by speaker as a single request. The results are
+ * reported per segment with {@link org.openkilda.floodlight.api.response.FlowSegmentBatchResponse}.
+ */
+@Getter
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class FlowSegmentBatchRequest extends SpeakerRequest {
+    @JsonProperty("requests")
+    private final List<FlowSegmentRequest> requests;
+
+    @JsonCreator
+    public FlowSegmentBatchRequest(
+            @JsonProperty("message_context") MessageContext context,
+            @JsonProperty("switch_id") SwitchId switchId,
+            @JsonProperty("command_id") UUID commandId,
+            @JsonProperty("requests") @NonNull List<FlowSegmentRequest> requests) {
+        super(context, switchId, commandId);
+        this.requests = requests;
+    }
+}
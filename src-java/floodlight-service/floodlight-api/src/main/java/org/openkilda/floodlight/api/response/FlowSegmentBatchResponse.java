@@ -0,0 +1,50 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.api.response;
+
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Results of {@link org.openkilda.floodlight.api.request.FlowSegmentBatchRequest}, one response per segment request.
+ */
+@Getter
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class FlowSegmentBatchResponse extends SpeakerResponse {
+    @JsonProperty("responses")
+    private final List<SpeakerFlowSegmentResponse> responses;
+
+    @JsonCreator
+    public FlowSegmentBatchResponse(
+            @JsonProperty("message_context") MessageContext messageContext,
+            @JsonProperty("command_id") UUID commandId,
+            @JsonProperty("switch_id") SwitchId switchId,
+            @JsonProperty("responses") @NonNull List<SpeakerFlowSegmentResponse> responses) {
+        super(messageContext, commandId, switchId);
+        this.responses = responses;
+    }
+}
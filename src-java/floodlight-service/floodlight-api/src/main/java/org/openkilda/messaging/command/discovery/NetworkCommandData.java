@@ -18,6 +18,7 @@ package org.openkilda.messaging.command.discovery;
 import static com.google.common.base.MoreObjects.toStringHelper;
 
 import org.openkilda.messaging.command.CommandData;
+import org.openkilda.model.SwitchId;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -26,6 +27,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Defines the payload payload of a Message representing an command for network dump.
@@ -34,7 +36,9 @@ import java.util.Objects;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonPropertyOrder({
         "command",
-        "requester"})
+        "requester",
+        "digest_only",
+        "scope"})
 public class NetworkCommandData extends CommandData {
     /**
      * Serialization version number constant.
@@ -47,6 +51,19 @@ public class NetworkCommandData extends CommandData {
     @JsonProperty("requester")
     private String requester;
 
+    /**
+     * Respond with {@link org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest} instead of full switch
+     * views.
+     */
+    @JsonProperty("digest_only")
+    private boolean digestOnly;
+
+    /**
+     * Switches to dump, all connected switches are dumped if not set.
+     */
+    @JsonProperty("scope")
+    private Set<SwitchId> scope;
+
     /**
      * Default constructor.
      */
@@ -58,9 +75,39 @@ public class NetworkCommandData extends CommandData {
      *
      * @param requester requester
      */
+    public NetworkCommandData(String requester) {
+        this(requester, false, null);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param requester requester
+     * @param digestOnly respond with switch digests only
+     * @param scope switches to dump or null to dump all switches
+     */
     @JsonCreator
-    public NetworkCommandData(@JsonProperty("requester") String requester) {
+    public NetworkCommandData(
+            @JsonProperty("requester") String requester,
+            @JsonProperty("digest_only") boolean digestOnly,
+            @JsonProperty("scope") Set<SwitchId> scope) {
         this.requester = requester;
+        this.digestOnly = digestOnly;
+        this.scope = scope;
+    }
+
+    /**
+     * Make request for switches digests.
+     */
+    public static NetworkCommandData digestRequest() {
+        return new NetworkCommandData(null, true, null);
+    }
+
+    /**
+     * Make request for full views of specified switches.
+     */
+    public static NetworkCommandData scopedRequest(Set<SwitchId> scope) {
+        return new NetworkCommandData(null, false, scope);
     }
 
     /**
@@ -81,6 +128,21 @@ public class NetworkCommandData extends CommandData {
         this.requester = requester;
     }
 
+    public boolean isDigestOnly() {
+        return digestOnly;
+    }
+
+    public Set<SwitchId> getScope() {
+        return scope;
+    }
+
+    /**
+     * Checks whether switch must be dumped.
+     */
+    public boolean isInScope(SwitchId switchId) {
+        return scope == null || scope.contains(switchId);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -88,6 +150,8 @@ public class NetworkCommandData extends CommandData {
     public String toString() {
         return toStringHelper(this)
                 .add("requester", requester)
+                .add("digest_only", digestOnly)
+                .add("scope", scope)
                 .toString();
     }
 
@@ -104,7 +168,9 @@ public class NetworkCommandData extends CommandData {
         }
 
         NetworkCommandData that = (NetworkCommandData) object;
-        return Objects.equals(getRequester(), that.getRequester());
+        return Objects.equals(getRequester(), that.getRequester())
+                && digestOnly == that.digestOnly
+                && Objects.equals(scope, that.scope);
     }
 
     /**
@@ -112,6 +178,6 @@ public class NetworkCommandData extends CommandData {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(requester);
+        return Objects.hash(requester, digestOnly, scope);
     }
 }
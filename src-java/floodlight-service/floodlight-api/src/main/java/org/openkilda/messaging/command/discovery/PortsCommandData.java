@@ -16,6 +16,7 @@
 package org.openkilda.messaging.command.discovery;
 
 import org.openkilda.messaging.command.CommandData;
+import org.openkilda.model.SwitchId;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -29,7 +30,9 @@ import lombok.ToString;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonPropertyOrder({
         "command",
-        "requester"})
+        "requester",
+        "shard",
+        "shards_count"})
 
 /*
  *  Command to request a list of all ports including port state
@@ -42,12 +45,44 @@ public class PortsCommandData extends CommandData {
     @JsonProperty("requester")
     private String requester;
 
+    /**
+     * Only switches of this shard are reported, see {@link #isInShard(SwitchId)}.
+     */
+    @JsonProperty("shard")
+    private int shard;
+
+    /**
+     * Count of shards the switches are split into. Zero or one means all switches.
+     */
+    @JsonProperty("shards_count")
+    private int shardsCount;
+
     public PortsCommandData() {
     }
 
-    @JsonCreator
     public PortsCommandData(String requester) {
+        this(requester, 0, 0);
+    }
+
+    @JsonCreator
+    public PortsCommandData(@JsonProperty("requester") String requester,
+                            @JsonProperty("shard") int shard,
+                            @JsonProperty("shards_count") int shardsCount) {
         this.requester = requester;
+        this.shard = shard;
+        this.shardsCount = shardsCount;
+    }
+
+    /**
+     * Check whether the switch belongs to the requested shard. The shard of a switch does not depend on the
+     * switch set, so consecutive requests for all shards cover each switch exactly once.
+     */
+    public boolean isInShard(SwitchId switchId) {
+        if (shardsCount <= 1) {
+            return true;
+        }
+        long hash = switchId.toLong() * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(hash ^ (hash >>> 32), (long) shardsCount) == shard;
     }
 
     public String getRequester() {
@@ -57,4 +92,12 @@ public class PortsCommandData extends CommandData {
     public void setRequester(String requester) {
         this.requester = requester;
     }
+
+    public int getShard() {
+        return shard;
+    }
+
+    public int getShardsCount() {
+        return shardsCount;
+    }
 }
@@ -0,0 +1,120 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.discovery;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.model.SpeakerSwitchDescription;
+import org.openkilda.messaging.model.SpeakerSwitchPortView;
+import org.openkilda.messaging.model.SpeakerSwitchView;
+import org.openkilda.model.SwitchFeature;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Defines the {@link InfoMessage} payload representing a switch for digest only network sync process. Carries the
+ * digest of the {@link NetworkDumpSwitchData} instead of the switch view itself, so the receiver can request the full
+ * view only if it differs from the already known one.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class NetworkDumpSwitchDigest extends InfoData {
+    private static final long serialVersionUID = 1L;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    @JsonProperty(value = "switch_id", required = true)
+    private SwitchId switchId;
+
+    @JsonProperty("write_mode")
+    private boolean writeMode;
+
+    @JsonProperty("digest")
+    private long digest;
+
+    @JsonCreator
+    public NetworkDumpSwitchDigest(
+            @JsonProperty("switch_id") @NonNull SwitchId switchId,
+            @JsonProperty("write_mode") boolean writeMode,
+            @JsonProperty("digest") long digest) {
+        this.switchId = switchId;
+        this.writeMode = writeMode;
+        this.digest = digest;
+    }
+
+    /**
+     * Make digest record for the switch dump entry.
+     */
+    public static NetworkDumpSwitchDigest of(NetworkDumpSwitchData switchData) {
+        return new NetworkDumpSwitchDigest(
+                switchData.getSwitchId(), switchData.isWriteMode(), makeDigest(switchData.getSwitchView()));
+    }
+
+    /**
+     * Calculate digest of the switch view. The digest does not depend on the order of the features and the ports,
+     * and is stable between JVM instances.
+     */
+    public static long makeDigest(SpeakerSwitchView view) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(view.getDatapath()).append('|')
+                .append(view.getSwitchSocketAddress()).append('|')
+                .append(view.getSpeakerSocketAddress()).append('|')
+                .append(view.getOfVersion()).append('|');
+
+        SpeakerSwitchDescription description = view.getDescription();
+        if (description != null) {
+            canonical.append(description.getManufacturer()).append('|')
+                    .append(description.getHardware()).append('|')
+                    .append(description.getSoftware()).append('|')
+                    .append(description.getSerialNumber()).append('|')
+                    .append(description.getDatapath());
+        }
+        canonical.append('|');
+
+        view.getFeatures().stream()
+                .map(SwitchFeature::name)
+                .sorted()
+                .forEach(entry -> canonical.append(entry).append(','));
+        canonical.append('|');
+
+        view.getPorts().stream()
+                .sorted(Comparator.comparingInt(SpeakerSwitchPortView::getNumber))
+                .forEach(entry -> canonical.append(entry.getNumber()).append('=')
+                        .append(Objects.toString(entry.getState())).append(','));
+
+        return ByteBuffer.wrap(hash(canonical.toString().getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    private static byte[] hash(byte[] data) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(String.format("Digest algorithm %s is not available", DIGEST_ALGORITHM), e);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.openkilda.floodlight;
 import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.service.CommandProcessorService;
 import org.openkilda.floodlight.service.FeatureDetectorService;
+import org.openkilda.floodlight.service.FlowVerificationDumpService;
 import org.openkilda.floodlight.service.IService;
 import org.openkilda.floodlight.service.connected.ConnectedDevicesService;
 import org.openkilda.floodlight.service.of.InputService;
@@ -54,6 +55,7 @@ public class KildaCore implements IFloodlightModule, IFloodlightService {
                 .put(InputService.class, new InputService(commandContextFactory))
                 .put(SessionService.class, new SessionService())
                 .put(FeatureDetectorService.class, new FeatureDetectorService())
+                .put(FlowVerificationDumpService.class, new FlowVerificationDumpService(this))
                 .put(ConnectedDevicesService.class, new ConnectedDevicesService())
                 .put(ZooKeeperService.class, new ZooKeeperService())
                 .build();
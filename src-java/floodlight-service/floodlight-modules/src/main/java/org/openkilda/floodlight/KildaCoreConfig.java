@@ -39,10 +39,35 @@ public interface KildaCoreConfig {
     @Default("300")
     long getCommandIdleWorkersKeepAliveSeconds();
 
+    /**
+     * Flow verification dump requests for the same switch received within this window are served by one OF flow
+     * table dump. Zero disables coalescing.
+     */
+    @Key("flow-verify-dump-coalesce-window-millis")
+    @Default("20")
+    long getFlowVerifyDumpCoalesceWindowMillis();
+
+    /**
+     * Coalesced table dump is used only while the table holds no more than this number of entries per request
+     * served by the dump, otherwise the requests are sent one by one filtered by cookie.
+     */
+    @Key("flow-verify-dump-coalesce-table-entries-per-request")
+    @Default("100")
+    int getFlowVerifyDumpCoalesceTableEntriesPerRequest();
+
     @Key("flow-ping-magic-src-mac-address")
     @Default("00:26:E1:FF:FF:FE")
     String getFlowPingMagicSrcMacAddress();
 
+    /**
+     * Send flow pings with compact HMAC signed binary payload instead of JWT. Both formats are accepted on receive by
+     * the speakers supporting binary payload, but older speakers understand JWT only. So the option must be enabled
+     * only after all speakers are upgraded.
+     */
+    @Key("flow-ping-binary-payload")
+    @Default("false")
+    boolean isFlowPingBinaryPayload();
+
     /**
      * This offset is used for encoding flow in_port number into udp_src port of Server 42 RTT packets.
      * Example: Flow with in_port 10. Server 42 Input rule will match RTT packets by
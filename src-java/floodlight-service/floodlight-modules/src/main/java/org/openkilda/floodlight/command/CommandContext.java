@@ -29,8 +29,11 @@ public class CommandContext {
     private String requestKey;
     private String correlationId;
 
+    /**
+     * Create context with a correlation id generated on the first use.
+     */
     public CommandContext(FloodlightModuleContext moduleContext) {
-        this(moduleContext, UUID.randomUUID().toString());
+        this(moduleContext, null);
     }
 
     public CommandContext(FloodlightModuleContext moduleContext, String correlationId) {
@@ -50,7 +53,7 @@ public class CommandContext {
     public InfoMessage makeInfoMessage(InfoData payload) {
         // FIXME(surabujin) - do not use KafkaUtilityService from here - it leads do dependency hell
         KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
-        return new InfoMessage(payload, System.currentTimeMillis(), correlationId,
+        return new InfoMessage(payload, System.currentTimeMillis(), getCorrelationId(),
                                kafkaUtility.getKafkaChannel().getRegion());
     }
 
@@ -70,7 +73,13 @@ public class CommandContext {
         return requestKey;
     }
 
+    /**
+     * Get correlation id, the random one is generated if it was not set.
+     */
     public String getCorrelationId() {
+        if (correlationId == null) {
+            correlationId = UUID.randomUUID().toString();
+        }
         return correlationId;
     }
 }
@@ -15,6 +15,7 @@
 
 package org.openkilda.floodlight.command;
 
+import org.openkilda.floodlight.command.flow.FlowSegmentBatchCommand;
 import org.openkilda.floodlight.command.flow.egress.EgressFlowSegmentInstallCommand;
 import org.openkilda.floodlight.command.flow.egress.EgressFlowSegmentRemoveCommand;
 import org.openkilda.floodlight.command.flow.egress.EgressFlowSegmentVerifyCommand;
@@ -98,7 +99,10 @@ import java.util.concurrent.CompletionException;
         @Type(value = TransitFlowLoopSegmentRemoveCommand.class,
                 name = "org.openkilda.floodlight.api.request.TransitFlowLoopSegmentRemoveRequest"),
         @Type(value = TransitFlowLoopSegmentVerifyCommand.class,
-                name = "org.openkilda.floodlight.api.request.TransitFlowLoopSegmentVerifyRequest")
+                name = "org.openkilda.floodlight.api.request.TransitFlowLoopSegmentVerifyRequest"),
+
+        @Type(value = FlowSegmentBatchCommand.class,
+                name = "org.openkilda.floodlight.api.request.FlowSegmentBatchRequest")
 })
 @Getter
 public abstract class SpeakerCommand<T extends SpeakerCommandReport> {
@@ -0,0 +1,84 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.command.flow;
+
+import org.openkilda.floodlight.command.SpeakerCommand;
+import org.openkilda.floodlight.command.SpeakerCommandProcessor;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NonNull;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Executes a set of flow segment commands addressed to the same switch as one speaker request. Segment commands are
+ * executed concurrently, exactly as they would be executed if received one by one, the batch replies when all of them
+ * are completed with a single message carrying the result of each segment.
+ */
+@Getter
+public class FlowSegmentBatchCommand extends SpeakerCommand<FlowSegmentBatchReport> {
+    private final List<FlowSegmentCommand> commands;
+
+    @JsonCreator
+    public FlowSegmentBatchCommand(
+            @JsonProperty("message_context") MessageContext messageContext,
+            @JsonProperty("switch_id") SwitchId switchId,
+            @JsonProperty("command_id") UUID commandId,
+            @JsonProperty("requests") @NonNull List<FlowSegmentCommand> commands) {
+        super(messageContext, switchId, commandId);
+        this.commands = commands;
+    }
+
+    @Override
+    protected void setup(FloodlightModuleContext moduleContext) {
+        // segment commands perform their own setup, a missing switch is reported per segment
+    }
+
+    @Override
+    protected CompletableFuture<FlowSegmentBatchReport> makeExecutePlan(SpeakerCommandProcessor commandProcessor) {
+        List<CompletableFuture<FlowSegmentReport>> segments = new ArrayList<>(commands.size());
+        for (FlowSegmentCommand command : commands) {
+            segments.add(commandProcessor.chain(command));
+        }
+
+        return CompletableFuture.allOf(segments.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignore -> new FlowSegmentBatchReport(this, segments.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList())));
+    }
+
+    @Override
+    protected FlowSegmentBatchReport makeReport(Exception error) {
+        List<FlowSegmentReport> reports = commands.stream()
+                .map(command -> command.makeReport(error))
+                .collect(Collectors.toList());
+        return new FlowSegmentBatchReport(this, reports, error);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<flow-segment-batch{id=%s, switch=%s, segments=%s}>", commandId, switchId, commands);
+    }
+}
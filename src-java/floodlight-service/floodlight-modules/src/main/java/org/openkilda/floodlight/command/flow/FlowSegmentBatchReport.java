@@ -0,0 +1,54 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.command.flow;
+
+import org.openkilda.floodlight.KafkaChannel;
+import org.openkilda.floodlight.api.response.FlowSegmentBatchResponse;
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
+import org.openkilda.floodlight.command.SpeakerCommandRemoteReport;
+import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FlowSegmentBatchReport extends SpeakerCommandRemoteReport {
+    private final FlowSegmentBatchCommand command;
+
+    @Getter
+    private final List<FlowSegmentReport> reports;
+
+    FlowSegmentBatchReport(FlowSegmentBatchCommand command, List<FlowSegmentReport> reports) {
+        this(command, reports, null);
+    }
+
+    FlowSegmentBatchReport(FlowSegmentBatchCommand command, List<FlowSegmentReport> reports, Exception error) {
+        super(command, error);
+        this.command = command;
+        this.reports = reports;
+    }
+
+    @Override
+    public void reply(KafkaChannel kafkaChannel, IKafkaProducerService kafkaProducerService, String requestKey) {
+        List<SpeakerFlowSegmentResponse> responses = reports.stream()
+                .map(FlowSegmentReport::assembleResponse)
+                .collect(Collectors.toList());
+        FlowSegmentBatchResponse response = new FlowSegmentBatchResponse(
+                command.getMessageContext(), command.getCommandId(), command.getSwitchId(), responses);
+        kafkaProducerService.sendMessageAndTrack(kafkaChannel.getSpeakerFlowHsTopic(), requestKey, response);
+    }
+}
@@ -21,6 +21,7 @@ import org.openkilda.floodlight.command.SpeakerCommand;
 import org.openkilda.floodlight.error.SwitchMissingFlowsException;
 import org.openkilda.floodlight.model.FlowSegmentMetadata;
 import org.openkilda.floodlight.service.FeatureDetectorService;
+import org.openkilda.floodlight.service.FlowVerificationDumpService;
 import org.openkilda.floodlight.utils.OfFlowDumpProducer;
 import org.openkilda.floodlight.utils.OfFlowPresenceVerifier;
 import org.openkilda.messaging.MessageContext;
@@ -54,6 +55,8 @@ public abstract class FlowSegmentCommand extends SpeakerCommand<FlowSegmentRepor
     @Getter(AccessLevel.PROTECTED)
     private KildaCoreConfig kildaCoreConfig;
 
+    private FlowVerificationDumpService verificationDumpService;
+
     public FlowSegmentCommand(
             MessageContext messageContext, SwitchId switchId, UUID commandId, @NonNull FlowSegmentMetadata metadata) {
         super(messageContext, switchId, commandId);
@@ -70,10 +73,12 @@ public abstract class FlowSegmentCommand extends SpeakerCommand<FlowSegmentRepor
 
         KildaCore kildaCore = moduleContext.getServiceImpl(KildaCore.class);
         kildaCoreConfig = kildaCore.getConfig();
+
+        verificationDumpService = moduleContext.getServiceImpl(FlowVerificationDumpService.class);
     }
 
     protected CompletableFuture<FlowSegmentReport> makeVerifyPlan(List<OFFlowMod> expected) {
-        OfFlowDumpProducer dumper = new OfFlowDumpProducer(messageContext, getSw(), expected);
+        OfFlowDumpProducer dumper = new OfFlowDumpProducer(messageContext, getSw(), expected, verificationDumpService);
         OfFlowPresenceVerifier verifier = new OfFlowPresenceVerifier(dumper, expected, switchFeatures);
         return verifier.getFinish()
                 .thenApply(verifyResults -> handleVerifyResponse(expected, verifyResults));
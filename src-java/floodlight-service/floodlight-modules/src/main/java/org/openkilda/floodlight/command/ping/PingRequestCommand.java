@@ -19,7 +19,6 @@ import org.openkilda.floodlight.command.Command;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.error.PingImpossibleException;
 import org.openkilda.floodlight.model.PingData;
-import org.openkilda.floodlight.service.ping.PingService;
 import org.openkilda.messaging.model.Ping;
 import org.openkilda.messaging.model.Ping.Errors;
 import org.openkilda.model.SwitchId;
@@ -86,9 +85,7 @@ public class PingRequestCommand extends PingCommand {
         PingData data = PingData.of(ping);
         data.setSenderLatency(sw.getLatency().getValue());
 
-        PingService pingService = getPingService();
-        byte[] signedData = pingService.getSignature().sign(data);
-        byte[] rawPackage = pingService.wrapData(ping, signedData).serialize();
+        byte[] rawPackage = getPingService().makePacket(ping, data);
         OFMessage message = makePacketOut(sw, rawPackage);
 
         if (!sw.write(message)) {
@@ -20,15 +20,14 @@ import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.error.CorruptedNetworkDataException;
 import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.floodlight.model.PingData;
-import org.openkilda.floodlight.model.PingWiredView;
 import org.openkilda.floodlight.service.ping.PingService;
 import org.openkilda.messaging.floodlight.response.PingResponse;
 import org.openkilda.messaging.model.Ping;
 import org.openkilda.messaging.model.PingMeters;
 import org.openkilda.model.SwitchId;
 
-import com.auth0.jwt.interfaces.DecodedJWT;
-import net.floodlightcontroller.packet.Ethernet;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,14 +46,26 @@ public class PingResponseCommand extends PingCommand {
     public Command call() {
         log.debug("{} - {}", getClass().getCanonicalName(), input);
 
-        byte[] payload = unwrap();
-        if (payload == null) {
+        if (input.packetInCookieMismatchAll(log, PingService.OF_CATCH_RULE_COOKIE,
+                PingService.OF_CATCH_RULE_COOKIE_VXLAN)) {
+            return null;
+        }
+
+        byte[] frame = extractFrame();
+        if (frame == null) {
+            log.error("{} - payload is missing", input);
+            return null;
+        }
+
+        PingService pingService = getPingService();
+        int payloadOffset = pingService.locatePayload(input.getDpId(), frame);
+        if (payloadOffset < 0) {
             return null;
         }
 
         log.info("Receive flow ping packet from switch {} OF-xid:{}", input.getDpId(), input.getMessage().getXid());
         try {
-            PingData pingData = decode(payload);
+            PingData pingData = pingService.decodePayload(frame, payloadOffset);
             getContext().setCorrelationId(pingData.getPingId().toString());
 
             process(pingData);
@@ -65,29 +76,16 @@ public class PingResponseCommand extends PingCommand {
         return null;
     }
 
-    private byte[] unwrap() {
-        if (input.packetInCookieMismatchAll(log, PingService.OF_CATCH_RULE_COOKIE,
-                PingService.OF_CATCH_RULE_COOKIE_VXLAN)) {
+    private byte[] extractFrame() {
+        OFMessage message = input.getMessage();
+        if (!(message instanceof OFPacketIn)) {
             return null;
         }
-
-        Ethernet ethernetPackage = input.getPacketInPayload();
-        if (ethernetPackage == null) {
-            log.error("{} - payload is missing", input);
+        byte[] data = ((OFPacketIn) message).getData();
+        if (data == null || data.length == 0) {
             return null;
         }
-
-        PingWiredView wiredView = getPingService().unwrapData(input.getDpId(), ethernetPackage);
-        if (wiredView == null) {
-            return null;
-        }
-
-        return wiredView.getPayload();
-    }
-
-    private PingData decode(byte[] payload) throws CorruptedNetworkDataException {
-        DecodedJWT token = getPingService().getSignature().verify(payload);
-        return PingData.of(token);
+        return data;
     }
 
     private void process(PingData data) {
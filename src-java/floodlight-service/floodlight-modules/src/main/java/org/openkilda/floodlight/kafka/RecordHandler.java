@@ -615,10 +615,12 @@ class RecordHandler implements Runnable {
      * @param message NetworkCommandData
      */
     private void doNetworkDump(final CommandMessage message) {
-        logger.info("Processing request from WFM to dump switches. {}", message.getCorrelationId());
+        NetworkCommandData request = (NetworkCommandData) message.getData();
+        logger.info("Processing request from WFM to dump switches (digest only: {}, scope: {}). {}",
+                request.isDigestOnly(), request.getScope(), message.getCorrelationId());
 
         SwitchTrackingService switchTracking = context.getModuleContext().getServiceImpl(SwitchTrackingService.class);
-        switchTracking.dumpAllSwitches();
+        switchTracking.dumpSwitches(request);
     }
 
     private void doInstallSwitchRules(final CommandMessage message) {
@@ -1325,11 +1327,12 @@ class RecordHandler implements Runnable {
         ISwitchManager switchManager = context.getModuleContext().getServiceImpl(ISwitchManager.class);
 
         try {
-            logger.info("Getting ports data. Requester: {}", payload.getRequester());
+            logger.info("Getting ports data. Requester: {}, shard {} of {}",
+                    payload.getRequester(), payload.getShard(), payload.getShardsCount());
             Map<DatapathId, IOFSwitch> allSwitchMap = context.getSwitchManager().getAllSwitchMap(true);
             for (Map.Entry<DatapathId, IOFSwitch> entry : allSwitchMap.entrySet()) {
-                SwitchId switchId = new SwitchId(entry.getKey().toString());
-                if (! scope.contains(switchId)) {
+                SwitchId switchId = new SwitchId(entry.getKey().getLong());
+                if (! scope.contains(switchId) || ! payload.isInShard(switchId)) {
                     continue;
                 }
 
@@ -28,9 +28,19 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.projectfloodlight.openflow.types.DatapathId;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 public class PingData implements ISignPayload {
+    /**
+     * Binary representation layout: magic(2) version(1) ingress(8) ingress-port(4) egress(8) ping-id(16)
+     * ingress-latency(8) timestamp(8), big endian.
+     */
+    public static final int BINARY_LENGTH = 55;
+
+    private static final int BINARY_MAGIC = 0x4b50;
+    private static final byte BINARY_VERSION = 1;
+
     @Getter @Setter
     private long sendTime = 0;
     @Getter @Setter
@@ -77,6 +87,36 @@ public class PingData implements ISignPayload {
         return new PingData(ingress.getPortNumber(), source, dest, ping.getPingId());
     }
 
+    /**
+     * Build {@link PingData} from binary representation written by {@link #writeBinary(byte[], int)}.
+     */
+    public static PingData readBinary(byte[] source, int offset) throws CorruptedNetworkDataException {
+        if (!isBinary(source, offset, source.length - offset)) {
+            throw new CorruptedNetworkDataException(String.format(
+                    "Corrupted flow verification package (unknown binary format at offset %d)", offset));
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(source, offset + 3, BINARY_LENGTH - 3);
+        DatapathId ingress = DatapathId.of(buffer.getLong());
+        int ingressPortNumber = buffer.getInt();
+        DatapathId egress = DatapathId.of(buffer.getLong());
+        UUID packetId = new UUID(buffer.getLong(), buffer.getLong());
+
+        PingData data = new PingData(ingressPortNumber, ingress, egress, packetId);
+        data.setSenderLatency(buffer.getLong());
+        data.setSendTime(buffer.getLong());
+        return data;
+    }
+
+    /**
+     * Check whether the data starts with binary representation of {@link PingData}.
+     */
+    public static boolean isBinary(byte[] source, int offset, int length) {
+        return BINARY_LENGTH <= length
+                && ((source[offset] & 0xff) << 8 | source[offset + 1] & 0xff) == BINARY_MAGIC
+                && source[offset + 2] == BINARY_VERSION;
+    }
+
     public PingData(int ingressPortNumber, DatapathId source, DatapathId dest, UUID pingId) {
         this.ingressPortNumber = ingressPortNumber;
         this.source = source;
@@ -100,6 +140,25 @@ public class PingData implements ISignPayload {
         return token;
     }
 
+    /**
+     * Write binary representation into the target, {@link #BINARY_LENGTH} bytes are used. Same as
+     * {@link #toSign(JWTCreator.Builder)} it fixes the send time.
+     */
+    public void writeBinary(byte[] target, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(target, offset, BINARY_LENGTH);
+        buffer.putShort((short) BINARY_MAGIC);
+        buffer.put(BINARY_VERSION);
+        buffer.putLong(source.getLong());
+        buffer.putInt(ingressPortNumber);
+        buffer.putLong(dest.getLong());
+        buffer.putLong(pingId.getMostSignificantBits());
+        buffer.putLong(pingId.getLeastSignificantBits());
+
+        buffer.putLong(getSenderLatency());
+        sendTime = System.currentTimeMillis();
+        buffer.putLong(sendTime);
+    }
+
     /**
      * Calculate flow's latency.
      */
@@ -79,7 +79,6 @@ import org.projectfloodlight.openflow.protocol.OFPacketOut;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.protocol.OFPortDescProp;
 import org.projectfloodlight.openflow.protocol.OFPortDescPropEthernet;
-import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.protocol.OFVersion;
 import org.projectfloodlight.openflow.protocol.action.OFAction;
 import org.projectfloodlight.openflow.protocol.action.OFActions;
@@ -249,7 +248,8 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         islLatencyTopic = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getIslLatencyTopic();
         region = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getRegion();
         InputService inputService = context.getServiceImpl(InputService.class);
-        inputService.addTranslator(OFType.PACKET_IN, this);
+        inputService.addPacketInTranslator(
+                this, ImmutableList.of(OF_CATCH_RULE_COOKIE, OF_ROUND_TRIP_RULE_COOKIE), true);
 
         context.getServiceImpl(PingService.class).setup(context);
         context.getServiceImpl(IRestApiService.class)
@@ -0,0 +1,286 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service;
+
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.floodlight.utils.CompletableFutureAdapter;
+import org.openkilda.floodlight.utils.OfFlowDumpProducer;
+import org.openkilda.messaging.MessageContext;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.projectfloodlight.openflow.types.TableId;
+import org.projectfloodlight.openflow.types.U64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces OF flow dumps used by flow segment verification. The dump requests for the same switch received during
+ * the coalesce window are merged - the requests for the same table are served by one table dump, results are split
+ * by cookie and passed to each requester. A single request for a table is sent as is, i.e. filtered by cookie.
+ *
+ * <p>A table dump is not used for tables that are too big for the number of coalesced requests. The size of a table is
+ * taken from its last dump and is trusted for {@link #TABLE_SIZE_TTL_MILLIS}, after that the table is dumped again.
+ */
+public class FlowVerificationDumpService implements IService {
+    private static final Logger log = LoggerFactory.getLogger(FlowVerificationDumpService.class);
+
+    private static final long STATS_REPORT_INTERVAL_SECONDS = 60;
+    private static final long TABLE_SIZE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final KildaCore kildaCore;
+
+    private final Map<DatapathId, PendingDump> pending = new HashMap<>();
+    private final Map<TableKey, TableSize> tableSizes = new ConcurrentHashMap<>();
+
+    private final AtomicLong requestsCount = new AtomicLong();
+    private final AtomicLong dumpsCount = new AtomicLong();
+    private long reportedRequestsCount = 0;
+
+    private long coalesceWindowMillis = 0;
+    private int tableEntriesPerRequest = 0;
+    private ScheduledExecutorService scheduler;
+
+    public FlowVerificationDumpService(KildaCore kildaCore) {
+        this.kildaCore = kildaCore;
+    }
+
+    /**
+     * Service initialize(late) method.
+     */
+    @Override
+    public void setup(FloodlightModuleContext moduleContext) {
+        KildaCoreConfig config = kildaCore.getConfig();
+        coalesceWindowMillis = config.getFlowVerifyDumpCoalesceWindowMillis();
+        tableEntriesPerRequest = config.getFlowVerifyDumpCoalesceTableEntriesPerRequest();
+        log.info("config - flow verify dump coalesce window = {}ms, table entries per request = {}",
+                coalesceWindowMillis, tableEntriesPerRequest);
+
+        scheduler = moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(
+                this::reportStats, STATS_REPORT_INTERVAL_SECONDS, STATS_REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Dump OF flows of the table. Only the flows with the specified cookie are returned, if the cookie is set.
+     */
+    public CompletableFuture<List<OFFlowStatsEntry>> dump(
+            MessageContext context, IOFSwitch sw, TableId tableId, U64 cookie) {
+        requestsCount.incrementAndGet();
+        if (coalesceWindowMillis <= 0) {
+            return sendDumpRequest(context, sw, tableId, cookie);
+        }
+
+        CompletableFuture<List<OFFlowStatsEntry>> future = new CompletableFuture<>();
+        boolean schedule = false;
+        synchronized (pending) {
+            PendingDump dump = pending.get(sw.getId());
+            if (dump == null) {
+                dump = new PendingDump(context, sw);
+                pending.put(sw.getId(), dump);
+                schedule = true;
+            }
+            dump.add(tableId, cookie, future);
+        }
+
+        if (schedule) {
+            scheduler.schedule(() -> flush(sw.getId()), coalesceWindowMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    public long getRequestsCount() {
+        return requestsCount.get();
+    }
+
+    public long getDumpsCount() {
+        return dumpsCount.get();
+    }
+
+    public long getDumpsSaved() {
+        return requestsCount.get() - dumpsCount.get();
+    }
+
+    @VisibleForTesting
+    void flush(DatapathId swId) {
+        PendingDump dump;
+        synchronized (pending) {
+            dump = pending.remove(swId);
+        }
+        if (dump == null) {
+            return;
+        }
+
+        for (Map.Entry<TableId, List<DumpWaiter>> entry : dump.waiters.entrySet()) {
+            TableKey tableKey = new TableKey(swId, entry.getKey());
+            if (entry.getValue().size() > 1 && isCoalesceAllowed(tableKey, entry.getValue().size())) {
+                flushTable(dump, tableKey, entry.getValue());
+            } else {
+                entry.getValue().forEach(waiter -> flushSingle(dump, entry.getKey(), waiter));
+            }
+        }
+    }
+
+    private boolean isCoalesceAllowed(TableKey tableKey, int requestsCount) {
+        TableSize size = tableSizes.get(tableKey);
+        if (size == null || size.timestamp + TABLE_SIZE_TTL_MILLIS < System.currentTimeMillis()) {
+            return true;
+        }
+        return size.entries <= (long) requestsCount * tableEntriesPerRequest;
+    }
+
+    private void flushSingle(PendingDump dump, TableId tableId, DumpWaiter waiter) {
+        try {
+            sendDumpRequest(dump.context, dump.sw, tableId, waiter.cookie)
+                    .whenComplete((entries, error) -> waiter.complete(entries, error));
+        } catch (Exception e) {
+            waiter.complete(null, e);
+        }
+    }
+
+    private void flushTable(PendingDump dump, TableKey tableKey, List<DumpWaiter> waiters) {
+        log.debug("Coalesce {} flow verify dump requests for table {} on {} into one table dump",
+                waiters.size(), tableKey.tableId, dump.sw.getId());
+        CompletableFuture<List<OFFlowStatsEntry>> tableDump;
+        try {
+            tableDump = sendDumpRequest(dump.context, dump.sw, tableKey.tableId, null);
+        } catch (Exception e) {
+            waiters.forEach(waiter -> waiter.complete(null, e));
+            return;
+        }
+
+        tableDump.whenComplete((entries, error) -> {
+            if (error != null) {
+                waiters.forEach(waiter -> waiter.complete(null, error));
+            } else {
+                tableSizes.put(tableKey, new TableSize(entries.size(), System.currentTimeMillis()));
+                fanOut(entries, waiters);
+            }
+        });
+    }
+
+    private void fanOut(List<OFFlowStatsEntry> entries, List<DumpWaiter> waiters) {
+        Map<U64, List<OFFlowStatsEntry>> byCookie = new HashMap<>();
+        for (OFFlowStatsEntry entry : entries) {
+            byCookie.computeIfAbsent(entry.getCookie(), ignore -> new ArrayList<>()).add(entry);
+        }
+
+        for (DumpWaiter waiter : waiters) {
+            if (waiter.cookie == null) {
+                waiter.complete(entries, null);
+            } else {
+                waiter.complete(byCookie.getOrDefault(waiter.cookie, Collections.emptyList()), null);
+            }
+        }
+    }
+
+    private CompletableFuture<List<OFFlowStatsEntry>> sendDumpRequest(
+            MessageContext context, IOFSwitch sw, TableId tableId, U64 cookie) {
+        OFFlowStatsRequest statsRequest = OfFlowDumpProducer.makeOfFlowStatsRequest(sw.getOFFactory(), tableId, cookie);
+        dumpsCount.incrementAndGet();
+        log.debug("Send flows stats request to {} - {}", sw.getId(), statsRequest);
+        return new CompletableFutureAdapter<>(context, sw.writeStatsRequest(statsRequest))
+                .thenApply(FlowVerificationDumpService::unpackResponse);
+    }
+
+    private void reportStats() {
+        long requests = requestsCount.get();
+        if (requests == reportedRequestsCount) {
+            return;
+        }
+        reportedRequestsCount = requests;
+        log.info("Flow verify dumps stats: requests={}, dumps={}, saved={}", requests, getDumpsCount(),
+                getDumpsSaved());
+    }
+
+    private static List<OFFlowStatsEntry> unpackResponse(List<OFFlowStatsReply> replies) {
+        List<OFFlowStatsEntry> entries = new ArrayList<>();
+        for (OFFlowStatsReply entry : replies) {
+            entries.addAll(entry.getEntries());
+        }
+        return entries;
+    }
+
+    private static class PendingDump {
+        private final MessageContext context;
+        private final IOFSwitch sw;
+        private final Map<TableId, List<DumpWaiter>> waiters = new LinkedHashMap<>();
+
+        PendingDump(MessageContext context, IOFSwitch sw) {
+            this.context = context;
+            this.sw = sw;
+        }
+
+        void add(TableId tableId, U64 cookie, CompletableFuture<List<OFFlowStatsEntry>> future) {
+            waiters.computeIfAbsent(tableId, ignore -> new ArrayList<>())
+                    .add(new DumpWaiter(cookie, future));
+        }
+    }
+
+    @Value
+    private static class TableKey {
+        DatapathId swId;
+        TableId tableId;
+    }
+
+    private static class TableSize {
+        private final long entries;
+        private final long timestamp;
+
+        TableSize(long entries, long timestamp) {
+            this.entries = entries;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static class DumpWaiter {
+        private final U64 cookie;
+        private final CompletableFuture<List<OFFlowStatsEntry>> future;
+
+        DumpWaiter(U64 cookie, CompletableFuture<List<OFFlowStatsEntry>> future) {
+            this.cookie = cookie;
+            this.future = future;
+        }
+
+        void complete(List<OFFlowStatsEntry> entries, Throwable error) {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(entries);
+            }
+        }
+    }
+}
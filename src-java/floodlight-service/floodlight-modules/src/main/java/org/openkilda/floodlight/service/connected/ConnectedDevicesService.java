@@ -43,7 +43,6 @@ import net.floodlightcontroller.packet.ARP;
 import net.floodlightcontroller.packet.Ethernet;
 import net.floodlightcontroller.packet.IPacket;
 import net.floodlightcontroller.packet.LLDP;
-import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.types.U64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +50,8 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ConnectedDevicesService implements IService, IInputTranslator {
     private static final Logger logger = LoggerFactory.getLogger(ConnectedDevicesService.class);
@@ -216,7 +217,10 @@ public class ConnectedDevicesService implements IService, IInputTranslator {
         topic = kafkaChannel.getConnectedDevicesTopic();
 
         InputService inputService = context.getServiceImpl(InputService.class);
-        inputService.addTranslator(OFType.PACKET_IN, this);
+        List<U64> cookies = Stream.concat(lldpServiceTags.stream(), arpServiceTags.stream())
+                .map(tag -> U64.of(new ServiceCookie(tag).getValue()))
+                .collect(Collectors.toList());
+        inputService.addPacketInTranslator(this, cookies, false);
     }
 
     @Value
@@ -19,6 +19,8 @@ import org.openkilda.floodlight.service.IService;
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
 
+import java.util.Map;
+
 public interface IKafkaProducerService extends IService {
     void sendMessageAndTrack(String topic, Message message);
 
@@ -33,4 +35,9 @@ public interface IKafkaProducerService extends IService {
     SendStatus sendMessage(String topic, Message message);
 
     int getFailedSendMessageCounter();
+
+    /**
+     * Per topic send statistics (sent/failed records, producer queue size, send latency).
+     */
+    Map<String, TopicSendStats> getTopicStats();
 }
@@ -27,9 +27,10 @@ import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslInfoData;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -37,7 +38,15 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class KafkaProducerService implements IKafkaProducerService, ZooKeeperEventObserver {
 
@@ -45,9 +54,16 @@ public class KafkaProducerService implements IKafkaProducerService, ZooKeeperEve
     private static final Logger discoLogger = LoggerFactory.getLogger(
             String.format("%s.DISCO", KafkaProducerService.class.getName()));
 
-    private int failedSendMessageCounter;
-    private Producer<String, String> producer;
-    private final ObjectMapper jsonObjectMapper = new ObjectMapper();
+    private static final int ENCODE_BUFFER_INITIAL_SIZE = 4096;
+    private static final int ENCODE_BUFFER_RETAIN_LIMIT = 1024 * 1024;
+    private static final long STATS_REPORT_INTERVAL_SECONDS = 60;
+
+    private final AtomicInteger failedSendMessageCounter = new AtomicInteger();
+    private final Map<String, TopicSendStats> topicStats = new ConcurrentHashMap<>();
+    private Producer<String, byte[]> producer;
+    private final ObjectWriter jsonWriter = new ObjectMapper().writer();
+    private final ThreadLocal<ByteArrayOutputStream> encodeBuffer = ThreadLocal.withInitial(
+            () -> new ByteArrayOutputStream(ENCODE_BUFFER_INITIAL_SIZE));
 
     private ZooKeeperService zkService;
     private final AtomicBoolean active = new AtomicBoolean(false);
@@ -57,28 +73,31 @@ public class KafkaProducerService implements IKafkaProducerService, ZooKeeperEve
         producer = moduleContext.getServiceImpl(KafkaUtilityService.class).makeProducer();
         zkService = moduleContext.getServiceImpl(ZooKeeperService.class);
         zkService.subscribe(this);
+
+        moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor().scheduleWithFixedDelay(
+                this::reportTopicStats, STATS_REPORT_INTERVAL_SECONDS, STATS_REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
     @Override
     public void sendMessageAndTrack(String topic, Message message) {
-        produce(encode(topic, message), new SendStatusCallback(this, topic, message));
+        produceAndTrack(encode(topic, message), message);
     }
 
     @Override
     public void sendMessageAndTrack(String topic, String key, Message message) {
-        produce(encode(topic, key, message), new SendStatusCallback(this, topic, message));
+        produceAndTrack(encode(topic, key, message), message);
     }
 
     @Override
     public void sendMessageAndTrack(String topic, String key, AbstractMessage message) {
-        produce(encode(topic, key, message), new SendStatusCallback(this, topic,
-                message.getMessageContext().getCorrelationId()));
+        ProducerRecord<String, byte[]> record = encode(topic, key, message);
+        produce(record, makeCallback(topic, message.getMessageContext().getCorrelationId(), null));
     }
 
     @Override
     public void sendMessageAndTrackWithZk(String topic, Message message) {
         if (active.get()) {
-            produce(encode(topic, message), new SendStatusCallback(this, topic, message));
+            produceAndTrack(encode(topic, message), message);
         } else {
             logger.debug("ZooKeeper signal is not START");
         }
@@ -87,7 +106,7 @@ public class KafkaProducerService implements IKafkaProducerService, ZooKeeperEve
     @Override
     public void sendMessageAndTrackWithZk(String topic, String key, Message message) {
         if (active.get()) {
-            produce(encode(topic, key, message), new SendStatusCallback(this, topic, message));
+            produceAndTrack(encode(topic, key, message), message);
         } else {
             logger.debug("ZooKeeper signal is not START");
         }
@@ -118,81 +137,135 @@ public class KafkaProducerService implements IKafkaProducerService, ZooKeeperEve
     /**
      * Push message into kafka-broker and do not control operation result.
      *
-     * <p>Caller can check operation result by himself using returned {@link SendStatusCallback} object.
+     * <p>Caller can check operation result by himself using returned {@link SendStatus} object.
      */
     public SendStatus sendMessage(String topic, Message message) {
-        SendStatus sendStatus = produce(encode(topic, message), null);
+        SendStatus sendStatus = produce(encode(topic, message), makeCallback(topic, message.getCorrelationId(), null));
         return sendStatus;
     }
 
-    protected SendStatus produce(ProducerRecord<String, String> record, Callback callback) {
-        logger.debug("Send kafka message: {} <== key:{} value:{}", record.topic(), record.key(), record.value());
-        return new SendStatus(producer.send(record, callback));
+    private void produceAndTrack(ProducerRecord<String, byte[]> record, Message message) {
+        produce(record, makeCallback(record.topic(), message.getCorrelationId(), extractDiscoveryPacketId(message)));
+    }
+
+    protected SendStatus produce(ProducerRecord<String, byte[]> record, Callback callback) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Send kafka message: {} <== key:{} value:{}",
+                    record.topic(), record.key(), new String(record.value(), StandardCharsets.UTF_8));
+        }
+        try {
+            return new SendStatus(producer.send(record, callback));
+        } catch (RuntimeException e) {
+            // the producer does not call the callback if it throws, the send accounting must be completed anyway
+            if (callback != null) {
+                callback.onCompletion(null, e);
+            }
+            throw e;
+        }
     }
 
-    private ProducerRecord<String, String> encode(String topic, Message payload) {
+    private ProducerRecord<String, byte[]> encode(String topic, Message payload) {
         return encode(topic, null, payload);
     }
 
-    private ProducerRecord<String, String> encode(String topic, String key, Object payload) {
+    private ProducerRecord<String, byte[]> encode(String topic, String key, Object payload) {
         return new ProducerRecord<>(topic, key, encodeValue(payload));
     }
 
-    private String encodeValue(Object message) {
-        String encoded;
+    private byte[] encodeValue(Object message) {
+        ByteArrayOutputStream buffer = encodeBuffer.get();
+        buffer.reset();
         try {
-            encoded = jsonObjectMapper.writeValueAsString(message);
-        } catch (JsonProcessingException e) {
+            jsonWriter.writeValue(buffer, message);
+        } catch (IOException e) {
             throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
         }
 
+        byte[] encoded = buffer.toByteArray();
+        if (ENCODE_BUFFER_RETAIN_LIMIT < buffer.size()) {
+            // do not keep the memory occupied by a single huge message
+            encodeBuffer.remove();
+        }
         return encoded;
     }
 
+    private SendStatusCallback makeCallback(String topic, String correlationId, Long discoveryPacketId) {
+        TopicSendStats stats = topicStats.computeIfAbsent(topic, ignore -> new TopicSendStats());
+        return new SendStatusCallback(this, topic, stats, correlationId, discoveryPacketId);
+    }
+
+    private static Long extractDiscoveryPacketId(Message message) {
+        if (message instanceof InfoMessage) {
+            InfoData infoData = ((InfoMessage) message).getData();
+            if (infoData instanceof IslInfoData) {
+                return ((IslInfoData) infoData).getPacketId();
+            }
+        }
+        return null;
+    }
+
+    private void reportSendResult(boolean isSuccess) {
+        if (isSuccess) {
+            // avoid cache line contention between producer threads on the common success path
+            if (failedSendMessageCounter.get() != 0) {
+                failedSendMessageCounter.set(0);
+            }
+        } else {
+            failedSendMessageCounter.incrementAndGet();
+        }
+    }
+
     /**
      * get failed sent messages count since last run.
      */
     public int getFailedSendMessageCounter() {
-        return failedSendMessageCounter;
+        return failedSendMessageCounter.get();
+    }
+
+    @Override
+    public Map<String, TopicSendStats> getTopicStats() {
+        return Collections.unmodifiableMap(topicStats);
+    }
+
+    void reportTopicStats() {
+        for (Map.Entry<String, TopicSendStats> entry : getTopicStats().entrySet()) {
+            TopicSendStats stats = entry.getValue();
+            if (stats.pullUpdated()) {
+                logger.info("Kafka producer stats for topic {}: {}, max-latency={}us",
+                        entry.getKey(), stats, stats.pullMaxLatencyMicros());
+            }
+        }
     }
 
     private static class SendStatusCallback implements Callback {
         private final KafkaProducerService service;
         private final String topic;
+        private final TopicSendStats stats;
         private final String correlationId;
-        private final Message message;
+        private final Long discoveryPacketId;
+        private final long startedAt;
 
-        SendStatusCallback(KafkaProducerService service, String topic, String correlationId) {
+        SendStatusCallback(KafkaProducerService service, String topic, TopicSendStats stats, String correlationId,
+                           Long discoveryPacketId) {
             this.service = service;
             this.topic = topic;
+            this.stats = stats;
             this.correlationId = correlationId;
-            this.message = null;
-        }
-
-        SendStatusCallback(KafkaProducerService service, String topic, Message message) {
-            this.service = service;
-            this.topic = topic;
-            this.correlationId = message.getCorrelationId();
-            this.message = message;
+            this.discoveryPacketId = discoveryPacketId;
+            this.startedAt = stats.sendStarted();
         }
 
         @Override
         public void onCompletion(RecordMetadata metadata, Exception exception) {
-            String error = exception == null ? null : exception.toString();
-            logger.debug("{}: {}, {}", this.getClass().getCanonicalName(), metadata, error);
+            stats.sendCompleted(startedAt, exception == null);
+            service.reportSendResult(exception == null);
 
             if (exception == null) {
-                service.failedSendMessageCounter = 0;
-                if (message instanceof InfoMessage) {
-                    InfoData infoData = ((InfoMessage) message).getData();
-                    if (infoData instanceof IslInfoData) {
-                        IslInfoData isl = (IslInfoData) infoData;
-                        discoLogger.debug("Isl discovery response was successfully sent: {}", isl.getPacketId());
-                    }
+                if (discoveryPacketId != null) {
+                    discoLogger.debug("Isl discovery response was successfully sent: {}", discoveryPacketId);
                 }
                 return;
             }
-            service.failedSendMessageCounter++;
             logger.error(
                     "Fail to send message(correlationId=\"{}\") in kafka topic={}: {}",
                     correlationId, topic, exception);
@@ -0,0 +1,105 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.kafka;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Send statistics of a single kafka topic. Updated from both the sending threads and the kafka-producer I/O thread.
+ */
+public class TopicSendStats {
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder latencyTotalNanos = new LongAdder();
+    private final LongAccumulator latencyMaxNanos = new LongAccumulator(Math::max, 0);
+
+    private long reportedCount = 0;
+
+    /**
+     * Register new record passed to the producer.
+     *
+     * @return the timestamp to be passed into {@link #sendCompleted(long, boolean)}.
+     */
+    long sendStarted() {
+        pending.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    void sendCompleted(long startedAt, boolean isSuccess) {
+        long latency = System.nanoTime() - startedAt;
+        pending.decrementAndGet();
+        if (isSuccess) {
+            sent.increment();
+        } else {
+            failed.increment();
+        }
+        latencyTotalNanos.add(latency);
+        latencyMaxNanos.accumulate(latency);
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Number of records passed to the producer and not acknowledged by the broker yet i.e. the producer queue size.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Average time between passing a record to the producer and its acknowledgement.
+     */
+    public long getAverageLatencyMicros() {
+        long total = sent.sum() + failed.sum();
+        if (total == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMicros(latencyTotalNanos.sum() / total);
+    }
+
+    /**
+     * Max time between passing a record to the producer and its acknowledgement since the previous call.
+     */
+    public long pullMaxLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(latencyMaxNanos.getThenReset());
+    }
+
+    /**
+     * Check whether there were any sends since the previous call. Must be used from the single reporting thread.
+     */
+    boolean pullUpdated() {
+        long total = sent.sum() + failed.sum();
+        boolean updated = total != reportedCount || pending.get() != 0;
+        reportedCount = total;
+        return updated;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sent=%d, failed=%d, pending=%d, avg-latency=%dus",
+                getSentCount(), getFailedCount(), getPendingCount(), getAverageLatencyMicros());
+    }
+}
@@ -21,7 +21,6 @@ import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.floodlight.service.CommandProcessorService;
 import org.openkilda.floodlight.service.IService;
 import org.openkilda.floodlight.utils.CommandContextFactory;
-import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 
 import com.google.common.collect.ImmutableSet;
 import net.floodlightcontroller.core.FloodlightContext;
@@ -31,21 +30,37 @@ import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFType;
+import org.projectfloodlight.openflow.types.U64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class InputService implements IService, IOFMessageListener {
     private static Logger log = LoggerFactory.getLogger(InputService.class);
 
+    static final long UNCLAIMED_PACKET_IN_SAMPLE_RATE = 1000;
+
+    private static final U64 PACKET_IN_RESERVED_COOKIE = U64.of(-1);
+
     private final HashMap<OFType, List<IInputTranslator>> translators = new HashMap<>();
+    private final Set<OFType> subscriptions = new HashSet<>();
+
+    private final Map<U64, IInputTranslator> packetInRoutes = new ConcurrentHashMap<>();
+    private final List<IInputTranslator> packetInNoCookieTranslators = new CopyOnWriteArrayList<>();
+    private final AtomicLong unclaimedPacketInCount = new AtomicLong();
+
     private final CommandContextFactory commandContextFactory;
 
     private final Set<String> mustHandleBefore = ImmutableSet.of();
@@ -72,42 +87,111 @@ public class InputService implements IService, IOFMessageListener {
      */
     public void addTranslator(OFType ofType, IInputTranslator inputTranslator) {
         synchronized (this.translators) {
-            List<IInputTranslator> queue = translators.merge(
+            translators.merge(
                     ofType, Collections.singletonList(inputTranslator),
                     (stored, toAdd) -> Stream.of(stored, toAdd)
                             .flatMap(Collection::stream)
                             .collect(Collectors.toList()));
-            if (queue.size() == 1) {
-                activateSubscription(flProviderService, ofType);
+            activateSubscription(ofType);
+        }
+    }
+
+    /**
+     * Register PACKET_IN translator for the packets sent to the controller by the rules with specified cookies. Each
+     * cookie can be claimed by only one translator, so the packet is passed only to the translator interested in it.
+     *
+     * @param inputTranslator the translator.
+     * @param cookies cookies of the rules sending packets to the controller.
+     * @param acceptNoCookie pass the packets without usable cookie (OF versions without cookie in PACKET_IN, zero or
+     *                       reserved cookie value) to the translator.
+     */
+    public void addPacketInTranslator(
+            IInputTranslator inputTranslator, Collection<U64> cookies, boolean acceptNoCookie) {
+        synchronized (this.translators) {
+            for (U64 cookie : cookies) {
+                IInputTranslator current = packetInRoutes.putIfAbsent(cookie, inputTranslator);
+                if (current != null && current != inputTranslator) {
+                    throw new IllegalArgumentException(String.format(
+                            "PACKET_IN cookie %s is already claimed by %s", cookie, current));
+                }
+            }
+            if (acceptNoCookie) {
+                packetInNoCookieTranslators.add(inputTranslator);
             }
+            activateSubscription(OFType.PACKET_IN);
         }
     }
 
     @Override
-    @NewCorrelationContextRequired
     public Command receive(IOFSwitch sw, OFMessage message, FloodlightContext context) {
         final OfInput input = new OfInput(sw, message, context);  // must be constructed as early as possible
-        final String packetIdentity = String.format(
-                "(dpId: %s, xId: %s, version: %s, type: %s)",
-                sw.getId(), message.getXid(), message.getVersion(), message.getType());
 
-        log.debug("{} - receive message {}", getClass().getCanonicalName(), packetIdentity);
+        if (log.isDebugEnabled()) {
+            log.debug("{} - receive message {}", getClass().getCanonicalName(), formatIdentity(sw, message));
+        }
         try {
             handle(input);
         } catch (Exception e) {
-            log.error(String.format("Unhandled exception during processing %s", packetIdentity), e);
+            log.error(String.format("Unhandled exception during processing %s", formatIdentity(sw, message)), e);
         }
         return Command.CONTINUE;
     }
 
+    public long getUnclaimedPacketInCount() {
+        return unclaimedPacketInCount.get();
+    }
+
     private void handle(OfInput input) {
-        final CommandContext commandContext = commandContextFactory.produce();
+        if (input.getType() == OFType.PACKET_IN) {
+            handlePacketIn(input);
+        }
+
         List<IInputTranslator> queue = translators.get(input.getType());
+        if (queue != null) {
+            dispatch(input, queue);
+        }
+    }
+
+    private void handlePacketIn(OfInput input) {
+        U64 cookie = input.packetInCookie();
+        if (cookie == null || U64.ZERO.equals(cookie) || PACKET_IN_RESERVED_COOKIE.equals(cookie)) {
+            if (!packetInNoCookieTranslators.isEmpty()) {
+                dispatch(input, packetInNoCookieTranslators);
+            }
+            return;
+        }
+
+        IInputTranslator translator = packetInRoutes.get(cookie);
+        if (translator != null) {
+            Command command = translator.makeCommand(commandContextFactory.produce(), input);
+            if (command != null) {
+                commandProcessor.processLazy(command);
+            }
+        } else if (!translators.containsKey(OFType.PACKET_IN)) {
+            reportUnclaimedPacketIn(input, cookie);
+        }
+    }
+
+    private void dispatch(OfInput input, List<IInputTranslator> queue) {
+        final CommandContext commandContext = commandContextFactory.produce();
         commandProcessor.processLazy(new InputDispatchCommand(commandContext, commandProcessor, queue, input));
     }
 
-    private void activateSubscription(IFloodlightProviderService flProviderService, OFType... desiredTypes) {
-        for (OFType target : desiredTypes) {
+    private void reportUnclaimedPacketIn(OfInput input, U64 cookie) {
+        long count = unclaimedPacketInCount.incrementAndGet();
+        if (count % UNCLAIMED_PACKET_IN_SAMPLE_RATE == 1) {
+            log.info("Drop PACKET_IN with unclaimed cookie {} from {} (OF-xid:{}), {} unclaimed PACKET_IN(s) total",
+                    cookie, input.getDpId(), input.getMessage().getXid(), count);
+        }
+    }
+
+    private static String formatIdentity(IOFSwitch sw, OFMessage message) {
+        return String.format("(dpId: %s, xId: %s, version: %s, type: %s)",
+                sw.getId(), message.getXid(), message.getVersion(), message.getType());
+    }
+
+    private void activateSubscription(OFType target) {
+        if (subscriptions.add(target)) {
             log.debug("{} activate subscription for OFMessage with OFType.{}", this.getClass().getName(), target);
             flProviderService.addOFMessageListener(target, this);
         }
@@ -0,0 +1,68 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.floodlight.service.ping;
+
+import org.openkilda.floodlight.model.PingData;
+import org.openkilda.floodlight.utils.BinaryDataSignature;
+
+import net.floodlightcontroller.packet.IPacket;
+
+import java.util.Arrays;
+
+/**
+ * Pre-serialised ping packet with a fixed size payload slot at the end. Because the payload size never changes,
+ * all lengths and the IPv4 header checksums of the template stay valid, rendering a packet is a copy of the
+ * template plus the payload write.
+ */
+class PingPacketTemplate {
+    static final int PAYLOAD_LENGTH = PingData.BINARY_LENGTH + BinaryDataSignature.SIGNATURE_LENGTH;
+
+    private static final int UDP_CHECKSUM_OFFSET = 6;
+    private static final int UDP_HEADER_LENGTH = 8;
+
+    private final byte[] frame;
+    private final int payloadOffset;
+
+    /**
+     * Serialize the packet built with an empty payload of {@link #PAYLOAD_LENGTH} bytes.
+     *
+     * @param outerUdpOffset offset of encapsulating UDP header (VXLAN) or negative value if there is no such header.
+     */
+    PingPacketTemplate(IPacket packet, int outerUdpOffset) {
+        frame = packet.serialize();
+        payloadOffset = frame.length - PAYLOAD_LENGTH;
+
+        // UDP checksums cover the payload, zero checksum means "not calculated" for UDP over IPv4
+        clearUdpChecksum(payloadOffset - UDP_HEADER_LENGTH);
+        if (0 <= outerUdpOffset) {
+            clearUdpChecksum(outerUdpOffset);
+        }
+    }
+
+    /**
+     * Produce the packet carrying the signed binary representation of the ping data.
+     */
+    byte[] render(PingData data, BinaryDataSignature signature) {
+        byte[] packet = Arrays.copyOf(frame, frame.length);
+        data.writeBinary(packet, payloadOffset);
+        signature.sign(packet, payloadOffset, PingData.BINARY_LENGTH);
+        return packet;
+    }
+
+    private void clearUdpChecksum(int udpOffset) {
+        frame[udpOffset + UDP_CHECKSUM_OFFSET] = 0;
+        frame[udpOffset + UDP_CHECKSUM_OFFSET + 1] = 0;
+    }
+}
@@ -17,14 +17,17 @@ package org.openkilda.floodlight.service.ping;
 
 import org.openkilda.floodlight.KildaCore;
 import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
 import org.openkilda.floodlight.error.InvalidSignatureConfigurationException;
 import org.openkilda.floodlight.error.PingImpossibleException;
+import org.openkilda.floodlight.model.PingData;
 import org.openkilda.floodlight.model.PingWiredView;
 import org.openkilda.floodlight.pathverification.PathVerificationService;
 import org.openkilda.floodlight.service.IService;
 import org.openkilda.floodlight.service.of.InputService;
 import org.openkilda.floodlight.shared.packet.Vxlan;
 import org.openkilda.floodlight.switchmanager.SwitchManager;
+import org.openkilda.floodlight.utils.BinaryDataSignature;
 import org.openkilda.floodlight.utils.DataSignature;
 import org.openkilda.floodlight.utils.EthernetPacketToolbox;
 import org.openkilda.messaging.model.Ping;
@@ -32,6 +35,9 @@ import org.openkilda.messaging.model.Ping.Errors;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.cookie.Cookie;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.google.common.collect.ImmutableList;
+import lombok.Value;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.packet.Data;
@@ -39,17 +45,19 @@ import net.floodlightcontroller.packet.Ethernet;
 import net.floodlightcontroller.packet.IPacket;
 import net.floodlightcontroller.packet.IPv4;
 import net.floodlightcontroller.packet.UDP;
-import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.EthType;
+import org.projectfloodlight.openflow.types.IPv4Address;
 import org.projectfloodlight.openflow.types.IpProtocol;
 import org.projectfloodlight.openflow.types.MacAddress;
 import org.projectfloodlight.openflow.types.TransportPort;
 import org.projectfloodlight.openflow.types.U64;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PingService implements IService {
     public static final U64 OF_CATCH_RULE_COOKIE = U64.of(Cookie.VERIFICATION_UNICAST_RULE_COOKIE);
@@ -58,8 +66,20 @@ public class PingService implements IService {
     private static final int NET_L3_PORT = PathVerificationService.DISCOVERY_PACKET_UDP_PORT + 1;
     private static final byte NET_L3_TTL = 96;
 
+    private static final int NET_L3_ADDRESS_RAW = IPv4Address.of(NET_L3_ADDRESS).getInt();
+    private static final int ETHERNET_ADDRESS_LENGTH = 6;
+    private static final int ETHERNET_HEADER_LENGTH = 14;
+    private static final int VLAN_HEADER_LENGTH = 4;
+    private static final int IPV4_MIN_HEADER_LENGTH = 20;
+    private static final int UDP_HEADER_LENGTH = 8;
+    private static final int MAX_PACKET_TEMPLATES = 16384;
+
     private DataSignature signature = null;
+    private BinaryDataSignature binarySignature = null;
     private MacAddress magicSourceMacAddress;
+    private boolean binaryPayload;
+
+    private final Map<PacketTemplateKey, PingPacketTemplate> packetTemplates = new ConcurrentHashMap<>();
 
     /**
      * Initialize internal data structures. Called by module that own this service. Called after all dependencies have
@@ -71,15 +91,51 @@ public class PingService implements IService {
         Map<String, String> config = moduleContext.getConfigParams(PathVerificationService.class);
         try {
             signature = new DataSignature(config.get("hmac256-secret"));
+            binarySignature = new BinaryDataSignature(config.get("hmac256-secret"));
         } catch (InvalidSignatureConfigurationException e) {
             throw new FloodlightModuleException(String.format("Unable to initialize %s", getClass().getName()), e);
         }
 
         InputService inputService = moduleContext.getServiceImpl(InputService.class);
-        inputService.addTranslator(OFType.PACKET_IN, new PingInputTranslator());
+        inputService.addPacketInTranslator(new PingInputTranslator(),
+                ImmutableList.of(OF_CATCH_RULE_COOKIE, OF_CATCH_RULE_COOKIE_VXLAN), true);
 
         KildaCoreConfig coreConfig = moduleContext.getServiceImpl(KildaCore.class).getConfig();
         magicSourceMacAddress = MacAddress.of(coreConfig.getFlowPingMagicSrcMacAddress());
+        binaryPayload = coreConfig.isFlowPingBinaryPayload();
+    }
+
+    /**
+     * Produce serialized ping packet carrying signed ping data. With binary payload enabled the packet is rendered
+     * from the pre-serialised template of the ping's egress switch and transit encapsulation.
+     */
+    public byte[] makePacket(Ping ping, PingData data) throws PingImpossibleException {
+        if (!binaryPayload) {
+            return wrapData(ping, signature.sign(data)).serialize();
+        }
+
+        PacketTemplateKey key = new PacketTemplateKey(
+                ping.getDest().getDatapath().toLong(), ping.getTransitEncapsulation().getType(),
+                ping.getTransitEncapsulation().getId());
+        PingPacketTemplate template = packetTemplates.get(key);
+        if (template == null) {
+            template = makePacketTemplate(ping);
+            if (MAX_PACKET_TEMPLATES <= packetTemplates.size()) {
+                // templates are cheap to rebuild, there is no need for precise eviction
+                packetTemplates.clear();
+            }
+            packetTemplates.put(key, template);
+        }
+        return template.render(data, binarySignature);
+    }
+
+    private PingPacketTemplate makePacketTemplate(Ping ping) throws PingImpossibleException {
+        IPacket packet = wrapData(ping, new byte[PingPacketTemplate.PAYLOAD_LENGTH]);
+        int outerUdpOffset = -1;
+        if (FlowEncapsulationType.VXLAN.equals(ping.getTransitEncapsulation().getType())) {
+            outerUdpOffset = ETHERNET_HEADER_LENGTH + IPV4_MIN_HEADER_LENGTH;
+        }
+        return new PingPacketTemplate(packet, outerUdpOffset);
     }
 
     /**
@@ -179,7 +235,97 @@ public class PingService implements IService {
         return new PingWiredView(vlanStack, udp.getPayload().serialize());
     }
 
+    /**
+     * Zero allocation equivalent of {@link #unwrapData(DatapathId, Ethernet)} working on raw packet data.
+     *
+     * @return offset of ping payload or -1 if the packet is not a ping packet addressed to the switch.
+     */
+    public int locatePayload(DatapathId dpId, byte[] frame) {
+        if (frame == null || frame.length < ETHERNET_HEADER_LENGTH) {
+            return -1;
+        }
+        long targetL2Address = dpId.getLong();
+        for (int i = 0; i < ETHERNET_ADDRESS_LENGTH; i++) {
+            if (frame[i] != (byte) (targetL2Address >>> (8 * (ETHERNET_ADDRESS_LENGTH - 1 - i)))) {
+                return -1;
+            }
+        }
+
+        int offset = 2 * ETHERNET_ADDRESS_LENGTH;
+        int etherType = readUnsignedShort(frame, offset);
+        while (isVlanEtherType(etherType)) {
+            offset += VLAN_HEADER_LENGTH;
+            if (frame.length < offset + 2) {
+                return -1;
+            }
+            etherType = readUnsignedShort(frame, offset);
+        }
+        offset += 2;
+
+        if (etherType != EthType.IPv4.getValue() || frame.length < offset + IPV4_MIN_HEADER_LENGTH) {
+            return -1;
+        }
+        int headerLength = (frame[offset] & 0x0f) * 4;
+        if (headerLength < IPV4_MIN_HEADER_LENGTH
+                || frame[offset + 9] != IpProtocol.UDP.getIpProtocolNumber()
+                || readInt(frame, offset + 12) != NET_L3_ADDRESS_RAW
+                || readInt(frame, offset + 16) != NET_L3_ADDRESS_RAW) {
+            return -1;
+        }
+        offset += headerLength;
+
+        if (frame.length < offset + UDP_HEADER_LENGTH
+                || readUnsignedShort(frame, offset) != NET_L3_PORT
+                || readUnsignedShort(frame, offset + 2) != NET_L3_PORT) {
+            return -1;
+        }
+        int udpLength = readUnsignedShort(frame, offset + 4);
+        if (udpLength < UDP_HEADER_LENGTH || frame.length < offset + udpLength) {
+            return -1;
+        }
+        return offset + UDP_HEADER_LENGTH;
+    }
+
+    /**
+     * Verify and decode ping payload located by {@link #locatePayload(DatapathId, byte[])}. Both binary and JWT
+     * payloads are accepted.
+     */
+    public PingData decodePayload(byte[] frame, int offset) throws CorruptedNetworkDataException {
+        int length = readUnsignedShort(frame, offset - UDP_HEADER_LENGTH + 4) - UDP_HEADER_LENGTH;
+        if (PingData.isBinary(frame, offset, length)) {
+            if (length < PingPacketTemplate.PAYLOAD_LENGTH
+                    || !binarySignature.verify(frame, offset, PingData.BINARY_LENGTH)) {
+                throw new CorruptedNetworkDataException("Bad signature of binary flow verification package");
+            }
+            return PingData.readBinary(frame, offset);
+        }
+
+        DecodedJWT token = signature.verify(Arrays.copyOfRange(frame, offset, offset + length));
+        return PingData.of(token);
+    }
+
     public DataSignature getSignature() {
         return signature;
     }
+
+    private static boolean isVlanEtherType(int etherType) {
+        return etherType == EthType.VLAN_FRAME.getValue()
+                || etherType == EthType.Q_IN_Q.getValue()
+                || etherType == EthType.BRIDGING.getValue();
+    }
+
+    private static int readUnsignedShort(byte[] data, int offset) {
+        return (data[offset] & 0xff) << 8 | data[offset + 1] & 0xff;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return readUnsignedShort(data, offset) << 16 | readUnsignedShort(data, offset + 2);
+    }
+
+    @Value
+    private static class PacketTemplateKey {
+        long egressSwitch;
+        FlowEncapsulationType encapsulationType;
+        Integer encapsulationId;
+    }
 }
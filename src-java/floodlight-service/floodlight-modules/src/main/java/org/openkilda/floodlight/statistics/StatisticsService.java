@@ -17,6 +17,7 @@ package org.openkilda.floodlight.statistics;
 
 import static java.lang.String.format;
 
+import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.converter.OfFlowStatsMapper;
 import org.openkilda.floodlight.converter.OfMeterStatsMapper;
 import org.openkilda.floodlight.converter.OfPortStatsMapper;
@@ -29,6 +30,7 @@ import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.StatsPollingData;
 import org.openkilda.messaging.info.stats.SwitchTableStatsData;
 import org.openkilda.messaging.info.stats.TableStatsEntry;
 import org.openkilda.model.SwitchId;
@@ -64,21 +66,45 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * This service performs periodic port/flow/meter config statistics collection and pushes it to Kafka.
+ *
+ * <p>Polls of the switches are spread over the poll interval using a stable offset derived from the datapath id, the
+ * requests of different types are sent to a switch with a delay between them and limited by the number of
+ * unanswered requests. Polling counters are reported into stats topic once per stats request.
  */
 public class StatisticsService implements IStatisticsService, IFloodlightModule {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
     private static final long OFPM_ALL = 0xffffffffL;
 
+    private static final List<StatsType> POLL_SEQUENCE = ImmutableList.of(
+            StatsType.PORT, StatsType.FLOW, StatsType.METER, StatsType.TABLE);
+
     private IOFSwitchService switchService;
     private IKafkaProducerService producerService;
+    private ScheduledExecutorService scheduler;
+    private StatisticsServiceConfig config;
     private String statisticsTopic;
     private String region;
 
+    private final Map<DatapathId, SwitchPollState> pollStates = new ConcurrentHashMap<>();
+
+    private final AtomicLong polledSwitches = new AtomicLong();
+    private final AtomicLong sentRequests = new AtomicLong();
+    private final AtomicLong missedPolls = new AtomicLong();
+    private final AtomicLong missedRequests = new AtomicLong();
+    private final AtomicLong latePolls = new AtomicLong();
+    private final AtomicLong unansweredRequests = new AtomicLong();
+
     @Override
     public Collection<Class<? extends IFloodlightService>> getModuleServices() {
         return Collections.singletonList(IStatisticsService.class);
@@ -103,6 +129,9 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
     public void init(FloodlightModuleContext context) {
         switchService = context.getServiceImpl(IOFSwitchService.class);
         producerService = context.getServiceImpl(IKafkaProducerService.class);
+        scheduler = context.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+        config = FloodlightModuleConfigurationProvider.of(context, this)
+                .getConfiguration(StatisticsServiceConfig.class);
     }
 
     @Override
@@ -115,37 +144,171 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         statisticsTopic = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getStatsTopic();
         region = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getRegion();
 
-        switchService.getAllSwitchMap().values().stream()
-                .filter(it -> scope.contains(it.getId()))
-                .forEach(iofSwitch -> {
-                    try {
-                        gatherPortStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for ports on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherFlowStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for flows on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherMeterStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for meters on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherTableStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for tables on switch %s.", iofSwitch.getId()), e);
-                    }
-                });
+        reportPollingStats();
+
+        long spreadMillis = pollWindow(
+                TimeUnit.SECONDS.toMillis(config.getPollSpreadIntervalSeconds()), config.getRequestStaggerMillis());
+        long now = System.currentTimeMillis();
+        switchService.getAllSwitchMap().keySet().stream()
+                .filter(scope::contains)
+                .forEach(dpId -> schedulePoll(dpId, now, spreadMillis));
+    }
+
+    /**
+     * Calculates the part of the spread interval poll offsets are taken from. The poll of a switch lasts for the
+     * stagger delay multiplied by the number of the requests, so a poll started close to the end of the spread interval
+     * would still be running when the next poll of the same switch is due and the next poll would be skipped.
+     */
+    static long pollWindow(long spreadMillis, long staggerMillis) {
+        return Math.max(0, spreadMillis - staggerMillis * POLL_SEQUENCE.size());
+    }
+
+    /**
+     * Calculates the offset of the switch poll inside the spread interval. The offset depends only on the datapath id,
+     * so the switch is polled at the same point of each interval.
+     */
+    static long pollOffset(DatapathId dpId, long spreadMillis) {
+        if (spreadMillis <= 0) {
+            return 0;
+        }
+        // mix the bits, sequentially allocated datapath ids must not be polled at the same moment
+        long hash = dpId.getLong() * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return Math.floorMod(hash, spreadMillis);
+    }
+
+    private void schedulePoll(DatapathId dpId, long now, long spreadMillis) {
+        SwitchPollState state = pollStates.computeIfAbsent(dpId, ignore -> new SwitchPollState());
+        if (!state.schedule()) {
+            logger.warn("Previous stats poll of switch {} is not completed yet, skip the poll", dpId);
+            missedPolls.incrementAndGet();
+            return;
+        }
+
+        long delay = pollOffset(dpId, spreadMillis);
+        try {
+            scheduler.schedule(() -> poll(dpId, state, now + delay), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.error("Unable to schedule stats poll of switch {}: {}", dpId, e.getMessage());
+            state.complete();
+            missedPolls.incrementAndGet();
+        }
+    }
+
+    private void poll(DatapathId dpId, SwitchPollState state, long plannedTime) {
+        long lateness = System.currentTimeMillis() - plannedTime;
+        if (lateness > config.getLatePollThresholdMillis()) {
+            logger.warn("Stats poll of switch {} is late by {} ms", dpId, lateness);
+            latePolls.incrementAndGet();
+        }
+
+        int unanswered = state.start();
+        if (unanswered > 0) {
+            logger.warn("Switch {} did not answer {} stats request(s) of the previous poll", dpId, unanswered);
+            unansweredRequests.addAndGet(unanswered);
+        }
+        polledSwitches.incrementAndGet();
+        pollNext(dpId, state, 0);
+    }
+
+    private void pollNext(DatapathId dpId, SwitchPollState state, int step) {
+        IOFSwitch iofSwitch = switchService.getActiveSwitch(dpId);
+        if (iofSwitch == null) {
+            logger.debug("Switch {} is not active anymore, stop stats poll", dpId);
+            state.complete();
+            pollStates.remove(dpId, state);
+            return;
+        }
+
+        // skip the request types not supported by the switch without the delay
+        while (step < POLL_SEQUENCE.size() && !isSupported(iofSwitch, POLL_SEQUENCE.get(step))) {
+            step++;
+        }
+        if (step >= POLL_SEQUENCE.size()) {
+            state.complete();
+            return;
+        }
+
+        StatsType type = POLL_SEQUENCE.get(step);
+        int generation = state.acquire(config.getMaxPendingRequestsPerSwitch());
+        if (generation == SwitchPollState.REJECTED) {
+            logger.warn("Switch {} has {} unanswered stats requests, skip {} stats request",
+                    dpId, state.getPendingRequests(), type);
+            missedRequests.incrementAndGet();
+        } else {
+            sendRequest(iofSwitch, type, new PollTracker(state, generation));
+        }
+
+        int nextStep = step + 1;
+        try {
+            scheduler.schedule(() -> pollNext(dpId, state, nextStep),
+                    config.getRequestStaggerMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.error("Unable to schedule stats poll of switch {}: {}", dpId, e.getMessage());
+            state.complete();
+        }
+    }
+
+    private void sendRequest(IOFSwitch iofSwitch, StatsType type, PollTracker tracker) {
+        try {
+            switch (type) {
+                case PORT:
+                    gatherPortStats(iofSwitch, tracker);
+                    break;
+                case FLOW:
+                    gatherFlowStats(iofSwitch, tracker);
+                    break;
+                case METER:
+                    gatherMeterStats(iofSwitch, tracker);
+                    break;
+                case TABLE:
+                    gatherTableStats(iofSwitch, tracker);
+                    break;
+                default:
+                    throw new IllegalArgumentException(format("Unsupported stats type %s", type));
+            }
+            sentRequests.incrementAndGet();
+        } catch (Exception e) {
+            tracker.release();
+            logger.error(format("Failed to gather stats for %s on switch %s.", type, iofSwitch.getId()), e);
+        }
+    }
+
+    private static boolean isSupported(IOFSwitch iofSwitch, StatsType type) {
+        OFVersion version = iofSwitch.getOFFactory().getVersion();
+        switch (type) {
+            case FLOW:
+                // skip flow stats for OF 1.5 protocol version
+                return version.compareTo(OFVersion.OF_15) != 0;
+            case METER:
+            case TABLE:
+                return version.compareTo(OFVersion.OF_13) >= 0;
+            default:
+                return true;
+        }
+    }
+
+    private void reportPollingStats() {
+        StatsPollingData data = StatsPollingData.builder()
+                .region(region)
+                .polledSwitches(polledSwitches.getAndSet(0))
+                .sentRequests(sentRequests.getAndSet(0))
+                .missedPolls(missedPolls.getAndSet(0))
+                .missedRequests(missedRequests.getAndSet(0))
+                .latePolls(latePolls.getAndSet(0))
+                .unansweredRequests(unansweredRequests.getAndSet(0))
+                .build();
+        logger.info("Stats polling since previous report: {}", data);
+
+        try (CorrelationContextClosable closable = CorrelationContext.create(UUID.randomUUID().toString())) {
+            InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), CorrelationContext.getId(),
+                    Destination.WFM_STATS, region);
+            producerService.sendMessageAndTrackWithZk(statisticsTopic, infoMessage);
+        }
     }
 
     @NewCorrelationContextRequired
-    private void gatherPortStats(IOFSwitch iofSwitch) {
+    private void gatherPortStats(IOFSwitch iofSwitch, PollTracker tracker) {
         OFFactory factory = iofSwitch.getOFFactory();
         SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
@@ -157,11 +320,11 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         logger.info("Getting port stats for switch={} OF-xid:{}", iofSwitch.getId(), portStatsRequest.getXid());
 
         Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest), new RequestCallback<>(
-                data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId), switchId, "port"));
+                data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId), switchId, "port", tracker));
     }
 
     @NewCorrelationContextRequired
-    private void gatherFlowStats(IOFSwitch iofSwitch) {
+    private void gatherFlowStats(IOFSwitch iofSwitch, PollTracker tracker) {
         OFFactory factory = iofSwitch.getOFFactory();
         final SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
@@ -170,17 +333,14 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
                 .setOutGroup(OFGroup.ANY)
                 .build();
 
-        if (factory.getVersion().compareTo(OFVersion.OF_15) != 0) {
-            // skip flow stats for OF 1.5 protocol version
-            logger.info("Getting flow stats for switch={} OF-xid:{}", iofSwitch.getId(), flowStatsRequest.getXid());
+        logger.info("Getting flow stats for switch={} OF-xid:{}", iofSwitch.getId(), flowStatsRequest.getXid());
 
-            Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), new RequestCallback<>(
-                    data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId), switchId, "flow"));
-        }
+        Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), new RequestCallback<>(
+                data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId), switchId, "flow", tracker));
     }
 
     @NewCorrelationContextRequired
-    private void gatherTableStats(IOFSwitch iofSwitch) {
+    private void gatherTableStats(IOFSwitch iofSwitch, PollTracker tracker) {
         final SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
         OFFactory factory = iofSwitch.getOFFactory();
 
@@ -190,62 +350,59 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
         logger.info("Getting table stats for switch={} OF-xid:{}", iofSwitch.getId(), flowStatsRequest.getXid());
 
-        if (factory.getVersion().compareTo(OFVersion.OF_13) >= 0) {
-            Function<List<OFTableStatsReply>, InfoData> converter = (response) -> {
-                List<TableStatsEntry> tableEntries = response.stream()
-                        .filter(reply -> CollectionUtils.isNotEmpty(reply.getEntries()))
-                        .map(OFTableStatsReply::getEntries)
-                        .flatMap(List::stream)
-                        .filter(entry -> entry.getActiveCount() != NumberUtils.LONG_ZERO)
-                        .map(OfTableStatsMapper.INSTANCE::toTableStatsEntry)
-                        .collect(Collectors.toList());
-
-                return SwitchTableStatsData.builder()
-                        .switchId(switchId)
-                        .tableStatsEntries(tableEntries)
-                        .build();
-            };
-
-            RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, switchId, "table");
-            Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), callback);
-        }
+        Function<List<OFTableStatsReply>, InfoData> converter = (response) -> {
+            List<TableStatsEntry> tableEntries = response.stream()
+                    .filter(reply -> CollectionUtils.isNotEmpty(reply.getEntries()))
+                    .map(OFTableStatsReply::getEntries)
+                    .flatMap(List::stream)
+                    .filter(entry -> entry.getActiveCount() != NumberUtils.LONG_ZERO)
+                    .map(OfTableStatsMapper.INSTANCE::toTableStatsEntry)
+                    .collect(Collectors.toList());
+
+            return SwitchTableStatsData.builder()
+                    .switchId(switchId)
+                    .tableStatsEntries(tableEntries)
+                    .build();
+        };
+
+        RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, switchId, "table", tracker);
+        Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), callback);
     }
 
     @NewCorrelationContextRequired
-    private void gatherMeterStats(IOFSwitch iofSwitch) {
+    private void gatherMeterStats(IOFSwitch iofSwitch, PollTracker tracker) {
         OFFactory factory = iofSwitch.getOFFactory();
         SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
-        if (factory.getVersion().compareTo(OFVersion.OF_13) >= 0) {
-
-            OFMeterStatsRequest meterStatsRequest = factory
-                    .buildMeterStatsRequest()
-                    .setMeterId(OFPM_ALL)
-                    .build();
+        OFMeterStatsRequest meterStatsRequest = factory
+                .buildMeterStatsRequest()
+                .setMeterId(OFPM_ALL)
+                .build();
 
-            logger.info("Getting meter stats for switch={} OF-xid:{}", iofSwitch.getId(), meterStatsRequest.getXid());
+        logger.info("Getting meter stats for switch={} OF-xid:{}", iofSwitch.getId(), meterStatsRequest.getXid());
 
-            Futures.addCallback(iofSwitch.writeStatsRequest(meterStatsRequest),
-                    new RequestCallback<>(
-                            data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId), switchId, "meter"));
-        }
+        Futures.addCallback(iofSwitch.writeStatsRequest(meterStatsRequest), new RequestCallback<>(
+                data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId), switchId, "meter", tracker));
     }
 
     private class RequestCallback<T extends OFStatsReply> implements FutureCallback<List<T>> {
         private Function<List<T>, InfoData> transform;
         private final SwitchId switchId;
         private final String type;
+        private final PollTracker tracker;
         private final String correlationId;
 
-        RequestCallback(Function<List<T>, InfoData> transform, SwitchId switchId, String type) {
+        RequestCallback(Function<List<T>, InfoData> transform, SwitchId switchId, String type, PollTracker tracker) {
             this.transform = transform;
             this.switchId = switchId;
             this.type = type;
+            this.tracker = tracker;
             this.correlationId = CorrelationContext.getId();
         }
 
         @Override
         public void onSuccess(List<T> data) {
+            tracker.release();
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
                 logger.info("Receive switch {} stats response(s) from {}", type, switchId);
@@ -257,10 +414,29 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
         @Override
         public void onFailure(Throwable throwable) {
+            tracker.release();
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
                 logger.error("Exception reading {} stats from {}", type, switchId, throwable);
             }
         }
     }
+
+    private enum StatsType {
+        PORT, FLOW, METER, TABLE
+    }
+
+    private static class PollTracker {
+        private final SwitchPollState state;
+        private final int generation;
+
+        PollTracker(SwitchPollState state, int generation) {
+            this.state = state;
+            this.generation = generation;
+        }
+
+        void release() {
+            state.release(generation);
+        }
+    }
 }
@@ -0,0 +1,51 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.floodlight.statistics;
+
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+public interface StatisticsServiceConfig {
+    /**
+     * Polls of the switches are spread over this interval, each switch is polled with a stable offset derived from
+     * its datapath id. Must not exceed the statistics request interval of the stats topology. The offsets are taken
+     * from the interval shortened by the time needed to send all stats requests to a switch, so the poll of the switch
+     * is completed before the next one is due. Zero disables spreading.
+     */
+    @Key("poll-spread-interval-seconds")
+    @Default("60")
+    long getPollSpreadIntervalSeconds();
+
+    /**
+     * Delay between port, flow, meter and table stats requests sent to the same switch.
+     */
+    @Key("request-stagger-millis")
+    @Default("200")
+    long getRequestStaggerMillis();
+
+    /**
+     * Stats request is not sent (and is reported as missed) if the switch has this many unanswered stats requests.
+     */
+    @Key("max-pending-requests-per-switch")
+    @Default("2")
+    int getMaxPendingRequestsPerSwitch();
+
+    /**
+     * Poll executed later than its planned time by more than this threshold is reported as late.
+     */
+    @Key("late-poll-threshold-millis")
+    @Default("1000")
+    long getLatePollThresholdMillis();
+}
@@ -0,0 +1,79 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.floodlight.statistics;
+
+/**
+ * Stats polling state of one switch. Each poll starts a new generation, replies for requests of previous
+ * generations do not affect the number of pending requests of the current poll.
+ */
+class SwitchPollState {
+    static final int REJECTED = -1;
+
+    private boolean scheduled;
+    private int generation;
+    private int pendingRequests;
+
+    /**
+     * Marks the poll as scheduled.
+     *
+     * @return false if the previous poll is still scheduled or in progress.
+     */
+    synchronized boolean schedule() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    /**
+     * Starts a new poll generation.
+     *
+     * @return number of requests of the previous poll which are still not answered.
+     */
+    synchronized int start() {
+        generation++;
+        int unanswered = pendingRequests;
+        pendingRequests = 0;
+        return unanswered;
+    }
+
+    /**
+     * Registers a new pending request if the limit is not reached.
+     *
+     * @return the generation of the request or {@link #REJECTED}.
+     */
+    synchronized int acquire(int limit) {
+        if (pendingRequests >= limit) {
+            return REJECTED;
+        }
+        pendingRequests++;
+        return generation;
+    }
+
+    synchronized void release(int requestGeneration) {
+        if (requestGeneration == generation && pendingRequests > 0) {
+            pendingRequests--;
+        }
+    }
+
+    synchronized void complete() {
+        scheduled = false;
+    }
+
+    synchronized int getPendingRequests() {
+        return pendingRequests;
+    }
+}
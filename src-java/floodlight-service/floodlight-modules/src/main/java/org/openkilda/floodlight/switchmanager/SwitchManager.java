@@ -108,6 +108,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ListenableFuture;
+import lombok.Value;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFMessageListener;
@@ -149,6 +150,7 @@ import org.projectfloodlight.openflow.protocol.OFPortConfig;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.protocol.OFPortMod;
 import org.projectfloodlight.openflow.protocol.OFType;
+import org.projectfloodlight.openflow.protocol.OFVersion;
 import org.projectfloodlight.openflow.protocol.action.OFAction;
 import org.projectfloodlight.openflow.protocol.action.OFActionOutput;
 import org.projectfloodlight.openflow.protocol.action.OFActionSetField;
@@ -192,10 +194,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -274,6 +279,9 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
 
     public static final int NOVIFLOW_TIMESTAMP_SIZE_IN_BITS = 64;
 
+    // placeholder for per-port rule templates, replaced with the real port on patching
+    private static final int PORT_RULE_TEMPLATE_PORT = 0;
+
     // This is invalid VID mask - it cut of highest bit that indicate presence of VLAN tag on package. But valid mask
     // 0x1FFF lead to rule reject during install attempt on accton based switches.
     private static short OF10_VLAN_MASK = 0x0FFF;
@@ -287,6 +295,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     private ConnectModeRequest.Mode connectMode;
     private SwitchManagerConfig config;
 
+    // per-port rules are compiled once per OF version (and per switch if they depend on the switch features), loxigen
+    // messages are immutable so the templates are shared between threads
+    private final ConcurrentMap<PortRuleTemplateKey, OFFlowMod> portRuleTemplates = new ConcurrentHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -409,6 +421,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @Override
     public void deactivate(DatapathId dpid) {
         stopSafeMode(dpid);
+        // switch features and OF version can change on the next connect
+        portRuleTemplates.keySet().removeIf(key -> dpid.equals(key.getDpid()));
     }
 
     /**
@@ -1387,6 +1401,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     }
 
     private OFFlowMod buildEgressIslVxlanRule(OFFactory ofFactory, DatapathId dpid, int port) {
+        return makeFromPortRuleTemplate(ofFactory, dpid, "isl-egress-vxlan", Cookie.encodeIslVxlanEgress(port), port,
+                of -> compileEgressIslVxlanRule(of, dpid, PORT_RULE_TEMPLATE_PORT));
+    }
+
+    private OFFlowMod compileEgressIslVxlanRule(OFFactory ofFactory, DatapathId dpid, int port) {
         Match match = buildEgressIslVxlanRuleMatch(dpid, port, ofFactory);
         OFInstructionGotoTable goToTable = ofFactory.instructions().gotoTable(TableId.of(EGRESS_TABLE_ID));
         return prepareFlowModBuilder(
@@ -1433,6 +1452,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     }
 
     private OFFlowMod buildTransitIslVxlanRule(OFFactory ofFactory, int port) {
+        return makeFromPortRuleTemplate(ofFactory, null, "isl-transit-vxlan", Cookie.encodeIslVxlanTransit(port), port,
+                of -> compileTransitIslVxlanRule(of, PORT_RULE_TEMPLATE_PORT));
+    }
+
+    private OFFlowMod compileTransitIslVxlanRule(OFFactory ofFactory, int port) {
         Match match = buildTransitIslVxlanRuleMatch(port, ofFactory);
         OFInstructionGotoTable goToTable = ofFactory.instructions().gotoTable(TableId.of(TRANSIT_TABLE_ID));
         return prepareFlowModBuilder(
@@ -1477,6 +1501,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     }
 
     private OFFlowMod buildEgressIslVlanRule(OFFactory ofFactory, int port) {
+        return makeFromPortRuleTemplate(ofFactory, null, "isl-egress-vlan", Cookie.encodeIslVlanEgress(port), port,
+                of -> compileEgressIslVlanRule(of, PORT_RULE_TEMPLATE_PORT));
+    }
+
+    private OFFlowMod compileEgressIslVlanRule(OFFactory ofFactory, int port) {
         Match match = buildInPortMatch(port, ofFactory);
         OFInstructionGotoTable goToTable = ofFactory.instructions().gotoTable(TableId.of(EGRESS_TABLE_ID));
         return prepareFlowModBuilder(
@@ -1674,7 +1703,12 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @Override
     public OFFlowMod buildIntermediateIngressRule(DatapathId dpid, int port) throws SwitchNotFoundException {
         IOFSwitch sw = lookupSwitch(dpid);
-        OFFactory ofFactory = sw.getOFFactory();
+        return makeFromPortRuleTemplate(
+                sw.getOFFactory(), null, "intermediate-ingress", Cookie.encodeIngressRulePassThrough(port), port,
+                of -> compileIntermediateIngressRule(of, PORT_RULE_TEMPLATE_PORT));
+    }
+
+    private OFFlowMod compileIntermediateIngressRule(OFFactory ofFactory, int port) {
         Match match = buildInPortMatch(port, ofFactory);
         OFInstructionGotoTable goToTable = ofFactory.instructions().gotoTable(TableId.of(PRE_INGRESS_TABLE_ID));
         return prepareFlowModBuilder(
@@ -1696,6 +1730,13 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @Override
     public OFFlowMod buildLldpInputCustomerFlow(DatapathId dpid, int port) throws SwitchNotFoundException {
         IOFSwitch sw = lookupSwitch(dpid);
+        // metadata layout depends on the switch features, so the template is bound to the switch
+        return makeFromPortRuleTemplate(
+                sw.getOFFactory(), dpid, "lldp-input-customer", Cookie.encodeLldpInputCustomer(port), port,
+                of -> compileLldpInputCustomerFlow(sw, PORT_RULE_TEMPLATE_PORT));
+    }
+
+    private OFFlowMod compileLldpInputCustomerFlow(IOFSwitch sw, int port) {
         OFFactory ofFactory = sw.getOFFactory();
 
         Match match = ofFactory.buildMatch()
@@ -1751,6 +1792,13 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @Override
     public OFFlowMod buildArpInputCustomerFlow(DatapathId dpid, int port) throws SwitchNotFoundException {
         IOFSwitch sw = lookupSwitch(dpid);
+        // metadata layout depends on the switch features, so the template is bound to the switch
+        return makeFromPortRuleTemplate(
+                sw.getOFFactory(), dpid, "arp-input-customer", Cookie.encodeArpInputCustomer(port), port,
+                of -> compileArpInputCustomerFlow(sw, PORT_RULE_TEMPLATE_PORT));
+    }
+
+    private OFFlowMod compileArpInputCustomerFlow(IOFSwitch sw, int port) {
         OFFactory ofFactory = sw.getOFFactory();
 
         Match match = ofFactory.buildMatch()
@@ -1867,6 +1915,28 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return removedFlows;
     }
 
+    /**
+     * Makes a per-port rule from the precompiled template, only the cookie and the in_port match field are patched.
+     */
+    private OFFlowMod makeFromPortRuleTemplate(
+            OFFactory ofFactory, DatapathId dpid, String templateId, long cookie, int port,
+            Function<OFFactory, OFFlowMod> compiler) {
+        PortRuleTemplateKey key = new PortRuleTemplateKey(ofFactory.getVersion(), dpid, templateId);
+        OFFlowMod template = portRuleTemplates.get(key);
+        if (template == null) {
+            template = portRuleTemplates.computeIfAbsent(key, ignore -> compiler.apply(ofFactory));
+        }
+
+        OFFlowMod.Builder builder = template.createBuilder()
+                .setXid(ofFactory.nextXid());
+        return builder
+                .setCookie(U64.of(cookie))
+                .setMatch(builder.getMatch().createBuilder()
+                        .setExact(MatchField.IN_PORT, OFPort.of(port))
+                        .build())
+                .build();
+    }
+
     private Match buildInPortMatch(int port, OFFactory ofFactory) {
         return ofFactory.buildMatch()
                 .setExact(MatchField.IN_PORT, OFPort.of(port))
@@ -2918,4 +2988,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         Set<SwitchFeature> features = featureDetectorService.detectSwitch(sw);
         return builder.build(features);
     }
+
+    @Value
+    private static class PortRuleTemplateKey {
+        OFVersion version;
+        DatapathId dpid;
+        String templateId;
+    }
 }
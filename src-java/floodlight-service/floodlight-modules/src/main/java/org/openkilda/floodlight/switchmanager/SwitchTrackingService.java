@@ -28,9 +28,11 @@ import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.FloodlightDashboardLogger;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest;
 import org.openkilda.messaging.info.event.SwitchChangeType;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.model.SpeakerSwitchDescription;
@@ -78,9 +80,17 @@ public class SwitchTrackingService implements IOFSwitchListener, IService {
      * Send dump contain all connected at this moment switches.
      */
     public void dumpAllSwitches() {
+        dumpSwitches(new NetworkCommandData());
+    }
+
+    /**
+     * Send dump of connected at this moment switches. Depending on request the dump contains full switch views or
+     * switch views digests only, and covers all or only requested switches.
+     */
+    public void dumpSwitches(NetworkCommandData request) {
         discoveryLock.writeLock().lock();
         try {
-            dumpAllSwitchesAction();
+            dumpSwitchesAction(request);
         } finally {
             discoveryLock.writeLock().unlock();
         }
@@ -165,11 +175,19 @@ public class SwitchTrackingService implements IOFSwitchListener, IService {
         context.getServiceImpl(IOFSwitchService.class).addOFSwitchListener(this);
     }
 
-    private void dumpAllSwitchesAction() {
+    private void dumpSwitchesAction(NetworkCommandData request) {
         Collection<IOFSwitch> iofSwitches = switchManager.getAllSwitchMap(true).values();
         for (IOFSwitch sw : iofSwitches) {
-            NetworkDumpSwitchData payload = new NetworkDumpSwitchData(
+            if (! request.isInScope(new SwitchId(sw.getId().getLong()))) {
+                continue;
+            }
+
+            NetworkDumpSwitchData switchData = new NetworkDumpSwitchData(
                     buildSwitch(sw), sw.getControllerRole() != OFControllerRole.ROLE_SLAVE);
+            InfoData payload = switchData;
+            if (request.isDigestOnly()) {
+                payload = NetworkDumpSwitchDigest.of(switchData);
+            }
             emitDiscoveryEvent(sw.getId(), payload);
         }
     }
@@ -0,0 +1,99 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.floodlight.utils;
+
+import org.openkilda.floodlight.error.InvalidSignatureConfigurationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * HMAC-SHA256 signature of binary data. Unlike {@link DataSignature} the signature is written next to the signed
+ * data and checked in place, so neither signing nor verification allocate memory.
+ */
+public class BinaryDataSignature {
+    public static final int SIGNATURE_LENGTH = 32;
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> mac;
+    private final ThreadLocal<byte[]> expectedSignature = ThreadLocal.withInitial(() -> new byte[SIGNATURE_LENGTH]);
+
+    public BinaryDataSignature(String secret) throws InvalidSignatureConfigurationException {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // fail on initialization instead of first use
+        makeMac(key);
+
+        mac = ThreadLocal.withInitial(() -> {
+            try {
+                return makeMac(key);
+            } catch (InvalidSignatureConfigurationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Sign {@code length} bytes starting at {@code offset}, the signature is written right after the signed data.
+     */
+    public void sign(byte[] data, int offset, int length) {
+        calculate(data, offset, length, data, offset + length);
+    }
+
+    /**
+     * Verify the data signed by {@link #sign(byte[], int, int)}. The {@code length} does not include the signature.
+     */
+    public boolean verify(byte[] data, int offset, int length) {
+        if (data.length < offset + length + SIGNATURE_LENGTH) {
+            return false;
+        }
+
+        byte[] expected = expectedSignature.get();
+        calculate(data, offset, length, expected, 0);
+
+        // constant time comparison
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            diff |= expected[i] ^ data[offset + length + i];
+        }
+        return diff == 0;
+    }
+
+    private void calculate(byte[] data, int offset, int length, byte[] target, int targetOffset) {
+        Mac hmac = mac.get();
+        hmac.update(data, offset, length);
+        try {
+            hmac.doFinal(target, targetOffset);
+        } catch (ShortBufferException e) {
+            throw new IllegalArgumentException(String.format(
+                    "There is no space for the signature in the target buffer (size %d, offset %d)",
+                    target.length, targetOffset), e);
+        }
+    }
+
+    private static Mac makeMac(SecretKeySpec key) throws InvalidSignatureConfigurationException {
+        try {
+            Mac hmac = Mac.getInstance(ALGORITHM);
+            hmac.init(key);
+            return hmac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new InvalidSignatureConfigurationException("Can't initialize sign/verify objects", e);
+        }
+    }
+}
@@ -15,6 +15,7 @@
 
 package org.openkilda.floodlight.utils;
 
+import org.openkilda.floodlight.service.FlowVerificationDumpService;
 import org.openkilda.messaging.MessageContext;
 
 import lombok.Getter;
@@ -45,6 +46,15 @@ public class OfFlowDumpProducer implements IOfFlowDumpProducer {
     private final DatapathId swId;
 
     public OfFlowDumpProducer(MessageContext context, IOFSwitch sw, List<OFFlowMod> expectedFlows) {
+        this(context, sw, expectedFlows, null);
+    }
+
+    /**
+     * Produce dumps required to verify expected flows. If dump service is passed, the dump requests are sent
+     * through it and can be coalesced with the dump requests of other verifications of the same switch.
+     */
+    public OfFlowDumpProducer(MessageContext context, IOFSwitch sw, List<OFFlowMod> expectedFlows,
+                              FlowVerificationDumpService dumpService) {
         swId = sw.getId();
 
         List<DumpSelector> dumpSelectors = new ArrayList<>();
@@ -58,7 +68,13 @@ public class OfFlowDumpProducer implements IOfFlowDumpProducer {
         OFFactory of = sw.getOFFactory();
         tableRequests = new ArrayList<>();
         for (DumpSelector entry : dumpSelectors) {
-            OFFlowStatsRequest request = makeOfFlowStatsRequest(of, entry);
+            if (dumpService != null) {
+                tableRequests.add(dumpService.dump(context, sw, entry.getTableId(), entry.getCookie())
+                                          .thenApply(stats -> logResponse(entry, stats)));
+                continue;
+            }
+
+            OFFlowStatsRequest request = makeOfFlowStatsRequest(of, entry.getTableId(), entry.getCookie());
 
             log.debug("Send flows stats request to {} - {}", sw.getId(), request);
             tableRequests.add(new CompletableFutureAdapter<>(context, sw.writeStatsRequest(request))
@@ -72,19 +88,26 @@ public class OfFlowDumpProducer implements IOfFlowDumpProducer {
         List<OFFlowStatsEntry> entries = ofFlowStatsReplies.stream()
                 .flatMap(entry -> entry.getEntries().stream())
                 .collect(Collectors.toList());
+        return logResponse(selector, entries);
+    }
+
+    private List<OFFlowStatsEntry> logResponse(DumpSelector selector, List<OFFlowStatsEntry> entries) {
         log.debug("Receive {} entries for {} on sw:{}", entries.size(), selector, swId);
         return entries;
     }
 
-    private static OFFlowStatsRequest makeOfFlowStatsRequest(OFFactory of, DumpSelector selector) {
+    /**
+     * Make flow stats request for the table, filtered by cookie if the cookie is set.
+     */
+    public static OFFlowStatsRequest makeOfFlowStatsRequest(OFFactory of, TableId tableId, U64 cookie) {
         OFFlowStatsRequest.Builder request = of.buildFlowStatsRequest()
                 .setOutGroup(OFGroup.ANY);
-        if (selector.getCookie() != null) {
-            request = request.setCookie(selector.getCookie())
+        if (cookie != null) {
+            request = request.setCookie(cookie)
                     .setCookieMask(U64.NO_MASK);
         }
-        if (selector.getTableId() != null) {
-            request = request.setTableId(selector.getTableId());
+        if (tableId != null) {
+            request = request.setTableId(tableId);
         }
 
         return request.build();
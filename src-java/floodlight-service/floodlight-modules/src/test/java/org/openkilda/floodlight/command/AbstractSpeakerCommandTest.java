@@ -29,6 +29,7 @@ import org.openkilda.floodlight.command.meter.MeterInstallReport;
 import org.openkilda.floodlight.command.meter.MeterRemoveCommand;
 import org.openkilda.floodlight.command.meter.MeterRemoveReport;
 import org.openkilda.floodlight.service.FeatureDetectorService;
+import org.openkilda.floodlight.service.FlowVerificationDumpService;
 import org.openkilda.floodlight.service.session.Session;
 import org.openkilda.floodlight.service.session.SessionService;
 import org.openkilda.messaging.MessageContext;
@@ -150,6 +151,7 @@ public abstract class AbstractSpeakerCommandTest extends EasyMockSupport {
 
         moduleContext.addService(KildaCore.class, kildaCore);
         moduleContext.addService(FeatureDetectorService.class, featureDetectorService);
+        moduleContext.addService(FlowVerificationDumpService.class, new FlowVerificationDumpService(kildaCore));
 
         prepareSessionService();
         switchSessionProducePlan.put(dpId, ImmutableList.of(session).iterator());
@@ -0,0 +1,151 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.floodlight.command.flow;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
+import org.openkilda.floodlight.command.SpeakerCommandProcessor;
+import org.openkilda.floodlight.command.flow.transit.TransitFlowSegmentInstallCommand;
+import org.openkilda.floodlight.error.SwitchNotFoundException;
+import org.openkilda.floodlight.flow.response.FlowErrorResponse;
+import org.openkilda.floodlight.flow.response.FlowErrorResponse.ErrorCode;
+import org.openkilda.floodlight.model.FlowSegmentMetadata;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowTransitEncapsulation;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+
+import com.google.common.collect.ImmutableList;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.easymock.EasyMockSupport;
+import org.easymock.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.projectfloodlight.openflow.types.DatapathId;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public class FlowSegmentBatchCommandTest extends EasyMockSupport {
+    private static final DatapathId dpId = DatapathId.of(1);
+    private static final SwitchId SWITCH_ID = new SwitchId(dpId.getLong());
+
+    private final MessageContext messageContext = new MessageContext();
+
+    @Mock
+    private SpeakerCommandProcessor commandProcessor;
+
+    private FlowSegmentCommand firstSegment;
+    private FlowSegmentCommand secondSegment;
+    private FlowSegmentBatchCommand batch;
+
+    @Before
+    public void setUp() {
+        injectMocks(this);
+        expect(commandProcessor.getModuleContext()).andReturn(new FloodlightModuleContext()).anyTimes();
+
+        firstSegment = makeSegment(2, 4);
+        secondSegment = makeSegment(3, 5);
+        batch = new FlowSegmentBatchCommand(messageContext, SWITCH_ID, UUID.randomUUID(),
+                ImmutableList.of(firstSegment, secondSegment));
+    }
+
+    @After
+    public void tearDown() {
+        verifyAll();
+    }
+
+    @Test
+    public void shouldReplyWhenAllSegmentsAreCompleted() throws Exception {
+        CompletableFuture<FlowSegmentReport> firstFuture = new CompletableFuture<>();
+        CompletableFuture<FlowSegmentReport> secondFuture = new CompletableFuture<>();
+        expect(commandProcessor.chain(firstSegment)).andReturn(firstFuture);
+        expect(commandProcessor.chain(secondSegment)).andReturn(secondFuture);
+        replayAll();
+
+        CompletableFuture<FlowSegmentBatchReport> result = batch.execute(commandProcessor);
+
+        secondFuture.complete(new FlowSegmentReport(secondSegment));
+        assertFalse(result.isDone());
+
+        firstFuture.complete(new FlowSegmentReport(firstSegment));
+        assertTrue(result.isDone());
+
+        List<SpeakerFlowSegmentResponse> responses = assembleResponses(result.get());
+        assertEquals(2, responses.size());
+        verifySuccess(firstSegment, responses.get(0));
+        verifySuccess(secondSegment, responses.get(1));
+    }
+
+    @Test
+    public void shouldKeepSegmentErrorsSeparate() throws Exception {
+        expect(commandProcessor.chain(firstSegment))
+                .andReturn(CompletableFuture.completedFuture(new FlowSegmentReport(firstSegment)));
+        expect(commandProcessor.chain(secondSegment))
+                .andReturn(CompletableFuture.completedFuture(
+                        secondSegment.makeReport(new SwitchNotFoundException(dpId))));
+        replayAll();
+
+        List<SpeakerFlowSegmentResponse> responses = assembleResponses(batch.execute(commandProcessor).get());
+
+        assertEquals(2, responses.size());
+        verifySuccess(firstSegment, responses.get(0));
+        verifyError(secondSegment, ErrorCode.SWITCH_UNAVAILABLE, responses.get(1));
+    }
+
+    @Test
+    public void shouldReportErrorForEachSegmentOnBatchFailure() {
+        replayAll();
+
+        List<SpeakerFlowSegmentResponse> responses = assembleResponses(
+                batch.makeReport(new SwitchNotFoundException(dpId)));
+
+        assertEquals(2, responses.size());
+        verifyError(firstSegment, ErrorCode.SWITCH_UNAVAILABLE, responses.get(0));
+        verifyError(secondSegment, ErrorCode.SWITCH_UNAVAILABLE, responses.get(1));
+    }
+
+    private List<SpeakerFlowSegmentResponse> assembleResponses(FlowSegmentBatchReport report) {
+        return report.getReports().stream()
+                .map(FlowSegmentReport::assembleResponse)
+                .collect(Collectors.toList());
+    }
+
+    private void verifySuccess(FlowSegmentCommand segment, SpeakerFlowSegmentResponse response) {
+        assertEquals(segment.getCommandId(), response.getCommandId());
+        assertTrue(response.isSuccess());
+    }
+
+    private void verifyError(FlowSegmentCommand segment, ErrorCode errorCode, SpeakerFlowSegmentResponse response) {
+        assertEquals(segment.getCommandId(), response.getCommandId());
+        assertTrue(response instanceof FlowErrorResponse);
+        assertEquals(errorCode, ((FlowErrorResponse) response).getErrorCode());
+    }
+
+    private FlowSegmentCommand makeSegment(int ingressIslPort, int egressIslPort) {
+        FlowSegmentMetadata metadata = new FlowSegmentMetadata("batch-flow-id", new Cookie(ingressIslPort), false);
+        return new TransitFlowSegmentInstallCommand(
+                messageContext, SWITCH_ID, UUID.randomUUID(), metadata, ingressIslPort,
+                new FlowTransitEncapsulation(51, FlowEncapsulationType.TRANSIT_VLAN), egressIslPort);
+    }
+}
@@ -20,6 +20,7 @@ import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 
 import org.openkilda.floodlight.command.CommandContext;
+import org.openkilda.floodlight.model.PingData;
 import org.openkilda.floodlight.pathverification.PathVerificationService;
 import org.openkilda.floodlight.service.of.InputService;
 import org.openkilda.floodlight.service.ping.PingInputTranslator;
@@ -33,7 +34,6 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.projectfloodlight.openflow.protocol.OFMessage;
-import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.protocol.ver13.OFFactoryVer13;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.U64;
@@ -49,11 +49,11 @@ public class PingRequestCommandWriteOkTest extends PingRequestCommandAbstractTes
         super.setUp();
 
         InputService inputService = createMock(InputService.class);
-        inputService.addTranslator(eq(OFType.PACKET_IN), anyObject(PingInputTranslator.class));
+        inputService.addPacketInTranslator(anyObject(PingInputTranslator.class), anyObject(), eq(true));
         moduleContext.addService(InputService.class, inputService);
 
-        expect(pingService.getSignature()).andDelegateTo(realPingService);
-        expect(pingService.wrapData(anyObject(Ping.class), anyObject())).andDelegateTo(realPingService);
+        expect(pingService.makePacket(anyObject(Ping.class), anyObject(PingData.class)))
+                .andDelegateTo(realPingService);
 
         expect(switchAlpha.getLatency()).andReturn(U64.of(1L)).anyTimes();
         expect(switchBeta.getLatency()).andReturn(U64.of(2L)).anyTimes();
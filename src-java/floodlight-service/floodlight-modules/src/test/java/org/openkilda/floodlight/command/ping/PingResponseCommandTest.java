@@ -19,11 +19,13 @@ import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 
+import org.openkilda.floodlight.KildaCore;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.floodlight.model.PingData;
 import org.openkilda.floodlight.pathverification.PathVerificationService;
 import org.openkilda.floodlight.service.of.InputService;
+import org.openkilda.floodlight.service.ping.PingInputTranslator;
 import org.openkilda.floodlight.service.ping.PingService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.floodlight.switchmanager.SwitchManager;
@@ -49,7 +51,6 @@ import org.projectfloodlight.openflow.protocol.OFFactory;
 import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.projectfloodlight.openflow.protocol.OFPacketInReason;
-import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.protocol.ver13.OFFactoryVer13;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.U64;
@@ -68,6 +69,7 @@ public class PingResponseCommandTest extends PingCommandTest {
     @Override
     @Before
     public void setUp() throws Exception {
+        moduleContext.addConfigParam(new KildaCore(), "flow-ping-binary-payload", "true");
         super.setUp();
 
         moduleContext.addService(PingService.class, pingService);
@@ -94,11 +96,15 @@ public class PingResponseCommandTest extends PingCommandTest {
 
     @Test
     public void foreignPackage() throws Exception {
-        expect(pingService.unwrapData(eq(dpId), anyObject())).andReturn(null);
+        expect(pingService.locatePayload(eq(dpId), anyObject())).andReturn(-1);
 
         OfInput input = createMock(OfInput.class);
         expect(input.packetInCookieMismatchAll(anyObject(), anyObject(), anyObject())).andReturn(false);
-        expect(input.getPacketInPayload()).andReturn(new Ethernet());
+        expect(input.getMessage()).andReturn(new OFFactoryVer13().buildPacketIn()
+                .setReason(OFPacketInReason.ACTION).setXid(1L)
+                .setCookie(PingService.OF_CATCH_RULE_COOKIE)
+                .setData(new byte[]{0x01, 0x02, 0x03})
+                .build());
         expect(input.getDpId()).andReturn(dpId);
 
         replayAll();
@@ -109,6 +115,26 @@ public class PingResponseCommandTest extends PingCommandTest {
 
     @Test
     public void success() throws Exception {
+        final PingService realPingService = setupRealPingService();
+        final Ping ping = makePing();
+        final PingData payload = PingData.of(ping);
+
+        byte[] signedPayload = realPingService.getSignature().sign(payload);
+        byte[] wireData = realPingService.wrapData(ping, signedPayload).serialize();
+
+        verifySuccess(wireData, payload);
+    }
+
+    @Test
+    public void successBinaryPayload() throws Exception {
+        final PingService realPingService = setupRealPingService();
+        final Ping ping = makePing();
+        final PingData payload = PingData.of(ping);
+
+        verifySuccess(realPingService.makePacket(ping, payload), payload);
+    }
+
+    private PingService setupRealPingService() throws Exception {
         final PingService realPingService = new PingService();
         moduleContext.addService(PingService.class, realPingService);
 
@@ -118,22 +144,23 @@ public class PingResponseCommandTest extends PingCommandTest {
         InputService inputService = createMock(InputService.class);
         moduleContext.addService(InputService.class, inputService);
 
-        inputService.addTranslator(eq(OFType.PACKET_IN), anyObject());
+        inputService.addPacketInTranslator(anyObject(PingInputTranslator.class), anyObject(), eq(true));
 
         replayAll();
 
-        final DatapathId dpIdBeta = DatapathId.of(0x0000fffe000002L);
-        final Ping ping = new Ping(new NetworkEndpoint(new SwitchId(dpIdBeta.getLong()), 8),
-                                   new NetworkEndpoint(new SwitchId(dpId.getLong()), 9),
-                                   new FlowTransitEncapsulation(2, FlowEncapsulationType.TRANSIT_VLAN), 3);
-        final PingData payload = PingData.of(ping);
-
         moduleContext.addConfigParam(new PathVerificationService(), "hmac256-secret", "secret");
         realPingService.setup(moduleContext);
+        return realPingService;
+    }
 
-        byte[] signedPayload = realPingService.getSignature().sign(payload);
-        byte[] wireData = realPingService.wrapData(ping, signedPayload).serialize();
+    private Ping makePing() {
+        final DatapathId dpIdBeta = DatapathId.of(0x0000fffe000002L);
+        return new Ping(new NetworkEndpoint(new SwitchId(dpIdBeta.getLong()), 8),
+                        new NetworkEndpoint(new SwitchId(dpId.getLong()), 9),
+                        new FlowTransitEncapsulation(2, FlowEncapsulationType.TRANSIT_VLAN), 3);
+    }
 
+    private void verifySuccess(byte[] wireData, PingData payload) throws Exception {
         OFFactory ofFactory = new OFFactoryVer13();
         OFPacketIn message = ofFactory.buildPacketIn()
                 .setReason(OFPacketInReason.ACTION).setXid(1L)
@@ -0,0 +1,225 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service;
+
+import static org.easymock.EasyMock.anyLong;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.newCapture;
+import static org.easymock.EasyMock.replay;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.messaging.MessageContext;
+
+import com.google.common.util.concurrent.SettableFuture;
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMockSupport;
+import org.easymock.Mock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.ver13.OFFactoryVer13;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.projectfloodlight.openflow.types.TableId;
+import org.projectfloodlight.openflow.types.U64;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+public class FlowVerificationDumpServiceTest extends EasyMockSupport {
+    private static final DatapathId swId = DatapathId.of(1);
+    private static final TableId tableId = TableId.of(2);
+
+    private final OFFactory of = new OFFactoryVer13();
+    private final MessageContext context = new MessageContext();
+    private final FloodlightModuleContext moduleContext = new FloodlightModuleContext();
+
+    private final Capture<OFFlowStatsRequest> requests = newCapture(CaptureType.ALL);
+    private final SettableFuture<List<OFFlowStatsReply>> replyFuture = SettableFuture.create();
+
+    @Mock
+    private KildaCore kildaCore;
+
+    @Mock
+    private IThreadPoolService threadPoolService;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Mock
+    private IOFSwitch sw;
+
+    private FlowVerificationDumpService service;
+
+    @Before
+    public void setUp() {
+        injectMocks(this);
+
+        Properties configProps = new Properties();
+        configProps.setProperty("flow-verify-dump-coalesce-window-millis", "50");
+        configProps.setProperty("flow-verify-dump-coalesce-table-entries-per-request", "1");
+        KildaCoreConfig config = new PropertiesBasedConfigurationProvider(configProps)
+                .getConfiguration(KildaCoreConfig.class);
+        expect(kildaCore.getConfig()).andStubReturn(config);
+
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(scheduler);
+        expect(scheduler.scheduleWithFixedDelay(anyObject(Runnable.class), anyLong(), anyLong(), anyObject()))
+                .andStubReturn(null);
+        expect(scheduler.schedule(anyObject(Runnable.class), anyLong(), anyObject())).andStubReturn(null);
+        moduleContext.addService(IThreadPoolService.class, threadPoolService);
+
+        expect(sw.getId()).andStubReturn(swId);
+        expect(sw.getOFFactory()).andStubReturn(of);
+        expect(sw.writeStatsRequest(capture(requests))).andStubReturn(replyFuture);
+
+        replayAll();
+
+        service = new FlowVerificationDumpService(kildaCore);
+        service.setup(moduleContext);
+    }
+
+    @After
+    public void tearDown() {
+        verifyAll();
+    }
+
+    @Test
+    public void shouldCoalesceRequestsForSameTable() throws Exception {
+        CompletableFuture<List<OFFlowStatsEntry>> first = service.dump(context, sw, tableId, U64.of(1));
+        CompletableFuture<List<OFFlowStatsEntry>> second = service.dump(context, sw, tableId, U64.of(2));
+        CompletableFuture<List<OFFlowStatsEntry>> third = service.dump(context, sw, tableId, U64.of(3));
+        Assert.assertFalse(requests.hasCaptured());
+
+        service.flush(swId);
+
+        Assert.assertEquals(1, requests.getValues().size());
+        OFFlowStatsRequest request = requests.getValue();
+        Assert.assertEquals(tableId, request.getTableId());
+        Assert.assertEquals(U64.ZERO, request.getCookieMask());
+
+        OFFlowStatsEntry entryOne = makeEntry(1);
+        OFFlowStatsEntry entryTwo = makeEntry(2);
+        OFFlowStatsEntry entryTwoMore = makeEntry(2);
+        replyFuture.set(Collections.singletonList(of.buildFlowStatsReply()
+                .setEntries(Arrays.asList(entryOne, entryTwo, entryTwoMore, makeEntry(4)))
+                .build()));
+
+        Assert.assertEquals(Collections.singletonList(entryOne), first.get());
+        Assert.assertEquals(Arrays.asList(entryTwo, entryTwoMore), second.get());
+        Assert.assertTrue(third.get().isEmpty());
+
+        Assert.assertEquals(3, service.getRequestsCount());
+        Assert.assertEquals(1, service.getDumpsCount());
+        Assert.assertEquals(2, service.getDumpsSaved());
+    }
+
+    @Test
+    public void shouldSendSingleRequestFilteredByCookie() throws Exception {
+        CompletableFuture<List<OFFlowStatsEntry>> future = service.dump(context, sw, tableId, U64.of(1));
+        service.flush(swId);
+
+        OFFlowStatsRequest request = requests.getValue();
+        Assert.assertEquals(U64.of(1), request.getCookie());
+        Assert.assertEquals(U64.NO_MASK, request.getCookieMask());
+
+        OFFlowStatsEntry entry = makeEntry(1);
+        replyFuture.set(Collections.singletonList(of.buildFlowStatsReply()
+                .setEntries(Collections.singletonList(entry))
+                .build()));
+        Assert.assertEquals(Collections.singletonList(entry), future.get());
+        Assert.assertEquals(0, service.getDumpsSaved());
+    }
+
+    @Test
+    public void shouldPropagateDumpError() {
+        CompletableFuture<List<OFFlowStatsEntry>> first = service.dump(context, sw, tableId, U64.of(1));
+        CompletableFuture<List<OFFlowStatsEntry>> second = service.dump(context, sw, tableId, U64.of(2));
+        service.flush(swId);
+
+        replyFuture.setException(new IllegalStateException("switch disconnected"));
+        Assert.assertTrue(first.isCompletedExceptionally());
+        Assert.assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldFailWaitersWhenDumpRequestCanNotBeSent() {
+        IOFSwitch disconnectedSw = createMock(IOFSwitch.class);
+        expect(disconnectedSw.getId()).andStubReturn(DatapathId.of(2));
+        expect(disconnectedSw.getOFFactory()).andStubReturn(of);
+        expect(disconnectedSw.writeStatsRequest(anyObject(OFFlowStatsRequest.class)))
+                .andThrow(new IllegalStateException("switch disconnected"))
+                .times(2);
+        replay(disconnectedSw);
+
+        CompletableFuture<List<OFFlowStatsEntry>> first = service.dump(context, disconnectedSw, tableId, U64.of(1));
+        CompletableFuture<List<OFFlowStatsEntry>> second = service.dump(context, disconnectedSw, tableId, U64.of(2));
+        CompletableFuture<List<OFFlowStatsEntry>> otherTable = service.dump(
+                context, disconnectedSw, TableId.of(3), U64.of(3));
+        service.flush(disconnectedSw.getId());
+
+        Assert.assertTrue(first.isCompletedExceptionally());
+        Assert.assertTrue(second.isCompletedExceptionally());
+        Assert.assertTrue(otherTable.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldNotCoalesceRequestsForBigTable() throws Exception {
+        service.dump(context, sw, tableId, U64.of(1));
+        service.dump(context, sw, tableId, U64.of(2));
+        service.flush(swId);
+        replyFuture.set(Collections.singletonList(of.buildFlowStatsReply()
+                .setEntries(Arrays.asList(makeEntry(1), makeEntry(2), makeEntry(3), makeEntry(4)))
+                .build()));
+
+        // 4 table entries exceed the limit of 1 entry per each of 2 requests
+        CompletableFuture<List<OFFlowStatsEntry>> first = service.dump(context, sw, tableId, U64.of(1));
+        CompletableFuture<List<OFFlowStatsEntry>> second = service.dump(context, sw, tableId, U64.of(2));
+        service.flush(swId);
+
+        List<OFFlowStatsRequest> sent = requests.getValues();
+        Assert.assertEquals(3, sent.size());
+        Assert.assertEquals(U64.ZERO, sent.get(0).getCookieMask());
+        Assert.assertEquals(U64.of(1), sent.get(1).getCookie());
+        Assert.assertEquals(U64.NO_MASK, sent.get(1).getCookieMask());
+        Assert.assertEquals(U64.of(2), sent.get(2).getCookie());
+        Assert.assertEquals(U64.NO_MASK, sent.get(2).getCookieMask());
+        Assert.assertTrue(first.isDone());
+        Assert.assertTrue(second.isDone());
+    }
+
+    private OFFlowStatsEntry makeEntry(long cookie) {
+        return of.buildFlowStatsEntry()
+                .setTableId(tableId)
+                .setCookie(U64.of(cookie))
+                .build();
+    }
+}
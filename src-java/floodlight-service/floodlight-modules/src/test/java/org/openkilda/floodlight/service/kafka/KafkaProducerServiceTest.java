@@ -15,10 +15,13 @@
 
 package org.openkilda.floodlight.service.kafka;
 
+import static org.easymock.EasyMock.anyLong;
 import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.getCurrentArguments;
 import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.reset;
 import static org.easymock.EasyMock.verify;
 
 import org.openkilda.floodlight.service.zookeeper.ZooKeeperService;
@@ -27,7 +30,9 @@ import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.model.SwitchId;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -35,6 +40,7 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.easymock.EasyMockSupport;
 import org.easymock.IAnswer;
@@ -46,6 +52,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class KafkaProducerServiceTest extends EasyMockSupport {
     private static final String TOPIC = "A";
@@ -58,7 +66,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     private KafkaProducerService subject;
 
     @SuppressWarnings("unchecked")
-    private Producer<String, String> kafkaProducer = (Producer<String, String>) strictMock(Producer.class);
+    private Producer<String, byte[]> kafkaProducer = (Producer<String, byte[]>) strictMock(Producer.class);
 
     @Before
     public void setUp() {
@@ -71,7 +79,14 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
         moduleContext.addService(KafkaUtilityService.class, kafkaUtility);
         moduleContext.addService(ZooKeeperService.class, createMock(ZooKeeperService.class));
 
-        replay(kafkaUtility);
+        ScheduledExecutorService scheduler = createMock(ScheduledExecutorService.class);
+        expect(scheduler.scheduleWithFixedDelay(anyObject(Runnable.class), anyLong(), anyLong(), eq(TimeUnit.SECONDS)))
+                .andReturn(null);
+        IThreadPoolService threadPool = createMock(IThreadPoolService.class);
+        expect(threadPool.getScheduledExecutor()).andReturn(scheduler);
+        moduleContext.addService(IThreadPoolService.class, threadPool);
+
+        replay(kafkaUtility, scheduler, threadPool);
 
         subject = new KafkaProducerService();
         subject.setup(moduleContext);
@@ -132,6 +147,69 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
                 "Exception was not thrown by %s object", status.getClass().getCanonicalName()), isThrown);
     }
 
+    @Test
+    public void failedSendAccounting() {
+        final ExecutionException error = new ExecutionException("Emulate kafka send error", new IOException());
+        expectSendCompletion(error);
+        expectSendCompletion(error);
+
+        replay(kafkaProducer);
+        subject.sendMessageAndTrack(TOPIC, makePayload());
+        subject.sendMessageAndTrack(TOPIC, makePayload());
+        Assert.assertEquals(2, subject.getFailedSendMessageCounter());
+
+        verify(kafkaProducer);
+        reset(kafkaProducer);
+        expectSendCompletion(null);
+
+        replay(kafkaProducer);
+        subject.sendMessageAndTrack(TOPIC, makePayload());
+        verify(kafkaProducer);
+
+        Assert.assertEquals(0, subject.getFailedSendMessageCounter());
+
+        TopicSendStats stats = subject.getTopicStats().get(TOPIC);
+        Assert.assertNotNull(stats);
+        Assert.assertEquals(1, stats.getSentCount());
+        Assert.assertEquals(2, stats.getFailedCount());
+        Assert.assertEquals(0, stats.getPendingCount());
+
+        Assert.assertTrue(stats.pullUpdated());
+        Assert.assertFalse(stats.pullUpdated());
+    }
+
+    @Test
+    public void encodeValueAsJsonBytes() throws Exception {
+        Capture<ProducerRecord<String, byte[]>> trap = EasyMock.newCapture(CaptureType.ALL);
+        setupSendCapture(trap, new RecordMetadata[]{null, null});
+
+        replay(kafkaProducer);
+        InfoMessage first = makePayload();
+        InfoMessage second = new InfoMessage(
+                new PortInfoData(new SwitchId("ff:fe:00:00:00:00:00:02"), 9, PortChangeType.DOWN),
+                System.currentTimeMillis(), getClass().getCanonicalName() + "-second");
+        subject.sendMessageAndTrack(TOPIC, first);
+        subject.sendMessageAndTrack(TOPIC, "key", second);
+        verify(kafkaProducer);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Assert.assertArrayEquals(mapper.writeValueAsBytes(first), trap.getValues().get(0).value());
+        Assert.assertArrayEquals(mapper.writeValueAsBytes(second), trap.getValues().get(1).value());
+        Assert.assertEquals("key", trap.getValues().get(1).key());
+
+        TopicSendStats stats = subject.getTopicStats().get(TOPIC);
+        Assert.assertEquals(2, stats.getPendingCount());
+    }
+
+    private void expectSendCompletion(Exception error) {
+        expect(kafkaProducer.send(anyObject(), anyObject(Callback.class)))
+                .andAnswer(() -> {
+                    Callback callback = (Callback) getCurrentArguments()[1];
+                    callback.onCompletion(null, error);
+                    return null;
+                });
+    }
+
     private InfoMessage makePayload() {
         return new InfoMessage(
                 new PortInfoData(new SwitchId("ff:fe:00:00:00:00:00:01"), 8, PortChangeType.UP),
@@ -139,7 +217,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     }
 
     @SuppressWarnings("unchecked")
-    private void setupSendCapture(Capture<ProducerRecord<String, String>> trap, RecordMetadata[] sendResults)
+    private void setupSendCapture(Capture<ProducerRecord<String, byte[]>> trap, RecordMetadata[] sendResults)
             throws Exception {
         for (RecordMetadata metadata : sendResults) {
             Future promise = mock(Future.class);
@@ -0,0 +1,163 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.floodlight.service.of;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+
+import org.openkilda.floodlight.command.Command;
+import org.openkilda.floodlight.command.CommandContext;
+import org.openkilda.floodlight.command.InputDispatchCommand;
+import org.openkilda.floodlight.service.CommandProcessorService;
+import org.openkilda.floodlight.utils.CommandContextFactory;
+
+import com.google.common.collect.ImmutableList;
+import net.floodlightcontroller.core.FloodlightContext;
+import net.floodlightcontroller.core.IFloodlightProviderService;
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.easymock.EasyMockSupport;
+import org.easymock.Mock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFPacketIn;
+import org.projectfloodlight.openflow.protocol.OFPacketInReason;
+import org.projectfloodlight.openflow.protocol.OFType;
+import org.projectfloodlight.openflow.protocol.match.MatchField;
+import org.projectfloodlight.openflow.protocol.ver13.OFFactoryVer13;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.projectfloodlight.openflow.types.OFPort;
+import org.projectfloodlight.openflow.types.U64;
+
+public class InputServiceTest extends EasyMockSupport {
+    private static final U64 COOKIE_ALPHA = U64.of(0x8000000000000001L);
+    private static final U64 COOKIE_BETA = U64.of(0x8000000000000002L);
+    private static final U64 COOKIE_UNCLAIMED = U64.of(0x8000000000000003L);
+
+    private final OFFactory ofFactory = new OFFactoryVer13();
+    private final FloodlightModuleContext moduleContext = new FloodlightModuleContext();
+    private final CommandContextFactory commandContextFactory = new CommandContextFactory();
+
+    private InputService subject;
+
+    @Mock
+    private IFloodlightProviderService flProviderService;
+
+    @Mock
+    private CommandProcessorService commandProcessor;
+
+    @Mock
+    private IOFSwitch sw;
+
+    @Mock
+    private IInputTranslator translatorAlpha;
+
+    @Mock
+    private IInputTranslator translatorBeta;
+
+    @Before
+    public void setUp() {
+        injectMocks(this);
+
+        expect(sw.getId()).andReturn(DatapathId.of(1)).anyTimes();
+        expect(sw.getLatency()).andReturn(U64.ZERO).anyTimes();
+
+        flProviderService.addOFMessageListener(eq(OFType.PACKET_IN), anyObject(InputService.class));
+        expectLastCall().once();
+
+        moduleContext.addService(IFloodlightProviderService.class, flProviderService);
+        moduleContext.addService(CommandProcessorService.class, commandProcessor);
+        commandContextFactory.init(moduleContext);
+
+        subject = new InputService(commandContextFactory);
+        subject.setup(moduleContext);
+    }
+
+    @After
+    public void tearDown() {
+        verifyAll();
+    }
+
+    @Test
+    public void packetInIsRoutedToTranslatorClaimedCookie() {
+        Command command = new Command(new CommandContext(moduleContext)) {
+            @Override
+            public Command call() {
+                return null;
+            }
+        };
+        expect(translatorBeta.makeCommand(anyObject(CommandContext.class), anyObject())).andReturn(command);
+        commandProcessor.processLazy(command);
+        replayAll();
+
+        registerTranslators();
+        subject.receive(sw, makePacketIn(COOKIE_BETA), new FloodlightContext());
+
+        Assert.assertEquals(0, subject.getUnclaimedPacketInCount());
+    }
+
+    @Test
+    public void packetInWithoutCookieIsDispatchedToNoCookieTranslators() {
+        Capture<Command> dispatch = EasyMock.newCapture();
+        commandProcessor.processLazy(capture(dispatch));
+        replayAll();
+
+        registerTranslators();
+        subject.receive(sw, makePacketIn(U64.ZERO), new FloodlightContext());
+
+        Assert.assertTrue(dispatch.getValue() instanceof InputDispatchCommand);
+    }
+
+    @Test
+    public void unclaimedPacketInIsCountedAndDropped() {
+        replayAll();
+
+        registerTranslators();
+        subject.receive(sw, makePacketIn(COOKIE_UNCLAIMED), new FloodlightContext());
+        subject.receive(sw, makePacketIn(COOKIE_UNCLAIMED), new FloodlightContext());
+
+        Assert.assertEquals(2, subject.getUnclaimedPacketInCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cookieCanBeClaimedByOneTranslatorOnly() {
+        replayAll();
+
+        registerTranslators();
+        subject.addPacketInTranslator(translatorBeta, ImmutableList.of(COOKIE_ALPHA), false);
+    }
+
+    private void registerTranslators() {
+        subject.addPacketInTranslator(translatorAlpha, ImmutableList.of(COOKIE_ALPHA), true);
+        subject.addPacketInTranslator(translatorBeta, ImmutableList.of(COOKIE_BETA), false);
+    }
+
+    private OFPacketIn makePacketIn(U64 cookie) {
+        return ofFactory.buildPacketIn()
+                .setCookie(cookie)
+                .setReason(OFPacketInReason.ACTION)
+                .setMatch(ofFactory.buildMatch().setExact(MatchField.IN_PORT, OFPort.of(1)).build())
+                .setData(new byte[0])
+                .build();
+    }
+}
@@ -22,6 +22,8 @@ import static org.easymock.EasyMock.expect;
 import org.openkilda.floodlight.KildaCore;
 import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
+import org.openkilda.floodlight.model.PingData;
 import org.openkilda.floodlight.model.PingWiredView;
 import org.openkilda.floodlight.pathverification.PathVerificationService;
 import org.openkilda.floodlight.service.of.InputService;
@@ -46,10 +48,11 @@ import org.easymock.EasyMockSupport;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
-import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.TransportPort;
 
+import java.util.Arrays;
+
 @Slf4j
 public class PingServiceTest extends EasyMockSupport {
     private static final DatapathId dpIdAlpha = DatapathId.of(0x0000fffe00000001L);
@@ -64,6 +67,7 @@ public class PingServiceTest extends EasyMockSupport {
         injectMocks(this);
 
         KildaCore kildaCore = EasyMock.createMock(KildaCore.class);
+        moduleContext.addConfigParam(new KildaCore(), "flow-ping-binary-payload", "true");
         FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(
                 moduleContext, KildaCore.class);
         KildaCoreConfig coreConfig = provider.getConfiguration(KildaCoreConfig.class);
@@ -85,7 +89,7 @@ public class PingServiceTest extends EasyMockSupport {
                 new FlowTransitEncapsulation(2, FlowEncapsulationType.TRANSIT_VLAN), 3);
 
         moduleContext.getServiceImpl(InputService.class)
-                .addTranslator(eq(OFType.PACKET_IN), anyObject(PingInputTranslator.class));
+                .addPacketInTranslator(anyObject(PingInputTranslator.class), anyObject(), eq(true));
 
         replayAll();
 
@@ -111,7 +115,7 @@ public class PingServiceTest extends EasyMockSupport {
                 new FlowTransitEncapsulation(2, FlowEncapsulationType.VXLAN), 3);
 
         moduleContext.getServiceImpl(InputService.class)
-                .addTranslator(eq(OFType.PACKET_IN), anyObject(PingInputTranslator.class));
+                .addPacketInTranslator(anyObject(PingInputTranslator.class), anyObject(), eq(true));
 
         replayAll();
 
@@ -143,4 +147,111 @@ public class PingServiceTest extends EasyMockSupport {
         Assert.assertArrayEquals(payload, parsed.getPayload());
         Assert.assertTrue(parsed.getVlanStack().isEmpty());
     }
+
+    @Test
+    public void binaryPacketVlan() throws Exception {
+        Ping ping = makePing(new FlowTransitEncapsulation(2, FlowEncapsulationType.TRANSIT_VLAN));
+        setupService();
+
+        PingData data = PingData.of(ping);
+        data.setSenderLatency(5);
+        byte[] wrapped = pingService.makePacket(ping, data);
+
+        // template produces the same packet as regular packet builder
+        Ethernet decoded = (Ethernet) new Ethernet().deserialize(wrapped, 0, wrapped.length);
+        PingWiredView parsed = pingService.unwrapData(dpIdBeta, decoded);
+        Assert.assertNotNull(parsed);
+        Assert.assertEquals(ping.getTransitEncapsulation().getId(), parsed.getVlanStack().get(0));
+
+        int offset = pingService.locatePayload(dpIdBeta, wrapped);
+        Assert.assertEquals(wrapped.length - parsed.getPayload().length, offset);
+        PingData received = pingService.decodePayload(wrapped, offset);
+        Assert.assertEquals(data, received);
+        Assert.assertEquals(data.getSendTime(), received.getSendTime());
+        Assert.assertEquals(5, received.getSenderLatency());
+        Assert.assertEquals(8, received.getIngressPortNumber());
+
+        Assert.assertEquals(-1, pingService.locatePayload(dpIdAlpha, wrapped));
+    }
+
+    @Test
+    public void binaryPacketVxlan() throws Exception {
+        Ping ping = makePing(new FlowTransitEncapsulation(2, FlowEncapsulationType.VXLAN));
+        setupService();
+
+        PingData data = PingData.of(ping);
+        byte[] wrapped = pingService.makePacket(ping, data);
+        byte[] expected = pingService.wrapData(ping, Arrays.copyOfRange(
+                wrapped, wrapped.length - PingPacketTemplate.PAYLOAD_LENGTH, wrapped.length)).serialize();
+        Assert.assertEquals(expected.length, wrapped.length);
+
+        // the switch strips VXLAN encapsulation before sending packet in, outer packet is not a ping packet
+        Assert.assertEquals(-1, pingService.locatePayload(dpIdBeta, wrapped));
+
+        Ethernet outer = (Ethernet) new Ethernet().deserialize(wrapped, 0, wrapped.length);
+        byte[] udpPayload = outer.getPayload().getPayload().getPayload().serialize();
+        Vxlan vxlan = (Vxlan) new Vxlan().deserialize(udpPayload, 0, udpPayload.length);
+        byte[] inner = vxlan.getPayload().serialize();
+
+        int offset = pingService.locatePayload(dpIdBeta, inner);
+        Assert.assertTrue(offset > 0);
+        Assert.assertEquals(data, pingService.decodePayload(inner, offset));
+    }
+
+    @Test
+    public void binaryPacketTemplateReuse() throws Exception {
+        Ping ping = makePing(new FlowTransitEncapsulation(2, FlowEncapsulationType.TRANSIT_VLAN));
+        setupService();
+
+        byte[] first = pingService.makePacket(ping, PingData.of(ping));
+        Ping next = new Ping(ping.getSource(), ping.getDest(), ping.getTransitEncapsulation(), ping.getIslPort());
+        byte[] second = pingService.makePacket(next, PingData.of(next));
+
+        Assert.assertEquals(ping.getPingId(),
+                pingService.decodePayload(first, pingService.locatePayload(dpIdBeta, first)).getPingId());
+        Assert.assertEquals(next.getPingId(),
+                pingService.decodePayload(second, pingService.locatePayload(dpIdBeta, second)).getPingId());
+    }
+
+    @Test(expected = CorruptedNetworkDataException.class)
+    public void binaryPacketBadSignature() throws Exception {
+        Ping ping = makePing(new FlowTransitEncapsulation(2, FlowEncapsulationType.TRANSIT_VLAN));
+        setupService();
+
+        byte[] wrapped = pingService.makePacket(ping, PingData.of(ping));
+        int offset = pingService.locatePayload(dpIdBeta, wrapped);
+        // change egress switch
+        wrapped[offset + 20] ^= 0x01;
+
+        pingService.decodePayload(wrapped, offset);
+    }
+
+    @Test
+    public void jwtPayloadIsAccepted() throws Exception {
+        Ping ping = makePing(new FlowTransitEncapsulation(2, FlowEncapsulationType.TRANSIT_VLAN));
+        setupService();
+
+        PingData data = PingData.of(ping);
+        byte[] wrapped = pingService.wrapData(ping, pingService.getSignature().sign(data)).serialize();
+
+        int offset = pingService.locatePayload(dpIdBeta, wrapped);
+        Assert.assertTrue(offset > 0);
+        Assert.assertEquals(data, pingService.decodePayload(wrapped, offset));
+    }
+
+    private Ping makePing(FlowTransitEncapsulation encapsulation) {
+        return new Ping(
+                new NetworkEndpoint(new SwitchId(dpIdAlpha.getLong()), 8),
+                new NetworkEndpoint(new SwitchId(dpIdBeta.getLong()), 9),
+                encapsulation, 3);
+    }
+
+    private void setupService() throws Exception {
+        moduleContext.getServiceImpl(InputService.class)
+                .addPacketInTranslator(anyObject(PingInputTranslator.class), anyObject(), eq(true));
+
+        replayAll();
+
+        pingService.setup(moduleContext);
+    }
 }
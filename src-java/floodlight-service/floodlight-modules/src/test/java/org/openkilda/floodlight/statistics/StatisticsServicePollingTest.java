@@ -0,0 +1,116 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.floodlight.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.projectfloodlight.openflow.types.DatapathId;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class StatisticsServicePollingTest {
+    private static final long SPREAD_MILLIS = 60_000;
+
+    @Test
+    public void pollOffsetIsStableAndInsideInterval() {
+        for (long i = 1; i <= 1000; i++) {
+            DatapathId dpId = DatapathId.of(i);
+            long offset = StatisticsService.pollOffset(dpId, SPREAD_MILLIS);
+            assertTrue(offset >= 0 && offset < SPREAD_MILLIS);
+            assertEquals(offset, StatisticsService.pollOffset(DatapathId.of(i), SPREAD_MILLIS));
+        }
+        long offset = StatisticsService.pollOffset(DatapathId.of(-1L), SPREAD_MILLIS);
+        assertTrue(offset >= 0 && offset < SPREAD_MILLIS);
+    }
+
+    @Test
+    public void pollOffsetsOfSequentialSwitchesAreSpread() {
+        Set<Long> seconds = new HashSet<>();
+        for (long i = 1; i <= 100; i++) {
+            seconds.add(StatisticsService.pollOffset(DatapathId.of(i), SPREAD_MILLIS) / 1000);
+        }
+        // 100 switches must occupy a significant part of 60 one second slots
+        assertTrue(seconds.size() > 40);
+    }
+
+    @Test
+    public void pollOfHighOffsetSwitchCompletesInsideInterval() {
+        long stagger = 200;
+        long window = StatisticsService.pollWindow(SPREAD_MILLIS, stagger);
+        long pollDuration = stagger * 3;  // delays between port, flow, meter and table requests
+
+        long maxOffset = 0;
+        for (long i = 1; i <= 10_000; i++) {
+            maxOffset = Math.max(maxOffset, StatisticsService.pollOffset(DatapathId.of(i), window));
+        }
+        // the switches with the highest offsets exist, their polls must be completed before the next poll is due
+        assertTrue(maxOffset > window - 1000);
+        assertTrue(maxOffset + pollDuration < SPREAD_MILLIS);
+    }
+
+    @Test
+    public void pollWindowIsNotNegative() {
+        assertEquals(0, StatisticsService.pollWindow(500, 200));
+    }
+
+    @Test
+    public void zeroSpreadIntervalDisablesSpreading() {
+        assertEquals(0, StatisticsService.pollOffset(DatapathId.of(0x1234L), 0));
+    }
+
+    @Test
+    public void pollIsNotScheduledTwice() {
+        SwitchPollState state = new SwitchPollState();
+        assertTrue(state.schedule());
+        assertFalse(state.schedule());
+
+        state.complete();
+        assertTrue(state.schedule());
+    }
+
+    @Test
+    public void pendingRequestsAreLimited() {
+        SwitchPollState state = new SwitchPollState();
+        state.start();
+
+        int generation = state.acquire(2);
+        assertNotEquals(SwitchPollState.REJECTED, generation);
+        assertNotEquals(SwitchPollState.REJECTED, state.acquire(2));
+        assertEquals(SwitchPollState.REJECTED, state.acquire(2));
+
+        state.release(generation);
+        assertNotEquals(SwitchPollState.REJECTED, state.acquire(2));
+    }
+
+    @Test
+    public void repliesOfPreviousPollAreIgnored() {
+        SwitchPollState state = new SwitchPollState();
+        state.start();
+        int previous = state.acquire(2);
+
+        assertEquals(1, state.start());
+        int current = state.acquire(2);
+        state.release(previous);
+        assertEquals(1, state.getPendingRequests());
+
+        state.release(current);
+        assertEquals(0, state.getPendingRequests());
+    }
+}
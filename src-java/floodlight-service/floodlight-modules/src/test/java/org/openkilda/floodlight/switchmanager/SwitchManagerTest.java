@@ -36,6 +36,7 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
 import static org.hamcrest.core.Every.everyItem;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -56,6 +57,7 @@ import static org.openkilda.model.MeterId.MIN_SYSTEM_RULE_METER_ID;
 import static org.openkilda.model.MeterId.createMeterIdForDefaultRule;
 import static org.openkilda.model.SwitchFeature.BFD;
 import static org.openkilda.model.SwitchFeature.GROUP_PACKET_OUT_CONTROLLER;
+import static org.openkilda.model.SwitchFeature.HALF_SIZE_METADATA;
 import static org.openkilda.model.SwitchFeature.LIMITED_BURST_SIZE;
 import static org.openkilda.model.SwitchFeature.MATCH_UDP_PORT;
 import static org.openkilda.model.SwitchFeature.METERS;
@@ -104,11 +106,13 @@ import org.openkilda.floodlight.service.FeatureDetectorService;
 import org.openkilda.floodlight.switchmanager.factory.SwitchFlowFactory;
 import org.openkilda.floodlight.test.standard.OutputCommands;
 import org.openkilda.floodlight.test.standard.ReplaceSchemeOutputCommands;
+import org.openkilda.floodlight.utils.metadata.RoutingMetadata;
 import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.OutputVlanType;
 import org.openkilda.model.SwitchFeature;
 import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -125,6 +129,7 @@ import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.util.FlowModUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
@@ -158,8 +163,11 @@ import org.projectfloodlight.openflow.protocol.action.OFActionSetField;
 import org.projectfloodlight.openflow.protocol.match.MatchField;
 import org.projectfloodlight.openflow.protocol.meterband.OFMeterBandDrop;
 import org.projectfloodlight.openflow.types.DatapathId;
+import org.projectfloodlight.openflow.types.EthType;
+import org.projectfloodlight.openflow.types.OFBufferId;
 import org.projectfloodlight.openflow.types.OFGroup;
 import org.projectfloodlight.openflow.types.OFPort;
+import org.projectfloodlight.openflow.types.TableId;
 import org.projectfloodlight.openflow.types.TransportPort;
 import org.projectfloodlight.openflow.types.U64;
 
@@ -380,6 +388,63 @@ public class SwitchManagerTest {
         assertEquals(scheme.installEgressIslVlanRule(dpid, 1), result);
     }
 
+    @Test
+    public void expectedIslFlowsArePatchedFromTemplates() throws Exception {
+        prepareForInstallTest();
+
+        for (int port = 1; port < 4; port++) {
+            List<OFFlowMod> result = switchManager.getExpectedIslFlowsForPort(dpid, port);
+
+            assertEquals(Lists.newArrayList(
+                    scheme.installEgressIslVxlanRule(dpid, port),
+                    scheme.installTransitIslVxlanRule(dpid, port),
+                    scheme.installEgressIslVlanRule(dpid, port)), result);
+        }
+    }
+
+    @Test
+    public void inputCustomerFlowsArePatchedFromTemplates() throws Exception {
+        prepareForInstallTest();
+        Set<SwitchFeature> features = featureDetectorService.detectSwitch(iofSwitch);
+
+        for (int port = 1; port < 4; port++) {
+            assertEquals(makeLldpInputCustomerFlow(port, features),
+                    switchManager.buildLldpInputCustomerFlow(dpid, port));
+            assertEquals(makeArpInputCustomerFlow(port, features),
+                    switchManager.buildArpInputCustomerFlow(dpid, port));
+        }
+    }
+
+    @Test
+    public void inputCustomerTemplatesAreDroppedOnDeactivate() throws Exception {
+        prepareForInstallTest();
+        Set<SwitchFeature> features = featureDetectorService.detectSwitch(iofSwitch);
+        OFFlowMod lldp = switchManager.buildLldpInputCustomerFlow(dpid, 1);
+        OFFlowMod arp = switchManager.buildArpInputCustomerFlow(dpid, 1);
+        assertEquals(makeLldpInputCustomerFlow(1, features), lldp);
+        assertEquals(makeArpInputCustomerFlow(1, features), arp);
+
+        // metadata layout depends on the switch features
+        Set<SwitchFeature> changedFeatures = Sets.newHashSet(features);
+        changedFeatures.add(HALF_SIZE_METADATA);
+        EasyMock.reset(featureDetectorService);
+        expect(featureDetectorService.detectSwitch(iofSwitch)).andStubReturn(changedFeatures);
+        replay(featureDetectorService);
+
+        // templates are bound to the switch and kept while it is connected
+        assertEquals(lldp, switchManager.buildLldpInputCustomerFlow(dpid, 1));
+        assertEquals(arp, switchManager.buildArpInputCustomerFlow(dpid, 1));
+
+        switchManager.deactivate(dpid);
+
+        OFFlowMod lldpReconnected = switchManager.buildLldpInputCustomerFlow(dpid, 1);
+        OFFlowMod arpReconnected = switchManager.buildArpInputCustomerFlow(dpid, 1);
+        assertNotEquals(lldp, lldpReconnected);
+        assertNotEquals(arp, arpReconnected);
+        assertEquals(makeLldpInputCustomerFlow(1, changedFeatures), lldpReconnected);
+        assertEquals(makeArpInputCustomerFlow(1, changedFeatures), arpReconnected);
+    }
+
     @Test
     public void installIntermediateIngressRule() throws Exception {
         Capture<OFFlowMod> capture = prepareForInstallTest();
@@ -1632,6 +1697,38 @@ public class SwitchManagerTest {
     }
 
 
+    private OFFlowMod makeLldpInputCustomerFlow(int port, Set<SwitchFeature> features) {
+        return makeInputCustomerFlow(port, EthType.LLDP, Cookie.encodeLldpInputCustomer(port),
+                SwitchManager.LLDP_INPUT_CUSTOMER_PRIORITY, RoutingMetadata.builder().lldpFlag(true).build(features));
+    }
+
+    private OFFlowMod makeArpInputCustomerFlow(int port, Set<SwitchFeature> features) {
+        return makeInputCustomerFlow(port, EthType.ARP, Cookie.encodeArpInputCustomer(port),
+                SwitchManager.ARP_INPUT_CUSTOMER_PRIORITY, RoutingMetadata.builder().arpFlag(true).build(features));
+    }
+
+    private OFFlowMod makeInputCustomerFlow(
+            int port, EthType ethType, long cookie, int priority, RoutingMetadata metadata) {
+        return ofFactory.buildFlowAdd()
+                .setCookie(U64.of(cookie))
+                .setPriority(priority)
+                .setTableId(TableId.of(SwitchManager.INPUT_TABLE_ID))
+                .setHardTimeout(FlowModUtils.INFINITE_TIMEOUT)
+                .setIdleTimeout(FlowModUtils.INFINITE_TIMEOUT)
+                .setBufferId(OFBufferId.NO_BUFFER)
+                .setMatch(ofFactory.buildMatch()
+                        .setExact(MatchField.IN_PORT, OFPort.of(port))
+                        .setExact(MatchField.ETH_TYPE, ethType)
+                        .build())
+                .setInstructions(ImmutableList.of(
+                        ofFactory.instructions().gotoTable(TableId.of(SwitchManager.PRE_INGRESS_TABLE_ID)),
+                        ofFactory.instructions().buildWriteMetadata()
+                                .setMetadata(metadata.getValue())
+                                .setMetadataMask(metadata.getMask())
+                                .build()))
+                .build();
+    }
+
     private Capture<OFFlowMod> prepareForInstallTest() {
         return prepareForInstallTest(false);
     }
@@ -274,7 +274,9 @@ public class FloodlightRouterTopology extends AbstractTopology<FloodlightRouterT
     private void switchMonitor(TopologyBuilder topology, TopologyOutput output) {
         Fields switchIdGrouping = new Fields(SpeakerToNetworkProxyBolt.FIELD_ID_SWITCH_ID);
 
-        SwitchMonitorBolt bolt = new SwitchMonitorBolt(ZooKeeperSpout.SPOUT_ID, kafkaTopics.getTopoDiscoTopic());
+        SwitchMonitorBolt bolt = new SwitchMonitorBolt(
+                ZooKeeperSpout.SPOUT_ID, kafkaTopics.getTopoDiscoTopic(), kafkaTopics.getSpeakerDiscoRegionTopic(),
+                Duration.ofSeconds(topologyConfig.getFloodlightDumpFullSyncInterval()));
         declareBolt(topology, bolt, SwitchMonitorBolt.BOLT_ID)
                 .allGrouping(MonotonicTick.BOLT_ID)
                 .allGrouping(RegionTrackerBolt.BOLT_ID, RegionTrackerBolt.STREAM_REGION_NOTIFICATION_ID)
@@ -285,7 +287,8 @@ public class FloodlightRouterTopology extends AbstractTopology<FloodlightRouterT
 
         Fields keyGrouping = new Fields(FieldNameBasedTupleToKafkaMapper.BOLT_KEY);
         output.getKafkaGenericOutput()
-                .fieldsGrouping(SwitchMonitorBolt.BOLT_ID, SwitchMonitorBolt.STREAM_NETWORK_ID, keyGrouping);
+                .fieldsGrouping(SwitchMonitorBolt.BOLT_ID, SwitchMonitorBolt.STREAM_NETWORK_ID, keyGrouping)
+                .shuffleGrouping(SwitchMonitorBolt.BOLT_ID, SwitchMonitorBolt.STREAM_SPEAKER_ID);
     }
 
     private void clock(TopologyBuilder topology) {
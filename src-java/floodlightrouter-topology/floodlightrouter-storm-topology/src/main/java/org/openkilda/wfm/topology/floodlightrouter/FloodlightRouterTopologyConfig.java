@@ -39,6 +39,10 @@ public interface FloodlightRouterTopologyConfig extends AbstractTopologyConfig {
     @Default("60")
     Long getFloodlightDumpInterval();
 
+    @Key("floodlight.dump.full.sync.interval")
+    @Default("3600")
+    Long getFloodlightDumpFullSyncInterval();
+
     @Key("floodlight.regions")
     @Default("1")
     @Converter(StringToSetConverter.class)
@@ -20,6 +20,7 @@ import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.command.stats.StatsRequest;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.AbstractBolt;
@@ -103,6 +104,8 @@ public class ControllerToSpeakerProxyBolt extends AbstractBolt implements Contro
         CommandData payload = message.getData();
         if (payload instanceof StatsRequest) {
             service.statsRequest((StatsRequest) payload, message.getCorrelationId());
+        } else if (payload instanceof NetworkCommandData) {
+            service.networkDumpRequest(message);
         } else if (RouterUtils.isBroadcast(payload)) {
             service.broadcastRequest(message);
         } else {
@@ -193,12 +193,7 @@ public class RegionTrackerBolt extends AbstractBolt implements RegionMonitorCarr
      */
     @Override
     public void emitNetworkDumpRequest(String region) {
-        String correlationId = getCommandContext().fork(String.format("network-dump(%s)", region)).getCorrelationId();
-        CommandMessage command = new CommandMessage(
-                new NetworkCommandData(), System.currentTimeMillis(), correlationId);
-
-        log.info("Send network dump request (correlation-id: {})", correlationId);
-        getOutput().emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(correlationId, command, region));
+        emitNetworkDumpRequest(region, new NetworkCommandData());
     }
 
     @Override
@@ -212,12 +207,24 @@ public class RegionTrackerBolt extends AbstractBolt implements RegionMonitorCarr
             return;
         }
 
+        // periodic sync requests digests only, full switch views are requested by the switch monitor for the
+        // switches that differ from the known state (network topology requests full views on its own (re)start,
+        // because it loses the state the digests are compared against)
         log.debug("Do periodic network dump request");
         for (String region : floodlights) {
-            emitNetworkDumpRequest(region);
+            emitNetworkDumpRequest(region, NetworkCommandData.digestRequest());
         }
     }
 
+    private void emitNetworkDumpRequest(String region, NetworkCommandData request) {
+        String correlationId = getCommandContext().fork(String.format("network-dump(%s)", region)).getCorrelationId();
+        CommandMessage command = new CommandMessage(request, System.currentTimeMillis(), correlationId);
+
+        log.info("Send network dump request (digest only: {}, correlation-id: {})",
+                request.isDigestOnly(), correlationId);
+        getOutput().emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(correlationId, command, region));
+    }
+
     private boolean queryPeriodicSyncFeatureToggle() {
         return featureTogglesRepository.getOrDefault().getFloodlightRoutePeriodicSync();
     }
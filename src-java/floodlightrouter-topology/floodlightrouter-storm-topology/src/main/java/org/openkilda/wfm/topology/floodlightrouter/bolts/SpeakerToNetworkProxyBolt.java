@@ -19,6 +19,7 @@ import org.openkilda.messaging.AliveResponse;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.model.SwitchId;
@@ -68,6 +69,9 @@ public class SpeakerToNetworkProxyBolt extends SpeakerToControllerProxyBolt {
             emitNetworkNotification(envelope.getRegion(), (SwitchInfoData) payload);
         } else if (payload instanceof NetworkDumpSwitchData) {
             emitNetworkNotification(envelope.getRegion(), (NetworkDumpSwitchData) payload);
+        } else if (payload instanceof NetworkDumpSwitchDigest) {
+            NetworkDumpSwitchDigest digest = (NetworkDumpSwitchDigest) payload;
+            emitNetworkNotification(envelope.getRegion(), digest.getSwitchId(), digest);
         } else if (payload instanceof PortInfoData) {
             emitNetworkNotification(envelope.getRegion(), (PortInfoData) payload);
         } else {
@@ -16,9 +16,12 @@
 package org.openkilda.wfm.topology.floodlightrouter.bolts;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.model.SwitchId;
@@ -39,6 +42,8 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
 
 public class SwitchMonitorBolt extends AbstractBolt implements SwitchMonitorCarrier {
     public static final String BOLT_ID = ComponentType.SWITCH_MONITOR;
@@ -47,17 +52,25 @@ public class SwitchMonitorBolt extends AbstractBolt implements SwitchMonitorCarr
 
     public static final String STREAM_NETWORK_ID = "network";
 
+    public static final String STREAM_SPEAKER_ID = "speaker";
+
     public static final String STREAM_REGION_MAPPING_ID = "region";
     public static final Fields STREAM_REGION_MAPPING_FIELDS = new Fields(FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
     private final String kafkaNetworkTopic;
+    private final String kafkaSpeakerTopic;
+    private final Duration fullSyncInterval;
 
     private transient Clock clock;
     private transient SwitchMonitorService service;
 
-    public SwitchMonitorBolt(String lifeCycleEventSourceComponent, String kafkaNetworkTopic) {
+    public SwitchMonitorBolt(
+            String lifeCycleEventSourceComponent, String kafkaNetworkTopic, String kafkaSpeakerTopic,
+            Duration fullSyncInterval) {
         super(lifeCycleEventSourceComponent);
         this.kafkaNetworkTopic = kafkaNetworkTopic;
+        this.kafkaSpeakerTopic = kafkaSpeakerTopic;
+        this.fullSyncInterval = fullSyncInterval;
     }
 
     @Override
@@ -85,6 +98,8 @@ public class SwitchMonitorBolt extends AbstractBolt implements SwitchMonitorCarr
             service.handleStatusUpdateNotification((SwitchInfoData) payload, region);
         } else if (payload instanceof NetworkDumpSwitchData) {
             service.handleNetworkDumpResponse((NetworkDumpSwitchData) payload, region);
+        } else if (payload instanceof NetworkDumpSwitchDigest) {
+            service.handleNetworkDumpDigest((NetworkDumpSwitchDigest) payload, region);
         } else if (payload instanceof PortInfoData) {
             service.handlePortStatusUpdateNotification((PortInfoData) payload, region);
         } else {
@@ -107,6 +122,16 @@ public class SwitchMonitorBolt extends AbstractBolt implements SwitchMonitorCarr
         getOutput().emit(STREAM_NETWORK_ID, getCurrentTuple(), makeNetworkTuple(switchId.toString(), message));
     }
 
+    @Override
+    public void switchDumpRequest(SwitchId switchId, String region) {
+        String correlationId = getCommandContext().fork(String.format("switch-dump(%s)", switchId))
+                .getCorrelationId();
+        CommandMessage message = new CommandMessage(
+                NetworkCommandData.scopedRequest(Collections.singleton(switchId)), clock.instant().toEpochMilli(),
+                correlationId);
+        getOutput().emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(correlationId, message, region));
+    }
+
     private String pullRegion(Tuple input) throws PipelineException {
         return pullValue(input, RegionTrackerBolt.FIELD_ID_REGION, String.class);
     }
@@ -117,6 +142,10 @@ public class SwitchMonitorBolt extends AbstractBolt implements SwitchMonitorCarr
         return new Values(key, payload, kafkaNetworkTopic, null);
     }
 
+    private Values makeSpeakerTuple(String key, Message payload, String region) {
+        return new Values(key, payload, kafkaSpeakerTopic, region);
+    }
+
     private Values makeRegionMappingTuple(RegionMappingUpdate mappingUpdate) {
         return new Values(mappingUpdate, getCommandContext());
     }
@@ -127,7 +156,7 @@ public class SwitchMonitorBolt extends AbstractBolt implements SwitchMonitorCarr
         super.init();
 
         clock = Clock.systemUTC();
-        service = new SwitchMonitorService(clock, this);
+        service = new SwitchMonitorService(clock, this, fullSyncInterval);
     }
 
     @Override
@@ -136,6 +165,7 @@ public class SwitchMonitorBolt extends AbstractBolt implements SwitchMonitorCarr
                 FieldNameBasedTupleToKafkaMapper.BOLT_KEY, FieldNameBasedTupleToKafkaMapper.BOLT_MESSAGE,
                 RegionAwareKafkaTopicSelector.FIELD_ID_TOPIC, RegionAwareKafkaTopicSelector.FIELD_ID_REGION);
         streamManager.declareStream(STREAM_NETWORK_ID, kafkaProducerFields);
+        streamManager.declareStream(STREAM_SPEAKER_ID, kafkaProducerFields);
 
         streamManager.declareStream(STREAM_REGION_MAPPING_ID, STREAM_REGION_MAPPING_FIELDS);
         streamManager.declareStream(ZkStreams.ZK.toString(), new Fields(ZooKeeperBolt.FIELD_ID_STATE,
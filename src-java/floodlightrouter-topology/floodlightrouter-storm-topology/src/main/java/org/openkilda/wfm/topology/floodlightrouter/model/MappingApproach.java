@@ -36,5 +36,8 @@ interface MappingApproach {
      */
     void remove(SwitchId switchId, String region);
 
-    Map<String, Set<SwitchId>> makeReversedMapping();
+    /**
+     * Immutable region to switches mapping.
+     */
+    Map<String, Set<SwitchId>> getPopulationPerRegion();
 }
@@ -24,6 +24,7 @@ import java.util.Set;
 
 class OneToManyMapping implements MappingApproach {
     private final Map<SwitchId, Set<String>> mapping = new HashMap<>();
+    private final RegionPopulation population = new RegionPopulation();
 
     @Override
     public void set(SwitchId switchId, String region) {
@@ -36,29 +37,31 @@ class OneToManyMapping implements MappingApproach {
     public void add(SwitchId switchId, String region) {
         mapping.computeIfAbsent(switchId, key -> new HashSet<>())
                 .add(region);
+        population.add(region, switchId);
     }
 
     public void remove(SwitchId switchId, String region) {
+        Set<String> entry = mapping.get(switchId);
+        if (entry == null) {
+            return;
+        }
+
         if (region == null) {
             mapping.remove(switchId);
+            for (String current : entry) {
+                population.remove(current, switchId);
+            }
         } else {
-            Set<String> entry = mapping.get(switchId);
             entry.remove(region);
+            population.remove(region, switchId);
             if (entry.isEmpty()) {
                 mapping.remove(switchId);
             }
         }
     }
 
-    public Map<String, Set<SwitchId>> makeReversedMapping() {
-        Map<String, Set<SwitchId>> result = new HashMap<>();
-        for (Map.Entry<SwitchId, Set<String>> entry : mapping.entrySet()) {
-            for (String region : entry.getValue()) {
-                SwitchId switchId = entry.getKey();
-                result.computeIfAbsent(region, key -> new HashSet<>())
-                        .add(switchId);
-            }
-        }
-        return result;
+    @Override
+    public Map<String, Set<SwitchId>> getPopulationPerRegion() {
+        return population.getSnapshot();
     }
 }
@@ -23,7 +23,6 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -34,6 +33,7 @@ class OneToOneMapping implements MappingApproach {
 
     private final Map<SwitchId, String> actual = new HashMap<>();
     private final Map<SwitchId, StaleEntry> removed = new HashMap<>();
+    private final RegionPopulation population = new RegionPopulation();
 
     public OneToOneMapping(Clock clock, Duration staleWipeDelay) {
         this.clock = clock;
@@ -58,7 +58,11 @@ class OneToOneMapping implements MappingApproach {
     }
 
     public void add(SwitchId switchId, String region) {
-        actual.put(switchId, region);
+        String current = actual.put(switchId, region);
+        if (current != null && !current.equals(region)) {
+            population.remove(current, switchId);
+        }
+        population.add(region, switchId);
         removed.remove(switchId);
     }
 
@@ -68,22 +72,20 @@ class OneToOneMapping implements MappingApproach {
 
     public void remove(SwitchId switchId) {
         String region = actual.remove(switchId);
-        if (region != null && ! staleWipeDelay.isZero()) {
+        if (region == null) {
+            return;
+        }
+
+        population.remove(region, switchId);
+        if (! staleWipeDelay.isZero()) {
             StaleEntry entry = new StaleEntry(region, clock.instant().plus(staleWipeDelay));
             removed.put(switchId, entry);
         }
     }
 
-    /**
-     * Make reversed mapping.
-     */
-    public Map<String, Set<SwitchId>> makeReversedMapping() {
-        Map<String, Set<SwitchId>> reversed = new HashMap<>();
-        for (Map.Entry<SwitchId, String> entry : actual.entrySet()) {
-            reversed.computeIfAbsent(entry.getValue(), key -> new HashSet<>())
-                    .add(entry.getKey());
-        }
-        return reversed;
+    @Override
+    public Map<String, Set<SwitchId>> getPopulationPerRegion() {
+        return population.getSnapshot();
     }
 
     private String lookupStale(SwitchId switchId) {
@@ -19,6 +19,9 @@ import org.openkilda.model.SwitchId;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -27,6 +30,8 @@ public class RegionMapping implements RegionMappingStorage {
     private final OneToOneMapping readWrite;
     private final OneToManyMapping readOnly;
 
+    private Map<String, Set<SwitchId>> statsPopulation;
+
     public RegionMapping(Clock clock, Duration staleWipeDelay) {
         readWrite = new OneToOneMapping(clock, staleWipeDelay);
         readOnly = new OneToManyMapping();
@@ -40,11 +45,23 @@ public class RegionMapping implements RegionMappingStorage {
     }
 
     public Map<String, Set<SwitchId>> organizeReadWritePopulationPerRegion() {
-        return readWrite.makeReversedMapping();
+        return readWrite.getPopulationPerRegion();
     }
 
     public Map<String, Set<SwitchId>> organizeReadOnlyPopulationPerRegion() {
-        return readOnly.makeReversedMapping();
+        return readOnly.getPopulationPerRegion();
+    }
+
+    /**
+     * Splits switches between regions for stats collection. Each switch is assigned to exactly one region, RO only
+     * regions are preferred. The result is immutable and is recalculated only after mapping updates.
+     */
+    public Map<String, Set<SwitchId>> organizeStatsPopulationPerRegion() {
+        if (statsPopulation == null) {
+            statsPopulation = makeStatsPopulation(
+                    organizeReadWritePopulationPerRegion(), organizeReadOnlyPopulationPerRegion());
+        }
+        return statsPopulation;
     }
 
     /**
@@ -52,6 +69,7 @@ public class RegionMapping implements RegionMappingStorage {
      */
     public void apply(RegionMappingUpdate update) {
         update.apply(this);
+        statsPopulation = null;
     }
 
     @Override
@@ -72,4 +90,26 @@ public class RegionMapping implements RegionMappingStorage {
     private MappingApproach selectUpdateTarget(RegionMappingUpdate update) {
         return update.isReadWriteMode() ? readWrite : readOnly;
     }
+
+    private static Map<String, Set<SwitchId>> makeStatsPopulation(
+            Map<String, Set<SwitchId>> rwPopulation, Map<String, Set<SwitchId>> roPopulation) {
+        Map<String, Set<SwitchId>> result = new LinkedHashMap<>();
+        Set<SwitchId> processed = new HashSet<>();
+        for (Map.Entry<String, Set<SwitchId>> entry : roPopulation.entrySet()) {
+            if (!rwPopulation.containsKey(entry.getKey())) {
+                result.put(entry.getKey(), makeStatsScope(entry.getValue(), processed));
+            }
+        }
+        for (Map.Entry<String, Set<SwitchId>> entry : rwPopulation.entrySet()) {
+            result.put(entry.getKey(), makeStatsScope(entry.getValue(), processed));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Set<SwitchId> makeStatsScope(Set<SwitchId> population, Set<SwitchId> processed) {
+        Set<SwitchId> scope = new HashSet<>(population);
+        scope.removeAll(processed);
+        processed.addAll(scope);
+        return Collections.unmodifiableSet(scope);
+    }
 }
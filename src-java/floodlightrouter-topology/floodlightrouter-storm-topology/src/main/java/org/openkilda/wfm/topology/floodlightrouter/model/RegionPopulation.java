@@ -0,0 +1,75 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.floodlightrouter.model;
+
+import org.openkilda.model.SwitchId;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Region to switches index maintained along with switch to region mapping. Readers get an immutable snapshot, the
+ * snapshot is rebuilt only for the regions changed since the previous read, so frequent readers do not pay for the
+ * whole mapping traversal.
+ */
+class RegionPopulation {
+    private final Map<String, Set<SwitchId>> population = new HashMap<>();
+
+    private final Set<String> changedRegions = new HashSet<>();
+    private Map<String, Set<SwitchId>> snapshot = Collections.emptyMap();
+
+    void add(String region, SwitchId switchId) {
+        if (population.computeIfAbsent(region, key -> new HashSet<>()).add(switchId)) {
+            changedRegions.add(region);
+        }
+    }
+
+    void remove(String region, SwitchId switchId) {
+        Set<SwitchId> switches = population.get(region);
+        if (switches == null || !switches.remove(switchId)) {
+            return;
+        }
+        if (switches.isEmpty()) {
+            population.remove(region);
+        }
+        changedRegions.add(region);
+    }
+
+    /**
+     * Returns immutable region to switches mapping, the returned snapshot is not affected by further updates.
+     */
+    Map<String, Set<SwitchId>> getSnapshot() {
+        if (changedRegions.isEmpty()) {
+            return snapshot;
+        }
+
+        Map<String, Set<SwitchId>> updated = new HashMap<>(snapshot);
+        for (String region : changedRegions) {
+            Set<SwitchId> switches = population.get(region);
+            if (switches == null) {
+                updated.remove(region);
+            } else {
+                updated.put(region, Collections.unmodifiableSet(new HashSet<>(switches)));
+            }
+        }
+        changedRegions.clear();
+        snapshot = Collections.unmodifiableMap(updated);
+        return snapshot;
+    }
+}
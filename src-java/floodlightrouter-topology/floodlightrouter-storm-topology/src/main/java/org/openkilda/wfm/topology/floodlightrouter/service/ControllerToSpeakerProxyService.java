@@ -32,7 +32,6 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -75,31 +74,33 @@ public class ControllerToSpeakerProxyService {
      */
     public void broadcastRequest(CommandMessage message) {
         Map<String, Set<SwitchId>> population = switchMapping.organizeReadWritePopulationPerRegion();
+        Instant now = clock.instant();
         for (String region : allRegions) {
             Set<SwitchId> scope = population.getOrDefault(region, Collections.emptySet());
             CommandMessage broadcastRequest = makeBroadcastRequest(
-                    clock.instant(), message.getData(), scope, message.getCorrelationId());
+                    now, message.getData(), scope, message.getCorrelationId());
             carrier.sendToSpeaker(broadcastRequest, region);
         }
     }
 
+    /**
+     * Route full network dump request into all known regions. The request is not limited by the switch scope, because
+     * the requester must receive all switches connected to each region, including the ones this service is not aware
+     * of yet.
+     */
+    public void networkDumpRequest(CommandMessage message) {
+        for (String region : allRegions) {
+            carrier.sendToSpeaker(message, region);
+        }
+    }
+
     /**
      * Route {@link StatsRequest}. Prefer to RO only regions.
      */
     public void statsRequest(StatsRequest request, String correlationId) {
-        Map<String, Set<SwitchId>> rwPopulation = switchMapping.organizeReadWritePopulationPerRegion();
-        Map<String, Set<SwitchId>> roPopulation = switchMapping.organizeReadOnlyPopulationPerRegion();
-
-        Set<String> roRegions = new HashSet<>(roPopulation.keySet());
-        roRegions.removeAll(rwPopulation.keySet());
-
         Instant now = clock.instant();
-        Set<SwitchId> processed = new HashSet<>();
-        for (String region : roRegions) {
-            sendStatsRequest(now, region, roPopulation.get(region), request, correlationId, processed);
-        }
-        for (Map.Entry<String, Set<SwitchId>> entry : rwPopulation.entrySet()) {
-            sendStatsRequest(now, entry.getKey(), entry.getValue(), request, correlationId, processed);
+        for (Map.Entry<String, Set<SwitchId>> entry : switchMapping.organizeStatsPopulationPerRegion().entrySet()) {
+            carrier.sendToSpeaker(makeBroadcastRequest(now, request, entry.getValue(), correlationId), entry.getKey());
         }
     }
 
@@ -116,16 +117,6 @@ public class ControllerToSpeakerProxyService {
         }
     }
 
-    private void sendStatsRequest(
-            Instant now, String region, Set<SwitchId> scope, StatsRequest seed, String correlationId,
-            Set<SwitchId> processed) {
-        scope = new HashSet<>(scope);
-        scope.removeAll(processed);
-
-        processed.addAll(scope);
-        carrier.sendToSpeaker(makeBroadcastRequest(now, seed, scope, correlationId), region);
-    }
-
     private CommandMessage makeBroadcastRequest(
             Instant now, CommandData payload, Set<SwitchId> scope, String correlationId) {
         BroadcastWrapper wrapper = new BroadcastWrapper(scope, payload);
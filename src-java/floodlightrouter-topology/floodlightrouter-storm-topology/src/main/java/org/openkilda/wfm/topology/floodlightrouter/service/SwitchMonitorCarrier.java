@@ -23,4 +23,6 @@ public interface SwitchMonitorCarrier {
     void regionUpdateNotification(RegionMappingUpdate mappingUpdate);
 
     void networkStatusUpdateNotification(SwitchId switchId, InfoData notification);
+
+    void switchDumpRequest(SwitchId switchId, String region);
 }
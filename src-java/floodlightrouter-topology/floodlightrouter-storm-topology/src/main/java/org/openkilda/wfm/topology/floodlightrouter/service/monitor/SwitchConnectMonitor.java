@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.floodlightrouter.service.monitor;
 
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.model.SwitchId;
@@ -34,7 +35,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class SwitchConnectMonitor {
     protected final SwitchMonitorCarrier carrier;
-    private final Clock clock;
+    protected final Clock clock;
     protected final SwitchId switchId;
 
     protected final Set<String> availableInRegions = new HashSet<>();
@@ -94,6 +95,24 @@ public abstract class SwitchConnectMonitor {
         }
     }
 
+    /**
+     * Handle network dump digest. The full switch view is requested if the digest does not prove that the switch
+     * state is already known.
+     */
+    public void handleNetworkDumpDigest(NetworkDumpSwitchDigest digest, String region) {
+        ensureSwitchIdMatch(digest.getSwitchId());
+        if (isReadWriteMode() != digest.isWriteMode()) {
+            return;
+        }
+
+        if (isInSync(digest, region)) {
+            log.debug("{} switch {} is in sync with region \"{}\"", formatConnectMode(), switchId, region);
+        } else {
+            log.debug("Request {} switch {} view from region \"{}\"", formatConnectMode(), switchId, region);
+            carrier.switchDumpRequest(switchId, region);
+        }
+    }
+
     public void handlePortStatusUpdateNotification(PortInfoData notification, String region) {
         ensureSwitchIdMatch(notification.getSwitchId());
         proxyPortStatusUpdateNotification(notification, region);
@@ -107,6 +126,10 @@ public abstract class SwitchConnectMonitor {
         handleConnect(switchData, region);
     }
 
+    protected boolean isInSync(NetworkDumpSwitchDigest digest, String region) {
+        return availableInRegions.contains(region);
+    }
+
     protected void handleConnect(InfoData notification, String region) {
         if (availableInRegions.add(region)) {
             if (availableInRegions.size() == 1) {
@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.floodlightrouter.service.monitor;
 
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.model.SwitchId;
@@ -24,6 +25,7 @@ import org.openkilda.wfm.topology.floodlightrouter.service.SwitchMonitorCarrier;
 import com.google.common.collect.ImmutableList;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
@@ -34,11 +36,12 @@ public class SwitchMonitorEntry {
 
     private final List<SwitchConnectMonitor> basicMonitors;
 
-    public SwitchMonitorEntry(SwitchMonitorCarrier carrier, Clock clock, SwitchId switchId) {
+    public SwitchMonitorEntry(
+            SwitchMonitorCarrier carrier, Clock clock, SwitchId switchId, Duration fullSyncInterval) {
         this.carrier = carrier;
         basicMonitors = ImmutableList.of(
                 new SwitchReadOnlyConnectMonitor(carrier, clock, switchId),
-                new SwitchReadWriteConnectMonitor(carrier, clock, switchId));
+                new SwitchReadWriteConnectMonitor(carrier, clock, switchId, fullSyncInterval));
     }
 
     /**
@@ -74,6 +77,15 @@ public class SwitchMonitorEntry {
         }
     }
 
+    /**
+     * Handle network dump digest entry.
+     */
+    public void handleNetworkDumpDigest(NetworkDumpSwitchDigest digest, String region) {
+        for (SwitchConnectMonitor entry : basicMonitors) {
+            entry.handleNetworkDumpDigest(digest, region);
+        }
+    }
+
     /**
      * Handle port status update notification.
      */
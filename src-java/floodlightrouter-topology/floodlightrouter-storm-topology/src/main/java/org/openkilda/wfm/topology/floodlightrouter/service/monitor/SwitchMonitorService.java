@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.floodlightrouter.service.monitor;
 
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.model.SwitchId;
@@ -37,7 +38,10 @@ import java.util.Optional;
 
 @Slf4j
 public class SwitchMonitorService {
+    public static final Duration DEFAULT_FULL_SYNC_INTERVAL = Duration.ofHours(1);
+
     private final Clock clock;
+    private final Duration fullSyncInterval;
 
     @Getter(AccessLevel.PACKAGE)
     private final Duration garbageDelay = Duration.ofSeconds(300);
@@ -47,8 +51,13 @@ public class SwitchMonitorService {
     private final Map<SwitchId, SwitchMonitorEntry> monitors = new HashMap<>();
 
     public SwitchMonitorService(Clock clock, SwitchMonitorCarrier carrier) {
+        this(clock, carrier, DEFAULT_FULL_SYNC_INTERVAL);
+    }
+
+    public SwitchMonitorService(Clock clock, SwitchMonitorCarrier carrier, Duration fullSyncInterval) {
         this.clock = clock;
         this.carrier = carrier;
+        this.fullSyncInterval = fullSyncInterval;
     }
 
     /**
@@ -90,6 +99,11 @@ public class SwitchMonitorService {
         entry.handleNetworkDumpResponse(response, region);
     }
 
+    public void handleNetworkDumpDigest(NetworkDumpSwitchDigest digest, String region) {
+        SwitchMonitorEntry entry = lookupOrCreateSwitchMonitor(digest.getSwitchId());
+        entry.handleNetworkDumpDigest(digest, region);
+    }
+
     public void handlePortStatusUpdateNotification(PortInfoData notification, String region) {
         SwitchMonitorEntry entry = lookupOrCreateSwitchMonitor(notification.getSwitchId());
         entry.handlePortStatusUpdateNotification(notification, region);
@@ -101,6 +115,7 @@ public class SwitchMonitorService {
     }
 
     private SwitchMonitorEntry lookupOrCreateSwitchMonitor(SwitchId switchId) {
-        return monitors.computeIfAbsent(switchId, key -> new SwitchMonitorEntry(carrier, clock, switchId));
+        return monitors.computeIfAbsent(
+                switchId, key -> new SwitchMonitorEntry(carrier, clock, switchId, fullSyncInterval));
     }
 }
@@ -17,10 +17,12 @@ package org.openkilda.wfm.topology.floodlightrouter.service.monitor;
 
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchChangeType;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.switches.UnmanagedSwitchNotification;
+import org.openkilda.messaging.model.SpeakerSwitchView;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.floodlightrouter.model.RegionMappingRemove;
 import org.openkilda.wfm.topology.floodlightrouter.model.RegionMappingSet;
@@ -29,15 +31,31 @@ import org.openkilda.wfm.topology.floodlightrouter.service.SwitchMonitorCarrier;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Iterator;
 import java.util.Objects;
 
 @Slf4j
 public class SwitchReadWriteConnectMonitor extends SwitchConnectMonitor {
+    private final Duration fullSyncInterval;
+
     private String activeRegion = null;
 
+    /**
+     * Digest of the last switch view proxied into network topology, null if the view is unknown.
+     */
+    private Long proxiedDigest = null;
+    private Instant proxiedDigestExpireAt = Instant.MIN;
+
     public SwitchReadWriteConnectMonitor(SwitchMonitorCarrier carrier, Clock clock, SwitchId switchId) {
+        this(carrier, clock, switchId, SwitchMonitorService.DEFAULT_FULL_SYNC_INTERVAL);
+    }
+
+    public SwitchReadWriteConnectMonitor(
+            SwitchMonitorCarrier carrier, Clock clock, SwitchId switchId, Duration fullSyncInterval) {
         super(carrier, clock, switchId);
+        this.fullSyncInterval = fullSyncInterval;
     }
 
     @Override
@@ -46,9 +64,23 @@ public class SwitchReadWriteConnectMonitor extends SwitchConnectMonitor {
         if (Objects.equals(activeRegion, region)) {
             // proxy network dump for active region only
             carrier.networkStatusUpdateNotification(switchId, switchData);
+            updateProxiedDigest(switchData);
         }
     }
 
+    @Override
+    protected boolean isInSync(NetworkDumpSwitchDigest digest, String region) {
+        if (! super.isInSync(digest, region)) {
+            return false;
+        }
+        if (! Objects.equals(activeRegion, region)) {
+            // views from not active regions are not proxied, so the region availability is all we need
+            return true;
+        }
+        return proxiedDigest != null && proxiedDigest == digest.getDigest()
+                && clock.instant().isBefore(proxiedDigestExpireAt);
+    }
+
     @Override
     protected void becomeAvailable(InfoData notification, String region) {
         super.becomeAvailable(notification, region);
@@ -58,6 +90,7 @@ public class SwitchReadWriteConnectMonitor extends SwitchConnectMonitor {
 
         carrier.regionUpdateNotification(new RegionMappingSet(switchId, activeRegion, isReadWriteMode()));
         carrier.networkStatusUpdateNotification(switchId, notification);
+        updateProxiedDigest(notification);
     }
 
     @Override
@@ -69,6 +102,7 @@ public class SwitchReadWriteConnectMonitor extends SwitchConnectMonitor {
 
         carrier.regionUpdateNotification(new RegionMappingRemove(switchId, null, isReadWriteMode()));
         carrier.networkStatusUpdateNotification(switchId, notification);
+        proxiedDigest = null;
     }
 
     @Override
@@ -90,6 +124,8 @@ public class SwitchReadWriteConnectMonitor extends SwitchConnectMonitor {
         if (Objects.equals(activeRegion, region)) {
             // proxy port status update for active region only
             carrier.networkStatusUpdateNotification(notification.getSwitchId(), notification);
+            // the switch view known by network topology has changed, it will be refreshed on next digest check
+            proxiedDigest = null;
         }
     }
 
@@ -108,6 +144,22 @@ public class SwitchReadWriteConnectMonitor extends SwitchConnectMonitor {
         return Objects.equals(SwitchChangeType.DEACTIVATED, notification.getState());
     }
 
+    private void updateProxiedDigest(InfoData notification) {
+        SpeakerSwitchView view = null;
+        if (notification instanceof NetworkDumpSwitchData) {
+            view = ((NetworkDumpSwitchData) notification).getSwitchView();
+        } else if (notification instanceof SwitchInfoData) {
+            view = ((SwitchInfoData) notification).getSwitchView();
+        }
+
+        if (view != null) {
+            proxiedDigest = NetworkDumpSwitchDigest.makeDigest(view);
+            proxiedDigestExpireAt = clock.instant().plus(fullSyncInterval);
+        } else {
+            proxiedDigest = null;
+        }
+    }
+
     private void swapActiveRegion() {
         Iterator<String> iter = availableInRegions.iterator();
         if (iter.hasNext()) {
@@ -117,6 +169,8 @@ public class SwitchReadWriteConnectMonitor extends SwitchConnectMonitor {
                     "Change {} active region for {} from \"{}\" to \"{}\"",
                     formatConnectMode(), switchId, current, activeRegion);
             carrier.regionUpdateNotification(new RegionMappingSet(switchId, activeRegion, isReadWriteMode()));
+            // network topology knows the view from the previous region
+            proxiedDigest = null;
         } else {
             throw new IllegalStateException(String.format(
                     "Unable to determine \"next\" available region for switch %s, availability regions set is empty",
@@ -0,0 +1,95 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.floodlightrouter.model;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.stubs.ManualClock;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+public class RegionMappingTest {
+    private static final SwitchId SWITCH_ALPHA = new SwitchId(1);
+    private static final SwitchId SWITCH_BETA = new SwitchId(2);
+    private static final String REGION_A = "region_a";
+    private static final String REGION_B = "region_b";
+
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    public void readWritePopulationFollowsUpdates() {
+        RegionMapping subject = makeSubject();
+        subject.apply(new RegionMappingAdd(SWITCH_ALPHA, REGION_A, true));
+        subject.apply(new RegionMappingAdd(SWITCH_BETA, REGION_A, true));
+
+        Map<String, Set<SwitchId>> before = subject.organizeReadWritePopulationPerRegion();
+        Assert.assertEquals(ImmutableMap.of(REGION_A, ImmutableSet.of(SWITCH_ALPHA, SWITCH_BETA)), before);
+        // no updates - same snapshot
+        Assert.assertSame(before, subject.organizeReadWritePopulationPerRegion());
+
+        subject.apply(new RegionMappingAdd(SWITCH_BETA, REGION_B, true));
+        Assert.assertEquals(
+                ImmutableMap.of(REGION_A, ImmutableSet.of(SWITCH_ALPHA), REGION_B, ImmutableSet.of(SWITCH_BETA)),
+                subject.organizeReadWritePopulationPerRegion());
+        // previous snapshot is not affected
+        Assert.assertEquals(ImmutableMap.of(REGION_A, ImmutableSet.of(SWITCH_ALPHA, SWITCH_BETA)), before);
+
+        subject.apply(new RegionMappingRemove(SWITCH_ALPHA, REGION_A, true));
+        Assert.assertEquals(
+                ImmutableMap.of(REGION_B, ImmutableSet.of(SWITCH_BETA)),
+                subject.organizeReadWritePopulationPerRegion());
+    }
+
+    @Test
+    public void readOnlyPopulationFollowsUpdates() {
+        RegionMapping subject = makeSubject();
+        subject.apply(new RegionMappingAdd(SWITCH_ALPHA, REGION_A, false));
+        subject.apply(new RegionMappingAdd(SWITCH_ALPHA, REGION_B, false));
+        Assert.assertEquals(
+                ImmutableMap.of(REGION_A, ImmutableSet.of(SWITCH_ALPHA), REGION_B, ImmutableSet.of(SWITCH_ALPHA)),
+                subject.organizeReadOnlyPopulationPerRegion());
+
+        subject.apply(new RegionMappingRemove(SWITCH_ALPHA, null, false));
+        Assert.assertTrue(subject.organizeReadOnlyPopulationPerRegion().isEmpty());
+    }
+
+    @Test
+    public void statsPopulationRecalculatedOnUpdate() {
+        RegionMapping subject = makeSubject();
+        subject.apply(new RegionMappingAdd(SWITCH_ALPHA, REGION_A, false));
+        subject.apply(new RegionMappingAdd(SWITCH_ALPHA, REGION_B, false));
+        subject.apply(new RegionMappingAdd(SWITCH_ALPHA, REGION_B, true));
+
+        Map<String, Set<SwitchId>> stats = subject.organizeStatsPopulationPerRegion();
+        Assert.assertEquals(
+                ImmutableMap.of(REGION_A, ImmutableSet.of(SWITCH_ALPHA), REGION_B, ImmutableSet.of()), stats);
+        Assert.assertSame(stats, subject.organizeStatsPopulationPerRegion());
+
+        subject.apply(new RegionMappingRemove(SWITCH_ALPHA, REGION_A, false));
+        Assert.assertEquals(
+                ImmutableMap.of(REGION_B, ImmutableSet.of(SWITCH_ALPHA)), subject.organizeStatsPopulationPerRegion());
+    }
+
+    private RegionMapping makeSubject() {
+        return new RegionMapping(clock, Duration.ZERO);
+    }
+}
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 
 import org.openkilda.messaging.command.BroadcastWrapper;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.command.stats.StatsRequest;
 import org.openkilda.model.SwitchId;
 import org.openkilda.stubs.ManualClock;
@@ -78,6 +79,23 @@ public class ControllerToSpeakerProxyServiceTest {
         verifyNoMoreInteractions(carrier);
     }
 
+    @Test
+    public void verifyNetworkDumpSentToAllRegions() {
+        ControllerToSpeakerProxyService subject = makeSubject();
+
+        // switch mapping must not limit the scope of network dump
+        subject.switchMappingUpdate(new RegionMappingAdd(SWITCH_ALPHA, REGION_MANAGEMENT, false));
+        subject.switchMappingUpdate(new RegionMappingAdd(SWITCH_ALPHA, REGION_MANAGEMENT, true));
+
+        CommandMessage request = new CommandMessage(
+                new NetworkCommandData(), clock.instant().toEpochMilli(), "dummy-request");
+        subject.networkDumpRequest(request);
+
+        verify(carrier).sendToSpeaker(request, REGION_STATS);
+        verify(carrier).sendToSpeaker(request, REGION_MANAGEMENT);
+        verifyNoMoreInteractions(carrier);
+    }
+
     private ControllerToSpeakerProxyService makeSubject() {
         Set<String> allRegions = ImmutableSet.of(REGION_STATS, REGION_MANAGEMENT);
         return new ControllerToSpeakerProxyService(clock, carrier, allRegions, switchMappingRemoveDelay);
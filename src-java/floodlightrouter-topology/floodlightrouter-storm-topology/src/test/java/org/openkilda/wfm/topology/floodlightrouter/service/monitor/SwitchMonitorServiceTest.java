@@ -15,10 +15,16 @@
 
 package org.openkilda.wfm.topology.floodlightrouter.service.monitor;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchDigest;
 import org.openkilda.messaging.info.event.SwitchChangeType;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.model.SpeakerSwitchDescription;
@@ -95,6 +101,71 @@ public class SwitchMonitorServiceTest {
         verifyAutomaticCleanUp(subject, activate.getSwitchId(), false);
     }
 
+    @Test
+    public void digestOfKnownSwitchViewDoesNotProduceFullDump() {
+        SwitchMonitorService subject = makeSubject();
+
+        SwitchInfoData activate = makeSwitchActivateNotification(SWITCH_ALPHA);
+        subject.handleStatusUpdateNotification(activate, REGION_ALPHA);
+        reset(carrier);
+
+        NetworkDumpSwitchData dump = new NetworkDumpSwitchData(activate.getSwitchView(), true);
+        subject.handleNetworkDumpDigest(NetworkDumpSwitchDigest.of(dump), REGION_ALPHA);
+        verifyNoMoreInteractions(carrier);
+    }
+
+    @Test
+    public void digestMismatchProduceFullDumpRequest() {
+        SwitchMonitorService subject = makeSubject();
+
+        SwitchInfoData activate = makeSwitchActivateNotification(SWITCH_ALPHA);
+        subject.handleStatusUpdateNotification(activate, REGION_ALPHA);
+        reset(carrier);
+
+        SpeakerSwitchView changed = activate.getSwitchView().toBuilder()
+                .clearPorts()
+                .port(SpeakerSwitchPortView.builder().number(1).state(State.DOWN).build())
+                .build();
+        NetworkDumpSwitchData dump = new NetworkDumpSwitchData(changed, true);
+        subject.handleNetworkDumpDigest(NetworkDumpSwitchDigest.of(dump), REGION_ALPHA);
+        verify(carrier).switchDumpRequest(eq(SWITCH_ALPHA), eq(REGION_ALPHA));
+        verifyNoMoreInteractions(carrier);
+
+        // full view proxied into network topology, so the digest is known now
+        subject.handleNetworkDumpResponse(dump, REGION_ALPHA);
+        verify(carrier).networkStatusUpdateNotification(eq(SWITCH_ALPHA), eq(dump));
+        reset(carrier);
+
+        subject.handleNetworkDumpDigest(NetworkDumpSwitchDigest.of(dump), REGION_ALPHA);
+        verify(carrier, never()).switchDumpRequest(any(), anyString());
+    }
+
+    @Test
+    public void digestOfUnknownSwitchProduceFullDumpRequest() {
+        SwitchMonitorService subject = makeSubject();
+
+        NetworkDumpSwitchData dump = new NetworkDumpSwitchData(
+                makeSwitchActivateNotification(SWITCH_ALPHA).getSwitchView(), true);
+        subject.handleNetworkDumpDigest(NetworkDumpSwitchDigest.of(dump), REGION_ALPHA);
+        verify(carrier).switchDumpRequest(eq(SWITCH_ALPHA), eq(REGION_ALPHA));
+        verifyNoMoreInteractions(carrier);
+    }
+
+    @Test
+    public void expiredDigestProduceFullDumpRequest() {
+        SwitchMonitorService subject = makeSubject();
+
+        SwitchInfoData activate = makeSwitchActivateNotification(SWITCH_ALPHA);
+        subject.handleStatusUpdateNotification(activate, REGION_ALPHA);
+        reset(carrier);
+
+        clock.adjust(SwitchMonitorService.DEFAULT_FULL_SYNC_INTERVAL.plus(Duration.ofSeconds(1)));
+        NetworkDumpSwitchData dump = new NetworkDumpSwitchData(activate.getSwitchView(), true);
+        subject.handleNetworkDumpDigest(NetworkDumpSwitchDigest.of(dump), REGION_ALPHA);
+        verify(carrier).switchDumpRequest(eq(SWITCH_ALPHA), eq(REGION_ALPHA));
+        verifyNoMoreInteractions(carrier);
+    }
+
     private void verifyAutomaticCleanUp(SwitchMonitorService subject, SwitchId switchId, boolean expectRemoval) {
         Assert.assertTrue(subject.isMonitorExists(switchId));
 
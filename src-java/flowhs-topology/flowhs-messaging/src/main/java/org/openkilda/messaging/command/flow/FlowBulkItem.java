@@ -0,0 +1,58 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.messaging.command.flow;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Single operation of the {@link FlowBulkRequest}. The flow request is required for create and update operations,
+ * delete operation requires flow id only.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlowBulkItem implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("operation")
+    FlowBulkOperation operation;
+
+    @JsonProperty("flow_id")
+    String flowId;
+
+    @JsonProperty("flow")
+    FlowRequest flow;
+
+    @JsonProperty("priority")
+    int priority;
+
+    @Builder
+    @JsonCreator
+    public FlowBulkItem(@JsonProperty("operation") @NonNull FlowBulkOperation operation,
+                        @JsonProperty("flow_id") @NonNull String flowId,
+                        @JsonProperty("flow") FlowRequest flow,
+                        @JsonProperty("priority") int priority) {
+        this.operation = operation;
+        this.flowId = flowId;
+        this.flow = flow;
+        this.priority = priority;
+    }
+}
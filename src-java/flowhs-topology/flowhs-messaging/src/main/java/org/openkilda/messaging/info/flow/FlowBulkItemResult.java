@@ -0,0 +1,53 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.messaging.info.flow;
+
+import org.openkilda.messaging.command.flow.FlowBulkOperation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlowBulkItemResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("flow_id")
+    String flowId;
+
+    @JsonProperty("operation")
+    FlowBulkOperation operation;
+
+    @JsonProperty("success")
+    boolean success;
+
+    @JsonProperty("error")
+    String error;
+
+    @JsonCreator
+    public FlowBulkItemResult(@JsonProperty("flow_id") String flowId,
+                              @JsonProperty("operation") FlowBulkOperation operation,
+                              @JsonProperty("success") boolean success,
+                              @JsonProperty("error") String error) {
+        this.flowId = flowId;
+        this.operation = operation;
+        this.success = success;
+        this.error = error;
+    }
+}
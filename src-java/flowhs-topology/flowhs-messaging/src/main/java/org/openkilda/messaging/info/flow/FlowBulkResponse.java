@@ -0,0 +1,79 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.messaging.info.flow;
+
+import org.openkilda.messaging.info.InfoData;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Progress and results of a bulk flow operation. Results are listed for completed items only.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class FlowBulkResponse extends InfoData {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("bulk_id")
+    String bulkId;
+
+    @JsonProperty("total")
+    int total;
+
+    @JsonProperty("pending")
+    int pending;
+
+    @JsonProperty("in_progress")
+    int inProgress;
+
+    @JsonProperty("succeeded")
+    int succeeded;
+
+    @JsonProperty("failed")
+    int failed;
+
+    @JsonProperty("results")
+    List<FlowBulkItemResult> results;
+
+    @Builder
+    @JsonCreator
+    public FlowBulkResponse(@JsonProperty("bulk_id") String bulkId,
+                            @JsonProperty("total") int total,
+                            @JsonProperty("pending") int pending,
+                            @JsonProperty("in_progress") int inProgress,
+                            @JsonProperty("succeeded") int succeeded,
+                            @JsonProperty("failed") int failed,
+                            @JsonProperty("results") List<FlowBulkItemResult> results) {
+        this.bulkId = bulkId;
+        this.total = total;
+        this.pending = pending;
+        this.inProgress = inProgress;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    @JsonIgnore
+    public boolean isCompleted() {
+        return pending == 0 && inProgress == 0;
+    }
+}
@@ -15,6 +15,9 @@
 
 package org.openkilda.wfm.topology.flowhs;
 
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.BULK_COORDINATOR_TO_ROUTER_BOLT;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_BULK_COORDINATOR;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_BULK_COORDINATOR;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_CREATE_HUB;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_DELETE_HUB;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_PATH_SWAP_HUB;
@@ -46,6 +49,7 @@ import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.share.zk.ZooKeeperSpout;
 import org.openkilda.wfm.topology.AbstractTopology;
+import org.openkilda.wfm.topology.flowhs.bolts.FlowBulkCoordinatorBolt;
 import org.openkilda.wfm.topology.flowhs.bolts.FlowCreateHubBolt;
 import org.openkilda.wfm.topology.flowhs.bolts.FlowCreateHubBolt.FlowCreateConfig;
 import org.openkilda.wfm.topology.flowhs.bolts.FlowDeleteHubBolt;
@@ -90,6 +94,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         flowDeleteHub(tb, persistenceManager);
         flowSwapProtectedHub(tb, persistenceManager);
         flowSwapEndpointsHub(tb, persistenceManager);
+        flowBulkCoordinator(tb);
 
         speakerSpout(tb);
         flowCreateSpeakerWorker(tb);
@@ -146,6 +151,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         declareBolt(topologyBuilder, new RouterBolt(ZooKeeperSpout.SPOUT_ID), ComponentId.FLOW_ROUTER_BOLT.name())
                 .shuffleGrouping(ComponentId.FLOW_SPOUT.name())
                 .shuffleGrouping(ComponentId.FLOW_SWAP_ENDPOINTS_HUB.name(), SWAP_ENDPOINTS_HUB_TO_ROUTER_BOLT.name())
+                .shuffleGrouping(ComponentId.FLOW_BULK_COORDINATOR.name(), BULK_COORDINATOR_TO_ROUTER_BOLT.name())
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
     }
 
@@ -157,6 +163,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .pathAllocationRetriesLimit(topologyConfig.getPathAllocationRetriesLimit())
                 .pathAllocationRetryDelay(topologyConfig.getPathAllocationRetryDelay())
                 .speakerCommandRetriesLimit(topologyConfig.getCreateSpeakerCommandRetries())
+                .speakerBatchEnabled(topologyConfig.isSpeakerBatchEnabled())
                 .autoAck(true)
                 .timeoutMs(hubTimeout)
                 .requestSenderComponent(ComponentId.FLOW_ROUTER_BOLT.name())
@@ -183,6 +190,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .pathAllocationRetriesLimit(topologyConfig.getPathAllocationRetriesLimit())
                 .pathAllocationRetryDelay(topologyConfig.getPathAllocationRetryDelay())
                 .speakerCommandRetriesLimit(topologyConfig.getUpdateSpeakerCommandRetries())
+                .speakerBatchEnabled(topologyConfig.isSpeakerBatchEnabled())
                 .resourceAllocationRetriesLimit(topologyConfig.getResourceAllocationRetriesLimit())
                 .autoAck(true)
                 .timeoutMs(hubTimeout)
@@ -208,6 +216,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
 
         FlowPathSwapConfig config = FlowPathSwapConfig.flowPathSwapBuilder()
                 .speakerCommandRetriesLimit(topologyConfig.getPathSwapSpeakerCommandRetries())
+                .speakerBatchEnabled(topologyConfig.isSpeakerBatchEnabled())
                 .autoAck(true)
                 .timeoutMs(hubTimeout)
                 .requestSenderComponent(ComponentId.FLOW_ROUTER_BOLT.name())
@@ -232,6 +241,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .pathAllocationRetriesLimit(topologyConfig.getPathAllocationRetriesLimit())
                 .pathAllocationRetryDelay(topologyConfig.getPathAllocationRetryDelay())
                 .speakerCommandRetriesLimit(topologyConfig.getRerouteSpeakerCommandRetries())
+                .speakerBatchEnabled(topologyConfig.isSpeakerBatchEnabled())
                 .resourceAllocationRetriesLimit(topologyConfig.getResourceAllocationRetriesLimit())
                 .autoAck(true)
                 .timeoutMs(hubTimeout)
@@ -257,6 +267,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
 
         FlowDeleteConfig config = FlowDeleteConfig.flowDeleteBuilder()
                 .speakerCommandRetriesLimit(topologyConfig.getDeleteSpeakerCommandRetries())
+                .speakerBatchEnabled(topologyConfig.isSpeakerBatchEnabled())
                 .autoAck(true)
                 .timeoutMs(hubTimeout)
                 .requestSenderComponent(ComponentId.FLOW_ROUTER_BOLT.name())
@@ -294,6 +305,19 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .directGrouping(CoordinatorBolt.ID);
     }
 
+    private void flowBulkCoordinator(TopologyBuilder topologyBuilder) {
+        FlowBulkCoordinatorBolt coordinatorBolt = new FlowBulkCoordinatorBolt(
+                topologyConfig.getBulkConcurrency(), topologyConfig.getBulkCompletedRetained(),
+                topologyConfig.getBulkItemTimeoutSeconds());
+        // Bulk concurrency and priorities are enforced topology-wide, so the coordinator must use parallelism 1 and
+        // global grouping keeps all bulks on one task even if more tasks are configured
+        declareBolt(topologyBuilder, coordinatorBolt, ComponentId.FLOW_BULK_COORDINATOR.name())
+                .globalGrouping(ComponentId.FLOW_ROUTER_BOLT.name(), ROUTER_TO_FLOW_BULK_COORDINATOR.name())
+                .globalGrouping(ComponentId.FLOW_CREATE_HUB.name(), HUB_TO_BULK_COORDINATOR.name())
+                .globalGrouping(ComponentId.FLOW_UPDATE_HUB.name(), HUB_TO_BULK_COORDINATOR.name())
+                .globalGrouping(ComponentId.FLOW_DELETE_HUB.name(), HUB_TO_BULK_COORDINATOR.name());
+    }
+
     private void speakerSpout(TopologyBuilder topologyBuilder) {
         declareKafkaSpoutForAbstractMessage(topologyBuilder, getConfig().getKafkaFlowSpeakerWorkerTopic(),
                 ComponentId.SPEAKER_WORKER_SPOUT.name());
@@ -425,7 +449,9 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .shuffleGrouping(ComponentId.FLOW_PATH_SWAP_HUB.name(), Stream.HUB_TO_NB_RESPONSE_SENDER.name())
                 .shuffleGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_NB_RESPONSE_SENDER.name())
                 .shuffleGrouping(ComponentId.FLOW_DELETE_HUB.name(), Stream.HUB_TO_NB_RESPONSE_SENDER.name())
-                .shuffleGrouping(ComponentId.FLOW_SWAP_ENDPOINTS_HUB.name(), Stream.HUB_TO_NB_RESPONSE_SENDER.name());
+                .shuffleGrouping(ComponentId.FLOW_SWAP_ENDPOINTS_HUB.name(), Stream.HUB_TO_NB_RESPONSE_SENDER.name())
+                .shuffleGrouping(ComponentId.FLOW_BULK_COORDINATOR.name(),
+                        Stream.BULK_COORDINATOR_TO_NB_RESPONSE_SENDER.name());
     }
 
     private void rerouteTopologyOutput(TopologyBuilder topologyBuilder) {
@@ -498,6 +524,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         FLOW_REROUTE_HUB("flow.reroute.hub.bolt"),
         FLOW_DELETE_HUB("flow.delete.hub.bolt"),
         FLOW_SWAP_ENDPOINTS_HUB("flow.swap.endpoints.hub.bolt"),
+        FLOW_BULK_COORDINATOR("flow.bulk.coordinator.bolt"),
 
         FLOW_CREATE_SPEAKER_WORKER("flow.create.worker.bolt"),
         FLOW_UPDATE_SPEAKER_WORKER("flow.update.worker.bolt"),
@@ -536,6 +563,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         ROUTER_TO_FLOW_REROUTE_HUB,
         ROUTER_TO_FLOW_DELETE_HUB,
         ROUTER_TO_FLOW_SWAP_ENDPOINTS_HUB,
+        ROUTER_TO_FLOW_BULK_COORDINATOR,
 
         HUB_TO_SPEAKER_WORKER,
         HUB_TO_HISTORY_BOLT,
@@ -549,6 +577,10 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         SWAP_ENDPOINTS_HUB_TO_ROUTER_BOLT,
         UPDATE_HUB_TO_SWAP_ENDPOINTS_HUB,
 
+        BULK_COORDINATOR_TO_ROUTER_BOLT,
+        HUB_TO_BULK_COORDINATOR,
+        BULK_COORDINATOR_TO_NB_RESPONSE_SENDER,
+
         SPEAKER_WORKER_REQUEST_SENDER,
         HUB_TO_NB_RESPONSE_SENDER,
         HUB_TO_REROUTE_RESPONSE_SENDER,
@@ -133,4 +133,20 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
     @Key("flow.pathswap.speaker.command.retries")
     @Default("3")
     int getPathSwapSpeakerCommandRetries();
+
+    @Key("flow.speaker.batch.enabled")
+    @Default("false")
+    boolean isSpeakerBatchEnabled();
+
+    @Key("flow.bulk.concurrency")
+    @Default("32")
+    int getBulkConcurrency();
+
+    @Key("flow.bulk.completed.retained")
+    @Default("100")
+    int getBulkCompletedRetained();
+
+    @Key("flow.bulk.item.timeout.seconds")
+    @Default("120")
+    int getBulkItemTimeoutSeconds();
 }
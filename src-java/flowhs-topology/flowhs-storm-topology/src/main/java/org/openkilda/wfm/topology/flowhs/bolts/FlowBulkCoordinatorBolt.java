@@ -0,0 +1,127 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowhs.bolts;
+
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.BULK_COORDINATOR_TO_NB_RESPONSE_SENDER;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.BULK_COORDINATOR_TO_ROUTER_BOLT;
+import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
+import static org.openkilda.wfm.topology.utils.MessageKafkaTranslator.STREAM_FIELDS;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.FlowBulkRequest;
+import org.openkilda.messaging.command.flow.FlowBulkStatusRequest;
+import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.topology.flowhs.FlowHsTopology.ComponentId;
+import org.openkilda.wfm.topology.flowhs.model.FlowBulkItemEvent;
+import org.openkilda.wfm.topology.flowhs.service.FlowBulkCoordinatorCarrier;
+import org.openkilda.wfm.topology.flowhs.service.FlowBulkCoordinatorService;
+
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.TupleUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class FlowBulkCoordinatorBolt extends AbstractBolt implements FlowBulkCoordinatorCarrier {
+    private static final int TICK_INTERVAL_SECONDS = 5;
+
+    private final int concurrencyLimit;
+    private final int completedBulksLimit;
+    private final int itemTimeoutSeconds;
+
+    private transient FlowBulkCoordinatorService service;
+
+    public FlowBulkCoordinatorBolt(int concurrencyLimit, int completedBulksLimit, int itemTimeoutSeconds) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.completedBulksLimit = completedBulksLimit;
+        this.itemTimeoutSeconds = itemTimeoutSeconds;
+    }
+
+    @Override
+    protected void init() {
+        service = new FlowBulkCoordinatorService(this, concurrencyLimit, completedBulksLimit,
+                TimeUnit.SECONDS.toMillis(itemTimeoutSeconds));
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws PipelineException {
+        if (TupleUtils.isTick(input)) {
+            service.handleTimeTick(System.currentTimeMillis());
+        } else if (ComponentId.FLOW_ROUTER_BOLT.name().equals(input.getSourceComponent())) {
+            handleRouterInput(input);
+        } else {
+            handleHubInput(input);
+        }
+    }
+
+    private void handleRouterInput(Tuple input) throws PipelineException {
+        CommandData payload = pullValue(input, FIELD_ID_PAYLOAD, CommandData.class);
+        if (payload instanceof FlowBulkRequest) {
+            service.handleBulkRequest(getCommandContext(), (FlowBulkRequest) payload);
+        } else if (payload instanceof FlowBulkStatusRequest) {
+            service.handleStatusRequest(getCommandContext(), ((FlowBulkStatusRequest) payload).getBulkId());
+        } else {
+            unhandledInput(input);
+        }
+    }
+
+    private void handleHubInput(Tuple input) throws PipelineException {
+        FlowBulkItemEvent event = pullValue(input, FIELD_ID_PAYLOAD, FlowBulkItemEvent.class);
+        if (event.isCompletion()) {
+            service.handleItemCompleted(event.getItemKey(), event.getSuccess());
+        } else {
+            service.handleItemResponse(event.getItemKey(), event.getResponse());
+        }
+    }
+
+    @Override
+    public void sendItemRequest(String itemKey, CommandContext context, CommandData request) {
+        CommandMessage commandMessage = new CommandMessage(request, context.getCreateTime(),
+                context.getCorrelationId());
+        emit(BULK_COORDINATOR_TO_ROUTER_BOLT.name(), getCurrentTuple(),
+                new Values(itemKey, commandMessage, new CommandContext(commandMessage)));
+    }
+
+    @Override
+    public void sendNorthboundResponse(Message message) {
+        emitWithContext(BULK_COORDINATOR_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(),
+                new Values(message.getCorrelationId(), message));
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(super.getComponentConfiguration(), TICK_INTERVAL_SECONDS);
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        declarer.declareStream(BULK_COORDINATOR_TO_ROUTER_BOLT.name(), STREAM_FIELDS);
+        declarer.declareStream(BULK_COORDINATOR_TO_NB_RESPONSE_SENDER.name(), STREAM_FIELDS);
+    }
+}
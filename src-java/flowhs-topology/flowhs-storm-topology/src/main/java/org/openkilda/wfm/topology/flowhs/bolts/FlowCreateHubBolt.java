@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.flowhs.bolts;
 
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_BULK_COORDINATOR;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_FLOW_MONITORING_TOPOLOGY_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_HISTORY_BOLT;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_NB_RESPONSE_SENDER;
@@ -42,13 +43,15 @@ import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
-import org.openkilda.wfm.share.hubandspoke.HubBolt;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
 import org.openkilda.wfm.topology.flowhs.mapper.RequestedFlowMapper;
+import org.openkilda.wfm.topology.flowhs.model.FlowBulkItemEvent;
 import org.openkilda.wfm.topology.flowhs.model.RequestedFlow;
+import org.openkilda.wfm.topology.flowhs.service.BandwidthReservationLedger;
+import org.openkilda.wfm.topology.flowhs.service.FlowBulkCoordinatorService;
 import org.openkilda.wfm.topology.flowhs.service.FlowCreateHubCarrier;
 import org.openkilda.wfm.topology.flowhs.service.FlowCreateService;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
@@ -60,7 +63,7 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
+public class FlowCreateHubBolt extends SpeakerBatchingHubBolt implements FlowCreateHubCarrier {
 
     private final FlowCreateConfig config;
     private final PersistenceManager persistenceManager;
@@ -74,7 +77,7 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
 
     public FlowCreateHubBolt(FlowCreateConfig config, PersistenceManager persistenceManager,
                              PathComputerConfig pathComputerConfig, FlowResourcesConfig flowResourcesConfig) {
-        super(config);
+        super(config, config.isSpeakerBatchEnabled());
 
         this.config = config;
         this.persistenceManager = persistenceManager;
@@ -86,7 +89,8 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
     protected void init() {
         FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
         AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
+                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory(),
+                        BandwidthReservationLedger.getInstance());
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
@@ -114,7 +118,12 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
     protected void onRequest(Tuple input) throws PipelineException {
         currentKey = pullKey(input);
         FlowRequest payload = pullValue(input, FIELD_ID_PAYLOAD, FlowRequest.class);
-        service.handleRequest(currentKey, pullContext(input), payload);
+        try {
+            service.handleRequest(currentKey, pullContext(input), payload);
+        } catch (RuntimeException e) {
+            sendOperationCompleted(currentKey, false);
+            throw e;
+        }
     }
 
     @Override
@@ -133,15 +142,26 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
 
     @Override
     public void sendSpeakerRequest(FlowSegmentRequest command) {
-        String commandKey = KeyProvider.joinKeys(command.getCommandId().toString(), currentKey);
-
-        Values values = new Values(commandKey, command);
-        emitWithContext(HUB_TO_SPEAKER_WORKER.name(), getCurrentTuple(), values);
+        sendSpeakerRequest(currentKey, command);
     }
 
     @Override
     public void sendNorthboundResponse(Message message) {
-        emitWithContext(Stream.HUB_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(), new Values(currentKey, message));
+        if (FlowBulkCoordinatorService.isBulkItemKey(currentKey)) {
+            emitWithContext(Stream.HUB_TO_BULK_COORDINATOR.name(), getCurrentTuple(),
+                    new Values(KeyProvider.getParentKey(currentKey), FlowBulkItemEvent.response(currentKey, message)));
+        } else {
+            emitWithContext(Stream.HUB_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(),
+                    new Values(currentKey, message));
+        }
+    }
+
+    @Override
+    public void sendOperationCompleted(String key, boolean success) {
+        if (FlowBulkCoordinatorService.isBulkItemKey(key)) {
+            emitWithContext(Stream.HUB_TO_BULK_COORDINATOR.name(), getCurrentTuple(),
+                    new Values(KeyProvider.getParentKey(key), FlowBulkItemEvent.completed(key, success)));
+        }
     }
 
     @Override
@@ -193,6 +213,7 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
 
         declarer.declareStream(HUB_TO_SPEAKER_WORKER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_NB_RESPONSE_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
+        declarer.declareStream(HUB_TO_BULK_COORDINATOR.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_HISTORY_BOLT.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_PING_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_SERVER42_CONTROL_TOPOLOGY_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
@@ -207,17 +228,20 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
         private int pathAllocationRetriesLimit;
         private int pathAllocationRetryDelay;
         private int speakerCommandRetriesLimit;
+        private boolean speakerBatchEnabled;
 
         @Builder(builderMethodName = "flowCreateBuilder", builderClassName = "flowCreateBuild")
         public FlowCreateConfig(String requestSenderComponent, String workerComponent, String lifeCycleEventComponent,
                                 int timeoutMs, boolean autoAck,
                                 int flowCreationRetriesLimit, int pathAllocationRetriesLimit,
-                                int pathAllocationRetryDelay, int speakerCommandRetriesLimit) {
+                                int pathAllocationRetryDelay, int speakerCommandRetriesLimit,
+                                boolean speakerBatchEnabled) {
             super(requestSenderComponent, workerComponent, lifeCycleEventComponent, timeoutMs, autoAck);
             this.flowCreationRetriesLimit = flowCreationRetriesLimit;
             this.pathAllocationRetriesLimit = pathAllocationRetriesLimit;
             this.pathAllocationRetryDelay = pathAllocationRetryDelay;
             this.speakerCommandRetriesLimit = speakerCommandRetriesLimit;
+            this.speakerBatchEnabled = speakerBatchEnabled;
         }
     }
 }
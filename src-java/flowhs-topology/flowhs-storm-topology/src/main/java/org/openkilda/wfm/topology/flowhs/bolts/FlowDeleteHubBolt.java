@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.flowhs.bolts;
 
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_BULK_COORDINATOR;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_FLOW_MONITORING_TOPOLOGY_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_HISTORY_BOLT;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_NB_RESPONSE_SENDER;
@@ -39,11 +40,12 @@ import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
-import org.openkilda.wfm.share.hubandspoke.HubBolt;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
+import org.openkilda.wfm.topology.flowhs.model.FlowBulkItemEvent;
+import org.openkilda.wfm.topology.flowhs.service.FlowBulkCoordinatorService;
 import org.openkilda.wfm.topology.flowhs.service.FlowDeleteHubCarrier;
 import org.openkilda.wfm.topology.flowhs.service.FlowDeleteService;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
@@ -55,7 +57,7 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
+public class FlowDeleteHubBolt extends SpeakerBatchingHubBolt implements FlowDeleteHubCarrier {
 
     private final FlowDeleteConfig config;
     private final PersistenceManager persistenceManager;
@@ -68,7 +70,7 @@ public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
 
     public FlowDeleteHubBolt(FlowDeleteConfig config, PersistenceManager persistenceManager,
                              FlowResourcesConfig flowResourcesConfig) {
-        super(config);
+        super(config, config.isSpeakerBatchEnabled());
 
         this.config = config;
         this.persistenceManager = persistenceManager;
@@ -102,7 +104,12 @@ public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
     protected void onRequest(Tuple input) throws PipelineException {
         currentKey = pullKey(input);
         FlowDeleteRequest request = pullValue(input, FIELD_ID_PAYLOAD, FlowDeleteRequest.class);
-        service.handleRequest(currentKey, pullContext(input), request.getFlowId());
+        try {
+            service.handleRequest(currentKey, pullContext(input), request.getFlowId());
+        } catch (RuntimeException e) {
+            sendOperationCompleted(currentKey, false);
+            throw e;
+        }
     }
 
     @Override
@@ -121,15 +128,26 @@ public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
 
     @Override
     public void sendSpeakerRequest(FlowSegmentRequest command) {
-        String commandKey = KeyProvider.joinKeys(command.getCommandId().toString(), currentKey);
-
-        Values values = new Values(commandKey, command);
-        emitWithContext(HUB_TO_SPEAKER_WORKER.name(), getCurrentTuple(), values);
+        sendSpeakerRequest(currentKey, command);
     }
 
     @Override
     public void sendNorthboundResponse(Message message) {
-        emitWithContext(Stream.HUB_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(), new Values(currentKey, message));
+        if (FlowBulkCoordinatorService.isBulkItemKey(currentKey)) {
+            emitWithContext(Stream.HUB_TO_BULK_COORDINATOR.name(), getCurrentTuple(),
+                    new Values(KeyProvider.getParentKey(currentKey), FlowBulkItemEvent.response(currentKey, message)));
+        } else {
+            emitWithContext(Stream.HUB_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(),
+                    new Values(currentKey, message));
+        }
+    }
+
+    @Override
+    public void sendOperationCompleted(String key, boolean success) {
+        if (FlowBulkCoordinatorService.isBulkItemKey(key)) {
+            emitWithContext(Stream.HUB_TO_BULK_COORDINATOR.name(), getCurrentTuple(),
+                    new Values(KeyProvider.getParentKey(key), FlowBulkItemEvent.completed(key, success)));
+        }
     }
 
     @Override
@@ -183,6 +201,7 @@ public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
 
         declarer.declareStream(HUB_TO_SPEAKER_WORKER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_NB_RESPONSE_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
+        declarer.declareStream(HUB_TO_BULK_COORDINATOR.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_HISTORY_BOLT.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_PING_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_SERVER42_CONTROL_TOPOLOGY_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
@@ -194,13 +213,15 @@ public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
     @Getter
     public static class FlowDeleteConfig extends Config {
         private int speakerCommandRetriesLimit;
+        private boolean speakerBatchEnabled;
 
         @Builder(builderMethodName = "flowDeleteBuilder", builderClassName = "flowDeleteBuild")
         public FlowDeleteConfig(String requestSenderComponent, String workerComponent,  String lifeCycleEventComponent,
                                 int timeoutMs, boolean autoAck,
-                                int speakerCommandRetriesLimit) {
+                                int speakerCommandRetriesLimit, boolean speakerBatchEnabled) {
             super(requestSenderComponent, workerComponent, lifeCycleEventComponent, timeoutMs, autoAck);
             this.speakerCommandRetriesLimit = speakerCommandRetriesLimit;
+            this.speakerBatchEnabled = speakerBatchEnabled;
         }
     }
 }
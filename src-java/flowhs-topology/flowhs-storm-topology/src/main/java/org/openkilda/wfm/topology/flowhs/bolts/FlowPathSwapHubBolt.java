@@ -38,7 +38,6 @@ import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
-import org.openkilda.wfm.share.hubandspoke.HubBolt;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
@@ -54,7 +53,7 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-public class FlowPathSwapHubBolt extends HubBolt implements FlowPathSwapHubCarrier {
+public class FlowPathSwapHubBolt extends SpeakerBatchingHubBolt implements FlowPathSwapHubCarrier {
 
     private final FlowPathSwapConfig config;
     private final PersistenceManager persistenceManager;
@@ -67,7 +66,7 @@ public class FlowPathSwapHubBolt extends HubBolt implements FlowPathSwapHubCarri
 
     public FlowPathSwapHubBolt(FlowPathSwapConfig config, PersistenceManager persistenceManager,
                                FlowResourcesConfig flowResourcesConfig) {
-        super(config);
+        super(config, config.isSpeakerBatchEnabled());
 
         this.config = config;
         this.persistenceManager = persistenceManager;
@@ -144,10 +143,7 @@ public class FlowPathSwapHubBolt extends HubBolt implements FlowPathSwapHubCarri
 
     @Override
     public void sendSpeakerRequest(FlowSegmentRequest command) {
-        String commandKey = KeyProvider.joinKeys(command.getCommandId().toString(), currentKey);
-
-        Values values = new Values(commandKey, command);
-        emitWithContext(HUB_TO_SPEAKER_WORKER.name(), getCurrentTuple(), values);
+        sendSpeakerRequest(currentKey, command);
     }
 
     @Override
@@ -193,13 +189,15 @@ public class FlowPathSwapHubBolt extends HubBolt implements FlowPathSwapHubCarri
     @Getter
     public static class FlowPathSwapConfig extends Config {
         private int speakerCommandRetriesLimit;
+        private boolean speakerBatchEnabled;
 
         @Builder(builderMethodName = "flowPathSwapBuilder", builderClassName = "flowPathSwapBuild")
         public FlowPathSwapConfig(String requestSenderComponent, String workerComponent, String lifeCycleEventComponent,
                                   int timeoutMs, boolean autoAck,
-                                  int speakerCommandRetriesLimit) {
+                                  int speakerCommandRetriesLimit, boolean speakerBatchEnabled) {
             super(requestSenderComponent, workerComponent, lifeCycleEventComponent, timeoutMs, autoAck);
             this.speakerCommandRetriesLimit = speakerCommandRetriesLimit;
+            this.speakerBatchEnabled = speakerBatchEnabled;
         }
     }
 }
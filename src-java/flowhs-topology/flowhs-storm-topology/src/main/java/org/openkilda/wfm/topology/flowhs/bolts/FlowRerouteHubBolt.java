@@ -43,11 +43,11 @@ import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
-import org.openkilda.wfm.share.hubandspoke.HubBolt;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
+import org.openkilda.wfm.topology.flowhs.service.BandwidthReservationLedger;
 import org.openkilda.wfm.topology.flowhs.service.FlowRerouteHubCarrier;
 import org.openkilda.wfm.topology.flowhs.service.FlowRerouteService;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
@@ -59,7 +59,7 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier {
+public class FlowRerouteHubBolt extends SpeakerBatchingHubBolt implements FlowRerouteHubCarrier {
 
     private final FlowRerouteConfig config;
     private final PersistenceManager persistenceManager;
@@ -73,7 +73,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
 
     public FlowRerouteHubBolt(FlowRerouteConfig config, PersistenceManager persistenceManager,
                               PathComputerConfig pathComputerConfig, FlowResourcesConfig flowResourcesConfig) {
-        super(config);
+        super(config, config.isSpeakerBatchEnabled());
 
         this.config = config;
         this.persistenceManager = persistenceManager;
@@ -84,7 +84,8 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
     @Override
     protected void init() {
         AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
+                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory(),
+                        BandwidthReservationLedger.getInstance());
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
@@ -137,10 +138,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
 
     @Override
     public void sendSpeakerRequest(FlowSegmentRequest command) {
-        String commandKey = KeyProvider.joinKeys(command.getCommandId().toString(), currentKey);
-
-        Values values = new Values(commandKey, command);
-        emitWithContext(HUB_TO_SPEAKER_WORKER.name(), getCurrentTuple(), values);
+        sendSpeakerRequest(currentKey, command);
     }
 
     @Override
@@ -208,17 +206,20 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         private int pathAllocationRetryDelay;
         private int resourceAllocationRetriesLimit;
         private int speakerCommandRetriesLimit;
+        private boolean speakerBatchEnabled;
 
         @Builder(builderMethodName = "flowRerouteBuilder", builderClassName = "flowRerouteBuild")
         public FlowRerouteConfig(String requestSenderComponent, String workerComponent,  String lifeCycleEventComponent,
                                  int timeoutMs, boolean autoAck,
                                  int pathAllocationRetriesLimit, int pathAllocationRetryDelay,
-                                 int resourceAllocationRetriesLimit, int speakerCommandRetriesLimit) {
+                                 int resourceAllocationRetriesLimit, int speakerCommandRetriesLimit,
+                                 boolean speakerBatchEnabled) {
             super(requestSenderComponent, workerComponent, lifeCycleEventComponent, timeoutMs, autoAck);
             this.pathAllocationRetriesLimit = pathAllocationRetriesLimit;
             this.pathAllocationRetryDelay = pathAllocationRetryDelay;
             this.resourceAllocationRetriesLimit = resourceAllocationRetriesLimit;
             this.speakerCommandRetriesLimit = speakerCommandRetriesLimit;
+            this.speakerBatchEnabled = speakerBatchEnabled;
         }
     }
 }
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.flowhs.bolts;
 
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_BULK_COORDINATOR;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_FLOW_MONITORING_TOPOLOGY_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_HISTORY_BOLT;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_NB_RESPONSE_SENDER;
@@ -47,13 +48,15 @@ import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
-import org.openkilda.wfm.share.hubandspoke.HubBolt;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
 import org.openkilda.wfm.topology.flowhs.mapper.RequestedFlowMapper;
+import org.openkilda.wfm.topology.flowhs.model.FlowBulkItemEvent;
 import org.openkilda.wfm.topology.flowhs.model.RequestedFlow;
+import org.openkilda.wfm.topology.flowhs.service.BandwidthReservationLedger;
+import org.openkilda.wfm.topology.flowhs.service.FlowBulkCoordinatorService;
 import org.openkilda.wfm.topology.flowhs.service.FlowUpdateHubCarrier;
 import org.openkilda.wfm.topology.flowhs.service.FlowUpdateService;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
@@ -65,7 +68,7 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
+public class FlowUpdateHubBolt extends SpeakerBatchingHubBolt implements FlowUpdateHubCarrier {
 
     private final FlowUpdateConfig config;
     private final PersistenceManager persistenceManager;
@@ -79,7 +82,7 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
 
     public FlowUpdateHubBolt(FlowUpdateConfig config, PersistenceManager persistenceManager,
                              PathComputerConfig pathComputerConfig, FlowResourcesConfig flowResourcesConfig) {
-        super(config);
+        super(config, config.isSpeakerBatchEnabled());
 
         this.config = config;
         this.persistenceManager = persistenceManager;
@@ -90,7 +93,8 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
     @Override
     protected void init() {
         AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
+                new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory(),
+                        BandwidthReservationLedger.getInstance());
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
@@ -121,7 +125,12 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
         Object payload = input.getValueByField(FIELD_ID_PAYLOAD);
         if (payload instanceof FlowRequest) {
             FlowRequest flowRequest = (FlowRequest) payload;
-            service.handleUpdateRequest(currentKey, pullContext(input), flowRequest);
+            try {
+                service.handleUpdateRequest(currentKey, pullContext(input), flowRequest);
+            } catch (RuntimeException e) {
+                sendOperationCompleted(currentKey, false);
+                throw e;
+            }
         } else if (payload instanceof CreateFlowLoopRequest) {
             CreateFlowLoopRequest flowLoopRequest = (CreateFlowLoopRequest) payload;
             service.handleCreateFlowLoopRequest(currentKey, pullContext(input), flowLoopRequest);
@@ -188,15 +197,26 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
 
     @Override
     public void sendSpeakerRequest(FlowSegmentRequest command) {
-        String commandKey = KeyProvider.joinKeys(command.getCommandId().toString(), currentKey);
-
-        Values values = new Values(commandKey, command);
-        emitWithContext(HUB_TO_SPEAKER_WORKER.name(), getCurrentTuple(), values);
+        sendSpeakerRequest(currentKey, command);
     }
 
     @Override
     public void sendNorthboundResponse(Message message) {
-        emitWithContext(Stream.HUB_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(), new Values(currentKey, message));
+        if (FlowBulkCoordinatorService.isBulkItemKey(currentKey)) {
+            emitWithContext(Stream.HUB_TO_BULK_COORDINATOR.name(), getCurrentTuple(),
+                    new Values(KeyProvider.getParentKey(currentKey), FlowBulkItemEvent.response(currentKey, message)));
+        } else {
+            emitWithContext(Stream.HUB_TO_NB_RESPONSE_SENDER.name(), getCurrentTuple(),
+                    new Values(currentKey, message));
+        }
+    }
+
+    @Override
+    public void sendOperationCompleted(String key, boolean success) {
+        if (FlowBulkCoordinatorService.isBulkItemKey(key)) {
+            emitWithContext(Stream.HUB_TO_BULK_COORDINATOR.name(), getCurrentTuple(),
+                    new Values(KeyProvider.getParentKey(key), FlowBulkItemEvent.completed(key, success)));
+        }
     }
 
     @Override
@@ -227,6 +247,7 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
 
         declarer.declareStream(HUB_TO_SPEAKER_WORKER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_NB_RESPONSE_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
+        declarer.declareStream(HUB_TO_BULK_COORDINATOR.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(UPDATE_HUB_TO_SWAP_ENDPOINTS_HUB.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_HISTORY_BOLT.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_PING_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
@@ -242,17 +263,20 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
         private int pathAllocationRetryDelay;
         private int resourceAllocationRetriesLimit;
         private int speakerCommandRetriesLimit;
+        private boolean speakerBatchEnabled;
 
         @Builder(builderMethodName = "flowUpdateBuilder", builderClassName = "flowUpdateBuild")
         public FlowUpdateConfig(String requestSenderComponent, String workerComponent, String lifeCycleEventComponent,
                                 int timeoutMs, boolean autoAck,
                                 int pathAllocationRetriesLimit, int pathAllocationRetryDelay,
-                                int resourceAllocationRetriesLimit, int speakerCommandRetriesLimit) {
+                                int resourceAllocationRetriesLimit, int speakerCommandRetriesLimit,
+                                boolean speakerBatchEnabled) {
             super(requestSenderComponent, workerComponent, lifeCycleEventComponent, timeoutMs, autoAck);
             this.pathAllocationRetriesLimit = pathAllocationRetriesLimit;
             this.pathAllocationRetryDelay = pathAllocationRetryDelay;
             this.resourceAllocationRetriesLimit = resourceAllocationRetriesLimit;
             this.speakerCommandRetriesLimit = speakerCommandRetriesLimit;
+            this.speakerBatchEnabled = speakerBatchEnabled;
         }
     }
 }
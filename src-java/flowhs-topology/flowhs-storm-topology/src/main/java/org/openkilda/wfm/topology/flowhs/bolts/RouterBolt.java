@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.flowhs.bolts;
 
 import static java.lang.String.format;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_BULK_COORDINATOR;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_CREATE_HUB;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_DELETE_HUB;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_PATH_SWAP_HUB;
@@ -29,6 +30,8 @@ import org.openkilda.messaging.MessageData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.CreateFlowLoopRequest;
 import org.openkilda.messaging.command.flow.DeleteFlowLoopRequest;
+import org.openkilda.messaging.command.flow.FlowBulkRequest;
+import org.openkilda.messaging.command.flow.FlowBulkStatusRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowPathSwapRequest;
 import org.openkilda.messaging.command.flow.FlowRequest;
@@ -116,6 +119,16 @@ public class RouterBolt extends AbstractBolt {
                 log.debug("Received a delete flow loop request with key {}. MessageId {}", key, input.getMessageId());
                 DeleteFlowLoopRequest request = (DeleteFlowLoopRequest) data;
                 emitWithContext(ROUTER_TO_FLOW_UPDATE_HUB.name(), input, new Values(key, request.getFlowId(), data));
+            } else if (data instanceof FlowBulkRequest) {
+                FlowBulkRequest request = (FlowBulkRequest) data;
+                log.debug("Received a bulk flow operation request {} with key {}. MessageId {}", request.getBulkId(),
+                        key, input.getMessageId());
+                emitWithContext(ROUTER_TO_FLOW_BULK_COORDINATOR.name(), input,
+                        new Values(request.getBulkId(), data));
+            } else if (data instanceof FlowBulkStatusRequest) {
+                FlowBulkStatusRequest request = (FlowBulkStatusRequest) data;
+                emitWithContext(ROUTER_TO_FLOW_BULK_COORDINATOR.name(), input,
+                        new Values(request.getBulkId(), data));
             } else {
                 unhandledInput(input);
             }
@@ -131,6 +144,8 @@ public class RouterBolt extends AbstractBolt {
         declarer.declareStream(ROUTER_TO_FLOW_PATH_SWAP_HUB.name(), STREAM_FIELDS);
         declarer.declareStream(ROUTER_TO_FLOW_SWAP_ENDPOINTS_HUB.name(),
                 new Fields(FIELD_ID_KEY, FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT));
+        declarer.declareStream(ROUTER_TO_FLOW_BULK_COORDINATOR.name(),
+                new Fields(FIELD_ID_KEY, FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT));
         declarer.declareStream(ZkStreams.ZK.toString(),
                 new Fields(ZooKeeperBolt.FIELD_ID_STATE, ZooKeeperBolt.FIELD_ID_CONTEXT));
     }
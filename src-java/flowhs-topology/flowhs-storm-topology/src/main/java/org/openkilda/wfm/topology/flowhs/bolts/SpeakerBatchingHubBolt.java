@@ -0,0 +1,76 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowhs.bolts;
+
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_SPEAKER_WORKER;
+
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.SpeakerRequest;
+import org.openkilda.wfm.share.hubandspoke.HubBolt;
+import org.openkilda.wfm.share.utils.KeyProvider;
+import org.openkilda.wfm.topology.flowhs.utils.SpeakerRequestBatcher;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+
+import java.util.Map;
+
+/**
+ * Hub bolt which sends flow segment requests to the speaker worker. When batching is enabled, requests produced while
+ * processing one tuple are grouped per switch and sent after the tuple has been handled.
+ */
+public abstract class SpeakerBatchingHubBolt extends HubBolt {
+    private final boolean speakerBatchEnabled;
+
+    private transient SpeakerRequestBatcher speakerRequestBatcher;
+
+    protected SpeakerBatchingHubBolt(Config config, boolean speakerBatchEnabled) {
+        super(config);
+
+        this.speakerBatchEnabled = speakerBatchEnabled;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        speakerRequestBatcher = new SpeakerRequestBatcher();
+        super.prepare(stormConf, context, collector);
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        try {
+            super.dispatch(input);
+        } finally {
+            speakerRequestBatcher.flush(this::emitSpeakerRequest);
+        }
+    }
+
+    protected void sendSpeakerRequest(String parentKey, FlowSegmentRequest command) {
+        if (speakerBatchEnabled) {
+            speakerRequestBatcher.add(parentKey, command);
+        } else {
+            emitSpeakerRequest(parentKey, command);
+        }
+    }
+
+    private void emitSpeakerRequest(String parentKey, SpeakerRequest command) {
+        String commandKey = KeyProvider.joinKeys(command.getCommandId().toString(), parentKey);
+
+        Values values = new Values(commandKey, command);
+        emitWithContext(HUB_TO_SPEAKER_WORKER.name(), getCurrentTuple(), values);
+    }
+}
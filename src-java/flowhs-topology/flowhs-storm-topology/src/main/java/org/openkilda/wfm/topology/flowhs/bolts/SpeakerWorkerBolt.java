@@ -18,8 +18,9 @@ package org.openkilda.wfm.topology.flowhs.bolts;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.SPEAKER_WORKER_REQUEST_SENDER;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
-import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.SpeakerRequest;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
+import org.openkilda.floodlight.api.response.SpeakerResponse;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.hubandspoke.WorkerBolt;
 import org.openkilda.wfm.topology.flowhs.service.SpeakerCommandCarrier;
@@ -30,6 +31,9 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarrier {
 
     public static final String ID = "speaker.worker.bolt";
@@ -47,13 +51,13 @@ public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarri
 
     @Override
     protected void onHubRequest(Tuple input) throws PipelineException {
-        FlowSegmentRequest command = pullValue(input, FIELD_ID_PAYLOAD, FlowSegmentRequest.class);
+        SpeakerRequest command = pullValue(input, FIELD_ID_PAYLOAD, SpeakerRequest.class);
         service.sendCommand(pullKey(), command);
     }
 
     @Override
     protected void onAsyncResponse(Tuple request, Tuple response) throws PipelineException {
-        SpeakerFlowSegmentResponse message = pullValue(response, FIELD_ID_PAYLOAD, SpeakerFlowSegmentResponse.class);
+        SpeakerResponse message = pullValue(response, FIELD_ID_PAYLOAD, SpeakerResponse.class);
         service.handleResponse(pullKey(response), message);
     }
 
@@ -76,7 +80,7 @@ public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarri
     }
 
     @Override
-    public void sendCommand(String key, FlowSegmentRequest command) {
+    public void sendCommand(String key, SpeakerRequest command) {
         emitWithContext(SPEAKER_WORKER_REQUEST_SENDER.name(), getCurrentTuple(), new Values(key, command));
     }
 
@@ -85,4 +89,13 @@ public class SpeakerWorkerBolt extends WorkerBolt implements SpeakerCommandCarri
         Values values = new Values(key, response, getCommandContext());
         emitResponseToHub(getCurrentTuple(), values);
     }
+
+    @Override
+    public void sendResponses(String key, List<SpeakerFlowSegmentResponse> responses) {
+        List<Values> values = new ArrayList<>(responses.size());
+        for (SpeakerFlowSegmentResponse entry : responses) {
+            values.add(new Values(key, entry, getCommandContext()));
+        }
+        emitResponsesToHub(getCurrentTuple(), values);
+    }
 }
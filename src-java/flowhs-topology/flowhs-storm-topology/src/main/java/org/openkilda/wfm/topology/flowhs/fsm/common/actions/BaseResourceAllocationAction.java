@@ -57,6 +57,7 @@ import org.openkilda.wfm.share.logger.FlowOperationsDashboardLogger;
 import org.openkilda.wfm.share.mappers.HistoryMapper;
 import org.openkilda.wfm.topology.flow.model.FlowPathPair;
 import org.openkilda.wfm.topology.flowhs.fsm.common.FlowPathSwappingFsm;
+import org.openkilda.wfm.topology.flowhs.service.BandwidthReservationLedger;
 import org.openkilda.wfm.topology.flowhs.service.FlowPathBuilder;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -96,6 +97,7 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
     protected final FlowResourcesManager resourcesManager;
     protected final FlowPathBuilder flowPathBuilder;
     protected final FlowOperationsDashboardLogger dashboardLogger;
+    protected BandwidthReservationLedger reservationLedger = BandwidthReservationLedger.getInstance();
 
     public BaseResourceAllocationAction(PersistenceManager persistenceManager,
                                         int pathAllocationRetriesLimit, int pathAllocationRetryDelay,
@@ -250,6 +252,7 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                 .onRetriesExceeded(e -> log.warn("Failure in path allocation. No more retries", e));
         try {
             return (GetPathsResult) failsafe.get(() -> {
+                long seenReservations = reservationLedger.getSequence();
                 GetPathsResult potentialPath;
                 if (forceToIgnoreBandwidth) {
                     boolean originalIgnoreBandwidth = flow.isIgnoreBandwidth();
@@ -268,15 +271,29 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
 
                     if (whetherCreatePathSegments.test(potentialPath)) {
                         boolean ignoreBandwidth = forceToIgnoreBandwidth || flow.isIgnoreBandwidth();
-                        List<PathSegment> forwardSegments = flowPathBuilder.buildPathSegments(newForwardPathId,
-                                potentialPath.getForward(), flow.getBandwidth(), ignoreBandwidth);
-                        List<PathSegment> reverseSegments = flowPathBuilder.buildPathSegments(newReversePathId,
-                                potentialPath.getReverse(), flow.getBandwidth(), ignoreBandwidth);
-
-                        transactionManager.doInTransaction(() -> {
-                            createPathSegments(forwardSegments, reuseBandwidthPerIsl);
-                            createPathSegments(reverseSegments, reuseBandwidthPerIsl);
-                        });
+                        String reservationOwner = newForwardPathId.toString();
+                        if (!ignoreBandwidth && !reservationLedger.tryReserve(reservationOwner, flow.getBandwidth(),
+                                seenReservations, potentialPath.getForward(), potentialPath.getReverse())) {
+                            // resolved by the retry without an attempt to persist the segments
+                            throw new RecoverableException(format(
+                                    "Bandwidth of the path found for flow %s is reserved by a concurrent allocation",
+                                    flow.getFlowId()));
+                        }
+
+                        try {
+                            List<PathSegment> forwardSegments = flowPathBuilder.buildPathSegments(newForwardPathId,
+                                    potentialPath.getForward(), flow.getBandwidth(), ignoreBandwidth);
+                            List<PathSegment> reverseSegments = flowPathBuilder.buildPathSegments(newReversePathId,
+                                    potentialPath.getReverse(), flow.getBandwidth(), ignoreBandwidth);
+
+                            transactionManager.doInTransaction(() -> {
+                                createPathSegments(forwardSegments, reuseBandwidthPerIsl);
+                                createPathSegments(reverseSegments, reuseBandwidthPerIsl);
+                            });
+                        } finally {
+                            // the persisted segments are accounted in the ISL available bandwidth from now on
+                            reservationLedger.release(reservationOwner);
+                        }
                     }
 
                     return potentialPath;
@@ -0,0 +1,47 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowhs.model;
+
+import org.openkilda.messaging.Message;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Notification sent by a flow hub to the bulk coordinator about an item of a bulk operation. Carries either the
+ * northbound response of the item or the item completion status.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class FlowBulkItemEvent implements Serializable {
+    String itemKey;
+    Message response;
+    Boolean success;
+
+    public static FlowBulkItemEvent response(String itemKey, Message response) {
+        return new FlowBulkItemEvent(itemKey, response, null);
+    }
+
+    public static FlowBulkItemEvent completed(String itemKey, boolean success) {
+        return new FlowBulkItemEvent(itemKey, null, success);
+    }
+
+    public boolean isCompletion() {
+        return success != null;
+    }
+}
@@ -0,0 +1,186 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.service;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.BandwidthReservations;
+import org.openkilda.pce.Path;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Worker-wide ledger of bandwidth reserved on ISLs by path allocations which are between the path computation and
+ * the persisting of path segments. The reservations are fed back into the path computation of concurrent
+ * allocations, and an allocation whose path was computed without seeing newer conflicting reservations is rejected
+ * before it touches the DB. The DB stays the source of truth, the ledger only reduces the number of allocations
+ * rolled back on ISL over-provisioning.
+ */
+@Slf4j
+public final class BandwidthReservationLedger implements BandwidthReservations {
+    private static final BandwidthReservationLedger INSTANCE = new BandwidthReservationLedger();
+
+    private final Map<IslKey, List<Reservation>> reservationsByIsl = new HashMap<>();
+    private final Map<String, List<Reservation>> reservationsByOwner = new HashMap<>();
+
+    private long sequence;
+    private long reservationsCount;
+    private long conflictsCount;
+
+    @VisibleForTesting
+    BandwidthReservationLedger() {
+    }
+
+    public static BandwidthReservationLedger getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the sequence number of the latest reservation. Reservations made after the returned value are treated
+     * as not seen by a path computation started after this call.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public synchronized long getReservedBandwidth(SwitchId srcSwitchId, int srcPort,
+                                                  SwitchId destSwitchId, int destPort) {
+        List<Reservation> reservations =
+                reservationsByIsl.get(new IslKey(srcSwitchId, srcPort, destSwitchId, destPort));
+        if (reservations == null) {
+            return 0;
+        }
+        long result = 0;
+        for (Reservation reservation : reservations) {
+            result += reservation.getBandwidth();
+        }
+        return result;
+    }
+
+    /**
+     * Reserves the bandwidth on all ISLs of the paths, unless one of them has not enough bandwidth left because of
+     * reservations made after the path computation.
+     *
+     * @param owner the identifier used to release the reservation.
+     * @param bandwidth the bandwidth to be reserved on each ISL.
+     * @param seenSequence the value of {@link #getSequence()} taken before the path computation.
+     * @param paths the computed paths.
+     * @return false if there is a conflict, nothing is reserved in this case.
+     */
+    public synchronized boolean tryReserve(String owner, long bandwidth, long seenSequence, Path... paths) {
+        List<IslKey> isls = new ArrayList<>();
+        for (Path path : paths) {
+            for (Path.Segment segment : path.getSegments()) {
+                IslKey isl = new IslKey(segment.getSrcSwitchId(), segment.getSrcPort(),
+                        segment.getDestSwitchId(), segment.getDestPort());
+                if (isConflicting(isl, segment.getAvailableBandwidth(), bandwidth, seenSequence)) {
+                    conflictsCount++;
+                    log.info("Bandwidth reservation conflict on ISL {} for {} (conflicts so far: {}, "
+                            + "reservations so far: {})", isl, owner, conflictsCount, reservationsCount);
+                    return false;
+                }
+                isls.add(isl);
+            }
+        }
+
+        long reservationSequence = ++sequence;
+        List<Reservation> ownerReservations = reservationsByOwner.computeIfAbsent(owner, ignore -> new ArrayList<>());
+        for (IslKey isl : isls) {
+            Reservation reservation = new Reservation(isl, bandwidth, reservationSequence);
+            reservationsByIsl.computeIfAbsent(isl, ignore -> new ArrayList<>()).add(reservation);
+            ownerReservations.add(reservation);
+        }
+        reservationsCount++;
+        return true;
+    }
+
+    /**
+     * Releases all reservations of the owner.
+     */
+    public synchronized void release(String owner) {
+        List<Reservation> reservations = reservationsByOwner.remove(owner);
+        if (reservations == null) {
+            return;
+        }
+        for (Reservation reservation : reservations) {
+            List<Reservation> islReservations = reservationsByIsl.get(reservation.getIsl());
+            if (islReservations != null) {
+                islReservations.remove(reservation);
+                if (islReservations.isEmpty()) {
+                    reservationsByIsl.remove(reservation.getIsl());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of conflicts detected in memory, i.e. allocations not persisted and then rolled back.
+     */
+    public synchronized long getConflictsCount() {
+        return conflictsCount;
+    }
+
+    public synchronized long getReservationsCount() {
+        return reservationsCount;
+    }
+
+    private boolean isConflicting(IslKey isl, Long seenAvailableBandwidth, long bandwidth, long seenSequence) {
+        List<Reservation> reservations = reservationsByIsl.get(isl);
+        if (reservations == null || seenAvailableBandwidth == null) {
+            return false;
+        }
+        long unseenReservedBandwidth = 0;
+        for (Reservation reservation : reservations) {
+            if (reservation.getSequence() > seenSequence) {
+                unseenReservedBandwidth += reservation.getBandwidth();
+            }
+        }
+        return unseenReservedBandwidth > 0 && seenAvailableBandwidth - unseenReservedBandwidth < bandwidth;
+    }
+
+    @Value
+    private static class IslKey {
+        SwitchId srcSwitchId;
+        int srcPort;
+        SwitchId destSwitchId;
+        int destPort;
+
+        @Override
+        public String toString() {
+            return String.format("%s_%d-%s_%d", srcSwitchId, srcPort, destSwitchId, destPort);
+        }
+    }
+
+    /**
+     * Compared by identity, so equal reservations of different owners are removed independently.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class Reservation {
+        private final IslKey isl;
+        private final long bandwidth;
+        private final long sequence;
+    }
+}
@@ -0,0 +1,35 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowhs.service;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.wfm.CommandContext;
+
+public interface FlowBulkCoordinatorCarrier {
+    /**
+     * Sends a single flow operation of the bulk to the flow hubs.
+     *
+     * @param itemKey key of the item operation, the hub uses it to report the item results back.
+     * @param context context of the item operation.
+     * @param request flow operation request.
+     */
+    void sendItemRequest(String itemKey, CommandContext context, CommandData request);
+
+    /**
+     * Sends response to northbound component.
+     */
+    void sendNorthboundResponse(Message message);
+}
@@ -0,0 +1,344 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowhs.service;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.flow.FlowBulkItem;
+import org.openkilda.messaging.command.flow.FlowBulkOperation;
+import org.openkilda.messaging.command.flow.FlowBulkRequest;
+import org.openkilda.messaging.command.flow.FlowDeleteRequest;
+import org.openkilda.messaging.command.flow.FlowRequest;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.flow.FlowBulkItemResult;
+import org.openkilda.messaging.info.flow.FlowBulkResponse;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.utils.KeyProvider;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes bulk flow operations with server-side pacing. Items of all bulks are kept in one priority queue and no
+ * more than the configured number of items is passed to the flow hubs at a time, the next item is started once one
+ * of the running items is completed.
+ *
+ * <p>A running item is failed if the hub does not report its completion within the item timeout, so an item lost by
+ * a hub (e.g. because of a worker restart) does not block the bulk. The state of bulks is kept in memory only, so
+ * the bulks are lost on the restart of the coordinator worker. The operations already passed to the hubs are still
+ * executed, but the results of such a bulk can't be requested anymore.
+ */
+@Slf4j
+public class FlowBulkCoordinatorService {
+    private static final String ITEM_KEY_PREFIX = "bulk-item-";
+
+    private static final Comparator<PendingItem> PENDING_ORDER = Comparator
+            .comparingInt((PendingItem item) -> item.getItem().getPriority())
+            .thenComparingLong(item -> item.getBulk().getSequence())
+            .thenComparingInt(PendingItem::getIndex);
+
+    private final FlowBulkCoordinatorCarrier carrier;
+    private final int concurrencyLimit;
+    private final int completedBulksLimit;
+    private final long itemTimeoutMillis;
+
+    private final Map<String, BulkOperation> bulks = new HashMap<>();
+    private final Deque<String> completedBulks = new ArrayDeque<>();
+    private final PriorityQueue<PendingItem> pending = new PriorityQueue<>(PENDING_ORDER);
+    private final Map<String, PendingItem> inProgress = new HashMap<>();
+    private long sequence;
+
+    public FlowBulkCoordinatorService(FlowBulkCoordinatorCarrier carrier, int concurrencyLimit,
+                                      int completedBulksLimit, long itemTimeoutMillis) {
+        this.carrier = carrier;
+        this.concurrencyLimit = Math.max(1, concurrencyLimit);
+        this.completedBulksLimit = completedBulksLimit;
+        this.itemTimeoutMillis = itemTimeoutMillis;
+    }
+
+    /**
+     * Returns true if the key belongs to an item operation of a bulk.
+     */
+    public static boolean isBulkItemKey(String key) {
+        return key != null && key.startsWith(ITEM_KEY_PREFIX);
+    }
+
+    /**
+     * Accepts a bulk operation and starts its items according to the concurrency limit.
+     */
+    public void handleBulkRequest(CommandContext commandContext, FlowBulkRequest request) {
+        String bulkId = request.getBulkId();
+        log.debug("Handling bulk flow operation {} with {} items", bulkId, request.getItems().size());
+
+        if (bulks.containsKey(bulkId)) {
+            sendError(commandContext, ErrorType.ALREADY_EXISTS, "Can't accept bulk flow operation",
+                    String.format("Bulk flow operation %s already exists", bulkId));
+            return;
+        }
+        Set<String> flowIds = new HashSet<>();
+        for (FlowBulkItem item : request.getItems()) {
+            if (!flowIds.add(item.getFlowId())) {
+                sendError(commandContext, ErrorType.DATA_INVALID, "Can't accept bulk flow operation",
+                        String.format("Flow %s is specified more than once", item.getFlowId()));
+                return;
+            }
+            if (item.getOperation() != FlowBulkOperation.DELETE && item.getFlow() == null) {
+                sendError(commandContext, ErrorType.DATA_INVALID, "Can't accept bulk flow operation",
+                        String.format("%s operation for the flow %s requires the flow definition",
+                                item.getOperation(), item.getFlowId()));
+                return;
+            }
+        }
+
+        BulkOperation bulk = new BulkOperation(bulkId, commandContext, sequence++, request.getItems().size());
+        bulks.put(bulkId, bulk);
+        for (int i = 0; i < request.getItems().size(); i++) {
+            pending.add(new PendingItem(bulk, i, request.getItems().get(i)));
+        }
+
+        carrier.sendNorthboundResponse(buildResponse(commandContext, bulk));
+        completeIfFinished(bulk);
+        startPendingItems();
+    }
+
+    /**
+     * Reports the progress and the results of a bulk operation.
+     */
+    public void handleStatusRequest(CommandContext commandContext, String bulkId) {
+        BulkOperation bulk = bulks.get(bulkId);
+        if (bulk == null) {
+            sendError(commandContext, ErrorType.NOT_FOUND, "Bulk flow operation not found",
+                    String.format("Bulk flow operation %s not found", bulkId));
+            return;
+        }
+        carrier.sendNorthboundResponse(buildResponse(commandContext, bulk));
+    }
+
+    /**
+     * Handles the northbound response produced by a flow hub for an item.
+     */
+    public void handleItemResponse(String itemKey, Message response) {
+        PendingItem item = inProgress.get(itemKey);
+        if (item == null) {
+            log.warn("Received response for unknown bulk item {}", itemKey);
+            return;
+        }
+        if (response instanceof ErrorMessage) {
+            ErrorData error = ((ErrorMessage) response).getData();
+            item.setError(String.format("%s: %s", error.getErrorMessage(), error.getErrorDescription()));
+        }
+    }
+
+    /**
+     * Handles an item completion and starts the next pending items.
+     */
+    public void handleItemCompleted(String itemKey, boolean success) {
+        PendingItem item = inProgress.remove(itemKey);
+        if (item == null) {
+            log.warn("Received completion for unknown bulk item {}", itemKey);
+            return;
+        }
+
+        String error = item.getError();
+        if (!success && error == null) {
+            error = String.format("%s operation has failed, see the flow history for details",
+                    item.getItem().getOperation());
+        }
+        completeItem(itemKey, item, success, error);
+        startPendingItems();
+    }
+
+    /**
+     * Fails the running items the hubs have not reported completion for within the item timeout.
+     */
+    public void handleTimeTick(long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        for (Map.Entry<String, PendingItem> entry : inProgress.entrySet()) {
+            if (entry.getValue().getDeadline() < nowMillis) {
+                expired.add(entry.getKey());
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        for (String itemKey : expired) {
+            PendingItem item = inProgress.remove(itemKey);
+            log.warn("Bulk {} item {} for the flow {} has timed out",
+                    item.getBulk().getBulkId(), itemKey, item.getItem().getFlowId());
+            completeItem(itemKey, item, false, String.format(
+                    "%s operation has not been completed in %d seconds, the flow state must be checked",
+                    item.getItem().getOperation(), TimeUnit.MILLISECONDS.toSeconds(itemTimeoutMillis)));
+        }
+        startPendingItems();
+    }
+
+    private void completeItem(String itemKey, PendingItem item, boolean success, String error) {
+        BulkOperation bulk = item.getBulk();
+        bulk.complete(new FlowBulkItemResult(item.getItem().getFlowId(), item.getItem().getOperation(),
+                success, success ? null : error));
+        log.debug("Bulk {} item {} for the flow {} is completed (success: {})",
+                bulk.getBulkId(), itemKey, item.getItem().getFlowId(), success);
+
+        completeIfFinished(bulk);
+    }
+
+    public int getInProgressCount() {
+        return inProgress.size();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void startPendingItems() {
+        while (inProgress.size() < concurrencyLimit && !pending.isEmpty()) {
+            PendingItem item = pending.poll();
+            BulkOperation bulk = item.getBulk();
+            String itemKey = KeyProvider.joinKeys(ITEM_KEY_PREFIX + KeyProvider.generateKey(), bulk.getBulkId());
+            item.setDeadline(System.currentTimeMillis() + itemTimeoutMillis);
+            inProgress.put(itemKey, item);
+            bulk.start();
+
+            CommandContext itemContext = bulk.getCommandContext().fork(item.getItem().getFlowId());
+            carrier.sendItemRequest(itemKey, itemContext, buildItemRequest(item.getItem()));
+        }
+    }
+
+    private CommandData buildItemRequest(FlowBulkItem item) {
+        switch (item.getOperation()) {
+            case CREATE:
+                return item.getFlow().toBuilder()
+                        .flowId(item.getFlowId())
+                        .type(FlowRequest.Type.CREATE)
+                        .build();
+            case UPDATE:
+                return item.getFlow().toBuilder()
+                        .flowId(item.getFlowId())
+                        .type(FlowRequest.Type.UPDATE)
+                        .build();
+            case DELETE:
+                return new FlowDeleteRequest(item.getFlowId());
+            default:
+                throw new IllegalArgumentException(String.format(
+                        "Unsupported bulk flow operation %s", item.getOperation()));
+        }
+    }
+
+    private void completeIfFinished(BulkOperation bulk) {
+        if (!bulk.isFinished()) {
+            return;
+        }
+        log.info("Bulk flow operation {} is finished: {} succeeded, {} failed",
+                bulk.getBulkId(), bulk.getSucceeded(), bulk.getFailed());
+
+        completedBulks.addLast(bulk.getBulkId());
+        while (completedBulks.size() > completedBulksLimit) {
+            bulks.remove(completedBulks.removeFirst());
+        }
+    }
+
+    private Message buildResponse(CommandContext commandContext, BulkOperation bulk) {
+        FlowBulkResponse response = FlowBulkResponse.builder()
+                .bulkId(bulk.getBulkId())
+                .total(bulk.getTotal())
+                .pending(bulk.getPending())
+                .inProgress(bulk.getInProgress())
+                .succeeded(bulk.getSucceeded())
+                .failed(bulk.getFailed())
+                .results(new ArrayList<>(bulk.getResults()))
+                .build();
+        return new InfoMessage(response, commandContext.getCreateTime(), commandContext.getCorrelationId());
+    }
+
+    private void sendError(CommandContext commandContext, ErrorType type, String message, String description) {
+        log.error("{}: {}", message, description);
+        ErrorData error = new ErrorData(type, message, description);
+        carrier.sendNorthboundResponse(
+                new ErrorMessage(error, commandContext.getCreateTime(), commandContext.getCorrelationId()));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingItem {
+        private final BulkOperation bulk;
+        private final int index;
+        private final FlowBulkItem item;
+
+        @Setter
+        private String error;
+
+        @Setter
+        private long deadline;
+    }
+
+    @Getter
+    private static class BulkOperation {
+        private final String bulkId;
+        private final CommandContext commandContext;
+        private final long sequence;
+        private final int total;
+        private final List<FlowBulkItemResult> results = new ArrayList<>();
+
+        private int pending;
+        private int inProgress;
+        private int succeeded;
+        private int failed;
+
+        BulkOperation(String bulkId, CommandContext commandContext, long sequence, int total) {
+            this.bulkId = bulkId;
+            this.commandContext = commandContext;
+            this.sequence = sequence;
+            this.total = total;
+            this.pending = total;
+        }
+
+        void start() {
+            pending--;
+            inProgress++;
+        }
+
+        void complete(FlowBulkItemResult result) {
+            inProgress--;
+            if (result.isSuccess()) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+            results.add(result);
+        }
+
+        boolean isFinished() {
+            return pending == 0 && inProgress == 0;
+        }
+    }
+}
@@ -82,6 +82,7 @@ public class FlowCreateService {
         String eventKey = commandContext.getCorrelationId();
         if (flowEventRepository.existsByTaskId(eventKey)) {
             log.error("Attempt to reuse key {}, but there's a history record(s) for it.", eventKey);
+            carrier.sendOperationCompleted(key, false);
             return;
         }
 
@@ -157,6 +158,7 @@ public class FlowCreateService {
             fsms.remove(key);
 
             carrier.cancelTimeoutCallback(key);
+            carrier.sendOperationCompleted(key, fsm.getCurrentState() == FlowCreateFsm.State.FINISHED);
             if (!active && fsms.isEmpty()) {
                 carrier.sendInactive();
             }
@@ -73,6 +73,7 @@ public class FlowDeleteService {
         String eventKey = commandContext.getCorrelationId();
         if (flowEventRepository.existsByTaskId(eventKey)) {
             log.error("Attempt to reuse key %s, but there's a history record(s) for it.", eventKey);
+            carrier.sendOperationCompleted(key, false);
             return;
         }
 
@@ -134,6 +135,7 @@ public class FlowDeleteService {
             fsms.remove(key);
 
             carrier.cancelTimeoutCallback(key);
+            carrier.sendOperationCompleted(key, fsm.getCurrentState() == State.FINISHED);
             if (!active && fsms.isEmpty()) {
                 carrier.sendInactive();
             }
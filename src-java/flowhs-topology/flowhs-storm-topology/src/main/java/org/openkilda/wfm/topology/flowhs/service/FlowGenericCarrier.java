@@ -65,4 +65,11 @@ public interface FlowGenericCarrier {
      * @param flowInfo message to send
      */
     default void sendNotifyFlowMonitor(UpdateFlowInfo flowInfo) {}
+
+    /**
+     * Notifies about the operation completion, called once the FSM reached its final state.
+     * @param key command identifier
+     * @param success whether the operation finished successfully
+     */
+    default void sendOperationCompleted(String key, boolean success) {}
 }
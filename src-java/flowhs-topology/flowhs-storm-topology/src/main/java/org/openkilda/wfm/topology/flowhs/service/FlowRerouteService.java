@@ -40,6 +40,7 @@ import java.util.Map;
 public class FlowRerouteService {
     @VisibleForTesting
     final Map<String, FlowRerouteFsm> fsms = new HashMap<>();
+    private final Map<String, String> fsmKeyByFlowId = new HashMap<>();
 
     private final FlowRerouteFsm.Factory fsmFactory;
     private final FsmExecutor<FlowRerouteFsm, State, Event, FlowRerouteContext> fsmExecutor
@@ -87,6 +88,7 @@ public class FlowRerouteService {
 
         FlowRerouteFsm fsm = fsmFactory.newInstance(commandContext, flowId);
         fsms.put(key, fsm);
+        fsmKeyByFlowId.put(flowId, key);
 
         FlowRerouteContext context = FlowRerouteContext.builder()
                 .flowId(flowId)
@@ -102,9 +104,7 @@ public class FlowRerouteService {
     }
 
     private boolean isRerouteAlreadyInProgress(String flowId) {
-        return fsms.values().stream()
-                .map(FlowRerouteFsm::getFlowId)
-                .anyMatch(id -> id.equals(flowId));
+        return fsmKeyByFlowId.containsKey(flowId);
     }
 
     /**
@@ -178,7 +178,10 @@ public class FlowRerouteService {
     }
 
     private void performHousekeeping(String key) {
-        fsms.remove(key);
+        FlowRerouteFsm fsm = fsms.remove(key);
+        if (fsm != null) {
+            fsmKeyByFlowId.remove(fsm.getFlowId(), key);
+        }
         carrier.cancelTimeoutCallback(key);
     }
 
@@ -182,6 +182,7 @@ public class FlowUpdateService {
         String eventKey = commandContext.getCorrelationId();
         if (flowEventRepository.existsByTaskId(eventKey)) {
             log.error("Attempt to reuse key {}, but there's a history record(s) for it.", eventKey);
+            carrier.sendOperationCompleted(key, false);
             return;
         }
 
@@ -222,6 +223,7 @@ public class FlowUpdateService {
             fsms.remove(key);
 
             carrier.cancelTimeoutCallback(key);
+            carrier.sendOperationCompleted(key, fsm.getCurrentState() == State.FINISHED);
 
             if (!active && fsms.isEmpty()) {
                 carrier.sendInactive();
@@ -15,13 +15,17 @@
 
 package org.openkilda.wfm.topology.flowhs.service;
 
-import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.SpeakerRequest;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
 import org.openkilda.wfm.error.PipelineException;
 
+import java.util.List;
+
 public interface SpeakerCommandCarrier {
 
-    void sendCommand(String key, FlowSegmentRequest command) throws PipelineException;
+    void sendCommand(String key, SpeakerRequest command) throws PipelineException;
 
     void sendResponse(String key, SpeakerFlowSegmentResponse response) throws PipelineException;
+
+    void sendResponses(String key, List<SpeakerFlowSegmentResponse> responses) throws PipelineException;
 }
@@ -15,22 +15,28 @@
 
 package org.openkilda.wfm.topology.flowhs.service;
 
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.SpeakerRequest;
+import org.openkilda.floodlight.api.response.FlowSegmentBatchResponse;
 import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
+import org.openkilda.floodlight.api.response.SpeakerResponse;
 import org.openkilda.floodlight.flow.response.FlowErrorResponse;
 import org.openkilda.floodlight.flow.response.FlowErrorResponse.ErrorCode;
 import org.openkilda.wfm.error.PipelineException;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
 public class SpeakerWorkerService {
     private final SpeakerCommandCarrier carrier;
 
-    private final Map<String, FlowSegmentRequest> keyToRequest = new HashMap<>();
+    private final Map<String, SpeakerRequest> keyToRequest = new HashMap<>();
 
     public SpeakerWorkerService(SpeakerCommandCarrier carrier) {
         this.carrier = carrier;
@@ -39,28 +45,33 @@ public class SpeakerWorkerService {
     /**
      * Sends command to speaker.
      * @param key unique operation's key.
-     * @param command command to be executed.
+     * @param command command to be executed, either a flow segment request or a batch of them.
      */
-    public void sendCommand(String key, FlowSegmentRequest command) throws PipelineException {
+    public void sendCommand(String key, SpeakerRequest command) throws PipelineException {
         log.debug("Got a request from hub bolt {}", command);
         keyToRequest.put(key, command);
         carrier.sendCommand(key, command);
     }
 
     /**
-     * Processes received response and forwards it to the hub component.
+     * Processes received response and forwards it to the hub component. The batch response is forwarded as a series
+     * of responses for each segment of the batch.
      * @param key operation's key.
      * @param response response payload.
      */
-    public void handleResponse(String key, SpeakerFlowSegmentResponse response)
+    public void handleResponse(String key, SpeakerResponse response)
             throws PipelineException {
         log.debug("Got a response from speaker {}", response);
-        FlowSegmentRequest pendingRequest = keyToRequest.remove(key);
+        SpeakerRequest pendingRequest = keyToRequest.remove(key);
         if (pendingRequest != null) {
-            if (pendingRequest.getCommandId().equals(response.getCommandId())) {
-                carrier.sendResponse(key, response);
-            } else {
+            if (!pendingRequest.getCommandId().equals(response.getCommandId())) {
                 log.warn("Pending request's command id and received response's command id mismatch");
+            } else if (response instanceof FlowSegmentBatchResponse) {
+                carrier.sendResponses(key, ((FlowSegmentBatchResponse) response).getResponses());
+            } else if (response instanceof SpeakerFlowSegmentResponse) {
+                carrier.sendResponse(key, (SpeakerFlowSegmentResponse) response);
+            } else {
+                log.warn("Unexpected speaker response {} for the request {}", response, pendingRequest);
             }
         }
     }
@@ -70,15 +81,27 @@ public class SpeakerWorkerService {
      * @param key operation identifier.
      */
     public void handleTimeout(String key) throws PipelineException {
-        FlowSegmentRequest failedRequest = keyToRequest.remove(key);
+        SpeakerRequest failedRequest = keyToRequest.remove(key);
+
+        if (failedRequest instanceof FlowSegmentBatchRequest) {
+            List<FlowSegmentRequest> requests = ((FlowSegmentBatchRequest) failedRequest).getRequests();
+            List<SpeakerFlowSegmentResponse> responses = new ArrayList<>(requests.size());
+            for (FlowSegmentRequest entry : requests) {
+                responses.add(makeTimeoutResponse(entry));
+            }
+            carrier.sendResponses(key, responses);
+        } else {
+            carrier.sendResponse(key, makeTimeoutResponse((FlowSegmentRequest) failedRequest));
+        }
+    }
 
-        SpeakerFlowSegmentResponse response = FlowErrorResponse.errorBuilder()
+    private SpeakerFlowSegmentResponse makeTimeoutResponse(FlowSegmentRequest failedRequest) {
+        return FlowErrorResponse.errorBuilder()
                 .commandId(failedRequest.getCommandId())
                 .switchId(failedRequest.getSwitchId())
                 .metadata(failedRequest.getMetadata())
                 .errorCode(ErrorCode.OPERATION_TIMED_OUT)
                 .messageContext(failedRequest.getMessageContext())
                 .build();
-        carrier.sendResponse(key, response);
     }
 }
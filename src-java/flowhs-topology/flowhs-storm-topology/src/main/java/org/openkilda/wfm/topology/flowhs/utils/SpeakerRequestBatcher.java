@@ -0,0 +1,77 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.utils;
+
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.SpeakerRequest;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.NoArgGenerator;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects flow segment requests produced while a hub processes one tuple and groups them per switch, so all segments
+ * of the same switch are sent to the speaker as one {@link FlowSegmentBatchRequest}.
+ */
+public class SpeakerRequestBatcher {
+    private final NoArgGenerator commandIdGenerator = Generators.timeBasedGenerator();
+
+    private final Map<BatchKey, List<FlowSegmentRequest>> pending = new LinkedHashMap<>();
+
+    public void add(String parentKey, FlowSegmentRequest request) {
+        pending.computeIfAbsent(new BatchKey(parentKey, request.getSwitchId()), ignore -> new ArrayList<>())
+                .add(request);
+    }
+
+    /**
+     * Pass collected requests to the emitter and clear the buffer. A single request of a switch is passed as is.
+     *
+     * @param emitter accepts the parent (hub) key and the request to be sent.
+     */
+    public void flush(BiConsumer<String, SpeakerRequest> emitter) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<BatchKey, List<FlowSegmentRequest>>> entries = new ArrayList<>(pending.entrySet());
+        pending.clear();
+        for (Map.Entry<BatchKey, List<FlowSegmentRequest>> entry : entries) {
+            BatchKey key = entry.getKey();
+            List<FlowSegmentRequest> requests = entry.getValue();
+            if (requests.size() == 1) {
+                emitter.accept(key.getParentKey(), requests.get(0));
+            } else {
+                emitter.accept(key.getParentKey(), new FlowSegmentBatchRequest(
+                        requests.get(0).getMessageContext(), key.getSwitchId(), commandIdGenerator.generate(),
+                        requests));
+            }
+        }
+    }
+
+    @Value
+    private static class BatchKey {
+        String parentKey;
+        SwitchId switchId;
+    }
+}
@@ -0,0 +1,85 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.Path;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class BandwidthReservationLedgerTest {
+    private static final SwitchId SWITCH_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_2 = new SwitchId(2);
+
+    private final BandwidthReservationLedger ledger = new BandwidthReservationLedger();
+
+    @Test
+    public void shouldFeedReservationsBackAndReleaseThem() {
+        assertTrue(ledger.tryReserve("path-1", 100, ledger.getSequence(), makePath(1000L)));
+        assertTrue(ledger.tryReserve("path-2", 200, ledger.getSequence(), makePath(1000L)));
+
+        assertEquals(300, ledger.getReservedBandwidth(SWITCH_1, 1, SWITCH_2, 2));
+        assertEquals(0, ledger.getReservedBandwidth(SWITCH_2, 2, SWITCH_1, 1));
+
+        ledger.release("path-1");
+        assertEquals(200, ledger.getReservedBandwidth(SWITCH_1, 1, SWITCH_2, 2));
+        ledger.release("path-2");
+        assertEquals(0, ledger.getReservedBandwidth(SWITCH_1, 1, SWITCH_2, 2));
+    }
+
+    @Test
+    public void shouldRejectReservationConflictingWithUnseenOne() {
+        long seen = ledger.getSequence();
+        assertTrue(ledger.tryReserve("path-1", 600, seen, makePath(1000L)));
+
+        // the path of the second allocation was computed before the first reservation
+        assertFalse(ledger.tryReserve("path-2", 600, seen, makePath(1000L)));
+        assertEquals(1, ledger.getConflictsCount());
+        assertEquals(600, ledger.getReservedBandwidth(SWITCH_1, 1, SWITCH_2, 2));
+
+        // enough bandwidth for both
+        assertTrue(ledger.tryReserve("path-3", 400, seen, makePath(1000L)));
+    }
+
+    @Test
+    public void shouldNotTreatSeenReservationAsConflict() {
+        assertTrue(ledger.tryReserve("path-1", 600, ledger.getSequence(), makePath(1000L)));
+
+        // the available bandwidth seen by the path computation already excludes the first reservation
+        assertTrue(ledger.tryReserve("path-2", 400, ledger.getSequence(), makePath(400L)));
+        assertEquals(0, ledger.getConflictsCount());
+    }
+
+    private static Path makePath(Long availableBandwidth) {
+        return Path.builder()
+                .srcSwitchId(SWITCH_1)
+                .destSwitchId(SWITCH_2)
+                .segments(Collections.singletonList(Path.Segment.builder()
+                        .srcSwitchId(SWITCH_1)
+                        .srcPort(1)
+                        .destSwitchId(SWITCH_2)
+                        .destPort(2)
+                        .availableBandwidth(availableBandwidth)
+                        .build()))
+                .build();
+    }
+}
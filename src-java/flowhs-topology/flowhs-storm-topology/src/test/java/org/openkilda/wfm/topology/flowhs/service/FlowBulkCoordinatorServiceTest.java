@@ -0,0 +1,190 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowhs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.flow.FlowBulkItem;
+import org.openkilda.messaging.command.flow.FlowBulkOperation;
+import org.openkilda.messaging.command.flow.FlowBulkRequest;
+import org.openkilda.messaging.command.flow.FlowDeleteRequest;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.flow.FlowBulkItemResult;
+import org.openkilda.messaging.info.flow.FlowBulkResponse;
+import org.openkilda.wfm.CommandContext;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class FlowBulkCoordinatorServiceTest {
+    private static final String BULK_ID = "bulk-id";
+    private static final long ITEM_TIMEOUT = TimeUnit.SECONDS.toMillis(120);
+
+    private final FlowBulkCoordinatorCarrier carrier = mock(FlowBulkCoordinatorCarrier.class);
+
+    @Test
+    public void shouldLimitConcurrentItems() {
+        FlowBulkCoordinatorService service = new FlowBulkCoordinatorService(carrier, 2, 10, ITEM_TIMEOUT);
+        service.handleBulkRequest(new CommandContext(), makeRequest(
+                deleteItem("flow-1", 0), deleteItem("flow-2", 0), deleteItem("flow-3", 0)));
+
+        List<String> keys = captureItemRequests(2).getAllValues();
+        assertEquals(2, service.getInProgressCount());
+        assertEquals(1, service.getPendingCount());
+        assertTrue(FlowBulkCoordinatorService.isBulkItemKey(keys.get(0)));
+
+        reset(carrier);
+        service.handleItemCompleted(keys.get(0), true);
+        captureItemRequests(1);
+        assertEquals(2, service.getInProgressCount());
+        assertEquals(0, service.getPendingCount());
+    }
+
+    @Test
+    public void shouldStartItemsByPriority() {
+        FlowBulkCoordinatorService service = new FlowBulkCoordinatorService(carrier, 1, 10, ITEM_TIMEOUT);
+        service.handleBulkRequest(new CommandContext(), makeRequest(
+                deleteItem("flow-low", 10), deleteItem("flow-high", 1)));
+
+        ArgumentCaptor<CommandData> requests = ArgumentCaptor.forClass(CommandData.class);
+        verify(carrier).sendItemRequest(any(String.class), any(CommandContext.class), requests.capture());
+        assertEquals("flow-high", ((FlowDeleteRequest) requests.getValue()).getFlowId());
+    }
+
+    @Test
+    public void shouldReportItemResults() {
+        FlowBulkCoordinatorService service = new FlowBulkCoordinatorService(carrier, 2, 10, ITEM_TIMEOUT);
+        service.handleBulkRequest(new CommandContext(), makeRequest(
+                deleteItem("flow-1", 0), deleteItem("flow-2", 0)));
+        List<String> keys = captureItemRequests(2).getAllValues();
+
+        ErrorData error = new ErrorData(ErrorType.NOT_FOUND, "Could not delete flow", "Flow not found");
+        service.handleItemResponse(keys.get(1), new ErrorMessage(error, 0, "error"));
+        service.handleItemCompleted(keys.get(1), false);
+        service.handleItemCompleted(keys.get(0), true);
+
+        reset(carrier);
+        service.handleStatusRequest(new CommandContext(), BULK_ID);
+        FlowBulkResponse status = captureResponse(FlowBulkResponse.class);
+        assertTrue(status.isCompleted());
+        assertEquals(1, status.getSucceeded());
+        assertEquals(1, status.getFailed());
+
+        FlowBulkItemResult failed = status.getResults().get(0);
+        assertEquals("flow-2", failed.getFlowId());
+        assertFalse(failed.isSuccess());
+        assertEquals("Could not delete flow: Flow not found", failed.getError());
+    }
+
+    @Test
+    public void shouldRejectDuplicatedFlows() {
+        FlowBulkCoordinatorService service = new FlowBulkCoordinatorService(carrier, 2, 10, ITEM_TIMEOUT);
+        service.handleBulkRequest(new CommandContext(), makeRequest(
+                deleteItem("flow-1", 0), deleteItem("flow-1", 1)));
+
+        ArgumentCaptor<Message> response = ArgumentCaptor.forClass(Message.class);
+        verify(carrier).sendNorthboundResponse(response.capture());
+        assertEquals(ErrorType.DATA_INVALID, ((ErrorMessage) response.getValue()).getData().getErrorType());
+        verify(carrier, times(0)).sendItemRequest(any(String.class), any(CommandContext.class),
+                any(CommandData.class));
+    }
+
+    @Test
+    public void shouldForgetOldestCompletedBulks() {
+        FlowBulkCoordinatorService service = new FlowBulkCoordinatorService(carrier, 2, 1, ITEM_TIMEOUT);
+        service.handleBulkRequest(new CommandContext(), new FlowBulkRequest("first", Collections.emptyList()));
+        service.handleBulkRequest(new CommandContext(), new FlowBulkRequest("second", Collections.emptyList()));
+
+        reset(carrier);
+        service.handleStatusRequest(new CommandContext(), "first");
+        ArgumentCaptor<Message> response = ArgumentCaptor.forClass(Message.class);
+        verify(carrier).sendNorthboundResponse(response.capture());
+        assertEquals(ErrorType.NOT_FOUND, ((ErrorMessage) response.getValue()).getData().getErrorType());
+    }
+
+    @Test
+    public void shouldFailTimedOutItems() {
+        FlowBulkCoordinatorService service = new FlowBulkCoordinatorService(carrier, 1, 10, ITEM_TIMEOUT);
+        service.handleBulkRequest(new CommandContext(), makeRequest(
+                deleteItem("flow-1", 0), deleteItem("flow-2", 1)));
+        String lostKey = captureItemRequests(1).getValue();
+
+        reset(carrier);
+        service.handleTimeTick(System.currentTimeMillis());
+        verify(carrier, times(0)).sendItemRequest(any(String.class), any(CommandContext.class),
+                any(CommandData.class));
+
+        service.handleTimeTick(System.currentTimeMillis() + ITEM_TIMEOUT + 1);
+        String nextKey = captureItemRequests(1).getValue();
+        assertEquals(1, service.getInProgressCount());
+
+        // late completion of the timed out item must not affect the bulk
+        service.handleItemCompleted(lostKey, true);
+        service.handleItemCompleted(nextKey, true);
+
+        reset(carrier);
+        service.handleStatusRequest(new CommandContext(), BULK_ID);
+        FlowBulkResponse status = captureResponse(FlowBulkResponse.class);
+        assertTrue(status.isCompleted());
+        assertEquals(1, status.getSucceeded());
+        assertEquals(1, status.getFailed());
+
+        FlowBulkItemResult failed = status.getResults().get(0);
+        assertEquals("flow-1", failed.getFlowId());
+        assertFalse(failed.isSuccess());
+    }
+
+    private ArgumentCaptor<String> captureItemRequests(int count) {
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(carrier, times(count)).sendItemRequest(keys.capture(), any(CommandContext.class),
+                any(CommandData.class));
+        return keys;
+    }
+
+    private <T> T captureResponse(Class<T> klass) {
+        ArgumentCaptor<Message> response = ArgumentCaptor.forClass(Message.class);
+        verify(carrier).sendNorthboundResponse(response.capture());
+        return klass.cast(((InfoMessage) response.getValue()).getData());
+    }
+
+    private static FlowBulkRequest makeRequest(FlowBulkItem... items) {
+        return new FlowBulkRequest(BULK_ID, Arrays.asList(items));
+    }
+
+    private static FlowBulkItem deleteItem(String flowId, int priority) {
+        return FlowBulkItem.builder()
+                .operation(FlowBulkOperation.DELETE)
+                .flowId(flowId)
+                .priority(priority)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowhs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.response.FlowSegmentBatchResponse;
+import org.openkilda.floodlight.api.response.SpeakerFlowSegmentResponse;
+import org.openkilda.floodlight.flow.response.FlowErrorResponse;
+import org.openkilda.floodlight.flow.response.FlowErrorResponse.ErrorCode;
+import org.openkilda.floodlight.model.FlowSegmentMetadata;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class SpeakerWorkerServiceTest {
+    private static final SwitchId SWITCH_ID = new SwitchId(1);
+    private static final String KEY = "batch-key";
+
+    private final SpeakerCommandCarrier carrier = mock(SpeakerCommandCarrier.class);
+    private final SpeakerWorkerService service = new SpeakerWorkerService(carrier);
+
+    @Test
+    public void shouldUnpackBatchResponse() throws Exception {
+        FlowSegmentRequest first = makeRequest();
+        FlowSegmentRequest second = makeRequest();
+        FlowSegmentBatchRequest batch = new FlowSegmentBatchRequest(
+                new MessageContext(), SWITCH_ID, UUID.randomUUID(), Arrays.asList(first, second));
+        service.sendCommand(KEY, batch);
+        verify(carrier).sendCommand(KEY, batch);
+
+        List<SpeakerFlowSegmentResponse> responses = Arrays.asList(makeResponse(first), makeResponse(second));
+        service.handleResponse(KEY, new FlowSegmentBatchResponse(
+                new MessageContext(), batch.getCommandId(), SWITCH_ID, responses));
+        verify(carrier).sendResponses(KEY, responses);
+    }
+
+    @Test
+    public void shouldIgnoreBatchResponseWithForeignCommandId() throws Exception {
+        FlowSegmentBatchRequest batch = new FlowSegmentBatchRequest(
+                new MessageContext(), SWITCH_ID, UUID.randomUUID(), Arrays.asList(makeRequest(), makeRequest()));
+        service.sendCommand(KEY, batch);
+
+        service.handleResponse(KEY, new FlowSegmentBatchResponse(
+                new MessageContext(), UUID.randomUUID(), SWITCH_ID, Collections.emptyList()));
+        verify(carrier, never()).sendResponses(eq(KEY), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReportTimeoutForEachBatchSegment() throws Exception {
+        FlowSegmentRequest first = makeRequest();
+        FlowSegmentRequest second = makeRequest();
+        service.sendCommand(KEY, new FlowSegmentBatchRequest(
+                new MessageContext(), SWITCH_ID, UUID.randomUUID(), Arrays.asList(first, second)));
+
+        service.handleTimeout(KEY);
+
+        ArgumentCaptor<List<SpeakerFlowSegmentResponse>> captor = ArgumentCaptor.forClass(List.class);
+        verify(carrier).sendResponses(eq(KEY), captor.capture());
+        List<SpeakerFlowSegmentResponse> responses = captor.getValue();
+        assertEquals(2, responses.size());
+        assertEquals(first.getCommandId(), responses.get(0).getCommandId());
+        assertEquals(second.getCommandId(), responses.get(1).getCommandId());
+        for (SpeakerFlowSegmentResponse entry : responses) {
+            assertTrue(entry instanceof FlowErrorResponse);
+            assertEquals(ErrorCode.OPERATION_TIMED_OUT, ((FlowErrorResponse) entry).getErrorCode());
+        }
+    }
+
+    private static FlowSegmentRequest makeRequest() {
+        FlowSegmentRequest request = mock(FlowSegmentRequest.class);
+        when(request.getCommandId()).thenReturn(UUID.randomUUID());
+        when(request.getSwitchId()).thenReturn(SWITCH_ID);
+        when(request.getMessageContext()).thenReturn(new MessageContext());
+        when(request.getMetadata()).thenReturn(new FlowSegmentMetadata("flow", new Cookie(1), false));
+        return request;
+    }
+
+    private static SpeakerFlowSegmentResponse makeResponse(FlowSegmentRequest request) {
+        return SpeakerFlowSegmentResponse.builder()
+                .messageContext(request.getMessageContext())
+                .commandId(request.getCommandId())
+                .switchId(request.getSwitchId())
+                .metadata(request.getMetadata())
+                .success(true)
+                .build();
+    }
+}
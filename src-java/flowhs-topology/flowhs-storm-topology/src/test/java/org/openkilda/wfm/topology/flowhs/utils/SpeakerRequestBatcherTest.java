@@ -0,0 +1,111 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowhs.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.floodlight.api.request.FlowSegmentBatchRequest;
+import org.openkilda.floodlight.api.request.FlowSegmentRequest;
+import org.openkilda.floodlight.api.request.SpeakerRequest;
+import org.openkilda.messaging.MessageContext;
+import org.openkilda.model.SwitchId;
+
+import lombok.Value;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public class SpeakerRequestBatcherTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final String KEY_1 = "key-1";
+    private static final String KEY_2 = "key-2";
+
+    private final SpeakerRequestBatcher batcher = new SpeakerRequestBatcher();
+    private final List<Emitted> emitted = new ArrayList<>();
+
+    @Test
+    public void shouldGroupRequestsPerSwitch() {
+        FlowSegmentRequest first = makeRequest(SWITCH_ID_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_ID_2);
+        FlowSegmentRequest third = makeRequest(SWITCH_ID_1);
+        batcher.add(KEY_1, first);
+        batcher.add(KEY_1, second);
+        batcher.add(KEY_1, third);
+
+        batcher.flush(this::emit);
+
+        assertEquals(2, emitted.size());
+
+        assertEquals(KEY_1, emitted.get(0).getParentKey());
+        assertTrue(emitted.get(0).getRequest() instanceof FlowSegmentBatchRequest);
+        FlowSegmentBatchRequest batch = (FlowSegmentBatchRequest) emitted.get(0).getRequest();
+        assertEquals(SWITCH_ID_1, batch.getSwitchId());
+        assertEquals(Arrays.asList(first, third), batch.getRequests());
+
+        assertEquals(KEY_1, emitted.get(1).getParentKey());
+        assertSame(second, emitted.get(1).getRequest());
+    }
+
+    @Test
+    public void shouldNotMixRequestsOfDifferentParents() {
+        FlowSegmentRequest first = makeRequest(SWITCH_ID_1);
+        FlowSegmentRequest second = makeRequest(SWITCH_ID_1);
+        batcher.add(KEY_1, first);
+        batcher.add(KEY_2, second);
+
+        batcher.flush(this::emit);
+
+        assertEquals(2, emitted.size());
+        assertEquals(new Emitted(KEY_1, first), emitted.get(0));
+        assertEquals(new Emitted(KEY_2, second), emitted.get(1));
+    }
+
+    @Test
+    public void shouldClearBufferOnFlush() {
+        batcher.add(KEY_1, makeRequest(SWITCH_ID_1));
+        batcher.flush(this::emit);
+        emitted.clear();
+
+        batcher.flush(this::emit);
+
+        assertTrue(emitted.isEmpty());
+    }
+
+    private void emit(String parentKey, SpeakerRequest request) {
+        emitted.add(new Emitted(parentKey, request));
+    }
+
+    private static FlowSegmentRequest makeRequest(SwitchId switchId) {
+        FlowSegmentRequest request = mock(FlowSegmentRequest.class);
+        when(request.getCommandId()).thenReturn(UUID.randomUUID());
+        when(request.getSwitchId()).thenReturn(switchId);
+        when(request.getMessageContext()).thenReturn(new MessageContext());
+        return request;
+    }
+
+    @Value
+    private static class Emitted {
+        String parentKey;
+        SpeakerRequest request;
+    }
+}
@@ -29,9 +29,13 @@ import org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt;
 import org.openkilda.wfm.topology.flowmonitoring.bolts.IslCacheBolt;
 import org.openkilda.wfm.topology.flowmonitoring.bolts.TickBolt;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.topology.TopologyBuilder;
 
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
 public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopologyConfig> {
 
     public FlowMonitoringTopology(LaunchEnvironment env) {
@@ -90,7 +94,8 @@ public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopol
 
     private void flowCacheBolt(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
         FlowCacheBolt flowCacheBolt = new FlowCacheBolt(persistenceManager,
-                getConfig().getFlowRttStatsExpirationSeconds(), ZooKeeperSpout.SPOUT_ID);
+                getConfig().getFlowRttStatsExpirationSeconds(), getCacheSnapshotDirectory(),
+                TimeUnit.SECONDS.toMillis(getConfig().getCacheSnapshotIntervalSeconds()), ZooKeeperSpout.SPOUT_ID);
         declareBolt(topologyBuilder, flowCacheBolt, ComponentId.FLOW_CACHE_BOLT.name())
                 .allGrouping(ComponentId.FLOW_SPOUT.name())
                 .allGrouping(ComponentId.FLOW_LATENCY_SPOUT.name())
@@ -100,14 +105,28 @@ public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopol
 
     private void islCacheBolt(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
         IslCacheBolt islCacheBolt = new IslCacheBolt(persistenceManager, getConfig().getIslRttLatencyExpiration(),
-                ZooKeeperSpout.SPOUT_ID);
+                getCacheSnapshotDirectory(),
+                TimeUnit.SECONDS.toMillis(getConfig().getCacheSnapshotIntervalSeconds()), ZooKeeperSpout.SPOUT_ID);
         declareBolt(topologyBuilder, islCacheBolt, ComponentId.ISL_CACHE_BOLT.name())
                 .allGrouping(ComponentId.ISL_LATENCY_SPOUT.name())
                 .allGrouping(ComponentId.ISL_SPOUT.name())
                 .allGrouping(ComponentId.FLOW_CACHE_BOLT.name())
+                .allGrouping(ComponentId.TICK_BOLT.name())
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
     }
 
+    /**
+     * Snapshots are kept per topology, so the tasks of different topologies (i.e. blue and green ones) running on
+     * the same host never read each other snapshots.
+     */
+    private String getCacheSnapshotDirectory() {
+        String path = getConfig().getCacheSnapshotPath();
+        if (StringUtils.isBlank(path)) {
+            return path;
+        }
+        return Paths.get(path, getTopologyName()).toString();
+    }
+
     private void actionBolt(TopologyBuilder topologyBuilder) {
         declareBolt(topologyBuilder, new ActionBolt(), ComponentId.ACTION_BOLT.name())
                 .shuffleGrouping(ComponentId.FLOW_CACHE_BOLT.name(), ACTION_STREAM_ID.name())
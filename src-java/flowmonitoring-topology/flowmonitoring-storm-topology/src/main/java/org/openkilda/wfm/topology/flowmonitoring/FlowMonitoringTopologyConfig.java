@@ -48,4 +48,16 @@ public interface FlowMonitoringTopologyConfig extends AbstractTopologyConfig {
     @Key("isl.rtt.latency.expiration")
     @Default("10")
     int getIslRttLatencyExpiration();
+
+    /**
+     * Directory for local snapshots of flow and ISL caches, the snapshots are stored in the subdirectory named after
+     * the topology. Snapshots are disabled if the path is empty.
+     */
+    @Key("cache.snapshot.path")
+    @Default("")
+    String getCacheSnapshotPath();
+
+    @Key("cache.snapshot.interval.seconds")
+    @Default("60")
+    int getCacheSnapshotIntervalSeconds();
 }
@@ -18,12 +18,13 @@ package org.openkilda.wfm.topology.flowmonitoring.bolts;
 import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.ACTION_STREAM_ID;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
+import org.openkilda.bluegreen.LifecycleEvent;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.flow.UpdateFlowInfo;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.context.PersistenceContextRequired;
 import org.openkilda.server42.messaging.FlowDirection;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
@@ -33,13 +34,20 @@ import org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Componen
 import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 import org.openkilda.wfm.topology.flowmonitoring.service.FlowCacheBoltCarrier;
 import org.openkilda.wfm.topology.flowmonitoring.service.FlowCacheService;
+import org.openkilda.wfm.topology.flowmonitoring.snapshot.CacheSnapshotStorage;
+import org.openkilda.wfm.topology.flowmonitoring.snapshot.FlowCacheSnapshot;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 
 public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier {
     public static final String FLOW_ID_FIELD = "flow-id";
@@ -51,19 +59,58 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
 
     private PersistenceManager persistenceManager;
     private long flowRttStatsExpirationTime;
+    private String snapshotPath;
+    private long snapshotIntervalMillis;
 
     private transient FlowCacheService flowCacheService;
+    private transient CacheSnapshotStorage<FlowCacheSnapshot> snapshotStorage;
+    private transient FlowCacheSnapshot restoredSnapshot;
+    private transient int taskIndex;
+    private transient long lastSnapshotTime;
+    /**
+     * The time up to which the cache reflects all changes, it is stored in the snapshot and used to reconcile
+     * the cache with the DB.
+     */
+    private transient long caughtUpTime;
 
     public FlowCacheBolt(PersistenceManager persistenceManager, long flowRttStatsExpirationTime,
-                         String lifeCycleEventSourceComponent) {
+                         String snapshotPath, long snapshotIntervalMillis, String lifeCycleEventSourceComponent) {
         super(lifeCycleEventSourceComponent);
         this.persistenceManager = persistenceManager;
         this.flowRttStatsExpirationTime = flowRttStatsExpirationTime;
+        this.snapshotPath = snapshotPath;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        taskIndex = context.getThisTaskIndex();
+        super.prepare(stormConf, context, collector);
     }
 
-    @PersistenceContextRequired(requiresNew = true)
     protected void init() {
-        flowCacheService = new FlowCacheService(persistenceManager, flowRttStatsExpirationTime, this);
+        if (StringUtils.isNotBlank(snapshotPath)) {
+            snapshotStorage = new CacheSnapshotStorage<>(
+                    Paths.get(snapshotPath, String.format("flow-cache-%d.json.gz", taskIndex)),
+                    FlowCacheSnapshot.class);
+            restoredSnapshot = snapshotStorage.load().orElse(null);
+        }
+    }
+
+    @Override
+    protected void activate() {
+        long started = System.currentTimeMillis();
+        if (flowCacheService == null) {
+            // the bolt is inactive until the first START, so the cache is loaded here to read the DB once per start
+            flowCacheService = new FlowCacheService(
+                    persistenceManager, flowRttStatsExpirationTime, this, restoredSnapshot);
+            restoredSnapshot = null;
+        } else {
+            // flow updates are not handled while the bolt is inactive, so the cache catches up with the DB
+            flowCacheService.reconcile(caughtUpTime);
+        }
+        caughtUpTime = started;
+        lastSnapshotTime = System.currentTimeMillis();
     }
 
     @Override
@@ -71,6 +118,9 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
         if (active) {
             if (ComponentId.TICK_BOLT.name().equals(input.getSourceComponent())) {
                 flowCacheService.processFlowLatencyCheck();
+                // delivery lag of flow updates is covered by the reconcile margin
+                caughtUpTime = System.currentTimeMillis();
+                saveSnapshotIfRequired();
                 return;
             }
 
@@ -78,6 +128,8 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
             if (payload instanceof FlowRttStatsData) {
                 FlowRttStatsData flowRttStatsData = (FlowRttStatsData) payload;
                 flowCacheService.processFlowRttStatsData(flowRttStatsData);
+            } else if (payload instanceof FlowRttStatsBatchData) {
+                flowCacheService.processFlowRttStatsBatch((FlowRttStatsBatchData) payload);
             } else if (payload instanceof UpdateFlowInfo) {
                 UpdateFlowInfo updateFlowInfo = (UpdateFlowInfo) payload;
                 flowCacheService.updateFlowInfo(updateFlowInfo);
@@ -87,6 +139,41 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
         }
     }
 
+    @Override
+    protected boolean deactivate(LifecycleEvent event) {
+        caughtUpTime = System.currentTimeMillis();
+        saveSnapshot();
+        return true;
+    }
+
+    @Override
+    public void cleanup() {
+        // the cache of the inactive bolt is outdated and the snapshot has already been saved on deactivation
+        if (active) {
+            caughtUpTime = System.currentTimeMillis();
+            saveSnapshot();
+        }
+        if (snapshotStorage != null) {
+            snapshotStorage.close();
+        }
+        super.cleanup();
+    }
+
+    private void saveSnapshotIfRequired() {
+        if (active && snapshotStorage != null
+                && System.currentTimeMillis() - lastSnapshotTime >= snapshotIntervalMillis) {
+            snapshotStorage.saveInBackground(flowCacheService.makeSnapshot(caughtUpTime));
+            lastSnapshotTime = System.currentTimeMillis();
+        }
+    }
+
+    private void saveSnapshot() {
+        if (active && snapshotStorage != null && flowCacheService != null) {
+            snapshotStorage.save(flowCacheService.makeSnapshot(caughtUpTime));
+            lastSnapshotTime = System.currentTimeMillis();
+        }
+    }
+
     @Override
     public void emitCalculateFlowLatencyRequest(String flowId, FlowDirection direction,
                                                 List<Link> flowPath, Long maxLatency, Long maxLatencyTier2) {
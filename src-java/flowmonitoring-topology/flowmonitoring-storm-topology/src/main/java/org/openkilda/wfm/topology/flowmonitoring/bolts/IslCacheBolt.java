@@ -24,6 +24,7 @@ import static org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt.MAX_
 import static org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt.MAX_LATENCY_TIER_2_FIELD;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
+import org.openkilda.bluegreen.LifecycleEvent;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
@@ -31,7 +32,6 @@ import org.openkilda.messaging.info.event.IslChangedInfoData;
 import org.openkilda.messaging.info.event.IslOneWayLatency;
 import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.context.PersistenceContextRequired;
 import org.openkilda.server42.messaging.FlowDirection;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
@@ -40,31 +40,75 @@ import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.ComponentId;
 import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 import org.openkilda.wfm.topology.flowmonitoring.service.IslCacheService;
+import org.openkilda.wfm.topology.flowmonitoring.snapshot.CacheSnapshotStorage;
+import org.openkilda.wfm.topology.flowmonitoring.snapshot.IslCacheSnapshot;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 
 public class IslCacheBolt extends AbstractBolt {
 
     private PersistenceManager persistenceManager;
     private long islRttLatencyExpiration;
+    private String snapshotPath;
+    private long snapshotIntervalMillis;
 
     private transient IslCacheService islCacheService;
+    private transient CacheSnapshotStorage<IslCacheSnapshot> snapshotStorage;
+    private transient IslCacheSnapshot restoredSnapshot;
+    private transient int taskIndex;
+    private transient long lastSnapshotTime;
+    /**
+     * The time up to which the cache reflects all changes, it is stored in the snapshot and used to reconcile
+     * the cache with the DB.
+     */
+    private transient long caughtUpTime;
 
     public IslCacheBolt(PersistenceManager persistenceManager, long islRttLatencyExpiration,
-                        String lifeCycleEventSourceComponent) {
+                        String snapshotPath, long snapshotIntervalMillis, String lifeCycleEventSourceComponent) {
         super(lifeCycleEventSourceComponent);
         this.persistenceManager = persistenceManager;
         this.islRttLatencyExpiration = islRttLatencyExpiration;
+        this.snapshotPath = snapshotPath;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        taskIndex = context.getThisTaskIndex();
+        super.prepare(stormConf, context, collector);
     }
 
-    @PersistenceContextRequired(requiresNew = true)
     protected void init() {
-        islCacheService = new IslCacheService(persistenceManager, islRttLatencyExpiration);
+        if (StringUtils.isNotBlank(snapshotPath)) {
+            snapshotStorage = new CacheSnapshotStorage<>(
+                    Paths.get(snapshotPath, String.format("isl-cache-%d.json.gz", taskIndex)), IslCacheSnapshot.class);
+            restoredSnapshot = snapshotStorage.load().orElse(null);
+        }
+    }
+
+    @Override
+    protected void activate() {
+        long started = System.currentTimeMillis();
+        if (islCacheService == null) {
+            // the bolt is inactive until the first START, so the cache is loaded here to read the DB once per start
+            islCacheService = new IslCacheService(persistenceManager, islRttLatencyExpiration, restoredSnapshot);
+            restoredSnapshot = null;
+        } else {
+            // ISL changes are not handled while the bolt is inactive, so the cache catches up with the DB
+            islCacheService.reloadLinks();
+        }
+        caughtUpTime = started;
+        lastSnapshotTime = System.currentTimeMillis();
     }
 
     @Override
@@ -72,6 +116,11 @@ public class IslCacheBolt extends AbstractBolt {
         if (!active) {
             return;
         }
+        if (ComponentId.TICK_BOLT.name().equals(input.getSourceComponent())) {
+            caughtUpTime = System.currentTimeMillis();
+            saveSnapshotIfRequired();
+            return;
+        }
         if (ComponentId.ISL_SPOUT.name().equals(input.getSourceComponent())) {
             Message message = pullValue(input, FIELD_ID_PAYLOAD, Message.class);
 
@@ -123,6 +172,41 @@ public class IslCacheBolt extends AbstractBolt {
         }
     }
 
+    @Override
+    protected boolean deactivate(LifecycleEvent event) {
+        caughtUpTime = System.currentTimeMillis();
+        saveSnapshot();
+        return true;
+    }
+
+    @Override
+    public void cleanup() {
+        // the cache of the inactive bolt is outdated and the snapshot has already been saved on deactivation
+        if (active) {
+            caughtUpTime = System.currentTimeMillis();
+            saveSnapshot();
+        }
+        if (snapshotStorage != null) {
+            snapshotStorage.close();
+        }
+        super.cleanup();
+    }
+
+    private void saveSnapshotIfRequired() {
+        if (active && snapshotStorage != null
+                && System.currentTimeMillis() - lastSnapshotTime >= snapshotIntervalMillis) {
+            snapshotStorage.saveInBackground(islCacheService.makeSnapshot(caughtUpTime));
+            lastSnapshotTime = System.currentTimeMillis();
+        }
+    }
+
+    private void saveSnapshot() {
+        if (active && snapshotStorage != null && islCacheService != null) {
+            snapshotStorage.save(islCacheService.makeSnapshot(caughtUpTime));
+            lastSnapshotTime = System.currentTimeMillis();
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declareStream(ACTION_STREAM_ID.name(), new Fields(FLOW_ID_FIELD, FLOW_DIRECTION_FIELD,
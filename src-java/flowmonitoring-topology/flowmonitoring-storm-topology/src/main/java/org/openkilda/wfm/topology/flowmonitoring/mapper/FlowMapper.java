@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.flowmonitoring.mapper;
 
 import org.openkilda.messaging.info.flow.UpdateFlowInfo;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsSummary;
 import org.openkilda.messaging.payload.flow.PathNodePayload;
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathSegment;
@@ -84,4 +85,7 @@ public interface FlowMapper {
             + ".noviflowTimestamp(data.getT1()) - org.openkilda.wfm.share.utils.TimestampHelper"
             + ".noviflowTimestamp(data.getT0()))")
     FlowPathLatency toFlowPathLatency(FlowRttStatsData data);
+
+    @Mapping(target = "latency", source = "avg")
+    FlowPathLatency toFlowPathLatency(FlowRttStatsSummary summary);
 }
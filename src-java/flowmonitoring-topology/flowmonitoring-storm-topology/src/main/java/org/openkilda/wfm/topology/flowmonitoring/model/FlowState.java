@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.flowmonitoring.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.util.List;
@@ -23,8 +24,11 @@ import java.util.List;
 public class FlowState {
 
     private List<Link> forwardPath;
+    // RTT samples expire in seconds, so they are not included into cache snapshots
+    @JsonIgnore
     private FlowPathLatency forwardPathLatency = new FlowPathLatency();
     private List<Link> reversePath;
+    @JsonIgnore
     private FlowPathLatency reversePathLatency = new FlowPathLatency();
 
     private Long maxLatency;
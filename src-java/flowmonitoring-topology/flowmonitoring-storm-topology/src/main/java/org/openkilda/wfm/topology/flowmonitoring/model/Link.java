@@ -17,11 +17,15 @@ package org.openkilda.wfm.topology.flowmonitoring.model;
 
 import org.openkilda.model.SwitchId;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class Link {
 
     private SwitchId srcSwitchId;
@@ -15,11 +15,15 @@
 
 package org.openkilda.wfm.topology.flowmonitoring.model;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class LinkState {
 
     private long rttLatency;
@@ -18,52 +18,133 @@ package org.openkilda.wfm.topology.flowmonitoring.service;
 import static org.openkilda.server42.messaging.FlowDirection.FORWARD;
 
 import org.openkilda.messaging.info.flow.UpdateFlowInfo;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsSummary;
 import org.openkilda.model.Flow;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.server42.messaging.FlowDirection;
 import org.openkilda.wfm.topology.flowmonitoring.mapper.FlowMapper;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowPathLatency;
 import org.openkilda.wfm.topology.flowmonitoring.model.FlowState;
+import org.openkilda.wfm.topology.flowmonitoring.snapshot.FlowCacheSnapshot;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class FlowCacheService {
+    /**
+     * Flows modified within this interval before the cache caught-up time are reloaded too. Modification time is set
+     * by other hosts, so their clocks can be a bit out of sync with the local one, and flow updates reach the cache
+     * with some delay.
+     */
+    private static final long SNAPSHOT_RECONCILE_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
 
     private long flowRttStatsExpirationTime;
     private FlowCacheBoltCarrier carrier;
+    private FlowRepository flowRepository;
 
     private Map<String, FlowState> flowStates;
 
     public FlowCacheService(PersistenceManager persistenceManager, long flowRttStatsExpirationTime,
                             FlowCacheBoltCarrier carrier) {
+        this(persistenceManager, flowRttStatsExpirationTime, carrier, null);
+    }
+
+    public FlowCacheService(PersistenceManager persistenceManager, long flowRttStatsExpirationTime,
+                            FlowCacheBoltCarrier carrier, FlowCacheSnapshot snapshot) {
         this.flowRttStatsExpirationTime = flowRttStatsExpirationTime;
         this.carrier = carrier;
 
-        FlowRepository flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
+        flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
+
+        if (snapshot == null || snapshot.getFlows() == null) {
+            flowStates = flowRepository.findAll().stream()
+                    .filter(flow -> !flow.isOneSwitchFlow())
+                    .collect(Collectors.toMap(Flow::getFlowId, FlowMapper.INSTANCE::toFlowState));
+        } else {
+            flowStates = new HashMap<>(snapshot.getFlows());
+            reconcile(snapshot.getTimestamp());
+        }
+    }
 
-        flowStates = flowRepository.findAll().stream()
-                .filter(flow -> !flow.isOneSwitchFlow())
-                .collect(Collectors.toMap(Flow::getFlowId, FlowMapper.INSTANCE::toFlowState));
+    /**
+     * Reconcile the cache with the DB. The cache is expected to reflect all flow changes made before the caught-up
+     * time, so only the flows modified after it are reloaded, new flows are added and removed flows are dropped. Any
+     * flow change (reroute, path swap, max latency update) is a change of the flow entity properties, so the
+     * modification time of the flow itself is enough to detect outdated states. Flow paths are not read for unchanged
+     * flows, but the flow entities are still read with a full scan.
+     */
+    public void reconcile(long caughtUpTime) {
+        Instant reloadSince = Instant.ofEpochMilli(caughtUpTime - SNAPSHOT_RECONCILE_MARGIN_MILLIS);
+        Map<String, FlowState> result = new HashMap<>();
+        int reloaded = 0;
+        for (Flow flow : flowRepository.findAll()) {
+            FlowState state = flowStates.get(flow.getFlowId());
+            Instant timeModify = flow.getTimeModify();
+            if (state == null || timeModify == null || !timeModify.isBefore(reloadSince)) {
+                if (flow.isOneSwitchFlow()) {
+                    continue;
+                }
+                state = FlowMapper.INSTANCE.toFlowState(flow);
+                reloaded++;
+            }
+            result.put(flow.getFlowId(), state);
+        }
+        int dropped = (int) flowStates.keySet().stream().filter(flowId -> !result.containsKey(flowId)).count();
+        flowStates = result;
+        log.info("Flow cache has been reconciled with DB: {} flows kept, {} flows reloaded, {} flows dropped",
+                result.size() - reloaded, reloaded, dropped);
+    }
+
+    /**
+     * Make the snapshot of the cache.
+     *
+     * Flow states are replaced on flow updates and only their latencies, which are not included into snapshots, are
+     * modified in place, so the snapshot can be written by another thread.
+     *
+     * @param caughtUpTime the time up to which the cache reflects all flow changes.
+     */
+    public FlowCacheSnapshot makeSnapshot(long caughtUpTime) {
+        return new FlowCacheSnapshot(caughtUpTime, new HashMap<>(flowStates));
     }
 
     /**
      * Update flow RTT latency.
      */
     public void processFlowRttStatsData(FlowRttStatsData flowRttStatsData) {
-        FlowState flowState = flowStates.get(flowRttStatsData.getFlowId());
+        updateFlowPathLatency(flowRttStatsData.getFlowId(), flowRttStatsData.getDirection(),
+                FlowMapper.INSTANCE.toFlowPathLatency(flowRttStatsData));
+    }
+
+    /**
+     * Update flow RTT latency using aggregated stats.
+     */
+    public void processFlowRttStatsBatch(FlowRttStatsBatchData batch) {
+        for (FlowRttStatsSummary summary : batch.getSummaries()) {
+            updateFlowPathLatency(summary.getFlowId(), summary.getDirection(),
+                    FlowMapper.INSTANCE.toFlowPathLatency(summary));
+        }
+    }
+
+    private void updateFlowPathLatency(String flowId, String direction, FlowPathLatency latency) {
+        FlowState flowState = flowStates.get(flowId);
         if (flowState == null) {
-            log.warn("Skipping flow RTT stats for an unknown flow '{}'.", flowRttStatsData.getFlowId());
+            log.warn("Skipping flow RTT stats for an unknown flow '{}'.", flowId);
             return;
         }
-        if (FORWARD.name().equals(flowRttStatsData.getDirection())) {
-            flowState.setForwardPathLatency(FlowMapper.INSTANCE.toFlowPathLatency(flowRttStatsData));
+        // server42 reports the direction in lower case
+        if (FORWARD.name().equalsIgnoreCase(direction)) {
+            flowState.setForwardPathLatency(latency);
         } else {
-            flowState.setReversePathLatency(FlowMapper.INSTANCE.toFlowPathLatency(flowRttStatsData));
+            flowState.setReversePathLatency(latency);
         }
     }
 
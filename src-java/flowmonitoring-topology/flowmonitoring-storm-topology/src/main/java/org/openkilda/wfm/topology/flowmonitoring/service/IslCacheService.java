@@ -21,30 +21,76 @@ import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.flowmonitoring.mapper.LinkMapper;
 import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 import org.openkilda.wfm.topology.flowmonitoring.model.LinkState;
+import org.openkilda.wfm.topology.flowmonitoring.snapshot.IslCacheSnapshot;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class IslCacheService {
 
     private long islRttLatencyExpiration;
-    private Map<Link, LinkState> linkStates;
+    private IslRepository islRepository;
+    private Map<Link, LinkState> linkStates = new HashMap<>();
+
+    /**
+     * Links indexed by their endpoints, the RTT samples are reported per source endpoint and ISL changes are
+     * reported per any of link endpoints, so both lookups are done without scanning all links.
+     */
+    private Map<Endpoint, Map<Link, LinkState>> linksBySource = new HashMap<>();
+    private Map<Endpoint, List<Link>> linksByDestination = new HashMap<>();
 
     public IslCacheService(PersistenceManager persistenceManager, long islRttLatencyExpiration) {
+        this(persistenceManager, islRttLatencyExpiration, null);
+    }
+
+    public IslCacheService(PersistenceManager persistenceManager, long islRttLatencyExpiration,
+                           IslCacheSnapshot snapshot) {
         this.islRttLatencyExpiration = islRttLatencyExpiration;
 
-        IslRepository islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
+        Map<Link, LinkState> restored = new HashMap<>();
+        if (snapshot != null && snapshot.getLinks() != null) {
+            for (IslCacheSnapshot.Entry entry : snapshot.getLinks()) {
+                restored.put(entry.getLink(), entry.getState());
+            }
+        }
+
+        islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
+        loadLinks(restored);
+        if (snapshot != null) {
+            log.info("ISL cache has been restored: {} links, {} link states taken from the snapshot",
+                    linkStates.size(), linkStates.keySet().stream().filter(restored::containsKey).count());
+        }
+    }
+
+    /**
+     * Reload the list of links from the DB keeping the latencies of the links already known by the cache.
+     */
+    public void reloadLinks() {
+        loadLinks(new HashMap<>(linkStates));
+        log.info("ISL cache has been reloaded: {} links", linkStates.size());
+    }
 
-        linkStates = islRepository.findAll().stream()
-                .collect(Collectors.toMap(LinkMapper.INSTANCE::toLink, (link) -> LinkState.builder().build()));
+    /**
+     * Make the snapshot of the cache.
+     *
+     * Link states are copied, so the snapshot can be written by another thread.
+     *
+     * @param caughtUpTime the time up to which the cache reflects all ISL changes.
+     */
+    public IslCacheSnapshot makeSnapshot(long caughtUpTime) {
+        List<IslCacheSnapshot.Entry> links = new ArrayList<>(linkStates.size());
+        linkStates.forEach((link, state) -> links.add(new IslCacheSnapshot.Entry(link,
+                new LinkState(state.getRttLatency(), state.getRttTimestamp(), state.getOneWayLatency()))));
+        return new IslCacheSnapshot(caughtUpTime, links);
     }
 
     /**
@@ -59,7 +105,7 @@ public class IslCacheService {
                 .build();
         LinkState linkState = linkStates.get(link);
         if (linkState == null) {
-            linkStates.put(link, LinkState.builder()
+            addLink(link, LinkState.builder()
                     .oneWayLatency(data.getLatency())
                     .build());
         } else {
@@ -71,22 +117,15 @@ public class IslCacheService {
      * Update RTT latency for ISL.
      */
     public void handleRoundTripLatency(IslRoundTripLatency data) {
-        List<Link> links = linkStates.keySet().stream()
-                .filter(link -> link.srcEquals(data.getSrcSwitchId(), data.getSrcPortNo()))
-                .collect(Collectors.toList());
+        Map<Link, LinkState> links = linksBySource.get(Endpoint.of(data.getSrcSwitchId(), data.getSrcPortNo()));
+        if (links == null) {
+            return;
+        }
         long currentTimeMillis = System.currentTimeMillis();
-        links.forEach(link -> {
-            LinkState linkState = linkStates.get(link);
-            if (linkState == null) {
-                linkStates.put(link, LinkState.builder()
-                        .rttLatency(data.getLatency())
-                        .rttTimestamp(currentTimeMillis)
-                        .build());
-            } else {
-                linkState.setRttLatency(data.getLatency());
-                linkState.setRttTimestamp(currentTimeMillis);
-            }
-        });
+        for (LinkState linkState : links.values()) {
+            linkState.setRttLatency(data.getLatency());
+            linkState.setRttTimestamp(currentTimeMillis);
+        }
     }
 
     /**
@@ -94,11 +133,14 @@ public class IslCacheService {
      */
     public long calculateLatencyForPath(List<Link> path) {
         long currentTimeMillis = System.currentTimeMillis();
-        return path.stream()
-                .map(link -> linkStates.get(link))
-                .filter(Objects::nonNull)
-                .mapToLong(linkState -> linkState.getLatency(currentTimeMillis, islRttLatencyExpiration))
-                .sum();
+        long latency = 0;
+        for (Link link : path) {
+            LinkState linkState = linkStates.get(link);
+            if (linkState != null) {
+                latency += linkState.getLatency(currentTimeMillis, islRttLatencyExpiration);
+            }
+        }
+        return latency;
     }
 
     /**
@@ -109,7 +151,7 @@ public class IslCacheService {
         if (data.getDestination() != null) {
             // Handle moved ISL
             cleanUpLinkStatesByEndpoint(data.getDestination().getDatapath(), data.getDestination().getPortNumber());
-            linkStates.put(Link.builder()
+            addLink(Link.builder()
                             .srcSwitchId(data.getSource().getDatapath())
                             .srcPort(data.getSource().getPortNumber())
                             .destSwitchId(data.getDestination().getDatapath())
@@ -119,11 +161,66 @@ public class IslCacheService {
         }
     }
 
+    private void loadLinks(Map<Link, LinkState> known) {
+        linkStates.clear();
+        linksBySource.clear();
+        linksByDestination.clear();
+
+        // ISLs are read without their endpoints and paths, so the list of links is always taken from the DB and
+        // only the latencies are taken from the known states
+        islRepository.findAll().forEach(isl -> {
+            Link link = LinkMapper.INSTANCE.toLink(isl);
+            addLink(link, known.getOrDefault(link, LinkState.builder().build()));
+        });
+    }
+
+    private void addLink(Link link, LinkState linkState) {
+        if (linkStates.put(link, linkState) != null) {
+            removeFromIndexes(link);
+        }
+        linksBySource.computeIfAbsent(Endpoint.of(link.getSrcSwitchId(), link.getSrcPort()), ignore -> new HashMap<>())
+                .put(link, linkState);
+        linksByDestination.computeIfAbsent(
+                Endpoint.of(link.getDestSwitchId(), link.getDestPort()), ignore -> new ArrayList<>(1))
+                .add(link);
+    }
+
     private void cleanUpLinkStatesByEndpoint(SwitchId switchId, int port) {
-        linkStates.keySet().stream()
-                .filter(link -> link.srcEquals(switchId, port)
-                        || link.destEquals(switchId, port))
-                .collect(Collectors.toList())
-                .forEach(link -> linkStates.remove(link));
+        Endpoint endpoint = Endpoint.of(switchId, port);
+        List<Link> links = new ArrayList<>();
+        Map<Link, LinkState> outgoing = linksBySource.get(endpoint);
+        if (outgoing != null) {
+            links.addAll(outgoing.keySet());
+        }
+        List<Link> incoming = linksByDestination.get(endpoint);
+        if (incoming != null) {
+            links.addAll(incoming);
+        }
+
+        for (Link link : links) {
+            if (linkStates.remove(link) != null) {
+                removeFromIndexes(link);
+            }
+        }
+    }
+
+    private void removeFromIndexes(Link link) {
+        Endpoint source = Endpoint.of(link.getSrcSwitchId(), link.getSrcPort());
+        Map<Link, LinkState> outgoing = linksBySource.get(source);
+        if (outgoing != null) {
+            outgoing.remove(link);
+            if (outgoing.isEmpty()) {
+                linksBySource.remove(source);
+            }
+        }
+
+        Endpoint destination = Endpoint.of(link.getDestSwitchId(), link.getDestPort());
+        List<Link> incoming = linksByDestination.get(destination);
+        if (incoming != null) {
+            incoming.remove(link);
+            if (incoming.isEmpty()) {
+                linksByDestination.remove(destination);
+            }
+        }
     }
 }
@@ -0,0 +1,163 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowmonitoring.snapshot;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local storage of a cache snapshot - gzipped JSON file. The snapshot is written into a temporary file in the same
+ * directory and moved over the previous one, so a reader never sees a partially written snapshot. Any IO error is
+ * logged and treated as a missing snapshot - the cache is loaded from the DB in this case. Periodic snapshots are
+ * written by a background thread, so serialization does not stall the bolt executor.
+ */
+@Slf4j
+public class CacheSnapshotStorage<T> {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final Path location;
+    private final Class<T> snapshotType;
+    private final ExecutorService writer;
+    private Future<?> pendingWrite;
+
+    public CacheSnapshotStorage(Path location, Class<T> snapshotType) {
+        this.location = location;
+        this.snapshotType = snapshotType;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Read the snapshot.
+     */
+    public Optional<T> load() {
+        if (!Files.isRegularFile(location)) {
+            log.info("There is no cache snapshot {}", location);
+            return Optional.empty();
+        }
+        try (InputStream stream = new GZIPInputStream(Files.newInputStream(location))) {
+            T snapshot = MAPPER.readValue(stream, snapshotType);
+            log.info("Cache snapshot {} has been loaded", location);
+            return Optional.ofNullable(snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to read cache snapshot {}: {}", location, e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write the snapshot in background. The snapshot must not be modified after this call. The snapshot is skipped if
+     * the previous one is still being written.
+     */
+    public boolean saveInBackground(T snapshot) {
+        if (pendingWrite != null && !pendingWrite.isDone()) {
+            log.warn("Previous cache snapshot {} is still being written, skipping the new one", location);
+            return false;
+        }
+        pendingWrite = writer.submit(() -> write(snapshot));
+        return true;
+    }
+
+    /**
+     * Write the snapshot, waits for the snapshot being written in background first.
+     */
+    public boolean save(T snapshot) {
+        awaitPendingWrite();
+        return write(snapshot);
+    }
+
+    /**
+     * Wait for the snapshot being written in background and stop the writer.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Cache snapshot {} has not been written within {} seconds", location, CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitPendingWrite() {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            pendingWrite.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Unable to write cache snapshot {}: {}", location, e.getMessage(), e);
+        } finally {
+            pendingWrite = null;
+        }
+    }
+
+    private boolean write(T snapshot) {
+        long started = System.currentTimeMillis();
+        Path temporary = null;
+        try {
+            Path directory = location.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, location.getFileName().toString(), ".tmp");
+            try (OutputStream stream = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+                MAPPER.writeValue(stream, snapshot);
+            }
+            Files.move(temporary, location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Cache snapshot {} has been written in {} ms", location, System.currentTimeMillis() - started);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to write cache snapshot {}: {}", location, e.getMessage(), e);
+            deleteQuietly(temporary);
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to remove temporary cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+}
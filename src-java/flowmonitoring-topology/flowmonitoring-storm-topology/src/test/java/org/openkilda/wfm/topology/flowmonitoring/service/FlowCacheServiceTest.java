@@ -0,0 +1,202 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowmonitoring.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
+import org.openkilda.messaging.info.stats.FlowRttStatsSummary;
+import org.openkilda.model.Flow;
+import org.openkilda.model.Switch;
+import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.server42.messaging.FlowDirection;
+import org.openkilda.wfm.share.flow.TestFlowBuilder;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowState;
+import org.openkilda.wfm.topology.flowmonitoring.snapshot.FlowCacheSnapshot;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class FlowCacheServiceTest extends InMemoryGraphBasedTest {
+    private static final String FLOW_ID = "flow-1";
+    private static final long MAX_LATENCY = 500;
+    private static final long SNAPSHOT_MAX_LATENCY = 999;
+    private static final long FLOW_RTT_STATS_EXPIRATION_TIME = TimeUnit.SECONDS.toMillis(10);
+
+    private static FlowRepository flowRepository;
+
+    private Switch srcSwitch;
+    private Switch destSwitch;
+    private FlowCacheBoltCarrier carrier;
+    private FlowCacheService service;
+
+    @BeforeClass
+    public static void setUpOnce() {
+        flowRepository = repositoryFactory.createFlowRepository();
+    }
+
+    @Before
+    public void setUp() {
+        srcSwitch = createTestSwitch(1);
+        destSwitch = createTestSwitch(2);
+        createFlow(FLOW_ID, srcSwitch, destSwitch);
+
+        carrier = mock(FlowCacheBoltCarrier.class);
+        service = new FlowCacheService(persistenceManager, FLOW_RTT_STATS_EXPIRATION_TIME, carrier);
+    }
+
+    @Test
+    public void shouldUseAverageLatencyFromBatchSummaries() {
+        long timestamp = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        service.processFlowRttStatsBatch(new FlowRttStatsBatchData(Arrays.asList(
+                makeSummary(FLOW_ID, "forward", timestamp, 100),
+                makeSummary(FLOW_ID, "reverse", timestamp, 200))));
+
+        service.processFlowLatencyCheck();
+
+        verify(carrier).emitCheckFlowLatencyRequest(FLOW_ID, FlowDirection.FORWARD, 100, MAX_LATENCY, null);
+        verify(carrier).emitCheckFlowLatencyRequest(FLOW_ID, FlowDirection.REVERSE, 200, MAX_LATENCY, null);
+        verifyNoMoreInteractions(carrier);
+    }
+
+    @Test
+    public void shouldCalculateLatencyForDirectionWithoutSummary() {
+        long timestamp = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        service.processFlowRttStatsBatch(new FlowRttStatsBatchData(Collections.singletonList(
+                makeSummary(FLOW_ID, "forward", timestamp, 100))));
+
+        service.processFlowLatencyCheck();
+
+        verify(carrier).emitCheckFlowLatencyRequest(FLOW_ID, FlowDirection.FORWARD, 100, MAX_LATENCY, null);
+        verify(carrier).emitCalculateFlowLatencyRequest(
+                eq(FLOW_ID), eq(FlowDirection.REVERSE), any(), eq(MAX_LATENCY), eq(null));
+        verifyNoMoreInteractions(carrier);
+    }
+
+    @Test
+    public void shouldSkipSummariesOfUnknownFlows() {
+        long timestamp = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        service.processFlowRttStatsBatch(new FlowRttStatsBatchData(Collections.singletonList(
+                makeSummary("unknown-flow", "forward", timestamp, 100))));
+
+        service.processFlowLatencyCheck();
+
+        verify(carrier, never()).emitCheckFlowLatencyRequest(
+                eq("unknown-flow"), any(), anyLong(), any(), any());
+        verify(carrier, never()).emitCheckFlowLatencyRequest(
+                eq(FLOW_ID), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    public void shouldRestoreSnapshotAndReconcileItWithDb() {
+        createFlow("flow-kept", srcSwitch, destSwitch);
+        Switch oneSwitch = createTestSwitch(3);
+        createFlow("flow-one-switch", oneSwitch, oneSwitch);
+
+        Map<String, FlowState> flows = new HashMap<>();
+        flows.put("flow-kept", makeFlowState(SNAPSHOT_MAX_LATENCY));
+        flows.put("flow-deleted", makeFlowState(SNAPSHOT_MAX_LATENCY));
+        // all flows of the test are modified before the caught-up time of the snapshot
+        long caughtUpTime = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        service = new FlowCacheService(persistenceManager, FLOW_RTT_STATS_EXPIRATION_TIME, carrier,
+                new FlowCacheSnapshot(caughtUpTime, flows));
+
+        service.processFlowLatencyCheck();
+
+        verify(carrier).emitCalculateFlowLatencyRequest(
+                eq("flow-kept"), eq(FlowDirection.FORWARD), any(), eq(SNAPSHOT_MAX_LATENCY), eq(null));
+        verify(carrier).emitCalculateFlowLatencyRequest(
+                eq(FLOW_ID), eq(FlowDirection.FORWARD), any(), eq(MAX_LATENCY), eq(null));
+        verify(carrier, never()).emitCalculateFlowLatencyRequest(eq("flow-deleted"), any(), any(), any(), any());
+        verify(carrier, never()).emitCalculateFlowLatencyRequest(eq("flow-one-switch"), any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldReloadFlowsModifiedAfterSnapshot() {
+        Map<String, FlowState> flows = new HashMap<>();
+        flows.put(FLOW_ID, makeFlowState(SNAPSHOT_MAX_LATENCY));
+        long caughtUpTime = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        service = new FlowCacheService(persistenceManager, FLOW_RTT_STATS_EXPIRATION_TIME, carrier,
+                new FlowCacheSnapshot(caughtUpTime, flows));
+
+        service.processFlowLatencyCheck();
+
+        verify(carrier).emitCalculateFlowLatencyRequest(
+                eq(FLOW_ID), eq(FlowDirection.FORWARD), any(), eq(MAX_LATENCY), eq(null));
+        verify(carrier, never()).emitCalculateFlowLatencyRequest(
+                eq(FLOW_ID), any(), any(), eq(SNAPSHOT_MAX_LATENCY), any());
+    }
+
+    @Test
+    public void shouldAddAndDropFlowsOnReconcile() {
+        transactionManager.doInTransaction(() ->
+                flowRepository.remove(flowRepository.findById(FLOW_ID).get()));
+        createFlow("flow-2", srcSwitch, destSwitch);
+
+        service.reconcile(System.currentTimeMillis());
+        service.processFlowLatencyCheck();
+
+        verify(carrier).emitCalculateFlowLatencyRequest(
+                eq("flow-2"), eq(FlowDirection.FORWARD), any(), eq(MAX_LATENCY), eq(null));
+        verify(carrier, never()).emitCalculateFlowLatencyRequest(eq(FLOW_ID), any(), any(), any(), any());
+    }
+
+    private void createFlow(String flowId, Switch srcSwitch, Switch destSwitch) {
+        Flow flow = new TestFlowBuilder(flowId)
+                .srcSwitch(srcSwitch)
+                .srcPort(1)
+                .destSwitch(destSwitch)
+                .destPort(2)
+                .maxLatency(MAX_LATENCY)
+                .build();
+        flowRepository.add(flow);
+    }
+
+    private static FlowState makeFlowState(long maxLatency) {
+        FlowState flowState = new FlowState();
+        flowState.setForwardPath(Collections.emptyList());
+        flowState.setReversePath(Collections.emptyList());
+        flowState.setMaxLatency(maxLatency);
+        return flowState;
+    }
+
+    private static FlowRttStatsSummary makeSummary(String flowId, String direction, long timestamp, long avg) {
+        return FlowRttStatsSummary.builder()
+                .flowId(flowId)
+                .direction(direction)
+                .timestamp(timestamp)
+                .count(10)
+                .min(avg / 2)
+                .avg(avg)
+                .max(avg * 2)
+                .p95(avg * 2)
+                .p99(avg * 2)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.flowmonitoring.service;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.info.event.IslChangedInfoData;
+import org.openkilda.messaging.info.event.IslOneWayLatency;
+import org.openkilda.messaging.info.event.IslRoundTripLatency;
+import org.openkilda.messaging.model.NetworkEndpoint;
+import org.openkilda.model.Isl;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.wfm.topology.flowmonitoring.model.Link;
+import org.openkilda.wfm.topology.flowmonitoring.model.LinkState;
+import org.openkilda.wfm.topology.flowmonitoring.snapshot.IslCacheSnapshot;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class IslCacheServiceTest extends InMemoryGraphBasedTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final SwitchId SWITCH_ID_3 = new SwitchId(3);
+    private static final long ISL_RTT_LATENCY_EXPIRATION = TimeUnit.SECONDS.toMillis(10);
+
+    private static IslRepository islRepository;
+
+    private IslCacheService service;
+
+    @BeforeClass
+    public static void setUpOnce() {
+        islRepository = repositoryFactory.createIslRepository();
+    }
+
+    @Before
+    public void setUp() {
+        Switch firstSwitch = createTestSwitch(SWITCH_ID_1);
+        Switch secondSwitch = createTestSwitch(SWITCH_ID_2);
+        Switch thirdSwitch = createTestSwitch(SWITCH_ID_3);
+        createIsl(firstSwitch, 1, secondSwitch, 1);
+        createIsl(secondSwitch, 1, firstSwitch, 1);
+        createIsl(secondSwitch, 2, thirdSwitch, 1);
+        createIsl(thirdSwitch, 1, secondSwitch, 2);
+
+        service = new IslCacheService(persistenceManager, ISL_RTT_LATENCY_EXPIRATION);
+    }
+
+    @Test
+    public void shouldApplyRoundTripLatencyToLinksFromSourceEndpoint() {
+        service.handleRoundTripLatency(new IslRoundTripLatency(SWITCH_ID_1, 1, 100, 1L));
+
+        assertEquals(100, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_1, 1, SWITCH_ID_2, 1))));
+        assertEquals(0, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_2, 1, SWITCH_ID_1, 1))));
+    }
+
+    @Test
+    public void shouldSumRoundTripAndOneWayLatenciesAlongPath() {
+        service.handleRoundTripLatency(new IslRoundTripLatency(SWITCH_ID_1, 1, 100, 1L));
+        service.handleOneWayLatency(new IslOneWayLatency(SWITCH_ID_2, 2, SWITCH_ID_3, 1, 50, 2L));
+
+        assertEquals(150, service.calculateLatencyForPath(Arrays.asList(
+                makeLink(SWITCH_ID_1, 1, SWITCH_ID_2, 1),
+                makeLink(SWITCH_ID_2, 2, SWITCH_ID_3, 1))));
+    }
+
+    @Test
+    public void shouldAddUnknownLinkOnOneWayLatency() {
+        service.handleOneWayLatency(new IslOneWayLatency(SWITCH_ID_1, 5, SWITCH_ID_3, 5, 70, 1L));
+        service.handleRoundTripLatency(new IslRoundTripLatency(SWITCH_ID_1, 5, 30, 2L));
+
+        assertEquals(30, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_1, 5, SWITCH_ID_3, 5))));
+    }
+
+    @Test
+    public void shouldRemoveLinksOfChangedEndpoint() {
+        service.handleRoundTripLatency(new IslRoundTripLatency(SWITCH_ID_1, 1, 100, 1L));
+        service.handleRoundTripLatency(new IslRoundTripLatency(SWITCH_ID_2, 1, 100, 2L));
+
+        service.handleIslChangedData(new IslChangedInfoData(new NetworkEndpoint(SWITCH_ID_2, 1), null));
+        service.handleRoundTripLatency(new IslRoundTripLatency(SWITCH_ID_1, 1, 100, 3L));
+
+        assertEquals(0, service.calculateLatencyForPath(Arrays.asList(
+                makeLink(SWITCH_ID_1, 1, SWITCH_ID_2, 1),
+                makeLink(SWITCH_ID_2, 1, SWITCH_ID_1, 1))));
+    }
+
+    @Test
+    public void shouldReplaceLinksOfMovedIsl() {
+        service.handleRoundTripLatency(new IslRoundTripLatency(SWITCH_ID_1, 1, 100, 1L));
+
+        service.handleIslChangedData(new IslChangedInfoData(
+                new NetworkEndpoint(SWITCH_ID_1, 1), new NetworkEndpoint(SWITCH_ID_3, 2)));
+        service.handleRoundTripLatency(new IslRoundTripLatency(SWITCH_ID_1, 1, 40, 2L));
+
+        assertEquals(40, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_1, 1, SWITCH_ID_3, 2))));
+        assertEquals(0, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_1, 1, SWITCH_ID_2, 1))));
+    }
+
+    @Test
+    public void shouldRestoreLatenciesOfKnownLinksFromSnapshot() {
+        IslCacheSnapshot snapshot = new IslCacheSnapshot(System.currentTimeMillis(), Arrays.asList(
+                new IslCacheSnapshot.Entry(makeLink(SWITCH_ID_1, 1, SWITCH_ID_2, 1),
+                        LinkState.builder().oneWayLatency(70).build()),
+                new IslCacheSnapshot.Entry(makeLink(SWITCH_ID_1, 7, SWITCH_ID_3, 7),
+                        LinkState.builder().oneWayLatency(80).build())));
+
+        service = new IslCacheService(persistenceManager, ISL_RTT_LATENCY_EXPIRATION, snapshot);
+
+        assertEquals(70, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_1, 1, SWITCH_ID_2, 1))));
+        assertEquals(0, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_2, 1, SWITCH_ID_1, 1))));
+        // the link is missing in the DB, so its state is not restored
+        assertEquals(0, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_1, 7, SWITCH_ID_3, 7))));
+    }
+
+    @Test
+    public void shouldKeepLatenciesOfKnownLinksOnReload() {
+        service.handleOneWayLatency(new IslOneWayLatency(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 70, 1L));
+        service.handleOneWayLatency(new IslOneWayLatency(SWITCH_ID_1, 5, SWITCH_ID_3, 5, 80, 2L));
+
+        service.reloadLinks();
+
+        assertEquals(70, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_1, 1, SWITCH_ID_2, 1))));
+        assertEquals(0, service.calculateLatencyForPath(
+                Collections.singletonList(makeLink(SWITCH_ID_1, 5, SWITCH_ID_3, 5))));
+    }
+
+    @Test
+    public void shouldNotChangeSnapshotOnLatencyUpdate() {
+        service.handleOneWayLatency(new IslOneWayLatency(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 70, 1L));
+        IslCacheSnapshot snapshot = service.makeSnapshot(System.currentTimeMillis());
+
+        service.handleOneWayLatency(new IslOneWayLatency(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 90, 2L));
+
+        IslCacheSnapshot.Entry entry = snapshot.getLinks().stream()
+                .filter(each -> each.getLink().equals(makeLink(SWITCH_ID_1, 1, SWITCH_ID_2, 1)))
+                .findFirst().get();
+        assertEquals(70, entry.getState().getOneWayLatency());
+    }
+
+    private void createIsl(Switch srcSwitch, int srcPort, Switch destSwitch, int destPort) {
+        islRepository.add(Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(destSwitch)
+                .destPort(destPort)
+                .build());
+    }
+
+    private static Link makeLink(SwitchId srcSwitchId, int srcPort, SwitchId destSwitchId, int destPort) {
+        return Link.builder()
+                .srcSwitchId(srcSwitchId)
+                .srcPort(srcPort)
+                .destSwitchId(destSwitchId)
+                .destPort(destPort)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flowmonitoring.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowState;
+import org.openkilda.wfm.topology.flowmonitoring.model.Link;
+import org.openkilda.wfm.topology.flowmonitoring.model.LinkState;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class CacheSnapshotStorageTest {
+    private static final Link LINK = Link.builder()
+            .srcSwitchId(new SwitchId(1))
+            .srcPort(1)
+            .destSwitchId(new SwitchId(2))
+            .destPort(2)
+            .build();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadWrittenFlowCacheSnapshot() throws Exception {
+        Path location = folder.getRoot().toPath().resolve("topology").resolve("flow-cache-0.json.gz");
+        CacheSnapshotStorage<FlowCacheSnapshot> storage = new CacheSnapshotStorage<>(location, FlowCacheSnapshot.class);
+        FlowState flowState = new FlowState();
+        flowState.setForwardPath(Collections.singletonList(LINK));
+        flowState.setReversePath(Collections.emptyList());
+        flowState.setMaxLatency(500L);
+        FlowCacheSnapshot snapshot = new FlowCacheSnapshot(1000L, Collections.singletonMap("flow-1", flowState));
+
+        assertTrue(storage.save(snapshot));
+
+        assertEquals(Optional.of(snapshot), storage.load());
+        try (Stream<Path> files = Files.list(location.getParent())) {
+            assertEquals(Collections.singletonList(location), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void shouldReplacePreviousIslCacheSnapshot() {
+        Path location = folder.getRoot().toPath().resolve("isl-cache-0.json.gz");
+        CacheSnapshotStorage<IslCacheSnapshot> storage = new CacheSnapshotStorage<>(location, IslCacheSnapshot.class);
+        storage.save(new IslCacheSnapshot(1000L, Collections.emptyList()));
+        IslCacheSnapshot snapshot = new IslCacheSnapshot(2000L, Collections.singletonList(
+                new IslCacheSnapshot.Entry(LINK, LinkState.builder().oneWayLatency(70).build())));
+
+        assertTrue(storage.save(snapshot));
+
+        assertEquals(Optional.of(snapshot), storage.load());
+    }
+
+    @Test
+    public void shouldWriteSnapshotInBackground() {
+        Path location = folder.getRoot().toPath().resolve("isl-cache-0.json.gz");
+        CacheSnapshotStorage<IslCacheSnapshot> storage = new CacheSnapshotStorage<>(location, IslCacheSnapshot.class);
+        IslCacheSnapshot snapshot = new IslCacheSnapshot(1000L, Collections.singletonList(
+                new IslCacheSnapshot.Entry(LINK, LinkState.builder().oneWayLatency(70).build())));
+
+        assertTrue(storage.saveInBackground(snapshot));
+        storage.close();
+
+        assertEquals(Optional.of(snapshot), storage.load());
+    }
+
+    @Test
+    public void shouldKeepSnapshotSavedAfterBackgroundOne() {
+        Path location = folder.getRoot().toPath().resolve("isl-cache-0.json.gz");
+        CacheSnapshotStorage<IslCacheSnapshot> storage = new CacheSnapshotStorage<>(location, IslCacheSnapshot.class);
+        IslCacheSnapshot snapshot = new IslCacheSnapshot(2000L, Collections.emptyList());
+
+        storage.saveInBackground(new IslCacheSnapshot(1000L, Collections.emptyList()));
+        assertTrue(storage.save(snapshot));
+        storage.close();
+
+        assertEquals(Optional.of(snapshot), storage.load());
+    }
+
+    @Test
+    public void shouldTreatMissingSnapshotAsEmpty() {
+        Path location = folder.getRoot().toPath().resolve("flow-cache-0.json.gz");
+
+        assertFalse(new CacheSnapshotStorage<>(location, FlowCacheSnapshot.class).load().isPresent());
+    }
+
+    @Test
+    public void shouldTreatCorruptedSnapshotAsEmpty() throws Exception {
+        Path location = folder.newFile("flow-cache-0.json.gz").toPath();
+        Files.write(location, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(new CacheSnapshotStorage<>(location, FlowCacheSnapshot.class).load().isPresent());
+    }
+}
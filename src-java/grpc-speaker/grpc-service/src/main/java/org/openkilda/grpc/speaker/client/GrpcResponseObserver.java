@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Slf4j
 public class GrpcResponseObserver<V> implements StreamObserver<V> {
@@ -35,6 +36,7 @@ public class GrpcResponseObserver<V> implements StreamObserver<V> {
     private final GrpcOperation operation;
     protected CompletableFuture<List<V>> future;
     protected List<V> responses;
+    private volatile Consumer<Throwable> completionListener = error -> { };
 
     public GrpcResponseObserver(String switchAddress, GrpcOperation operation) {
         this.switchAddress = switchAddress;
@@ -64,8 +66,16 @@ public class GrpcResponseObserver<V> implements StreamObserver<V> {
         return true;
     }
 
+    /**
+     * Sets the listener called when the call is finished, before the future is completed.
+     */
+    public void setCompletionListener(Consumer<Throwable> completionListener) {
+        this.completionListener = completionListener;
+    }
+
     @Override
     public void onError(Throwable throwable) {
+        completionListener.accept(throwable);
         future.completeExceptionally(throwable);
     }
 
@@ -73,6 +83,7 @@ public class GrpcResponseObserver<V> implements StreamObserver<V> {
     public void onCompleted() {
         log.debug("GRPC request {} is completed. Received {} responses from switch {}",
                 operation, responses.size(), switchAddress);
+        completionListener.accept(null);
         if (!future.isDone()) {
             future.complete(responses);
         }
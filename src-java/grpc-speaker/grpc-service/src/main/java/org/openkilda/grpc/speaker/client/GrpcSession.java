@@ -30,6 +30,7 @@ import static org.openkilda.grpc.speaker.client.GrpcOperation.SHOW_CONFIG_LOGICA
 import static org.openkilda.grpc.speaker.client.GrpcOperation.SHOW_CONFIG_REMOTE_LOG_SERVER;
 import static org.openkilda.grpc.speaker.client.GrpcOperation.SHOW_SWITCH_STATUS;
 
+import org.openkilda.grpc.speaker.exception.GrpcException;
 import org.openkilda.grpc.speaker.exception.GrpcRequestFailureException;
 import org.openkilda.grpc.speaker.mapper.NoviflowResponseMapper;
 import org.openkilda.grpc.speaker.model.ErrorCode;
@@ -41,9 +42,12 @@ import org.openkilda.grpc.speaker.model.PortConfigDto;
 import org.openkilda.grpc.speaker.model.RemoteLogServerDto;
 import org.openkilda.messaging.error.ErrorType;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.net.InetAddresses;
+import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
 import io.grpc.noviflow.AuthenticateUser;
 import io.grpc.noviflow.CliReply;
 import io.grpc.noviflow.License;
@@ -68,9 +72,14 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * The GRPC client session.
+ * The GRPC client session. All operations of the session are performed one by one in the order of their calls.
+ * The session is long-lived: it stays authenticated while its channel is connected and performs a new login on
+ * the first operation after the channel has been re-established. Each call has a deadline, a session whose call
+ * has timed out or whose channel has failed is not active anymore and is replaced by the pool.
  */
 @Slf4j
 public class GrpcSession implements Closeable {
@@ -81,26 +90,82 @@ public class GrpcSession implements Closeable {
     private final ManagedChannel channel;
     private final NoviFlowGrpcGrpc.NoviFlowGrpcStub stub;
     private final String address;
+    private final long rpcDeadlineSeconds;
+    private final int maxPendingOperations;
+
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+    private volatile long lastUsedTime = System.currentTimeMillis();
+    private volatile boolean closed = false;
+    private volatile boolean failed = false;
 
     private CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+    private CompletableFuture<List<CliReply>> authentication;
+
+    public GrpcSession(NoviflowResponseMapper mapper, String address, long keepAliveSeconds, long rpcDeadlineSeconds,
+                       int maxPendingOperations) {
+        this(mapper, address, makeChannel(address, keepAliveSeconds), rpcDeadlineSeconds, maxPendingOperations);
+    }
 
-    public GrpcSession(NoviflowResponseMapper mapper, String address) {
+    @VisibleForTesting
+    GrpcSession(NoviflowResponseMapper mapper, String address, ManagedChannel channel, long rpcDeadlineSeconds,
+                int maxPendingOperations) {
         this.mapper = mapper;
         this.address = address;
-        this.channel = makeChannel(address);
+        this.rpcDeadlineSeconds = rpcDeadlineSeconds;
+        this.maxPendingOperations = maxPendingOperations;
+        this.channel = channel;
         this.stub = NoviFlowGrpcGrpc.newStub(channel);
+        watchChannelState(channel.getState(false));
     }
 
     /**
      * Plan GRPC channel close.
      */
     public void close() {
-        extendChain(() -> {
+        closed = true;
+        appendToChain(() -> {
             log.debug("Perform messaging channel shutdown for switch {}", address);
             channel.shutdownNow();
         }, CompletableFuture.completedFuture(null));
     }
 
+    /**
+     * Returns true if the session can be used for new operations.
+     */
+    public boolean isActive() {
+        return !closed && !failed && !channel.isShutdown()
+                && channel.getState(false) != ConnectivityState.TRANSIENT_FAILURE;
+    }
+
+    /**
+     * Returns true if the session has no pending operations and was not used since the specified time.
+     */
+    public boolean isIdleSince(long time) {
+        return pendingOperations.get() == 0 && lastUsedTime < time;
+    }
+
+    /**
+     * Marks the session as used now.
+     */
+    public void touch() {
+        lastUsedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Performs switch login request if the session is not authenticated yet (or lost its authentication because of
+     * reconnection).
+     *
+     * @param user the user.
+     * @param pass the password.
+     * @return {@link CompletableFuture} with operation result.
+     */
+    public synchronized CompletableFuture<List<CliReply>> ensureLogin(String user, String pass) {
+        if (authentication == null || authentication.isCompletedExceptionally()) {
+            authentication = login(user, pass);
+        }
+        return authentication;
+    }
+
     /**
      * Performs switch login request.
      *
@@ -120,8 +185,8 @@ public class GrpcSession implements Closeable {
         GrpcResponseObserver<CliReply> observer = new GrpcResponseObserver<>(address, LOGIN);
         extendChain(() -> {
             log.debug("Performs auth user request to switch {} with user {}", address, user);
-            stub.setLoginDetails(authUser, observer);
-        }, observer.future);
+            stub().setLoginDetails(authUser, observer);
+        }, observer);
         return observer.future;
     }
 
@@ -134,7 +199,7 @@ public class GrpcSession implements Closeable {
         log.info("Getting switch status for switch {}", address);
 
         GrpcResponseObserver<StatusSwitch> observer = new GrpcResponseObserver<>(address, SHOW_SWITCH_STATUS);
-        extendChain(() -> stub.showStatusSwitch(StatusSwitch.newBuilder().build(), observer), observer.future);
+        extendChain(() -> stub().showStatusSwitch(StatusSwitch.newBuilder().build(), observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -158,7 +223,7 @@ public class GrpcSession implements Closeable {
         log.info("About to create logical port: {}", request);
 
         GrpcResponseObserver<CliReply> observer = new GrpcResponseObserver<>(address, SET_LOGICAL_PORT);
-        extendChain(() -> stub.setConfigLogicalPort(request, observer), observer.future);
+        extendChain(() -> stub().setConfigLogicalPort(request, observer), observer);
         return observer.future;
     }
 
@@ -177,7 +242,7 @@ public class GrpcSession implements Closeable {
         log.info("Reading logical port {} from the switch: {}", port, address);
 
         GrpcResponseObserver<LogicalPort> observer = new GrpcResponseObserver<>(address, SHOW_CONFIG_LOGICAL_PORT);
-        extendChain(() -> stub.showConfigLogicalPort(request, observer), observer.future);
+        extendChain(() -> stub().showConfigLogicalPort(request, observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -193,8 +258,8 @@ public class GrpcSession implements Closeable {
         GrpcResponseObserver<LogicalPort> observer = new GrpcResponseObserver<>(address, DUMP_LOGICAL_PORTS);
         extendChain(() -> {
             LogicalPort request = LogicalPort.newBuilder().build();
-            stub.showConfigLogicalPort(request, observer);
-        }, observer.future);
+            stub().showConfigLogicalPort(request, observer);
+        }, observer);
         return observer.future;
     }
 
@@ -214,7 +279,7 @@ public class GrpcSession implements Closeable {
         log.info("Deleting logical port for switch {}", address);
 
         GrpcResponseObserver<CliReply> observer = new GrpcResponseObserver<>(address, DELETE_LOGICAL_PORT);
-        extendChain(() -> stub.delConfigLogicalPort(logicalPort, observer), observer.future);
+        extendChain(() -> stub().delConfigLogicalPort(logicalPort, observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -232,7 +297,7 @@ public class GrpcSession implements Closeable {
         LogMessages logMessages = LogMessages.newBuilder()
                 .setStatus(OnOff.forNumber(logMessagesDto.getState().getNumber()))
                 .build();
-        extendChain(() -> stub.setLogMessages(logMessages, observer), observer.future);
+        extendChain(() -> stub().setLogMessages(logMessages, observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -250,7 +315,7 @@ public class GrpcSession implements Closeable {
         LogOferrors logOferrors = LogOferrors.newBuilder()
                 .setStatus(OnOff.forNumber(logOferrorsDto.getState().getNumber()))
                 .build();
-        extendChain(() -> stub.setLogOferrors(logOferrors, observer), observer.future);
+        extendChain(() -> stub().setLogOferrors(logOferrors, observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -267,7 +332,7 @@ public class GrpcSession implements Closeable {
 
         GrpcResponseObserver<RemoteLogServer> observer = new GrpcResponseObserver<>(
                 address, SHOW_CONFIG_REMOTE_LOG_SERVER);
-        extendChain(() -> stub.showConfigRemoteLogServer(showRemoteLogServer, observer), observer.future);
+        extendChain(() -> stub().showConfigRemoteLogServer(showRemoteLogServer, observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -289,7 +354,7 @@ public class GrpcSession implements Closeable {
                 .setIpaddr(remoteServer.getIpAddress())
                 .setPort(remoteServer.getPort())
                 .build();
-        extendChain(() -> stub.setConfigRemoteLogServer(logServer, observer), observer.future);
+        extendChain(() -> stub().setConfigRemoteLogServer(logServer, observer), observer);
 
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
@@ -305,7 +370,7 @@ public class GrpcSession implements Closeable {
 
         GrpcResponseObserver<CliReply> observer = new GrpcResponseObserver<>(address, DELETE_CONFIG_REMOTE_LOG_SERVER);
         RemoteLogServer logServer = RemoteLogServer.newBuilder().build();
-        extendChain(() -> stub.delConfigRemoteLogServer(logServer, observer), observer.future);
+        extendChain(() -> stub().delConfigRemoteLogServer(logServer, observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -360,7 +425,7 @@ public class GrpcSession implements Closeable {
         }
 
         GrpcResponseObserver<CliReply> observer = new GrpcResponseObserver<>(address, SET_PORT_CONFIG);
-        extendChain(() -> stub.setConfigPort(builder.build(), observer), observer.future);
+        extendChain(() -> stub().setConfigPort(builder.build(), observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -383,7 +448,7 @@ public class GrpcSession implements Closeable {
         }
 
         GrpcResponseObserver<CliReply> observer = new GrpcResponseObserver<>(address, SET_CONFIG_LICENSE);
-        extendChain(() -> stub.setConfigLicense(licenseBuilder.build(), observer), observer.future);
+        extendChain(() -> stub().setConfigLicense(licenseBuilder.build(), observer), observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
@@ -398,13 +463,54 @@ public class GrpcSession implements Closeable {
 
         GrpcResponseObserver<PacketInOutStats> observer = new GrpcResponseObserver<>(address, GET_PACKET_IN_OUT_STATS);
         extendChain(
-                () -> stub.showStatsPacketInOut(ShowPacketInOutStats.newBuilder().build(), observer),
-                observer.future);
+                () -> stub().showStatsPacketInOut(ShowPacketInOutStats.newBuilder().build(), observer),
+                observer);
         return observer.future
                 .thenApply(responses -> responses.stream().findFirst());
     }
 
-    private synchronized void extendChain(Runnable action, CompletableFuture<?> operation) {
+    private void extendChain(Runnable action, GrpcResponseObserver<?> observer) {
+        if (pendingOperations.incrementAndGet() > maxPendingOperations) {
+            pendingOperations.decrementAndGet();
+            observer.future.completeExceptionally(new GrpcException(String.format(
+                    "Too many pending gRPC operations for switch %s (limit %d)", address, maxPendingOperations)));
+            return;
+        }
+        touch();
+        // the session state is updated before the caller sees the result of the operation
+        observer.setCompletionListener(this::onOperationCompleted);
+
+        appendToChain(action, observer.future);
+    }
+
+    private void onOperationCompleted(Throwable error) {
+        pendingOperations.decrementAndGet();
+        touch();
+        if (error != null) {
+            checkTransportFailure(error);
+        }
+    }
+
+    /**
+     * A call which has timed out or has not reached the switch means the switch is hung or unreachable, the session
+     * must not be reused for the next operations.
+     */
+    private void checkTransportFailure(Throwable error) {
+        Status.Code code = Status.fromThrowable(error).getCode();
+        if (code == Status.Code.DEADLINE_EXCEEDED || code == Status.Code.UNAVAILABLE) {
+            log.warn("gRPC call to switch {} failed with {}, the session will be replaced", address, code);
+            failed = true;
+        }
+    }
+
+    private NoviFlowGrpcGrpc.NoviFlowGrpcStub stub() {
+        if (rpcDeadlineSeconds > 0) {
+            return stub.withDeadlineAfter(rpcDeadlineSeconds, TimeUnit.SECONDS);
+        }
+        return stub;
+    }
+
+    private synchronized void appendToChain(Runnable action, CompletableFuture<?> operation) {
         chain = CompletableFuture.allOf(
                 chain.whenComplete((v, e) -> action.run()), operation)
                 .handle((dummy, e) -> {
@@ -413,10 +519,36 @@ public class GrpcSession implements Closeable {
                 });
     }
 
-    private static ManagedChannel makeChannel(String address) {
-        return ManagedChannelBuilder.forAddress(verifyHostAddress(address), PORT)
-                .usePlaintext()
-                .build();
+    /**
+     * Switch drops the authentication on connection loss, so the session must login again as soon as the channel
+     * leaves the READY state.
+     */
+    private void watchChannelState(ConnectivityState current) {
+        if (current == ConnectivityState.SHUTDOWN) {
+            return;
+        }
+        channel.notifyWhenStateChanged(current, () -> {
+            ConnectivityState state = channel.getState(false);
+            if (current == ConnectivityState.READY && state != ConnectivityState.READY) {
+                log.info("gRPC channel to switch {} changed its state {} -> {}, session must be re-authenticated",
+                        address, current, state);
+                resetAuthentication();
+            }
+            watchChannelState(state);
+        });
+    }
+
+    private synchronized void resetAuthentication() {
+        authentication = null;
+    }
+
+    private static ManagedChannel makeChannel(String address, long keepAliveSeconds) {
+        ManagedChannelBuilder<?> builder = ManagedChannelBuilder.forAddress(verifyHostAddress(address), PORT)
+                .usePlaintext();
+        if (keepAliveSeconds > 0) {
+            builder.keepAliveTime(keepAliveSeconds, TimeUnit.SECONDS);
+        }
+        return builder.build();
     }
 
     private static String verifyHostAddress(String address) {
@@ -0,0 +1,176 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import org.openkilda.grpc.speaker.mapper.NoviflowResponseMapper;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Keeps one long-lived authenticated {@link GrpcSession} per switch. Sessions which are not active anymore (channel
+ * is shut down or failed, a call has timed out) are closed and replaced on the next request or by the eviction,
+ * sessions without operations for the idle timeout are closed.
+ */
+@Slf4j
+@Component
+public class GrpcSessionPool {
+
+    @Value("${grpc.user}")
+    private String name;
+
+    @Value("${grpc.pass}")
+    private String password;
+
+    @Value("${grpc.speaker.session.keep-alive.seconds:60}")
+    private long keepAliveSeconds;
+
+    @Value("${grpc.speaker.session.idle.timeout.seconds:300}")
+    private long idleTimeoutSeconds;
+
+    @Value("${grpc.speaker.session.max.pending.operations:16}")
+    private int maxPendingOperations;
+
+    @Value("${grpc.speaker.session.rpc.deadline.seconds:30}")
+    private long rpcDeadlineSeconds;
+
+    private final NoviflowResponseMapper mapper;
+
+    private final Map<String, GrpcSession> sessions = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService evictionExecutor;
+
+    public GrpcSessionPool(@Autowired NoviflowResponseMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @VisibleForTesting
+    GrpcSessionPool(NoviflowResponseMapper mapper, String name, String password, long idleTimeoutSeconds,
+                    int maxPendingOperations, long rpcDeadlineSeconds) {
+        this(mapper);
+        this.name = name;
+        this.password = password;
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+        this.maxPendingOperations = maxPendingOperations;
+        this.rpcDeadlineSeconds = rpcDeadlineSeconds;
+    }
+
+    /**
+     * Starts idle sessions eviction.
+     */
+    @PostConstruct
+    public void init() {
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grpc-session-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeoutSeconds / 2);
+        evictionExecutor.scheduleWithFixedDelay(this::evictIdleSessions, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Closes all sessions.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (evictionExecutor != null) {
+            evictionExecutor.shutdownNow();
+        }
+        sessions.keySet().forEach(address -> {
+            GrpcSession session = sessions.remove(address);
+            if (session != null) {
+                session.close();
+            }
+        });
+    }
+
+    /**
+     * Returns the session for the switch. The session is created if there is no active one, the login is performed
+     * if the session is not authenticated yet.
+     *
+     * @param address the switch address.
+     * @return the session.
+     */
+    public GrpcSession getSession(String address) {
+        GrpcSession[] replaced = new GrpcSession[1];
+        GrpcSession session = sessions.compute(address, (key, current) -> {
+            if (current != null && current.isActive()) {
+                current.touch();
+                return current;
+            }
+            if (current != null) {
+                log.info("gRPC session for switch {} is not active anymore, re-establishing it", address);
+                replaced[0] = current;
+            }
+            return makeSession(address);
+        });
+
+        if (replaced[0] != null) {
+            replaced[0].close();
+        }
+        session.ensureLogin(name, password);
+        return session;
+    }
+
+    @VisibleForTesting
+    GrpcSession makeSession(String address) {
+        return new GrpcSession(mapper, address, keepAliveSeconds, rpcDeadlineSeconds, maxPendingOperations);
+    }
+
+    @VisibleForTesting
+    int getSessionsCount() {
+        return sessions.size();
+    }
+
+    private void evictIdleSessions() {
+        try {
+            evictIdleSessionsSince(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(idleTimeoutSeconds));
+        } catch (Exception e) {
+            log.error("Failed to evict idle gRPC sessions: {}", e.getMessage(), e);
+        }
+    }
+
+    @VisibleForTesting
+    void evictIdleSessionsSince(long idleSince) {
+        for (String address : sessions.keySet()) {
+            GrpcSession[] evicted = new GrpcSession[1];
+            sessions.computeIfPresent(address, (key, session) -> {
+                if (!session.isActive() || session.isIdleSince(idleSince)) {
+                    evicted[0] = session;
+                    return null;
+                }
+                return session;
+            });
+
+            if (evicted[0] != null) {
+                log.debug("Closing idle gRPC session for switch {}", address);
+                evicted[0].close();
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.openkilda.grpc.speaker.exception.GrpcException;
+import org.openkilda.grpc.speaker.mapper.NoviflowResponseMapper;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.noviflow.AuthenticateUser;
+import io.grpc.noviflow.CliReply;
+import io.grpc.noviflow.NoviFlowGrpcGrpc;
+import io.grpc.noviflow.StatusSwitch;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GrpcSessionPoolTest {
+    private static final String SWITCH_ADDRESS = "127.0.0.1";
+    private static final long RPC_DEADLINE_SECONDS = 1;
+    private static final int MAX_PENDING_OPERATIONS = 3;
+
+    @Rule
+    public final GrpcCleanupRule grpcCleanup = new GrpcCleanupRule();
+
+    private final NoviflowResponseMapper mapper = Mappers.getMapper(NoviflowResponseMapper.class);
+    private final FakeSwitch fakeSwitch = new FakeSwitch();
+    private final List<ManagedChannel> channels = new CopyOnWriteArrayList<>();
+    private GrpcSessionPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        grpcCleanup.register(InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(fakeSwitch)
+                .build()
+                .start());
+
+        pool = new GrpcSessionPool(mapper, "user", "pass", 300, MAX_PENDING_OPERATIONS, RPC_DEADLINE_SECONDS) {
+            @Override
+            GrpcSession makeSession(String address) {
+                ManagedChannel channel = grpcCleanup.register(
+                        InProcessChannelBuilder.forName(serverName).directExecutor().build());
+                channels.add(channel);
+                return new GrpcSession(mapper, address, channel, RPC_DEADLINE_SECONDS, MAX_PENDING_OPERATIONS);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldReuseSessionAndLoginOnce() throws Exception {
+        GrpcSession first = pool.getSession(SWITCH_ADDRESS);
+        Optional<StatusSwitch> firstStatus = first.showSwitchStatus().get(5, TimeUnit.SECONDS);
+
+        GrpcSession second = pool.getSession(SWITCH_ADDRESS);
+        Optional<StatusSwitch> secondStatus = second.showSwitchStatus().get(5, TimeUnit.SECONDS);
+
+        assertSame(first, second);
+        assertTrue(firstStatus.isPresent());
+        assertTrue(secondStatus.isPresent());
+        assertEquals(1, fakeSwitch.logins.get());
+        assertEquals(1, pool.getSessionsCount());
+    }
+
+    @Test
+    public void shouldReplaceSessionAfterDeadlineExceeded() throws Exception {
+        GrpcSession hungSession = pool.getSession(SWITCH_ADDRESS);
+        fakeSwitch.hung = true;
+
+        try {
+            hungSession.showSwitchStatus().get(5, TimeUnit.SECONDS);
+            fail("The call must fail by the deadline");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof StatusRuntimeException);
+            assertEquals(Status.Code.DEADLINE_EXCEEDED, Status.fromThrowable(e.getCause()).getCode());
+        }
+        assertFalse(hungSession.isActive());
+
+        fakeSwitch.hung = false;
+        GrpcSession newSession = pool.getSession(SWITCH_ADDRESS);
+
+        assertNotSame(hungSession, newSession);
+        assertTrue(newSession.showSwitchStatus().get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(2, fakeSwitch.logins.get());
+        assertEquals(1, pool.getSessionsCount());
+    }
+
+    @Test
+    public void shouldCloseReplacedSession() throws Exception {
+        GrpcSession hungSession = pool.getSession(SWITCH_ADDRESS);
+        fakeSwitch.hung = true;
+        try {
+            hungSession.showSwitchStatus().get(5, TimeUnit.SECONDS);
+            fail("The call must fail by the deadline");
+        } catch (ExecutionException e) {
+            assertFalse(hungSession.isActive());
+        }
+        fakeSwitch.hung = false;
+
+        pool.getSession(SWITCH_ADDRESS);
+
+        assertEquals(2, channels.size());
+        assertTrue(channels.get(0).isShutdown());
+        assertFalse(channels.get(1).isShutdown());
+    }
+
+    @Test
+    public void shouldEvictIdleSessions() throws Exception {
+        GrpcSession session = pool.getSession(SWITCH_ADDRESS);
+        session.ensureLogin("user", "pass").get(5, TimeUnit.SECONDS);
+
+        pool.evictIdleSessionsSince(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1));
+        assertEquals(1, pool.getSessionsCount());
+        assertTrue(session.isActive());
+
+        pool.evictIdleSessionsSince(System.currentTimeMillis() + 1);
+        assertEquals(0, pool.getSessionsCount());
+        assertFalse(session.isActive());
+    }
+
+    @Test
+    public void shouldRejectOperationsOverPendingLimit() throws Exception {
+        GrpcSession session = pool.getSession(SWITCH_ADDRESS);
+        session.ensureLogin("user", "pass").get(5, TimeUnit.SECONDS);
+        fakeSwitch.hung = true;
+
+        for (int i = 0; i < MAX_PENDING_OPERATIONS; i++) {
+            assertFalse(session.showSwitchStatus().isDone());
+        }
+        CompletableFuture<Optional<StatusSwitch>> rejected = session.showSwitchStatus();
+
+        assertTrue(rejected.isCompletedExceptionally());
+        try {
+            rejected.get();
+            fail("The operation must be rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof GrpcException);
+        }
+    }
+
+    private static class FakeSwitch extends NoviFlowGrpcGrpc.NoviFlowGrpcImplBase {
+        private final AtomicInteger logins = new AtomicInteger();
+        private volatile boolean hung;
+
+        @Override
+        public void setLoginDetails(AuthenticateUser request, StreamObserver<CliReply> responseObserver) {
+            logins.incrementAndGet();
+            responseObserver.onNext(CliReply.newBuilder().build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void showStatusSwitch(StatusSwitch request, StreamObserver<StatusSwitch> responseObserver) {
+            if (hung) {
+                // the switch has accepted the call and never answers
+                return;
+            }
+            responseObserver.onNext(StatusSwitch.newBuilder().build());
+            responseObserver.onCompleted();
+        }
+    }
+}
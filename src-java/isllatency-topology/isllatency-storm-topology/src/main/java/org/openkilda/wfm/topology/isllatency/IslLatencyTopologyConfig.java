@@ -21,6 +21,7 @@ import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 
 @Configuration
@@ -52,6 +53,22 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Min(1)
     int getLatencyUpdateTimeRange();
 
+    @Key("latency.update.flush.interval") // how often due latency updates are written in one transaction in seconds
+    @Default("1")
+    @Min(1)
+    int getLatencyFlushInterval();
+
+    @Key("latency.samples.capacity") // max number of latency samples stored per ISL direction
+    @Default("1024")
+    @Min(1)
+    int getLatencySamplesCapacity();
+
+    @Key("latency.update.percentile") // percentile stored in the database instead of average latency if positive
+    @Default("0")
+    @Min(0)
+    @Max(100)
+    double getLatencyPercentile();
+
     @Key("latency.discovery.interval.multiplier")
     @Default("3")
     @Min(1)
@@ -0,0 +1,109 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.isllatency.model;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size storage of latency samples of one ISL direction. Samples are kept in primitive arrays and the sum of
+ * stored latencies is maintained on each add/remove, so the average is calculated without iteration over samples.
+ * When the buffer is full the oldest sample is overwritten.
+ */
+public class LatencyRingBuffer {
+    private final long[] latencies;
+    private final long[] timestamps;
+
+    private int head; // index of the oldest sample
+    private int size;
+    private long sum;
+
+    public LatencyRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid latency buffer capacity %d", capacity));
+        }
+        latencies = new long[capacity];
+        timestamps = new long[capacity];
+    }
+
+    /**
+     * Stores the sample, the oldest sample is dropped if the buffer is full.
+     */
+    public void add(long latency, long timestamp) {
+        if (size == latencies.length) {
+            removeOldest();
+        }
+        int tail = (head + size) % latencies.length;
+        latencies[tail] = latency;
+        timestamps[tail] = timestamp;
+        sum += latency;
+        size++;
+    }
+
+    /**
+     * Drops all samples with timestamp before the specified one. Samples are expected to be added in order of their
+     * timestamps, so only the head of the buffer is checked.
+     */
+    public void removeOlderThan(long oldestTimestamp) {
+        while (size > 0 && timestamps[head] < oldestTimestamp) {
+            removeOldest();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the average of stored latencies or -1 if the buffer is empty.
+     */
+    public long getAverage() {
+        if (size == 0) {
+            return -1;
+        }
+        return sum / size;
+    }
+
+    /**
+     * Returns the nearest-rank percentile of stored latencies or -1 if the buffer is empty.
+     *
+     * @param percentile percentile in range (0, 100].
+     */
+    public long getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException(String.format("Invalid percentile %s", percentile));
+        }
+        if (size == 0) {
+            return -1;
+        }
+
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = latencies[(head + i) % latencies.length];
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * size);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private void removeOldest() {
+        sum -= latencies[head];
+        head = (head + 1) % latencies.length;
+        size--;
+    }
+}
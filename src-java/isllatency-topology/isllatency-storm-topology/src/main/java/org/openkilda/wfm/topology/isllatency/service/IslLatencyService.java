@@ -21,23 +21,23 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
-import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.persistence.tx.TransactionManager;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyRingBuffer;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Optional;
 import java.util.Set;
 
 @Slf4j
@@ -46,27 +46,31 @@ public class IslLatencyService {
     public static final String ROUND_TRIP_LATENCY = "round trip";
     private TransactionManager transactionManager;
     private IslRepository islRepository;
-    private SwitchRepository switchRepository;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final int latencySamplesCapacity; // max number of stored samples per ISL direction
+    private final double latencyPercentile; // percentile written into DB instead of average if positive
 
-    private Map<IslKey, Queue<LatencyRecord>> roundTripLatencyStorage;
-    private Map<IslKey, Queue<LatencyRecord>> oneWayLatencyStorage;
+    private Map<IslKey, LatencyRingBuffer> roundTripLatencyStorage;
+    private Map<IslKey, LatencyRingBuffer> oneWayLatencyStorage;
     private Map<IslKey, Instant> nextUpdateTimeMap;
     private Set<IslKey> roundTripLatencyIsSet; // Contains ISLs for which round trip latency were stored in DB
+    private Map<IslKey, PendingUpdate> pendingUpdates; // ISLs which latency must be written on next flush
 
     public IslLatencyService(TransactionManager transactionManager,
                              RepositoryFactory repositoryFactory, long latencyUpdateInterval,
-                             long latencyUpdateTimeRange) {
+                             long latencyUpdateTimeRange, int latencySamplesCapacity, double latencyPercentile) {
         this.transactionManager = transactionManager;
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.latencySamplesCapacity = latencySamplesCapacity;
+        this.latencyPercentile = latencyPercentile;
         islRepository = repositoryFactory.createIslRepository();
-        switchRepository = repositoryFactory.createSwitchRepository();
         oneWayLatencyStorage = new HashMap<>();
         roundTripLatencyStorage = new HashMap<>();
         roundTripLatencyIsSet = new HashSet<>();
         nextUpdateTimeMap = new HashMap<>();
+        pendingUpdates = new LinkedHashMap<>();
     }
 
     /**
@@ -90,11 +94,12 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data, destination);
 
-        roundTripLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        roundTripLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        roundTripLatencyStorage.computeIfAbsent(islKey, key -> new LatencyRingBuffer(latencySamplesCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey) || !roundTripLatencyIsSet.contains(islKey)) {
-            updateRoundTripLatency(data, destination, islKey);
+            // round trip update replaces pending one way update
+            pendingUpdates.put(islKey, new PendingUpdate(true, data.getPacketId()));
         }
     }
 
@@ -111,132 +116,151 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data);
 
-        oneWayLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        oneWayLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        oneWayLatencyStorage.computeIfAbsent(islKey, key -> new LatencyRingBuffer(latencySamplesCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey)) {
-            updateOneWayLatencyIfNeeded(data, islKey);
+            pendingUpdates.putIfAbsent(islKey, new PendingUpdate(false, data.getPacketId()));
         }
     }
 
-    private void updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+    /**
+     * Write latency of all ISLs which are due for update in one transaction.
+     */
+    public void flushLatencyUpdates() {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
 
-        pollExpiredRecords(roundTripRecords);
-        pollExpiredRecords(oneWayLatencyStorage.get(islKey));
+        long oldestTimestamp = Instant.now().minusSeconds(latencyUpdateTimeRange).toEpochMilli();
+        Map<IslKey, LatencyUpdate> updates = new LinkedHashMap<>();
+        for (Map.Entry<IslKey, PendingUpdate> entry : pendingUpdates.entrySet()) {
+            IslKey islKey = entry.getKey();
+            PendingUpdate pending = entry.getValue();
+            long latency = pending.isRoundTrip()
+                    ? getRoundTripLatency(islKey, pending, oldestTimestamp)
+                    : getOneWayLatency(islKey, pending, oldestTimestamp);
+            if (latency >= 0) {
+                updates.put(islKey, new LatencyUpdate(latency, pending));
+            }
+        }
+        pendingUpdates.clear();
 
-        if (roundTripRecords.isEmpty()) {
-            log.warn("Couldn't update round trip latency {} for ISL {}_{} === {}_{}. "
-                    + "There is no valid latency records. Packet Id: {}",
-                    data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
-                    destination.getDatapath(), destination.getPortNumber(), data.getPacketId());
+        if (updates.isEmpty()) {
+            return;
         }
 
-        long averageLatency = calculateAverageLatency(roundTripRecords);
+        List<IslKey> updated = new ArrayList<>(updates.size());
+        transactionManager.doInTransaction(() -> {
+            updated.clear();
+            updates.forEach((islKey, update) -> {
+                if (updateLatencyInDataBase(islKey, update)) {
+                    updated.add(islKey);
+                }
+            });
+        });
 
-        boolean updated = updateLatencyInDataBase(data, destination, averageLatency);
+        Instant nextUpdateTime = getNextUpdateTime();
+        for (IslKey islKey : updated) {
+            nextUpdateTimeMap.put(islKey, nextUpdateTime);
+            if (updates.get(islKey).getPending().isRoundTrip()) {
+                roundTripLatencyIsSet.add(islKey);
+            } else {
+                roundTripLatencyIsSet.remove(islKey);
+            }
+        }
+        log.debug("Latency of {} ISLs is updated in database", updated.size());
+    }
 
-        if (updated) {
-            nextUpdateTimeMap.put(islKey, getNextUpdateTime());
-            roundTripLatencyIsSet.add(islKey);
+    private long getRoundTripLatency(IslKey islKey, PendingUpdate pending, long oldestTimestamp) {
+        LatencyRingBuffer roundTripRecords = roundTripLatencyStorage.get(islKey);
+
+        removeExpiredRecords(roundTripRecords, oldestTimestamp);
+        removeExpiredRecords(oneWayLatencyStorage.get(islKey), oldestTimestamp);
+
+        if (roundTripRecords.isEmpty()) {
+            log.warn("Couldn't update round trip latency for ISL {}_{} === {}_{}. "
+                            + "There is no valid latency records. Packet Id: {}",
+                    islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort(),
+                    pending.getPacketId());
+            return -1;
         }
+        return calculateLatency(roundTripRecords);
     }
 
-    private void updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
-        Queue<LatencyRecord> oneWayRecords = oneWayLatencyStorage.get(islKey);
-        pollExpiredRecords(oneWayRecords);
+    private long getOneWayLatency(IslKey islKey, PendingUpdate pending, long oldestTimestamp) {
+        LatencyRingBuffer oneWayRecords = oneWayLatencyStorage.get(islKey);
+        removeExpiredRecords(oneWayRecords, oldestTimestamp);
 
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
-        pollExpiredRecords(roundTripRecords);
+        LatencyRingBuffer roundTripRecords = roundTripLatencyStorage.get(islKey);
+        removeExpiredRecords(roundTripRecords, oldestTimestamp);
         if (roundTripRecords != null && !roundTripRecords.isEmpty()) {
             // next round trip latency packet will update ISL latency
-            return;
+            return -1;
         }
 
-        IslKey reverseIslKey = islKey.getReverse();
-        Queue<LatencyRecord> reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
-        pollExpiredRecords(reverseRoundTripRecords);
+        LatencyRingBuffer reverseRoundTripRecords = roundTripLatencyStorage.get(islKey.getReverse());
+        removeExpiredRecords(reverseRoundTripRecords, oldestTimestamp);
 
-        boolean updated;
         if (reverseRoundTripRecords != null && !reverseRoundTripRecords.isEmpty()) {
             // reverse ISL has round trip latency records. We can use them for forward ISL
-            long averageReverseLatency = calculateAverageLatency(reverseRoundTripRecords);
-            updated = updateLatencyInDataBase(data, averageReverseLatency);
-        } else {
-            // There are no round trip latency records for both ISL direction. We have to use one way latency records
-            if (oneWayRecords.isEmpty()) {
-                log.warn("Couldn't update round trip latency {} for ISL {}_{} === {}_{}. "
-                                + "There is no valid latency records. Packet Id: {}",
-                        data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
-                        data.getDstSwitchId(), data.getDstPortNo(), data.getPacketId());
-                return;
-            }
-
-            long averageOneWayLatency = calculateAverageLatency(oneWayRecords);
-            updated = updateLatencyInDataBase(data, averageOneWayLatency);
+            return calculateLatency(reverseRoundTripRecords);
         }
 
-        if (updated) {
-            nextUpdateTimeMap.put(islKey, getNextUpdateTime());
-            roundTripLatencyIsSet.remove(islKey);
+        // There are no round trip latency records for both ISL direction. We have to use one way latency records
+        if (oneWayRecords.isEmpty()) {
+            log.warn("Couldn't update one way latency for ISL {}_{} === {}_{}. "
+                            + "There is no valid latency records. Packet Id: {}",
+                    islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort(),
+                    pending.getPacketId());
+            return -1;
         }
+        return calculateLatency(oneWayRecords);
     }
 
-    private boolean updateLatencyInDataBase(IslOneWayLatency data, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                data.getDstSwitchId(), data.getDstPortNo(), latency, data.getPacketId(), ONE_WAY_LATENCY);
-    }
-
-    private boolean updateLatencyInDataBase(IslRoundTripLatency data, Endpoint destination, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                destination.getDatapath(), destination.getPortNumber(), latency, data.getPacketId(),
-                ROUND_TRIP_LATENCY);
-    }
-
-    private boolean updateLatencyInDataBase(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
-                                         long latency, long packetId, String latencyType) {
-        if (latency < 0) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. Latency must be positive.",
+    private boolean updateLatencyInDataBase(IslKey islKey, LatencyUpdate update) {
+        SwitchId srcSwitch = islKey.getSrcSwitchId();
+        int srcPort = islKey.getSrcPort();
+        SwitchId dstSwitch = islKey.getDstSwitchId();
+        int dstPort = islKey.getDstPort();
+        long packetId = update.getPending().getPacketId();
+        String latencyType = update.getPending().isRoundTrip() ? ROUND_TRIP_LATENCY : ONE_WAY_LATENCY;
+
+        // exceptions must not be thrown here, they would roll back the whole batch
+        Optional<Isl> isl = islRepository.findByEndpoints(srcSwitch, srcPort, dstSwitch, dstPort);
+        if (!isl.isPresent()) {
+            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. ISL not found.",
                     latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId);
             return false;
         }
 
-        try {
-            updateIslLatency(srcSwitch, srcPort, dstSwitch, dstPort, latency);
-            log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
-                    latencyType, srcSwitch, srcPort, latency, dstSwitch, dstPort, packetId);
-        } catch (SwitchNotFoundException | IslNotFoundException e) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. {}",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId, e.getMessage());
-            return false;
-        }
+        isl.get().setLatency(update.getLatency());
+        log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
+                latencyType, srcSwitch, srcPort, update.getLatency(), dstSwitch, dstPort, packetId);
         return true;
     }
 
-    @VisibleForTesting
-    void pollExpiredRecords(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue == null) {
-            return;
-        }
-        Instant oldestTimeInRange = Instant.now().minusSeconds(latencyUpdateTimeRange);
-        while (!recordsQueue.isEmpty()
-                && Instant.ofEpochMilli(recordsQueue.peek().getTimestamp()).isBefore(oldestTimeInRange)) {
-            recordsQueue.poll();
+    private void removeExpiredRecords(LatencyRingBuffer records, long oldestTimestamp) {
+        if (records != null) {
+            records.removeOlderThan(oldestTimestamp);
         }
     }
 
     @VisibleForTesting
-    long calculateAverageLatency(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue.isEmpty()) {
-            log.error("Couldn't calculate average latency. Records queue is empty");
+    void pollExpiredRecords(LatencyRingBuffer records) {
+        removeExpiredRecords(records, Instant.now().minusSeconds(latencyUpdateTimeRange).toEpochMilli());
+    }
+
+    @VisibleForTesting
+    long calculateLatency(LatencyRingBuffer records) {
+        if (records.isEmpty()) {
+            log.error("Couldn't calculate latency. Records buffer is empty");
             return -1;
         }
-
-        long sum = 0;
-        for (LatencyRecord record : recordsQueue) {
-            sum += record.getLatency();
+        if (latencyPercentile > 0) {
+            return records.getPercentile(latencyPercentile);
         }
-        return sum / recordsQueue.size();
+        return records.getAverage();
     }
 
     @VisibleForTesting
@@ -249,26 +273,15 @@ public class IslLatencyService {
         return Instant.now().plusSeconds(latencyUpdateInterval);
     }
 
-    /**
-     * Update latency of isl by source and destination endpoint.
-     *
-     * @param srcSwitchId ID of source switch.
-     * @param srcPort source port.
-     * @param dstSwitchId ID of destination switch.
-     * @param dstPort destination port.
-     * @param latency latency to update
-     *
-     * @throws SwitchNotFoundException if src or dst switch is not found
-     * @throws IslNotFoundException if isl is not found
-     */
-    @VisibleForTesting
-    void updateIslLatency(
-            SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long latency)
-            throws SwitchNotFoundException, IslNotFoundException {
-        transactionManager.doInTransaction(() -> {
-            Isl isl = islRepository.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort)
-                    .orElseThrow(() -> new IslNotFoundException(srcSwitchId, srcPort, dstSwitchId, dstPort));
-            isl.setLatency(latency);
-        });
+    @Value
+    private static class PendingUpdate {
+        boolean roundTrip;
+        long packetId;
+    }
+
+    @Value
+    private static class LatencyUpdate {
+        long latency;
+        PendingUpdate pending;
     }
 }
@@ -57,10 +57,13 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class IslLatencyTopologyTest extends AbstractStormTest {
 
     private static final int POLL_TIMEOUT = 1000;
+    private static final int FLUSH_TIMEOUT_TICKS = 3;
+    private static final int FLUSH_POLL_INTERVAL = 100;
     private static final String POLL_DATAPOINT_ASSERT_MESSAGE = "Could not poll any datapoint";
     private static final String METRIC_PREFIX = "kilda.";
     private static final int PORT_1 = 1;
@@ -138,7 +141,8 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
     }
 
     @Test
-    public void checkTopologyMetricAndDatabaseUpdateTest() throws IslNotFoundException, JsonProcessingException {
+    public void checkTopologyMetricAndDatabaseUpdateTest()
+            throws IslNotFoundException, JsonProcessingException, InterruptedException {
         // It's hard to split this test on several tests because IslStatsBolts and IslLatencyBolt has internal states
         long latency1 = 1;
         long latency2 = 2;
@@ -156,28 +160,29 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         // we have no round trip latency so we have to use one way latency for the database, but not for OpenTSDB
         pushMessage(firstOneWayLatency);
         assertTrue(otsdbConsumer.isEmpty());
-        assertEquals(latency1 * ONE_WAY_LATENCY_MULTIPLIER, getIslLatency(FORWARD_ISL));
+        awaitIslLatency(FORWARD_ISL, latency1 * ONE_WAY_LATENCY_MULTIPLIER);
 
         // we got round trip latency so we will use it for metric and database
         long timestamp2 = pushMessage(firstRoundTripLatency);
         assertMetric(FORWARD_ISL, latency2, timestamp2);
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        awaitIslLatency(FORWARD_ISL, latency2);
 
         // we got one way latency but bolts already has data with RTL latency. one way latency will be ignored
         pushMessage(secondOneWayLatency);
         assertTrue(otsdbConsumer.isEmpty());
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
 
         // we got new round trip latency and it will be used for metric
         long timestamp4 = pushMessage(secondRoundTripLatency);
         assertMetric(FORWARD_ISL, latency4, timestamp4);
-        // but not for database, because of big update time interval
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
 
         // we got one way latency for reverse isl, but we already has RTL for forward ISL and we can use it
         long timestamp5 = pushMessage(reverseOneWayLatency);
         assertMetric(REVERSE_ISL, latency4, timestamp5);
-        assertEquals((latency2 + latency4) / 2, getIslLatency(REVERSE_ISL));
+        awaitIslLatency(REVERSE_ISL, (latency2 + latency4) / 2);
+
+        // all the previous samples are flushed at this point, but the forward ISL is not updated because neither
+        // one way latency nor the round trip latency within the update interval is written into the database
+        assertEquals(latency2, getIslLatency(FORWARD_ISL));
     }
 
     private long pushMessage(InfoData infoData) throws JsonProcessingException {
@@ -189,6 +194,17 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         return timestamp;
     }
 
+    private void awaitIslLatency(IslKey islKey, long expectedLatency)
+            throws IslNotFoundException, InterruptedException {
+        // latency is written into the database by tick, so the check is repeated until the expected value is flushed
+        long deadline = System.currentTimeMillis()
+                + TimeUnit.SECONDS.toMillis(islLatencyTopologyConfig.getLatencyFlushInterval() * FLUSH_TIMEOUT_TICKS);
+        while (getIslLatency(islKey) != expectedLatency && System.currentTimeMillis() < deadline) {
+            sleep(FLUSH_POLL_INTERVAL);
+        }
+        assertEquals(expectedLatency, getIslLatency(islKey));
+    }
+
     private void assertMetric(IslKey isl, long expectedLatency, Long expectedTimestamp) {
         Datapoint datapoint = pollDataPoint();
 
@@ -0,0 +1,71 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyRingBufferTest {
+
+    @Test
+    public void oldestSampleIsOverwrittenWhenBufferIsFullTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i * 10, i);
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(40, buffer.getAverage());
+        assertEquals(50, buffer.getPercentile(100));
+        assertEquals(30, buffer.getPercentile(1));
+    }
+
+    @Test
+    public void removeOlderThanTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(4);
+        for (int i = 1; i <= 6; i++) {
+            buffer.add(i, i * 1000);
+        }
+
+        buffer.removeOlderThan(5000);
+        assertEquals(2, buffer.size());
+        assertEquals(5, buffer.getAverage());
+
+        buffer.removeOlderThan(10000);
+        assertTrue(buffer.isEmpty());
+        assertEquals(-1, buffer.getAverage());
+        assertEquals(-1, buffer.getPercentile(50));
+    }
+
+    @Test
+    public void percentileTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(10);
+        long[] latencies = {7, 1, 9, 3, 5, 2, 8, 4, 10, 6};
+        for (long latency : latencies) {
+            buffer.add(latency, 0);
+        }
+
+        assertEquals(5, buffer.getPercentile(50));
+        assertEquals(9, buffer.getPercentile(90));
+        assertEquals(10, buffer.getPercentile(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacityTest() {
+        new LatencyRingBuffer(0);
+    }
+}
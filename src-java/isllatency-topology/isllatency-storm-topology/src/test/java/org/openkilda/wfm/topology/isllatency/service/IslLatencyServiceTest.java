@@ -28,18 +28,14 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyRingBuffer;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
 
 public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
@@ -49,11 +45,11 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
     private static final int INITIAL_LATENCY = 123;
     private static final long PACKET_ID = 0;
     private static final SwitchId NON_EXISTENT_SWITCH_ID = new SwitchId(123);
-    private static final int NON_EXISTENT_PORT = 555;
     private static final Endpoint FORWARD_DESTINATION = Endpoint.of(SWITCH_ID_2, PORT_2);
     private static final IslKey FORWARD_ISL_KEY = new IslKey(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2);
     public static final int LATENCY_UPDATE_INTERVAL = 100;
     public static final int LATENCY_UPDATE_TIME_RANGE = 10;
+    public static final int LATENCY_SAMPLES_CAPACITY = 100;
 
 
     private SwitchRepository switchRepository;
@@ -64,7 +60,7 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
     public void setup() {
         islLatencyService = new IslLatencyService(
                 persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(),
-                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE);
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, LATENCY_SAMPLES_CAPACITY, 0);
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
 
@@ -74,36 +70,41 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         createIsl(firstSwitch, PORT_1, secondSwitch, PORT_2, INITIAL_LATENCY);
     }
 
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentSrcEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2, 0);
-    }
-
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentDstEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2, 0);
-    }
-
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentIslTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT, 0);
+    @Test
+    public void handleOneWayIslLatencyNonExistentSrcSwitchTest() {
+        IslKey islKey = new IslKey(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2);
+        islLatencyService.handleOneWayIslLatency(
+                new IslOneWayLatency(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2, 3, PACKET_ID),
+                System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
+
+        assertForwardLatency(INITIAL_LATENCY);
+        assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
 
     @Test
-    public void updateIslLatencyTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 1000);
-        assertForwardLatency(1000);
+    public void handleRoundTripIslLatencyNonExistentDstSwitchTest() {
+        IslKey islKey = new IslKey(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2);
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(3), Endpoint.of(NON_EXISTENT_SWITCH_ID, PORT_2),
+                System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
+
+        assertForwardLatency(INITIAL_LATENCY);
+        assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
 
     @Test
     public void handleOneWayIslLatencyTest() {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(1), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(1);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(10000), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(1);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -113,12 +114,14 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(5), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(5);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(50000), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(5);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -127,23 +130,27 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
     public void handleRoundTripIslLatencyAfterOneWayIslLatencyTest() {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(7), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(7);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(70000), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(7);
 
         // round trip latency will rewrite one way latency
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(8), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(8);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(80000), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
         assertForwardLatency(8);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -155,6 +162,7 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         IslRoundTripLatency data = new IslRoundTripLatency(SWITCH_ID_1, PORT_1, 1L, 0L);
         Endpoint destination = Endpoint.of(SWITCH_ID_2, PORT_2);
         islLatencyService.handleRoundTripIslLatency(data, destination, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -168,6 +176,7 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
 
         IslOneWayLatency nonExistent = new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID);
         islLatencyService.handleOneWayIslLatency(nonExistent, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -182,6 +191,7 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         IslRoundTripLatency nonExistent = new IslRoundTripLatency(SWITCH_ID_1, fakePort, 4, PACKET_ID);
         islLatencyService.handleRoundTripIslLatency(
                 nonExistent, Endpoint.of(SWITCH_ID_2, fakePort), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -193,44 +203,94 @@ public class IslLatencyServiceTest extends InMemoryGraphBasedTest {
         assertEquals(expectedTime, actualTime.toEpochMilli(), 50);
     }
 
+    @Test
+    public void flushLatencyUpdatesForSeveralIslsTest() {
+        Switch firstSwitch = switchRepository.findById(SWITCH_ID_1).get();
+        Switch secondSwitch = switchRepository.findById(SWITCH_ID_2).get();
+        createIsl(secondSwitch, PORT_2, firstSwitch, PORT_1, INITIAL_LATENCY);
+
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(3), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(5), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.handleOneWayIslLatency(new IslOneWayLatency(
+                SWITCH_ID_2, PORT_2, SWITCH_ID_1, PORT_1, 1000, PACKET_ID), System.currentTimeMillis());
+
+        // nothing is written before flush
+        assertForwardLatency(INITIAL_LATENCY);
+
+        islLatencyService.flushLatencyUpdates();
+        assertForwardLatency(4);
+        // reverse ISL uses round trip latency of forward ISL
+        assertEquals(4, islRepository.findByEndpoints(SWITCH_ID_2, PORT_2, SWITCH_ID_1, PORT_1).get().getLatency());
+        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY.getReverse()));
+    }
+
+    @Test
+    public void flushLatencyUpdatesWithNonExistentIslTest() {
+        int fakePort = 997;
+        IslKey islKey = new IslKey(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort);
+
+        islLatencyService.handleOneWayIslLatency(
+                new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID),
+                System.currentTimeMillis());
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(9), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
+
+        // missing ISL must not prevent update of other ISLs
+        assertForwardLatency(9);
+        assertTrue(islLatencyService.isUpdateRequired(islKey));
+    }
+
     @Test
     public void calculateAverageLatencyTest() {
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        LatencyRingBuffer latencyRecords = new LatencyRingBuffer(LATENCY_SAMPLES_CAPACITY);
 
         for (int i = 1; i <= 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, 1));
+            latencyRecords.add(i, 1);
         }
-        assertEquals(3, islLatencyService.calculateAverageLatency(latencyRecords));
+        assertEquals(3, islLatencyService.calculateLatency(latencyRecords));
+    }
+
+    @Test
+    public void calculatePercentileLatencyTest() {
+        IslLatencyService percentileService = new IslLatencyService(
+                persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(),
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, LATENCY_SAMPLES_CAPACITY, 90);
+        LatencyRingBuffer latencyRecords = new LatencyRingBuffer(LATENCY_SAMPLES_CAPACITY);
+
+        for (int i = 1; i <= 10; i++) {
+            latencyRecords.add(i * 10, 1);
+        }
+        assertEquals(90, percentileService.calculateLatency(latencyRecords));
     }
 
     @Test
     public void calculateAverageLatencyEmptyTest() {
-        assertEquals(-1, islLatencyService.calculateAverageLatency(new LinkedList<>()));
+        assertEquals(-1, islLatencyService.calculateLatency(new LatencyRingBuffer(LATENCY_SAMPLES_CAPACITY)));
     }
 
     @Test
     public void pollExpiredRecordsTest() {
         Instant time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2);
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        LatencyRingBuffer latencyRecords = new LatencyRingBuffer(LATENCY_SAMPLES_CAPACITY);
 
         for (int i = 0; i < 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
         time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE - 7);
         for (int i = 5; i < 10; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
         assertEquals(10, latencyRecords.size());
         islLatencyService.pollExpiredRecords(latencyRecords);
         assertEquals(5, latencyRecords.size());
-
-        for (int i = 5; i < 10; i++) {
-            assertEquals(i, latencyRecords.poll().getLatency());
-        }
+        assertEquals(7, latencyRecords.getAverage());
     }
 
     private Switch createSwitch(SwitchId switchId) {
@@ -0,0 +1,72 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Copy of the regex and {@link String#format(String, Object...)} based switch id implementation, kept as the
+ * baseline for {@link SwitchIdBenchmark}.
+ */
+public class LegacySwitchId {
+    private final long id;
+
+    public LegacySwitchId(long switchId) {
+        this.id = switchId;
+    }
+
+    /**
+     * Parse the colon separated representation of a switch id.
+     */
+    public LegacySwitchId(String switchId) {
+        try {
+            this.id = Long.parseUnsignedLong(switchId.replaceAll("[-:]", ""), 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Can not parse input string: \"%s\"", switchId));
+        }
+    }
+
+    public long toLong() {
+        return id;
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return colonSeparatedBytes(toHexArray(), 0);
+    }
+
+    public String toOtsdFormat() {
+        return "SW" + new String(toHexArray()).toUpperCase();
+    }
+
+    private String colonSeparatedBytes(char[] hex, int offset) {
+        int length = hex.length - offset;
+        length += length / 2 - 1;
+        char[] buffer = new char[length];
+        int dst = 0;
+        for (int src = offset; src < hex.length; src++) {
+            if (offset < src && src % 2 == 0) {
+                buffer[dst++] = ':';
+            }
+            buffer[dst++] = hex[src];
+        }
+        return new String(buffer);
+    }
+
+    private char[] toHexArray() {
+        return String.format("%016x", id).toCharArray();
+    }
+}
@@ -0,0 +1,211 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy switch id conversions with {@link SwitchIdCodec} on single values and on a message with a
+ * flow path sized list of switch id references. Run with {@code ./gradlew :kilda-model:jmh} and compare the time
+ * and, with {@code -prof gc}, the allocation rate of the legacy and codec variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SwitchIdBenchmark {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"16", "256"})
+    public int switchesCount;
+
+    @Param({"64"})
+    public int segmentsCount;
+
+    private String[] switchIds;
+    private long[] switchIdValues;
+    private SwitchId[] cachedSwitchIds;
+    private String legacyMessage;
+    private String codecMessage;
+    private int position;
+
+    /**
+     * Generate switch ids and the messages referencing them.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(switchesCount);
+        switchIds = new String[switchesCount];
+        switchIdValues = new long[switchesCount];
+        cachedSwitchIds = new SwitchId[switchesCount];
+        for (int i = 0; i < switchesCount; i++) {
+            switchIdValues[i] = random.nextLong();
+            cachedSwitchIds[i] = new SwitchId(switchIdValues[i]);
+            switchIds[i] = cachedSwitchIds[i].toString();
+        }
+
+        List<LegacySegment> legacySegments = new ArrayList<>(segmentsCount);
+        List<CodecSegment> codecSegments = new ArrayList<>(segmentsCount);
+        for (int i = 0; i < segmentsCount; i++) {
+            long src = switchIdValues[i % switchesCount];
+            long dst = switchIdValues[(i + 1) % switchesCount];
+            legacySegments.add(new LegacySegment(new LegacySwitchId(src), new LegacySwitchId(dst), i));
+            codecSegments.add(new CodecSegment(new SwitchId(src), new SwitchId(dst), i));
+        }
+        legacyMessage = MAPPER.writeValueAsString(new LegacyPath(legacySegments));
+        codecMessage = MAPPER.writeValueAsString(new CodecPath(codecSegments));
+    }
+
+    @Benchmark
+    public long parseLegacy() {
+        return new LegacySwitchId(nextSwitchId()).toLong();
+    }
+
+    @Benchmark
+    public long parseCodec() {
+        return SwitchIdCodec.parse(nextSwitchId());
+    }
+
+    @Benchmark
+    public SwitchId parseInterned() {
+        return SwitchId.valueOf(nextSwitchId());
+    }
+
+    @Benchmark
+    public String formatLegacy() {
+        return new LegacySwitchId(nextSwitchIdValue()).toString();
+    }
+
+    @Benchmark
+    public String formatCodec() {
+        return SwitchIdCodec.toColonSeparated(nextSwitchIdValue());
+    }
+
+    @Benchmark
+    public String formatCached() {
+        return cachedSwitchIds[nextPosition()].toString();
+    }
+
+    @Benchmark
+    public String otsdFormatLegacy() {
+        return new LegacySwitchId(nextSwitchIdValue()).toOtsdFormat();
+    }
+
+    @Benchmark
+    public String otsdFormatCodec() {
+        return SwitchIdCodec.toOtsdFormat(nextSwitchIdValue());
+    }
+
+    @Benchmark
+    public void messageRoundTripLegacy(Blackhole blackhole) throws IOException {
+        LegacyPath path = MAPPER.readValue(legacyMessage, LegacyPath.class);
+        blackhole.consume(MAPPER.writeValueAsString(path));
+    }
+
+    @Benchmark
+    public void messageRoundTripCodec(Blackhole blackhole) throws IOException {
+        CodecPath path = MAPPER.readValue(codecMessage, CodecPath.class);
+        blackhole.consume(MAPPER.writeValueAsString(path));
+    }
+
+    private String nextSwitchId() {
+        return switchIds[nextPosition()];
+    }
+
+    private long nextSwitchIdValue() {
+        return switchIdValues[nextPosition()];
+    }
+
+    private int nextPosition() {
+        position = (position + 1) % switchesCount;
+        return position;
+    }
+
+    public static class LegacySegment {
+        @JsonProperty("src_switch")
+        public final LegacySwitchId srcSwitch;
+
+        @JsonProperty("dst_switch")
+        public final LegacySwitchId dstSwitch;
+
+        @JsonProperty("seq_id")
+        public final int seqId;
+
+        @JsonCreator
+        public LegacySegment(@JsonProperty("src_switch") LegacySwitchId srcSwitch,
+                             @JsonProperty("dst_switch") LegacySwitchId dstSwitch,
+                             @JsonProperty("seq_id") int seqId) {
+            this.srcSwitch = srcSwitch;
+            this.dstSwitch = dstSwitch;
+            this.seqId = seqId;
+        }
+    }
+
+    public static class LegacyPath {
+        @JsonProperty("segments")
+        public final List<LegacySegment> segments;
+
+        @JsonCreator
+        public LegacyPath(@JsonProperty("segments") List<LegacySegment> segments) {
+            this.segments = segments;
+        }
+    }
+
+    public static class CodecSegment {
+        @JsonProperty("src_switch")
+        public final SwitchId srcSwitch;
+
+        @JsonProperty("dst_switch")
+        public final SwitchId dstSwitch;
+
+        @JsonProperty("seq_id")
+        public final int seqId;
+
+        @JsonCreator
+        public CodecSegment(@JsonProperty("src_switch") SwitchId srcSwitch,
+                            @JsonProperty("dst_switch") SwitchId dstSwitch,
+                            @JsonProperty("seq_id") int seqId) {
+            this.srcSwitch = srcSwitch;
+            this.dstSwitch = dstSwitch;
+            this.seqId = seqId;
+        }
+    }
+
+    public static class CodecPath {
+        @JsonProperty("segments")
+        public final List<CodecSegment> segments;
+
+        @JsonCreator
+        public CodecPath(@JsonProperty("segments") List<CodecSegment> segments) {
+            this.segments = segments;
+        }
+    }
+}
@@ -15,9 +15,13 @@
 
 package org.openkilda.model;
 
-import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.annotations.VisibleForTesting;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 import java.io.Serializable;
 import java.util.Objects;
@@ -26,11 +30,22 @@ import java.util.Objects;
  * Represents a switch id.
  */
 @Value
+@JsonSerialize(using = SwitchIdJsonSerializer.class)
+@JsonDeserialize(using = SwitchIdJsonDeserializer.class)
 public class SwitchId implements Comparable<SwitchId>, Serializable {
     private static final long serialVersionUID = 1L;
 
     private final long id;
 
+    // Lazily calculated string representations, racy initialization is safe here because strings are immutable.
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    private transient String stringValue;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    private transient String otsdValue;
+
     /**
      * Construct an instance based on the long value representation of a switch id.
      */
@@ -44,11 +59,22 @@ public class SwitchId implements Comparable<SwitchId>, Serializable {
     public SwitchId(String switchId) {
         Objects.requireNonNull(switchId, "Switch id must not be null");
 
-        try {
-            this.id = Long.parseUnsignedLong(switchId.replaceAll("[-:]", ""), 16);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException(String.format("Can not parse input string: \"%s\"", switchId));
-        }
+        this.id = SwitchIdCodec.parse(switchId);
+    }
+
+    /**
+     * Return the shared instance for the long value representation of a switch id.
+     */
+    public static SwitchId valueOf(long switchId) {
+        return SwitchIdPool.intern(switchId);
+    }
+
+    /**
+     * Return the shared instance for the colon separated representation of a switch id.
+     */
+    public static SwitchId valueOf(String switchId) {
+        Objects.requireNonNull(switchId, "Switch id must not be null");
+        return SwitchIdPool.intern(SwitchIdCodec.parse(switchId));
     }
 
     /**
@@ -66,16 +92,20 @@ public class SwitchId implements Comparable<SwitchId>, Serializable {
      * @return the MAC address of switch.
      */
     public String toMacAddress() {
-        return colonSeparatedBytes(toHexArray(), 4);
+        return SwitchIdCodec.toMacAddress(id);
     }
 
     /**
      * {@inheritDoc }
      */
-    @JsonValue
     @Override
     public String toString() {
-        return colonSeparatedBytes(toHexArray(), 0);
+        String result = stringValue;
+        if (result == null) {
+            result = SwitchIdCodec.toColonSeparated(id);
+            stringValue = result;
+        }
+        return result;
     }
 
     /**
@@ -84,7 +114,12 @@ public class SwitchId implements Comparable<SwitchId>, Serializable {
      * @return the switch id in otsd format.
      */
     public String toOtsdFormat() {
-        return "SW" + new String(toHexArray()).toUpperCase();
+        String result = otsdValue;
+        if (result == null) {
+            result = SwitchIdCodec.toOtsdFormat(id);
+            otsdValue = result;
+        }
+        return result;
     }
 
     @VisibleForTesting
@@ -109,11 +144,6 @@ public class SwitchId implements Comparable<SwitchId>, Serializable {
         return new String(buffer);
     }
 
-    private char[] toHexArray() {
-        String hexString = String.format("%016x", id);
-        return hexString.toCharArray();
-    }
-
     @Override
     public int compareTo(SwitchId other) {
         return Long.compareUnsigned(id, other.id);
@@ -0,0 +1,143 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.model;
+
+/**
+ * Conversions of a switch id between the numeric and the textual representations. Unlike regex and
+ * {@link String#format(String, Object...)} based conversions, the only allocation performed is the result itself.
+ */
+public final class SwitchIdCodec {
+    private static final char[] LOWER_HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final char[] UPPER_HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int HEX_LENGTH = 16;
+    private static final String OTSD_PREFIX = "SW";
+
+    private SwitchIdCodec() {
+    }
+
+    /**
+     * Parse the hex representation of a switch id. Digits can be separated by colons or dashes.
+     *
+     * @throws IllegalArgumentException if the value is not a valid switch id.
+     */
+    public static long parse(CharSequence value) {
+        long result = 0;
+        int significantDigits = 0;
+        boolean hasDigits = false;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char symbol = value.charAt(i);
+            if (isSeparator(symbol) || (i == 0 && symbol == '+')) {
+                continue;
+            }
+            int digit = Character.digit(symbol, 16);
+            if (digit < 0 || (result != 0 || digit != 0) && ++significantDigits > HEX_LENGTH) {
+                throw invalidInput(value.toString());
+            }
+            hasDigits = true;
+            result = (result << 4) | digit;
+        }
+        if (!hasDigits) {
+            throw invalidInput(value.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Parse the hex representation of a switch id stored in the char buffer, see {@link #parse(CharSequence)}.
+     */
+    public static long parse(char[] buffer, int offset, int length) {
+        long result = 0;
+        int significantDigits = 0;
+        boolean hasDigits = false;
+        for (int i = offset; i < offset + length; i++) {
+            char symbol = buffer[i];
+            if (isSeparator(symbol) || (i == offset && symbol == '+')) {
+                continue;
+            }
+            int digit = Character.digit(symbol, 16);
+            if (digit < 0 || (result != 0 || digit != 0) && ++significantDigits > HEX_LENGTH) {
+                throw invalidInput(new String(buffer, offset, length));
+            }
+            hasDigits = true;
+            result = (result << 4) | digit;
+        }
+        if (!hasDigits) {
+            throw invalidInput(new String(buffer, offset, length));
+        }
+        return result;
+    }
+
+    /**
+     * Return 16 lower case hex digits of the switch id.
+     */
+    public static char[] toHexChars(long value) {
+        char[] result = new char[HEX_LENGTH];
+        writeHex(value, result, 0, LOWER_HEX_DIGITS);
+        return result;
+    }
+
+    /**
+     * Return the switch id in the colon separated form i.e. "00:00:00:00:00:00:00:01".
+     */
+    public static String toColonSeparated(long value) {
+        return toColonSeparated(value, HEX_LENGTH / 2);
+    }
+
+    /**
+     * Return the MAC address part of the switch id i.e. "00:00:00:00:00:01".
+     */
+    public static String toMacAddress(long value) {
+        return toColonSeparated(value, 6);
+    }
+
+    /**
+     * Return the switch id in OpenTSDB format i.e. "SW0000000000000001".
+     */
+    public static String toOtsdFormat(long value) {
+        char[] result = new char[OTSD_PREFIX.length() + HEX_LENGTH];
+        OTSD_PREFIX.getChars(0, OTSD_PREFIX.length(), result, 0);
+        writeHex(value, result, OTSD_PREFIX.length(), UPPER_HEX_DIGITS);
+        return new String(result);
+    }
+
+    private static String toColonSeparated(long value, int bytesCount) {
+        char[] result = new char[bytesCount * 3 - 1];
+        int position = 0;
+        for (int shift = (bytesCount - 1) * 8; shift >= 0; shift -= 8) {
+            if (position > 0) {
+                result[position++] = ':';
+            }
+            result[position++] = LOWER_HEX_DIGITS[(int) (value >>> (shift + 4)) & 0xF];
+            result[position++] = LOWER_HEX_DIGITS[(int) (value >>> shift) & 0xF];
+        }
+        return new String(result);
+    }
+
+    private static void writeHex(long value, char[] target, int offset, char[] digits) {
+        for (int i = HEX_LENGTH - 1; i >= 0; i--) {
+            target[offset + i] = digits[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+    private static boolean isSeparator(char symbol) {
+        return symbol == ':' || symbol == '-';
+    }
+
+    private static IllegalArgumentException invalidInput(String value) {
+        return new IllegalArgumentException(String.format("Can not parse input string: \"%s\"", value));
+    }
+}
@@ -0,0 +1,51 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link SwitchId} from its string (or numeric) representation. The string is parsed directly from the parser
+ * buffer and the result is taken from the intern pool, so no intermediate objects are created for known switches.
+ */
+public class SwitchIdJsonDeserializer extends StdDeserializer<SwitchId> {
+    private static final long serialVersionUID = 1L;
+
+    public SwitchIdJsonDeserializer() {
+        super(SwitchId.class);
+    }
+
+    @Override
+    public SwitchId deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return SwitchId.valueOf(SwitchIdCodec.parse(
+                        parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()));
+            } catch (IllegalArgumentException e) {
+                throw context.weirdStringException(parser.getText(), SwitchId.class, e.getMessage());
+            }
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return SwitchId.valueOf(parser.getLongValue());
+        }
+        return (SwitchId) context.handleUnexpectedToken(SwitchId.class, parser);
+    }
+}
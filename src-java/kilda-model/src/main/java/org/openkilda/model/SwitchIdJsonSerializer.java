@@ -0,0 +1,37 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link SwitchId} as its colon separated string, reusing the string cached by the switch id.
+ */
+public class SwitchIdJsonSerializer extends StdSerializer<SwitchId> {
+    private static final long serialVersionUID = 1L;
+
+    public SwitchIdJsonSerializer() {
+        super(SwitchId.class);
+    }
+
+    @Override
+    public void serialize(SwitchId value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeString(value.toString());
+    }
+}
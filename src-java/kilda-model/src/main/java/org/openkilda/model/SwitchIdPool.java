@@ -0,0 +1,53 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded intern pool of {@link SwitchId} instances. The number of switches is small comparing to the number of
+ * switch id references in messages and persistence entities, so sharing instances saves both the parsing and the
+ * memory occupied by cached string representations. When the pool is full new instances are returned as is.
+ */
+final class SwitchIdPool {
+    static final int MAX_SIZE = 1 << 16;
+
+    private static final ConcurrentMap<Long, SwitchId> POOL = new ConcurrentHashMap<>();
+
+    private SwitchIdPool() {
+    }
+
+    static SwitchId intern(long id) {
+        SwitchId result = POOL.get(id);
+        if (result != null) {
+            return result;
+        }
+        return intern(new SwitchId(id));
+    }
+
+    static SwitchId intern(SwitchId switchId) {
+        if (POOL.size() >= MAX_SIZE) {
+            SwitchId existing = POOL.get(switchId.toLong());
+            return existing != null ? existing : switchId;
+        }
+        SwitchId existing = POOL.putIfAbsent(switchId.toLong(), switchId);
+        return existing != null ? existing : switchId;
+    }
+
+    static int size() {
+        return POOL.size();
+    }
+}
@@ -0,0 +1,83 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class SwitchIdCodecTest {
+    private static final long[] SAMPLES = {0L, 1L, 0xfedcba9876543210L, Long.MAX_VALUE, Long.MIN_VALUE, -1L};
+
+    @Test
+    public void parseColonSeparated() {
+        assertEquals(0xfedcba9876543210L, SwitchIdCodec.parse("fe:dc:ba:98:76:54:32:10"));
+        assertEquals(0xfedcba9876543210L, SwitchIdCodec.parse("FE:DC:BA:98:76:54:32:10"));
+    }
+
+    @Test
+    public void parseDashSeparatedAndPlain() {
+        assertEquals(0x0102030405060708L, SwitchIdCodec.parse("01-02-03-04-05-06-07-08"));
+        assertEquals(0x0102030405060708L, SwitchIdCodec.parse("0102030405060708"));
+        assertEquals(0x1L, SwitchIdCodec.parse("1"));
+        assertEquals(0x1L, SwitchIdCodec.parse("00000000000000000001"));
+    }
+
+    @Test
+    public void parseCharBuffer() {
+        char[] buffer = "[\"00:00:00:00:00:00:00:2a\"]".toCharArray();
+        assertEquals(0x2aL, SwitchIdCodec.parse(buffer, 2, 23));
+    }
+
+    @Test
+    public void parseMatchesLegacyImplementation() {
+        for (long value : SAMPLES) {
+            String formatted = String.format("%016x", value);
+            assertEquals(Long.parseUnsignedLong(formatted, 16), SwitchIdCodec.parse(formatted));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseRejectsInvalidDigit() {
+        SwitchIdCodec.parse("00:00:00:00:00:00:00:0g");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseRejectsOverflow() {
+        SwitchIdCodec.parse("01:00:00:00:00:00:00:00:00");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseRejectsEmptyInput() {
+        SwitchIdCodec.parse("::");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseCharBufferRejectsInvalidDigit() {
+        char[] buffer = "xyz".toCharArray();
+        SwitchIdCodec.parse(buffer, 0, buffer.length);
+    }
+
+    @Test
+    public void formatMatchesLegacyImplementation() {
+        for (long value : SAMPLES) {
+            String hex = String.format("%016x", value);
+            assertEquals(hex, new String(SwitchIdCodec.toHexChars(value)));
+            assertEquals(hex.replaceAll("(..)(?!$)", "$1:"), SwitchIdCodec.toColonSeparated(value));
+            assertEquals(hex.substring(4).replaceAll("(..)(?!$)", "$1:"), SwitchIdCodec.toMacAddress(value));
+            assertEquals("SW" + hex.toUpperCase(), SwitchIdCodec.toOtsdFormat(value));
+        }
+    }
+}
@@ -15,11 +15,15 @@
 
 package org.openkilda.model;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.io.IOException;
+
 public class SwitchIdTest {
 
     @Rule
@@ -68,4 +72,58 @@ public class SwitchIdTest {
         Assert.assertEquals(switchIdString.substring(18), switchId.colonSeparatedBytes(hexArray, 12));
         Assert.assertEquals(switchIdString.substring(21), switchId.colonSeparatedBytes(hexArray, 14));
     }
+
+    @Test
+    public void stringRepresentations() {
+        SwitchId switchId = new SwitchId(0xfedcba9876543210L);
+
+        Assert.assertEquals("fe:dc:ba:98:76:54:32:10", switchId.toString());
+        Assert.assertSame(switchId.toString(), switchId.toString());
+        Assert.assertEquals("ba:98:76:54:32:10", switchId.toMacAddress());
+        Assert.assertEquals("SWFEDCBA9876543210", switchId.toOtsdFormat());
+    }
+
+    @Test
+    public void cachedStringDoesNotAffectEquality() {
+        SwitchId first = new SwitchId(1);
+        SwitchId second = new SwitchId(1);
+        first.toString();
+
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void invalidStringIsRejected() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Can not parse input string: \"00:zz\"");
+
+        new SwitchId("00:zz");
+    }
+
+    @Test
+    public void valueOfReturnsSharedInstance() {
+        SwitchId switchId = SwitchId.valueOf("00:00:00:00:00:00:10:01");
+
+        Assert.assertSame(switchId, SwitchId.valueOf(0x1001L));
+        Assert.assertEquals(new SwitchId(0x1001L), switchId);
+    }
+
+    @Test
+    public void jsonRoundTrip() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        SwitchId switchId = new SwitchId("00:00:00:00:00:00:10:02");
+
+        String json = mapper.writeValueAsString(switchId);
+        Assert.assertEquals("\"00:00:00:00:00:00:10:02\"", json);
+        Assert.assertEquals(switchId, mapper.readValue(json, SwitchId.class));
+        Assert.assertEquals(switchId, mapper.readValue("4098", SwitchId.class));
+    }
+
+    @Test
+    public void jsonInvalidString() throws IOException {
+        thrown.expect(JsonMappingException.class);
+
+        new ObjectMapper().readValue("\"00:zz\"", SwitchId.class);
+    }
 }
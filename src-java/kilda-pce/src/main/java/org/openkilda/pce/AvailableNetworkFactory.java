@@ -42,11 +42,18 @@ public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private BandwidthReservations bandwidthReservations;
 
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
+        this(config, repositoryFactory, BandwidthReservations.NONE);
+    }
+
+    public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory,
+                                   BandwidthReservations bandwidthReservations) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.bandwidthReservations = bandwidthReservations;
     }
 
     /**
@@ -63,7 +70,7 @@ public class AvailableNetworkFactory {
         try {
             // Reads all active links from the database and creates representation of the network.
             getAvailableIsls(buildStrategy, flow)
-                    .forEach(link -> addIslAsEdge(link, network));
+                    .forEach(link -> addIslAsEdge(link, network, flow));
 
             if (!reusePathsResources.isEmpty() && !flow.isIgnoreBandwidth()) {
                 reusePathsResources.stream()
@@ -74,7 +81,7 @@ public class AvailableNetworkFactory {
                             // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
                             islRepository.findActiveByPathAndBandwidthAndEncapsulationType(
                                     pathId, flow.getBandwidth(), flow.getEncapsulationType())
-                                    .forEach(link -> addIslAsEdge(link, network));
+                                    .forEach(link -> addIslAsEdge(link, network, flow));
                         });
             }
         } catch (PersistenceException e) {
@@ -143,7 +150,17 @@ public class AvailableNetworkFactory {
         }
     }
 
-    private void addIslAsEdge(IslImmutableView isl, AvailableNetwork network) {
+    private void addIslAsEdge(IslImmutableView isl, AvailableNetwork network, Flow flow) {
+        long reservedBandwidth = bandwidthReservations.getReservedBandwidth(
+                isl.getSrcSwitchId(), isl.getSrcPort(), isl.getDestSwitchId(), isl.getDestPort());
+        long availableBandwidth = isl.getAvailableBandwidth() - reservedBandwidth;
+        // ISLs from the DB already have enough bandwidth (including the reused one), so only reservations matter here
+        if (reservedBandwidth > 0 && !flow.isIgnoreBandwidth() && availableBandwidth < flow.getBandwidth()) {
+            log.debug("ISL {}_{} ===> {}_{} is skipped, its bandwidth is reserved by other path allocations",
+                    isl.getSrcSwitchId(), isl.getSrcPort(), isl.getDestSwitchId(), isl.getDestPort());
+            return;
+        }
+
         Node srcSwitch = network.getOrAddNode(isl.getSrcSwitchId(), isl.getSrcPop());
         Node dstSwitch = network.getOrAddNode(isl.getDestSwitchId(), isl.getDestPop());
 
@@ -156,7 +173,7 @@ public class AvailableNetworkFactory {
                 .latency(isl.getLatency())
                 .underMaintenance(isl.isUnderMaintenance())
                 .unstable(isl.isUnstable())
-                .availableBandwidth(isl.getAvailableBandwidth())
+                .availableBandwidth(availableBandwidth)
                 .build();
         network.addEdge(edge);
     }
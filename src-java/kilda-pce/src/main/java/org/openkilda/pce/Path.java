@@ -66,5 +66,11 @@ public class Path implements Serializable {
          * Segment latency value in nseconds.
          */
         private long latency;
+
+        /**
+         * Available bandwidth of the ISL as it was seen by the path computation.
+         */
+        @EqualsAndHashCode.Exclude
+        private Long availableBandwidth;
     }
 }
@@ -265,6 +265,7 @@ public class InMemoryPathComputer implements PathComputer {
                 .destSwitchId(edge.getDestSwitch().getSwitchId())
                 .destPort(edge.getDestPort())
                 .latency(edge.getLatency())
+                .availableBandwidth(edge.getAvailableBandwidth())
                 .build();
     }
 }
@@ -40,6 +40,11 @@ public interface IslRepository extends Repository<Isl> {
 
     Collection<Isl> findBySrcSwitch(SwitchId switchId);
 
+    /**
+     * Finds ISLs outgoing from any of the specified switches in a single traversal.
+     */
+    Collection<Isl> findBySrcSwitches(Collection<SwitchId> switchIds);
+
     Collection<Isl> findByDestSwitch(SwitchId switchId);
 
     Optional<Isl> findByEndpoints(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort);
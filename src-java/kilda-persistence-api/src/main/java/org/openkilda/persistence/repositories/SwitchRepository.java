@@ -24,6 +24,11 @@ import java.util.Optional;
 public interface SwitchRepository extends Repository<Switch> {
     Collection<Switch> findAll();
 
+    /**
+     * Finds identifiers of all switches without loading the switch entities.
+     */
+    Collection<SwitchId> findAllIds();
+
     boolean exists(SwitchId switchId);
 
     Collection<Switch> findActive();
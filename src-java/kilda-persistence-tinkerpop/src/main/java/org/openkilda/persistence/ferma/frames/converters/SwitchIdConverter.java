@@ -36,6 +36,6 @@ public class SwitchIdConverter implements AttributeConverter<SwitchId, String> {
         if (value == null || value.trim().isEmpty()) {
             return null;
         }
-        return new SwitchId(value);
+        return SwitchId.valueOf(value);
     }
 }
@@ -164,6 +164,24 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<Isl> findBySrcSwitches(Collection<SwitchId> switchIds) {
+        if (switchIds.isEmpty()) {
+            return emptyList();
+        }
+
+        List<String> switchIdsAsStr = switchIds.stream()
+                .map(SwitchIdConverter.INSTANCE::toGraphProperty)
+                .collect(Collectors.toList());
+        return framedGraph().traverse(g -> g.E()
+                .hasLabel(IslFrame.FRAME_LABEL)
+                .has(IslFrame.SRC_SWITCH_ID_PROPERTY, P.within(switchIdsAsStr)))
+                .toListExplicit(IslFrame.class).stream()
+                .map(Isl::new)
+                .map(this::addIslConfigToIsl)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Collection<Isl> findByDestSwitch(SwitchId switchId) {
         return framedGraph().traverse(g -> g.E()
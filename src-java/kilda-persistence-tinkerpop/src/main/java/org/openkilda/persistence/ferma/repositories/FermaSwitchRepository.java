@@ -61,6 +61,16 @@ public class FermaSwitchRepository extends FermaGenericRepository<Switch, Switch
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<SwitchId> findAllIds() {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(SwitchFrame.FRAME_LABEL)
+                .values(SwitchFrame.SWITCH_ID_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(i -> SwitchIdConverter.INSTANCE.toEntityAttribute((String) i))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public boolean exists(SwitchId switchId) {
         try (GraphTraversal<?, ?> traversal = framedGraph().traverse(g -> g.V()
@@ -51,6 +51,7 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -163,6 +164,19 @@ public class FermaIslRepositoryTest extends InMemoryGraphBasedTest {
         assertThat(foundIsls, Matchers.containsInAnyOrder(isl1, isl2));
     }
 
+    @Test
+    public void shouldFindIslBySrcSwitches() {
+        Isl isl1 = createIsl(switchA, 111, switchB, 112);
+        Isl isl2 = createIsl(switchB, 113, switchC, 114);
+        createIsl(switchC, 115, switchA, 116);
+
+        List<Isl> foundIsls = Lists.newArrayList(
+                islRepository.findBySrcSwitches(Arrays.asList(TEST_SWITCH_A_ID, TEST_SWITCH_B_ID)));
+        assertThat(foundIsls, Matchers.hasSize(2));
+        assertThat(foundIsls, Matchers.containsInAnyOrder(isl1, isl2));
+        assertTrue(islRepository.findBySrcSwitches(Collections.emptyList()).isEmpty());
+    }
+
     @Test
     public void shouldFindIslByDestSwitch() {
         Isl isl1 = createIsl(switchA, 111, switchB, 121);
@@ -70,6 +70,17 @@ public class FermaSwitchRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(1, switchRepository.findAll().size());
     }
 
+    @Test
+    public void shouldFindAllIds() {
+        switchRepository.add(Switch.builder().switchId(TEST_SWITCH_ID_A).build());
+        switchRepository.add(Switch.builder().switchId(TEST_SWITCH_ID_B).build());
+
+        Collection<SwitchId> switchIds = switchRepository.findAllIds();
+        assertEquals(2, switchIds.size());
+        assertTrue(switchIds.contains(TEST_SWITCH_ID_A));
+        assertTrue(switchIds.contains(TEST_SWITCH_ID_B));
+    }
+
     @Test
     public void shouldFindActive() {
         Switch activeSwitch = Switch.builder().switchId(TEST_SWITCH_ID_A)
@@ -0,0 +1,38 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.nbtopology.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+/**
+ * Requests overlapping stats between all paths of the diverse group the flow belongs to.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class GetDiverseGroupOverlapsRequest extends FlowsBaseRequest {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("flowid")
+    protected String flowId;
+
+    @JsonCreator
+    public GetDiverseGroupOverlapsRequest(@JsonProperty("flowid") String flowId) {
+        this.flowId = flowId;
+    }
+}
@@ -73,6 +73,12 @@ public interface NbWorkerTopologyConfig extends AbstractTopologyConfig {
     @Description("The timeout for performing H&S operations")
     int getProcessTimeout();
 
+    @Key("nbworker.dump.page.size")
+    @Default("100")
+    @Min(1)
+    @Description("The number of entities packed into one kafka record of a dump response")
+    int getDumpPageSize();
+
     @Key("burst.coefficient")
     @Default("1.05")
     double getFlowMeterBurstCoefficient();
@@ -30,12 +30,14 @@ import org.openkilda.messaging.nbtopology.request.BaseRequest;
 import org.openkilda.messaging.nbtopology.request.FlowConnectedDeviceRequest;
 import org.openkilda.messaging.nbtopology.request.FlowReadRequest;
 import org.openkilda.messaging.nbtopology.request.FlowsDumpRequest;
+import org.openkilda.messaging.nbtopology.request.GetDiverseGroupOverlapsRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowLoopsRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowPathRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowsForIslRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowsForSwitchRequest;
 import org.openkilda.messaging.nbtopology.request.RerouteFlowsForIslRequest;
 import org.openkilda.messaging.nbtopology.response.ConnectedDeviceDto;
+import org.openkilda.messaging.nbtopology.response.DiverseGroupOverlapResponse;
 import org.openkilda.messaging.nbtopology.response.FlowConnectedDevicesResponse;
 import org.openkilda.messaging.nbtopology.response.FlowLoopDto;
 import org.openkilda.messaging.nbtopology.response.FlowLoopsResponse;
@@ -96,6 +98,8 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
             result = processRerouteFlowsForLinkRequest((RerouteFlowsForIslRequest) request);
         } else if (request instanceof GetFlowPathRequest) {
             result = processGetFlowPathRequest((GetFlowPathRequest) request);
+        } else if (request instanceof GetDiverseGroupOverlapsRequest) {
+            result = processGetDiverseGroupOverlapsRequest((GetDiverseGroupOverlapsRequest) request);
         } else if (request instanceof FlowConnectedDeviceRequest) {
             result = processFlowConnectedDeviceRequest((FlowConnectedDeviceRequest) request);
         } else if (request instanceof FlowReadRequest) {
@@ -190,6 +194,22 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
         }
     }
 
+    private List<DiverseGroupOverlapResponse> processGetDiverseGroupOverlapsRequest(
+            GetDiverseGroupOverlapsRequest request) {
+        final String errorDescription = "Could not get diverse group overlaps";
+
+        try {
+            return flowOperationsService.getDiverseGroupOverlaps(request.getFlowId())
+                    .stream()
+                    .map(DiverseGroupOverlapResponse::new)
+                    .collect(Collectors.toList());
+        } catch (FlowNotFoundException e) {
+            throw new MessageException(ErrorType.NOT_FOUND, e.getMessage(), errorDescription);
+        } catch (Exception e) {
+            throw new MessageException(ErrorType.INTERNAL_ERROR, e.getMessage(), errorDescription);
+        }
+    }
+
     private List<FlowConnectedDevicesResponse> processFlowConnectedDeviceRequest(FlowConnectedDeviceRequest request) {
 
         Collection<SwitchConnectedDevice> devices;
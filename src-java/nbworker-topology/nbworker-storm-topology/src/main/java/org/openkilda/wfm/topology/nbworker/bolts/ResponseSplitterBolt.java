@@ -21,6 +21,7 @@ import static org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMappe
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoDataPage;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 
@@ -31,11 +32,22 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ResponseSplitterBolt extends AbstractBolt {
     public static final String FIELD_ID_RESPONSE = "response";
 
+    private final int pageSize;
+
+    public ResponseSplitterBolt() {
+        this(1);
+    }
+
+    public ResponseSplitterBolt(int pageSize) {
+        this.pageSize = Math.max(pageSize, 1);
+    }
+
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
         @SuppressWarnings("unchecked")
@@ -46,13 +58,13 @@ public class ResponseSplitterBolt extends AbstractBolt {
     }
 
     private void sendChunkedResponse(List<InfoData> responses, Tuple input, String requestId) {
-        List<Message> messages = new ArrayList<>(responses.size());
+        List<Message> messages;
         if (CollectionUtils.isEmpty(responses)) {
             log.debug("No records found in the database");
-            Message message = new ChunkedInfoMessage(null, System.currentTimeMillis(), requestId, requestId,
-                    responses.size());
-            messages.add(message);
-        } else {
+            Message message = new ChunkedInfoMessage(null, System.currentTimeMillis(), requestId, requestId, 0);
+            messages = Collections.singletonList(message);
+        } else if (pageSize == 1 || responses.size() == 1) {
+            messages = new ArrayList<>(responses.size());
             int i = 0;
             for (InfoData data : responses) {
                 Message message = new ChunkedInfoMessage(data, System.currentTimeMillis(), requestId, i++,
@@ -61,6 +73,9 @@ public class ResponseSplitterBolt extends AbstractBolt {
             }
 
             log.debug("Response is divided into {} messages", messages.size());
+        } else {
+            messages = makePages(responses, requestId);
+            log.debug("Response of {} entities is divided into {} pages", responses.size(), messages.size());
         }
 
         // emit all found messages
@@ -68,6 +83,19 @@ public class ResponseSplitterBolt extends AbstractBolt {
                 getOutput().emit(input, new Values(requestId, message)));
     }
 
+    private List<Message> makePages(List<InfoData> responses, String requestId) {
+        int totalPages = (responses.size() + pageSize - 1) / pageSize;
+        List<Message> pages = new ArrayList<>(totalPages);
+        for (int i = 0; i < totalPages; i++) {
+            int offset = i * pageSize;
+            List<InfoData> items = new ArrayList<>(
+                    responses.subList(offset, Math.min(offset + pageSize, responses.size())));
+            pages.add(new ChunkedInfoMessage(new InfoDataPage(items), System.currentTimeMillis(), requestId, i,
+                    totalPages));
+        }
+        return pages;
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(new Fields(BOLT_KEY, BOLT_MESSAGE));
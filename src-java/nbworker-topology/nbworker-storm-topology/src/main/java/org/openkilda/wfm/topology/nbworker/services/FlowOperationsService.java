@@ -27,6 +27,8 @@ import org.openkilda.messaging.model.FlowPathDto.FlowPathDtoBuilder;
 import org.openkilda.messaging.model.FlowPathDto.FlowProtectedPathDto;
 import org.openkilda.messaging.model.PatchEndpoint;
 import org.openkilda.messaging.nbtopology.request.FlowsDumpRequest;
+import org.openkilda.messaging.payload.flow.DiverseGroupOverlapPayload;
+import org.openkilda.messaging.payload.flow.DiverseGroupOverlapPayload.PathOverlapPayload;
 import org.openkilda.messaging.payload.flow.PathNodePayload;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEndpoint;
@@ -51,7 +53,9 @@ import org.openkilda.wfm.share.logger.FlowOperationsDashboardLogger;
 import org.openkilda.wfm.share.mappers.FlowMapper;
 import org.openkilda.wfm.share.mappers.FlowPathMapper;
 import org.openkilda.wfm.share.mappers.RequestedFlowMapper;
-import org.openkilda.wfm.share.service.IntersectionComputer;
+import org.openkilda.wfm.share.service.DiverseGroupOverlapIndex;
+import org.openkilda.wfm.share.service.DiverseGroupOverlapIndex.Member;
+import org.openkilda.wfm.share.service.DiverseGroupOverlapIndex.PathPair;
 import org.openkilda.wfm.topology.nbworker.bolts.FlowOperationsCarrier;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -65,8 +69,11 @@ import net.jodah.failsafe.SyncFailsafe;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -80,6 +87,7 @@ public class FlowOperationsService {
 
     private static final int MAX_TRANSACTION_RETRY_COUNT = 3;
     private static final int RETRY_DELAY = 100;
+    private static final int MAX_CACHED_DIVERSE_GROUPS = 256;
 
     private TransactionManager transactionManager;
     private IslRepository islRepository;
@@ -88,6 +96,15 @@ public class FlowOperationsService {
     private FlowPathRepository flowPathRepository;
     private SwitchConnectedDeviceRepository switchConnectedDeviceRepository;
 
+    // LRU cache, the indexes are re-synchronised with the group members on each read
+    private final Map<String, DiverseGroupOverlapIndex> diverseGroupIndexes =
+            new LinkedHashMap<String, DiverseGroupOverlapIndex>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DiverseGroupOverlapIndex> eldest) {
+                    return size() > MAX_CACHED_DIVERSE_GROUPS;
+                }
+            };
+
     public FlowOperationsService(RepositoryFactory repositoryFactory, TransactionManager transactionManager) {
         this.islRepository = repositoryFactory.createIslRepository();
         this.switchRepository = repositoryFactory.createSwitchRepository();
@@ -240,38 +257,33 @@ public class FlowOperationsService {
                     toFlowPathDtoBuilder(flow).build());
         } else {
             Collection<Flow> flowsInGroup = flowRepository.findByGroupId(groupId);
-            Collection<FlowPath> flowPathsInGroup = flowPathRepository.findByFlowGroupId(groupId);
-
-            IntersectionComputer primaryIntersectionComputer = new IntersectionComputer(
-                    flow.getFlowId(), flow.getForwardPathId(), flow.getReversePathId(), flowPathsInGroup);
+            DiverseGroupOverlapIndex index = getDiverseGroupIndex(groupId, flowsInGroup);
+            PathPair targetPrimary = PathPair.primary(flow);
 
             // target flow primary path
             FlowPathDtoBuilder targetFlowDtoBuilder = this.toFlowPathDtoBuilder(flow)
-                    .segmentsStats(primaryIntersectionComputer.getOverlappingStats());
+                    .segmentsStats(index.getOverlappingStats(targetPrimary));
 
             // other flows in the the group
             List<FlowPathDto> payloads = flowsInGroup.stream()
                     .filter(e -> !e.getFlowId().equals(flowId))
-                    .map(e -> this.mapGroupPathFlowDto(e, true, primaryIntersectionComputer))
+                    .map(e -> this.mapGroupPathFlowDto(e, true, index, targetPrimary))
                     .collect(Collectors.toList());
 
             if (flow.isAllocateProtectedPath()) {
-                IntersectionComputer protectedIntersectionComputer = new IntersectionComputer(
-                        flow.getFlowId(), flow.getProtectedForwardPathId(), flow.getProtectedReversePathId(),
-                        flowPathsInGroup);
+                PathPair targetProtected = PathPair.protectedPair(flow);
 
                 // target flow protected path
                 targetFlowDtoBuilder.protectedPath(FlowProtectedPathDto.builder()
                         .forwardPath(buildPathFromFlow(flow, flow.getProtectedForwardPath()))
                         .reversePath(buildPathFromFlow(flow, flow.getProtectedReversePath()))
-                        .segmentsStats(
-                                protectedIntersectionComputer.getOverlappingStats())
+                        .segmentsStats(index.getOverlappingStats(targetProtected))
                         .build());
 
                 // other flows in the the group
                 List<FlowPathDto> protectedPathPayloads = flowsInGroup.stream()
                         .filter(e -> !e.getFlowId().equals(flowId))
-                        .map(e -> this.mapGroupPathFlowDto(e, false, protectedIntersectionComputer))
+                        .map(e -> this.mapGroupPathFlowDto(e, false, index, targetProtected))
                         .collect(Collectors.toList());
                 payloads = union(payloads, protectedPathPayloads);
             }
@@ -282,19 +294,80 @@ public class FlowOperationsService {
         }
     }
 
+    /**
+     * Returns the overlapping matrix of the flow's diverse group. Each row contains the stats of the primary or
+     * protected path of a group member against the rest of the group and against every path of other members.
+     *
+     * @param flowId any flow of the group.
+     */
+    public List<DiverseGroupOverlapPayload> getDiverseGroupOverlaps(String flowId) throws FlowNotFoundException {
+        flowDashboardLogger.onFlowPathsRead(flowId);
+
+        Flow flow = flowRepository.findById(flowId)
+                .orElseThrow(() -> new FlowNotFoundException(flowId));
+        if (flow.getGroupId() == null) {
+            return Collections.emptyList();
+        }
+
+        DiverseGroupOverlapIndex index = getDiverseGroupIndex(
+                flow.getGroupId(), flowRepository.findByGroupId(flow.getGroupId()));
+        List<Member> members = new ArrayList<>(index.getMembers());
+        members.sort(Comparator.comparing(Member::getFlowId));
+
+        List<DiverseGroupOverlapPayload> rows = new ArrayList<>();
+        for (Member target : members) {
+            rows.add(makeOverlapRow(index, members, target, target.getPrimary(), false));
+            if (target.getProtectedPair() != null) {
+                rows.add(makeOverlapRow(index, members, target, target.getProtectedPair(), true));
+            }
+        }
+        return rows;
+    }
+
+    private DiverseGroupOverlapPayload makeOverlapRow(
+            DiverseGroupOverlapIndex index, List<Member> members, Member target, PathPair targetPair,
+            boolean isProtected) {
+        List<PathOverlapPayload> otherPaths = new ArrayList<>();
+        for (Member other : members) {
+            if (other == target) {
+                continue;
+            }
+            otherPaths.add(new PathOverlapPayload(
+                    other.getFlowId(), false, index.getOverlappingStats(targetPair, other.getPrimary())));
+            if (other.getProtectedPair() != null) {
+                otherPaths.add(new PathOverlapPayload(
+                        other.getFlowId(), true, index.getOverlappingStats(targetPair, other.getProtectedPair())));
+            }
+        }
+        return DiverseGroupOverlapPayload.builder()
+                .flowId(target.getFlowId())
+                .protectedPath(isProtected)
+                .overlappingSegments(index.getOverlappingStats(targetPair))
+                .otherPaths(otherPaths)
+                .build();
+    }
+
+    private DiverseGroupOverlapIndex getDiverseGroupIndex(String groupId, Collection<Flow> flowsInGroup) {
+        // nbworker does not receive flow change notifications, so the group members are loaded on each request to
+        // re-synchronise the index; only the overlap computation is saved, not the DB read
+        DiverseGroupOverlapIndex index = diverseGroupIndexes.computeIfAbsent(
+                groupId, ignore -> new DiverseGroupOverlapIndex());
+        if (index.update(flowsInGroup)) {
+            log.debug("Overlapping index of the diverse group {} has been updated", groupId);
+        }
+        return index;
+    }
+
     private FlowPathDto mapGroupPathFlowDto(Flow flow, boolean primaryPathCorrespondStat,
-                                            IntersectionComputer intersectionComputer) {
+                                            DiverseGroupOverlapIndex index, PathPair target) {
         FlowPathDtoBuilder builder = this.toFlowPathDtoBuilder(flow)
                 .primaryPathCorrespondStat(primaryPathCorrespondStat)
-                .segmentsStats(
-                        intersectionComputer.getOverlappingStats(flow.getForwardPathId(), flow.getReversePathId()));
+                .segmentsStats(index.getOverlappingStats(target, PathPair.primary(flow)));
         if (flow.isAllocateProtectedPath()) {
             builder.protectedPath(FlowProtectedPathDto.builder()
                     .forwardPath(buildPathFromFlow(flow, flow.getProtectedForwardPath()))
                     .reversePath(buildPathFromFlow(flow, flow.getProtectedReversePath()))
-                    .segmentsStats(
-                            intersectionComputer.getOverlappingStats(
-                                    flow.getProtectedForwardPathId(), flow.getProtectedReversePathId()))
+                    .segmentsStats(index.getOverlappingStats(target, PathPair.protectedPair(flow)))
                     .build());
         }
         return builder.build();
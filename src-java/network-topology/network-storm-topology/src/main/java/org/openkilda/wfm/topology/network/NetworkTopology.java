@@ -58,6 +58,7 @@ import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
+import org.apache.storm.topology.BoltDeclarer;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
@@ -226,7 +227,7 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
     }
 
     private void networkHistory(TopologyBuilder topology) {
-        NetworkHistoryHandler spout = new NetworkHistoryHandler(persistenceManager, ZooKeeperSpout.SPOUT_ID);
+        NetworkHistoryHandler spout = new NetworkHistoryHandler(options, persistenceManager, ZooKeeperSpout.SPOUT_ID);
         declareBolt(topology, spout, NetworkHistoryHandler.BOLT_ID)
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
     }
@@ -268,10 +269,14 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
     private void switchHandler(TopologyBuilder topology) {
         SwitchHandler bolt = new SwitchHandler(options, persistenceManager);
         Fields grouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH);
-        declareBolt(topology, bolt, SwitchHandler.BOLT_ID)
+        BoltDeclarer declarer = declareBolt(topology, bolt, SwitchHandler.BOLT_ID)
                 .fieldsGrouping(NetworkHistoryHandler.BOLT_ID, grouping)
                 .fieldsGrouping(SpeakerRouter.BOLT_ID, grouping)
                 .directGrouping(SwitchManagerWorker.BOLT_ID, SwitchManagerWorker.STREAM_HUB_ID);
+        if (options.isShardedWarmStart()) {
+            declarer.allGrouping(CoordinatorSpout.ID)
+                    .directGrouping(NetworkHistoryHandler.BOLT_ID, NetworkHistoryHandler.STREAM_WARM_START_ID);
+        }
     }
 
     private void portHandler(TopologyBuilder topology) {
@@ -340,7 +345,8 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
         SpeakerEncoder bolt = new SpeakerEncoder();
         declareBolt(topology, bolt, SpeakerEncoder.BOLT_ID)
                 .shuffleGrouping(WatcherHandler.BOLT_ID, WatcherHandler.STREAM_SPEAKER_ID)
-                .shuffleGrouping(BfdWorker.BOLT_ID, BfdWorker.STREAM_SPEAKER_ID);
+                .shuffleGrouping(BfdWorker.BOLT_ID, BfdWorker.STREAM_SPEAKER_ID)
+                .shuffleGrouping(NetworkHistoryHandler.BOLT_ID, NetworkHistoryHandler.STREAM_SPEAKER_ID);
 
         KafkaBolt output = buildKafkaBolt(kafkaTopics.getSpeakerDiscoTopic());
         declareBolt(topology, output, ComponentId.SPEAKER_OUTPUT.toString())
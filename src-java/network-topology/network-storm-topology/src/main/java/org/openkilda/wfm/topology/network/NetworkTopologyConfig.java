@@ -76,6 +76,12 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
     @Default("true")
     boolean isRemoveExcessWhenSwitchSync();
 
+    @Key("network.warm.start.sharded")
+    // Each switch handler task loads its own part of the network history instead of receiving the whole history
+    // from the single history handler.
+    @Default("false")
+    boolean isShardedWarmStart();
+
     @Key("network.count.sync.attempts")
     // If the value of this parameter is 0 or less than zero,
     // then synchronization will not be performed when the switch is activated.
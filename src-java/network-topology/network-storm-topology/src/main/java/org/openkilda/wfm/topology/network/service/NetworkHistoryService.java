@@ -26,11 +26,17 @@ import org.openkilda.wfm.topology.network.model.facts.HistoryFacts;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 @Slf4j
 public class NetworkHistoryService {
+    private static final int ISL_LOOKUP_BATCH_SIZE = 256;
+
     private final ISwitchPrepopulateCarrier carrier;
     private final PersistenceManager persistenceManager;
 
@@ -49,6 +55,17 @@ public class NetworkHistoryService {
         }
     }
 
+    /**
+     * Apply history of the switches accepted by the filter. Only switch identifiers are read to find the switches
+     * of interest, outgoing ISLs are read for a batch of switches at once.
+     */
+    public void applyHistory(Predicate<SwitchId> switchFilter) {
+        log.debug("History service receive history lookup request for the switches subset");
+        for (HistoryFacts history : loadNetworkHistory(switchFilter)) {
+            carrier.switchAddWithHistory(history);
+        }
+    }
+
     // -- private --
 
     private Collection<HistoryFacts> loadNetworkHistory() {
@@ -76,4 +93,39 @@ public class NetworkHistoryService {
 
         return switchById.values();
     }
+
+    private Collection<HistoryFacts> loadNetworkHistory(Predicate<SwitchId> switchFilter) {
+        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
+        SwitchRepository switchRepository = repositoryFactory.createSwitchRepository();
+
+        Map<SwitchId, HistoryFacts> switchById = new HashMap<>();
+        for (SwitchId switchId : switchRepository.findAllIds()) {
+            if (switchFilter.test(switchId)) {
+                switchById.put(switchId, new HistoryFacts(switchId));
+            }
+        }
+
+        IslRepository islRepository = repositoryFactory.createIslRepository();
+        List<SwitchId> batch = new ArrayList<>(ISL_LOOKUP_BATCH_SIZE);
+        for (SwitchId switchId : switchById.keySet()) {
+            batch.add(switchId);
+            if (ISL_LOOKUP_BATCH_SIZE <= batch.size()) {
+                loadOutgoingLinks(islRepository, batch, switchById);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            loadOutgoingLinks(islRepository, batch, switchById);
+        }
+
+        return switchById.values();
+    }
+
+    private void loadOutgoingLinks(
+            IslRepository islRepository, List<SwitchId> batch, Map<SwitchId, HistoryFacts> switchById) {
+        for (Isl islEntry : islRepository.findBySrcSwitches(batch)) {
+            islRepository.detach(islEntry);
+            switchById.get(islEntry.getSrcSwitchId()).addLink(islEntry);
+        }
+    }
 }
@@ -15,25 +15,34 @@
 
 package org.openkilda.wfm.topology.network.storm.bolt.history;
 
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.bolt.KafkaEncoder;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
+import org.openkilda.wfm.topology.network.model.NetworkOptions;
 import org.openkilda.wfm.topology.network.model.facts.HistoryFacts;
 import org.openkilda.wfm.topology.network.service.ISwitchPrepopulateCarrier;
 import org.openkilda.wfm.topology.network.service.NetworkHistoryService;
 import org.openkilda.wfm.topology.network.storm.ComponentId;
 import org.openkilda.wfm.topology.network.storm.bolt.speaker.SpeakerRouter;
+import org.openkilda.wfm.topology.network.storm.bolt.sw.SwitchHandler;
 import org.openkilda.wfm.topology.network.storm.bolt.sw.command.SwitchHistoryCommand;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 public class NetworkHistoryHandler extends AbstractBolt implements ISwitchPrepopulateCarrier {
     public static final String BOLT_ID = ComponentId.NETWORK_HISTORY.toString();
@@ -44,16 +53,28 @@ public class NetworkHistoryHandler extends AbstractBolt implements ISwitchPrepop
 
     public static final Fields STREAM_FIELDS = new Fields(FIELD_ID_DATAPATH, FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
+    public static final String STREAM_WARM_START_ID = "warm-start";
+    public static final Fields STREAM_WARM_START_FIELDS = new Fields(FIELD_ID_CONTEXT);
+
+    public static final String STREAM_SPEAKER_ID = "speaker";
+    public static final Fields STREAM_SPEAKER_FIELDS = new Fields(
+            KafkaEncoder.FIELD_ID_KEY, KafkaEncoder.FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
+
     public static final String STREAM_ZOOKEEPER_ID = ZkStreams.ZK.toString();
     public static final Fields STREAM_ZOOKEEPER_FIELDS = new Fields(ZooKeeperBolt.FIELD_ID_STATE,
             ZooKeeperBolt.FIELD_ID_CONTEXT);
 
+    private final NetworkOptions options;
     private final PersistenceManager persistenceManager;
 
     private transient NetworkHistoryService service;
 
-    public NetworkHistoryHandler(PersistenceManager persistenceManager, String lifeCycleEventSourceComponent) {
+    private transient List<Integer> switchHandlerTasks;
+
+    public NetworkHistoryHandler(
+            NetworkOptions options, PersistenceManager persistenceManager, String lifeCycleEventSourceComponent) {
         super(lifeCycleEventSourceComponent);
+        this.options = options;
         this.persistenceManager = persistenceManager;
     }
 
@@ -66,13 +87,25 @@ public class NetworkHistoryHandler extends AbstractBolt implements ISwitchPrepop
     protected void activate() {
         if (!active) {
             // Every new START signal will cause history reading
-            log.info("Allying history events");
-            service.applyHistory();
+            if (options.isShardedWarmStart()) {
+                log.info("Request sharded warm start from {} switch handler tasks", switchHandlerTasks.size());
+                requestShardedWarmStart();
+            } else {
+                log.info("Allying history events");
+                service.applyHistory();
+            }
+            requestNetworkDump();
         } else {
             log.info("Skip history events");
         }
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        switchHandlerTasks = context.getComponentTasks(SwitchHandler.BOLT_ID);
+        super.prepare(stormConf, context, collector);
+    }
+
     @Override
     protected void init() {
         super.init();
@@ -82,6 +115,8 @@ public class NetworkHistoryHandler extends AbstractBolt implements ISwitchPrepop
     @Override
     public void declareOutputFields(OutputFieldsDeclarer streamManager) {
         streamManager.declare(STREAM_FIELDS);
+        streamManager.declareStream(STREAM_WARM_START_ID, true, STREAM_WARM_START_FIELDS);
+        streamManager.declareStream(STREAM_SPEAKER_ID, STREAM_SPEAKER_FIELDS);
         streamManager.declareStream(STREAM_ZOOKEEPER_ID, STREAM_ZOOKEEPER_FIELDS);
     }
 
@@ -96,4 +131,21 @@ public class NetworkHistoryHandler extends AbstractBolt implements ISwitchPrepop
         CommandContext context = getCommandContext().fork(switchId.toOtsdFormat());
         getOutput().emit(new Values(switchId, command, context));
     }
+
+    private void requestShardedWarmStart() {
+        for (Integer taskId : switchHandlerTasks) {
+            CommandContext context = getCommandContext().fork("warm-start");
+            getOutput().emitDirect(taskId, STREAM_WARM_START_ID, new Values(context));
+        }
+    }
+
+    /**
+     * Request full switch views from all regions. Floodlight router keeps only digests of the switch views it has
+     * already proxied and sends full views only for changed ones, so on (re)start we must refresh them explicitly.
+     */
+    private void requestNetworkDump() {
+        log.info("Request full network dump");
+        CommandContext context = getCommandContext().fork("network-dump");
+        getOutput().emit(STREAM_SPEAKER_ID, new Values(null, new NetworkCommandData(), context));
+    }
 }
@@ -27,16 +27,19 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.context.PersistenceContextRequired;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.bolt.KafkaEncoder;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.network.model.LinkStatus;
 import org.openkilda.wfm.topology.network.model.NetworkOptions;
 import org.openkilda.wfm.topology.network.model.OnlineStatus;
 import org.openkilda.wfm.topology.network.model.facts.HistoryFacts;
 import org.openkilda.wfm.topology.network.service.ISwitchCarrier;
+import org.openkilda.wfm.topology.network.service.NetworkHistoryService;
 import org.openkilda.wfm.topology.network.service.NetworkSwitchService;
 import org.openkilda.wfm.topology.network.storm.ComponentId;
 import org.openkilda.wfm.topology.network.storm.bolt.bfd.hub.command.BfdHubCommand;
@@ -57,11 +60,25 @@ import org.openkilda.wfm.topology.network.storm.bolt.swmanager.SwitchManagerWork
 import org.openkilda.wfm.topology.network.storm.bolt.swmanager.command.SwitchManagerSynchronizeSwitchCommand;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
+import lombok.Value;
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
     public static final String BOLT_ID = ComponentId.SWITCH_HANDLER.toString();
 
@@ -86,11 +103,24 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
     public static final Fields STREAM_REROUTE_FIELDS = new Fields(
             KafkaEncoder.FIELD_ID_KEY, KafkaEncoder.FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
+    private static final int METRICS_BUCKET_SIZE_SECONDS = 60;
+
     private final NetworkOptions options;
     private final PersistenceManager persistenceManager;
 
     private transient NetworkSwitchService service;
 
+    private transient int shardIndex;
+    private transient int shardsCount;
+
+    private transient ExecutorService warmStartExecutor;
+    private transient CompletableFuture<List<HistoryFacts>> warmStartLoad;
+    private transient CommandContext warmStartContext;
+    private transient List<PendingCommand> warmStartBuffer;
+    private transient long warmStartBeginTime;
+    private transient long warmStartDurationMillis;
+    private transient boolean ready;
+
     public SwitchHandler(NetworkOptions options, PersistenceManager persistenceManager) {
         this.options = options;
         this.persistenceManager = persistenceManager;
@@ -100,7 +130,9 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
     protected void handleInput(Tuple input) throws PipelineException {
         String source = input.getSourceComponent();
 
-        if (SpeakerRouter.BOLT_ID.equals(source)) {
+        if (CoordinatorSpout.ID.equals(source)) {
+            handleTimer();
+        } else if (SpeakerRouter.BOLT_ID.equals(source)) {
             handleSpeakerInput(input);
         } else if (SwitchManagerWorker.BOLT_ID.equals(source)) {
             handleSwitchManagerWorkerInput(input);
@@ -111,12 +143,28 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
         }
     }
 
+    private void handleTimer() {
+        if (warmStartLoad != null && warmStartLoad.isDone()) {
+            completeWarmStart();
+        }
+    }
+
     private void handleHistoryInput(Tuple input) throws PipelineException {
-        handleCommand(input, NetworkHistoryHandler.FIELD_ID_PAYLOAD);
+        if (NetworkHistoryHandler.STREAM_WARM_START_ID.equals(input.getSourceStreamId())) {
+            handleWarmStartRequest();
+        } else {
+            handleCommand(input, NetworkHistoryHandler.FIELD_ID_PAYLOAD);
+        }
     }
 
     private void handleSpeakerInput(Tuple input) throws PipelineException {
-        handleCommand(input, SpeakerRouter.FIELD_ID_COMMAND);
+        SwitchCommand command = pullValue(input, SpeakerRouter.FIELD_ID_COMMAND, SwitchCommand.class);
+        if (ready) {
+            command.apply(this);
+        } else {
+            // speaker events must not be applied before the history of the switch
+            warmStartBuffer.add(new PendingCommand(command, getCommandContext()));
+        }
     }
 
     private void handleSwitchManagerWorkerInput(Tuple input) throws PipelineException {
@@ -128,9 +176,99 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
         command.apply(this);
     }
 
+    private void handleWarmStartRequest() {
+        if (warmStartLoad != null) {
+            log.info("Network history shard {} of {} is being loaded already, skip warm start request",
+                    shardIndex, shardsCount);
+            return;
+        }
+
+        log.info("Start loading network history shard {} of {}", shardIndex, shardsCount);
+        ready = false;
+        warmStartContext = getCommandContext();
+        warmStartBeginTime = System.currentTimeMillis();
+        warmStartLoad = CompletableFuture.supplyAsync(this::loadHistoryShard, warmStartExecutor);
+    }
+
+    private void completeWarmStart() {
+        List<HistoryFacts> history;
+        try {
+            history = warmStartLoad.join();
+        } catch (CompletionException e) {
+            log.error(String.format(
+                    "Unable to load network history shard %d of %d, switches will be handled without history",
+                    shardIndex, shardsCount), e.getCause());
+            history = Collections.emptyList();
+        }
+        warmStartLoad = null;
+
+        CommandContext timerContext = getCommandContext();
+        for (HistoryFacts entry : history) {
+            setCommandContext(warmStartContext.fork(entry.getSwitchId().toOtsdFormat()));
+            service.switchAddWithHistory(entry);
+        }
+        for (PendingCommand entry : warmStartBuffer) {
+            setCommandContext(entry.getContext());
+            entry.getCommand().apply(this);
+        }
+        setCommandContext(timerContext);
+
+        warmStartDurationMillis = System.currentTimeMillis() - warmStartBeginTime;
+        log.info("Network history shard {} of {} applied in {} ms ({} switches, {} buffered events)",
+                shardIndex, shardsCount, warmStartDurationMillis, history.size(), warmStartBuffer.size());
+        warmStartBuffer.clear();
+        ready = true;
+    }
+
+    @PersistenceContextRequired(requiresNew = true)
+    private List<HistoryFacts> loadHistoryShard() {
+        List<HistoryFacts> history = new ArrayList<>();
+        new NetworkHistoryService(history::add, persistenceManager).applyHistory(this::isOwnShard);
+        return history;
+    }
+
+    private boolean isOwnShard(SwitchId switchId) {
+        // must produce the same task index as the storm's fields grouping over the datapath field
+        return Math.floorMod(Arrays.deepHashCode(new Object[]{switchId}), shardsCount) == shardIndex;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        List<Integer> tasks = new ArrayList<>(context.getComponentTasks(context.getThisComponentId()));
+        Collections.sort(tasks);
+        shardsCount = tasks.size();
+        shardIndex = tasks.indexOf(context.getThisTaskId());
+
+        super.prepare(stormConf, context, collector);
+
+        IMetric readyMetric = () -> ready ? 1 : 0;
+        context.registerMetric("warm-start.ready", readyMetric, METRICS_BUCKET_SIZE_SECONDS);
+        IMetric durationMetric = () -> ready && 0 <= warmStartDurationMillis ? warmStartDurationMillis : null;
+        context.registerMetric("warm-start.duration.ms", durationMetric, METRICS_BUCKET_SIZE_SECONDS);
+    }
+
     @Override
     protected void init() {
         service = new NetworkSwitchService(this, persistenceManager, options);
+
+        warmStartBuffer = new ArrayList<>();
+        warmStartDurationMillis = -1;
+        ready = !options.isShardedWarmStart();
+        if (options.isShardedWarmStart()) {
+            warmStartExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, String.format("network-warm-start-%d", getTaskId()));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        if (warmStartExecutor != null) {
+            warmStartExecutor.shutdownNow();
+        }
+        super.cleanup();
     }
 
     @Override
@@ -265,4 +403,10 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
     public void processRemoveSwitch(SwitchId datapath) {
         service.remove(datapath);
     }
+
+    @Value
+    private static class PendingCommand {
+        SwitchCommand command;
+        CommandContext context;
+    }
 }
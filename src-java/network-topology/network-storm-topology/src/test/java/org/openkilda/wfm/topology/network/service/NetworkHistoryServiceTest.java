@@ -0,0 +1,124 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.wfm.topology.network.model.facts.HistoryFacts;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NetworkHistoryServiceTest {
+    private final SwitchId alphaDatapath = new SwitchId(1);
+    private final SwitchId betaDatapath = new SwitchId(2);
+    private final SwitchId gammaDatapath = new SwitchId(3);
+
+    @Mock
+    private ISwitchPrepopulateCarrier carrier;
+
+    @Mock
+    private PersistenceManager persistenceManager;
+
+    @Mock
+    private RepositoryFactory repositoryFactory;
+
+    @Mock
+    private SwitchRepository switchRepository;
+
+    @Mock
+    private IslRepository islRepository;
+
+    @Before
+    public void setUp() {
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+        when(repositoryFactory.createSwitchRepository()).thenReturn(switchRepository);
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+    }
+
+    @Test
+    public void shouldApplyHistoryOfFilteredSwitchesOnly() {
+        Isl alphaToGamma = makeIsl(alphaDatapath, 1, gammaDatapath, 1);
+        Isl betaToGamma = makeIsl(betaDatapath, 2, gammaDatapath, 2);
+
+        when(switchRepository.findAllIds()).thenReturn(Arrays.asList(alphaDatapath, betaDatapath, gammaDatapath));
+        Set<SwitchId> expectedShard = new HashSet<>(Arrays.asList(alphaDatapath, betaDatapath));
+        when(islRepository.findBySrcSwitches(argThat(switchIds -> expectedShard.equals(new HashSet<>(switchIds)))))
+                .thenReturn(Arrays.asList(alphaToGamma, betaToGamma));
+
+        NetworkHistoryService service = new NetworkHistoryService(carrier, persistenceManager);
+        service.applyHistory(switchId -> !gammaDatapath.equals(switchId));
+
+        ArgumentCaptor<HistoryFacts> captor = ArgumentCaptor.forClass(HistoryFacts.class);
+        verify(carrier, times(2)).switchAddWithHistory(captor.capture());
+
+        Map<SwitchId, HistoryFacts> historyBySwitch = new HashMap<>();
+        for (HistoryFacts entry : captor.getAllValues()) {
+            historyBySwitch.put(entry.getSwitchId(), entry);
+        }
+        assertEquals(Collections.singletonList(alphaToGamma), historyBySwitch.get(alphaDatapath).getOutgoingLinks());
+        assertEquals(Collections.singletonList(betaToGamma), historyBySwitch.get(betaDatapath).getOutgoingLinks());
+
+        verify(islRepository).detach(alphaToGamma);
+        verify(islRepository).detach(betaToGamma);
+    }
+
+    @Test
+    public void shouldNotLookupIslsForEmptyShard() {
+        when(switchRepository.findAllIds()).thenReturn(Arrays.asList(alphaDatapath, betaDatapath));
+
+        NetworkHistoryService service = new NetworkHistoryService(carrier, persistenceManager);
+        service.applyHistory(switchId -> false);
+
+        verify(islRepository, never()).findBySrcSwitches(any());
+        verify(carrier, never()).switchAddWithHistory(any());
+    }
+
+    private Isl makeIsl(SwitchId source, int sourcePort, SwitchId dest, int destPort) {
+        return Isl.builder()
+                .srcSwitch(Switch.builder().switchId(source).build()).srcPort(sourcePort)
+                .destSwitch(Switch.builder().switchId(dest).build()).destPort(destPort)
+                .status(IslStatus.ACTIVE)
+                .actualStatus(IslStatus.ACTIVE)
+                .build();
+    }
+}
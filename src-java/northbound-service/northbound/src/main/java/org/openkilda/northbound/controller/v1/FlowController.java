@@ -20,6 +20,7 @@ import static java.lang.String.format;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.meter.FlowMeterEntries;
+import org.openkilda.messaging.payload.flow.DiverseGroupOverlapPayload;
 import org.openkilda.messaging.payload.flow.FlowCreatePayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
@@ -207,6 +208,21 @@ public class FlowController extends BaseController {
         return flowService.pathFlow(flowId);
     }
 
+    /**
+     * Gets overlapping stats between all paths of the flow's diverse group.
+     *
+     * @param flowId        flow id
+     * @return overlapping matrix rows
+     */
+    @ApiOperation(value = "Gets overlapping stats between all paths of the flow's diverse group",
+            response = DiverseGroupOverlapPayload.class, responseContainer = "List")
+    @GetMapping(value = "/{flow-id}/path/overlaps")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<List<DiverseGroupOverlapPayload>> getDiverseGroupOverlaps(
+            @PathVariable(name = "flow-id") String flowId) {
+        return flowService.getDiverseGroupOverlaps(flowId);
+    }
+
     /**
      * Push flows to kilda ... this can be used to get flows into kilda without kilda creating them
      * itself. Kilda won't expect to create them .. it may (and should) validate them at some stage.
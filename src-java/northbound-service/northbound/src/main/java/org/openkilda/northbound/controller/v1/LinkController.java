@@ -28,13 +28,16 @@ import org.openkilda.northbound.dto.v1.links.LinkParametersDto;
 import org.openkilda.northbound.dto.v1.links.LinkPropsDto;
 import org.openkilda.northbound.dto.v1.links.LinkUnderMaintenanceDto;
 import org.openkilda.northbound.service.LinkService;
+import org.openkilda.northbound.utils.async.NdJsonResponseEmitter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -44,6 +47,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -59,6 +63,9 @@ public class LinkController extends BaseLinkController {
     @Autowired
     private LinkService linkService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Get all available links.
      *
@@ -75,6 +82,23 @@ public class LinkController extends BaseLinkController {
         return linkService.getLinks(srcSwitch, srcPort, dstSwitch, dstPort);
     }
 
+    /**
+     * Stream all available links as newline delimited JSON.
+     *
+     * @return stream of links.
+     */
+    @ApiOperation(value = "Stream all links, based on arguments, as newline delimited JSON.", response = LinkDto.class,
+            responseContainer = "List", produces = NdJsonResponseEmitter.MEDIA_TYPE_VALUE)
+    @GetMapping(path = "/links", params = "stream=true")
+    public ResponseEntity<ResponseBodyEmitter> streamLinks(
+            @RequestParam(value = "src_switch", required = false) SwitchId srcSwitch,
+            @RequestParam(value = "src_port", required = false) Integer srcPort,
+            @RequestParam(value = "dst_switch", required = false) SwitchId dstSwitch,
+            @RequestParam(value = "dst_port", required = false) Integer dstPort) {
+        return NdJsonResponseEmitter.stream(objectMapper, consumer ->
+                linkService.streamLinks(srcSwitch, srcPort, dstSwitch, dstPort, consumer::accept));
+    }
+
     /**
      * Delete link.
      *
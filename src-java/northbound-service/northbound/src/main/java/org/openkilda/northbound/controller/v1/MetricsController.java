@@ -0,0 +1,48 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.controller.v1;
+
+import org.openkilda.northbound.controller.BaseController;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for internal metrics of northbound.
+ */
+@RestController
+@RequestMapping("/v1")
+public class MetricsController extends BaseController {
+
+    @Autowired
+    private PrometheusMeterRegistry meterRegistry;
+
+    /**
+     * Gets internal metrics in prometheus text format.
+     *
+     * @return metrics
+     */
+    @ApiOperation(value = "Gets internal metrics of northbound in prometheus text format", response = String.class)
+    @GetMapping(value = "/metrics", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String getMetrics() {
+        return meterRegistry.scrape();
+    }
+}
@@ -47,7 +47,9 @@ import org.openkilda.northbound.dto.v1.switches.UnderMaintenanceDto;
 import org.openkilda.northbound.service.SwitchService;
 import org.openkilda.northbound.utils.ExtraAuthRequired;
 import org.openkilda.northbound.utils.RequestCorrelationId;
+import org.openkilda.northbound.utils.async.NdJsonResponseEmitter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -57,6 +59,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -68,6 +71,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.Optional;
@@ -86,6 +90,9 @@ public class SwitchController extends BaseController {
     @Autowired
     private SwitchService switchService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Get all available switches.
      *
@@ -98,6 +105,18 @@ public class SwitchController extends BaseController {
         return switchService.getSwitches();
     }
 
+    /**
+     * Stream all available switches as newline delimited JSON.
+     *
+     * @return stream of switches.
+     */
+    @ApiOperation(value = "Stream all available switches as newline delimited JSON", response = SwitchDto.class,
+            responseContainer = "List", produces = NdJsonResponseEmitter.MEDIA_TYPE_VALUE)
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<ResponseBodyEmitter> streamSwitches() {
+        return NdJsonResponseEmitter.stream(objectMapper, consumer -> switchService.streamSwitches(consumer::accept));
+    }
+
     /**
      * Get switch.
      *
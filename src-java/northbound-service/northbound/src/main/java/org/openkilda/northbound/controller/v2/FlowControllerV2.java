@@ -18,8 +18,13 @@ package org.openkilda.northbound.controller.v2;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.northbound.controller.BaseController;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkItemV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkRequestV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowEndpointV2;
 import org.openkilda.northbound.dto.v2.flows.FlowHistoryStatusesResponse;
 import org.openkilda.northbound.dto.v2.flows.FlowLoopPayload;
@@ -30,7 +35,9 @@ import org.openkilda.northbound.dto.v2.flows.FlowRerouteResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowResponseV2;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 import org.openkilda.northbound.service.FlowService;
+import org.openkilda.northbound.utils.async.NdJsonResponseEmitter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,9 +55,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
@@ -63,6 +72,9 @@ public class FlowControllerV2 extends BaseController {
     @Autowired
     private FlowService flowService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @ApiOperation(value = "Creates new flow", response = FlowResponseV2.class)
     @PostMapping
     @ResponseStatus(HttpStatus.OK)
@@ -71,6 +83,44 @@ public class FlowControllerV2 extends BaseController {
         return flowService.createFlow(flow);
     }
 
+    /**
+     * Submits a bulk of flow create, update and delete operations. The operations are executed asynchronously with
+     * server-side pacing, the progress is available via the returned bulk identifier.
+     *
+     * <p>The progress of bulks is kept in memory by the flow topology, so it is lost on the topology restart and the
+     * bulk is reported as not found afterwards. The state of the flows must be checked in that case.
+     *
+     * @param request the bulk of flow operations.
+     * @return the bulk identifier and the initial progress.
+     */
+    @ApiOperation(value = "Submits bulk flow operation", response = FlowBulkResponseV2.class)
+    @PostMapping(path = "/bulk")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public CompletableFuture<FlowBulkResponseV2> submitFlowBulkOperation(@RequestBody FlowBulkRequestV2 request) {
+        if (request.getItems() == null) {
+            throw new MessageException(ErrorType.DATA_INVALID, "Invalid request payload",
+                    "Bulk items are not specified");
+        }
+        request.getItems().stream()
+                .map(FlowBulkItemV2::getFlow)
+                .filter(Objects::nonNull)
+                .forEach(this::verifyRequest);
+        return flowService.submitFlowBulkOperation(request);
+    }
+
+    /**
+     * Gets progress and results of the bulk flow operation.
+     *
+     * @param bulkId the bulk identifier.
+     * @return the progress and results of completed items.
+     */
+    @ApiOperation(value = "Gets bulk flow operation progress and results", response = FlowBulkResponseV2.class)
+    @GetMapping(path = "/bulk/{bulk_id}")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<FlowBulkResponseV2> getFlowBulkOperation(@PathVariable("bulk_id") String bulkId) {
+        return flowService.getFlowBulkOperation(bulkId);
+    }
+
     @ApiOperation(value = "Updates flow", response = FlowResponseV2.class)
     @PutMapping(value = "/{flow_id:.+}")
     @ResponseStatus(HttpStatus.OK)
@@ -126,6 +176,20 @@ public class FlowControllerV2 extends BaseController {
         return flowService.getAllFlowsV2(status);
     }
 
+    /**
+     * Streams all flows as newline delimited JSON. Streams all flows with specific status if specified.
+     *
+     * @return stream of flows
+     */
+    @ApiOperation(value = "Streams all flows as newline delimited JSON", response = FlowResponseV2.class,
+            responseContainer = "List", produces = NdJsonResponseEmitter.MEDIA_TYPE_VALUE)
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<ResponseBodyEmitter> streamFlows(
+            @RequestParam(value = "status", required = false) String status) {
+        return NdJsonResponseEmitter.stream(objectMapper, consumer ->
+                flowService.streamAllFlowsV2(status, consumer::accept));
+    }
+
     /**
      * Gets flow status.
      *
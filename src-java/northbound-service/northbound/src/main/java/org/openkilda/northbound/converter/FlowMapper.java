@@ -19,6 +19,8 @@ import org.openkilda.messaging.command.flow.FlowRequest;
 import org.openkilda.messaging.command.flow.FlowRequest.Type;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.flow.FlowBulkItemResult;
+import org.openkilda.messaging.info.flow.FlowBulkResponse;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.UniFlowPingResponse;
@@ -50,6 +52,8 @@ import org.openkilda.northbound.dto.v1.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.v1.flows.PingOutput;
 import org.openkilda.northbound.dto.v1.flows.UniFlowPingOutput;
 import org.openkilda.northbound.dto.v2.flows.DetectConnectedDevicesV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkItemResultV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowEndpointV2;
 import org.openkilda.northbound.dto.v2.flows.FlowHistoryStatus;
 import org.openkilda.northbound.dto.v2.flows.FlowLoopResponse;
@@ -513,4 +517,8 @@ public abstract class FlowMapper {
     @Mapping(target = "timestamp",
             expression = "java(DateTimeFormatter.ISO_INSTANT.format(entry.getStatusChangeTimestamp()))")
     public abstract FlowHistoryStatus toFlowHistoryStatus(FlowStatusTimestampsEntry entry);
+
+    public abstract FlowBulkResponseV2 toFlowBulkResponseV2(FlowBulkResponse response);
+
+    public abstract FlowBulkItemResultV2 toFlowBulkItemResultV2(FlowBulkItemResult result);
 }
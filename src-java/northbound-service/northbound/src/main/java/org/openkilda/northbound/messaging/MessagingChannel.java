@@ -20,6 +20,7 @@ import org.openkilda.messaging.info.InfoData;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * The main component for sending messages to internal kilda components. All sent operations will be performed
@@ -49,6 +50,22 @@ public interface MessagingChannel {
      */
     CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message);
 
+    /**
+     * Sends the message to the specified topic and passes the chunked responses to the consumer as soon as they are
+     * received, so big responses can be streamed to the client without collecting them in memory. The order of the
+     * passed chunks is not guaranteed.
+     *
+     * @param topic topic where the message should be sent.
+     * @param message data to be sent.
+     * @param pageConsumer receiver of the response pages.
+     * @return future completed when the last chunk of the response is passed to the consumer.
+     */
+    default CompletableFuture<Void> sendAndStreamChunked(String topic, Message message,
+                                                         Consumer<List<InfoData>> pageConsumer) {
+        return sendAndGetChunked(topic, message)
+                .thenAccept(pageConsumer);
+    }
+
     /**
      * Sends the message to the specified topic without waiting for a response.
      *
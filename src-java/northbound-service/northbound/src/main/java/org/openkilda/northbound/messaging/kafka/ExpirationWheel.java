@@ -0,0 +1,111 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.messaging.kafka;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel for pending requests deadlines. Registration is O(1) and does not require cancellation - the
+ * requests completed before their deadline are dropped from the wheel during the next rotation over their bucket.
+ */
+class ExpirationWheel {
+    private final long tickMillis;
+    private final Queue<Entry>[] buckets;
+
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    ExpirationWheel(long tickMillis, int size, long nowMillis) {
+        if (tickMillis <= 0 || size <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid expiration wheel dimensions: tick=%dms, size=%d", tickMillis, size));
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Registers the future, the handler is called if the future is not completed by the deadline.
+     */
+    void add(CompletableFuture<?> future, long deadlineMillis, Runnable expirationHandler) {
+        long tick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        buckets[bucketIndex(tick)].add(new Entry(future, tick, expirationHandler));
+    }
+
+    /**
+     * Moves the wheel to the specified time, the handlers of all expired entries are called.
+     *
+     * @return number of expired entries.
+     */
+    synchronized int advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        if (nowTick <= lastTick) {
+            return 0;
+        }
+
+        int expired = 0;
+        // a single rotation is enough to visit each bucket, even if the wheel was not advanced for a long time
+        long fromTick = Math.max(lastTick + 1, nowTick - buckets.length + 1);
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            expired += processBucket(buckets[bucketIndex(tick)], nowTick);
+        }
+        lastTick = nowTick;
+        return expired;
+    }
+
+    private int processBucket(Queue<Entry> bucket, long nowTick) {
+        int expired = 0;
+        // entries added during processing are checked on the next rotation
+        for (int i = bucket.size(); i > 0; i--) {
+            Entry entry = bucket.poll();
+            if (entry == null) {
+                break;
+            }
+            if (entry.future.isDone()) {
+                continue;
+            }
+            if (entry.deadlineTick <= nowTick) {
+                entry.expirationHandler.run();
+                expired++;
+            } else {
+                bucket.add(entry);
+            }
+        }
+        return expired;
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) (tick % buckets.length);
+    }
+
+    private static class Entry {
+        private final CompletableFuture<?> future;
+        private final long deadlineTick;
+        private final Runnable expirationHandler;
+
+        Entry(CompletableFuture<?> future, long deadlineTick, Runnable expirationHandler) {
+            this.future = future;
+            this.deadlineTick = deadlineTick;
+            this.expirationHandler = expirationHandler;
+        }
+    }
+}
@@ -18,16 +18,22 @@ package org.openkilda.northbound.messaging.kafka;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ClientErrorMessage;
 import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoDataPage;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.MessagingChannel;
 import org.openkilda.northbound.messaging.exception.MessageNotSentException;
+import org.openkilda.northbound.messaging.exception.TooManyPendingRequestsException;
 
 import com.google.common.annotations.VisibleForTesting;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +44,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -45,9 +52,13 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 /**
  * Implementation of {@link MessagingChannel} for kafka.
@@ -57,36 +68,78 @@ public class KafkaMessagingChannel implements MessagingChannel {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessagingChannel.class);
 
+    private static final int EXPIRATION_WHEEL_SIZE = 1024;
+
     /**
      * Requests that are in progress of processing.
      */
     private final Map<String, CompletableFuture<InfoData>> pendingRequests = new ConcurrentHashMap<>();
-    private final Map<String, CompletableFuture<List<InfoData>>> pendingChunkedRequests = new ConcurrentHashMap<>();
 
     /**
-     * Chains of chunked messages, it is filling by messages one by one as soon as the next linked message is received.
+     * Requests with chunked responses, each of them collects (or streams) its chunks as soon as they are received.
+     */
+    private final Map<String, PendingChunkedRequest> pendingChunkedRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Amount of requests waiting for response and response latency per topic.
      */
-    private Map<String, List<ChunkedInfoMessage>> messagesChains;
+    private final Map<String, TopicStats> topicStats = new ConcurrentHashMap<>();
 
     /**
-     * The storage for received chunked message ids. It is needed to identify whether we have already received specific
-     * chunked message or not in order to do not have duplicates, because current version of kafka do not guarantee
-     * exactly once delivery.
+     * Deadlines of all pending requests.
      */
-    private Map<String, Set<String>> chunkedMessageIdsPerRequest = new ConcurrentHashMap<>();
+    private ExpirationWheel expirationWheel;
+
+    private ScheduledExecutorService expirationExecutor;
+
+    private Counter expirationsCounter;
+
+    private Counter rejectionsCounter;
+
+    @Value("${northbound.messages.timeout.seconds:30}")
+    private int requestTimeout;
 
     @Value("${northbound.messages.expiration.minutes}")
-    private int expiredTime;
+    private int chunkedRequestTimeout;
+
+    @Value("${northbound.messages.pending.limit:10000}")
+    private int pendingRequestsLimit;
+
+    @Value("${northbound.messages.expiration.tick.ms:100}")
+    private long expirationTick;
 
     @Autowired
     private MessageProducer messageProducer;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
-     * Creates storage for chains of messages.
+     * Starts expiration of pending requests.
      */
     @PostConstruct
     public void setUp() {
-        messagesChains = new PassiveExpiringMap<>(expiredTime, TimeUnit.MINUTES, new ConcurrentHashMap<>());
+        expirationsCounter = meterRegistry.counter("northbound.messaging.requests.expired");
+        rejectionsCounter = meterRegistry.counter("northbound.messaging.requests.rejected");
+
+        expirationWheel = new ExpirationWheel(expirationTick, EXPIRATION_WHEEL_SIZE, System.currentTimeMillis());
+        expirationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nb-messaging-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expirationExecutor.scheduleAtFixedRate(this::expirePendingRequests,
+                expirationTick, expirationTick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops expiration of pending requests.
+     */
+    @PreDestroy
+    public void tearDown() {
+        if (expirationExecutor != null) {
+            expirationExecutor.shutdownNow();
+        }
     }
 
     /**
@@ -94,8 +147,16 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<InfoData> sendAndGet(String topic, Message message) {
+        String requestId = message.getCorrelationId();
+        TopicStats stats = getTopicStats(topic);
+        if (!stats.admit(pendingRequestsLimit)) {
+            return reject(topic, requestId);
+        }
+
         CompletableFuture<InfoData> future = new CompletableFuture<>();
-        pendingRequests.put(message.getCorrelationId(), future);
+        pendingRequests.put(requestId, future);
+        CompletableFuture<InfoData> result = track(stats, requestId, future, TimeUnit.SECONDS.toMillis(requestTimeout))
+                .whenComplete((response, error) -> pendingRequests.remove(requestId));
 
         ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
         futureResult.addCallback(
@@ -103,7 +164,7 @@ public class KafkaMessagingChannel implements MessagingChannel {
                 error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
         );
 
-        return future.whenComplete((response, error) -> pendingRequests.remove(message.getCorrelationId()));
+        return result;
     }
 
     /**
@@ -111,24 +172,77 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message) {
-        CompletableFuture<List<InfoData>> future = new CompletableFuture<>();
-        pendingChunkedRequests.put(message.getCorrelationId(), future);
+        List<InfoData> response = new ArrayList<>();
+        return sendAndStreamChunked(topic, message, response::addAll)
+                .thenApply(ignore -> response);
+    }
 
-        messagesChains.put(message.getCorrelationId(), new ArrayList<>());
-        chunkedMessageIdsPerRequest.put(message.getCorrelationId(), new HashSet<>());
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> sendAndStreamChunked(String topic, Message message,
+                                                        Consumer<List<InfoData>> pageConsumer) {
+        String requestId = message.getCorrelationId();
+        TopicStats stats = getTopicStats(topic);
+        if (!stats.admit(pendingRequestsLimit)) {
+            return reject(topic, requestId);
+        }
+
+        PendingChunkedRequest request = new PendingChunkedRequest(pageConsumer);
+        pendingChunkedRequests.put(requestId, request);
+        CompletableFuture<Void> result = track(stats, requestId, request.getFuture(),
+                TimeUnit.MINUTES.toMillis(chunkedRequestTimeout))
+                .whenComplete((response, error) -> pendingChunkedRequests.remove(requestId));
 
         ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
         futureResult.addCallback(
                 sentResult -> { },
-                error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
+                error -> request.getFuture().completeExceptionally(new MessageNotSentException(error.getMessage()))
         );
 
-        return future.whenComplete((response, error) -> {
-            pendingChunkedRequests.remove(message.getCorrelationId());
+        return result;
+    }
 
-            messagesChains.remove(message.getCorrelationId());
-            chunkedMessageIdsPerRequest.remove(message.getCorrelationId());
-        });
+    /**
+     * Registers the deadline of the request and collects statistics of the request once it is completed.
+     */
+    private <T> CompletableFuture<T> track(TopicStats stats, String requestId, CompletableFuture<T> future,
+                                           long timeoutMillis) {
+        long startTime = System.nanoTime();
+        expirationWheel.add(future, System.currentTimeMillis() + timeoutMillis, () -> expire(requestId, future));
+        return future.whenComplete((response, error) -> stats.release(startTime, error == null));
+    }
+
+    private <T> CompletableFuture<T> reject(String topic, String requestId) {
+        rejectionsCounter.increment();
+        logger.warn("Rejecting request {}, there are too many pending requests for the topic {}", requestId, topic);
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(new TooManyPendingRequestsException(String.format(
+                "Too many pending requests for topic \"%s\" (limit %d)", topic, pendingRequestsLimit)));
+        return future;
+    }
+
+    private void expire(String requestId, CompletableFuture<?> future) {
+        MessageException error = new MessageException(requestId, System.currentTimeMillis(),
+                ErrorType.OPERATION_TIMED_OUT, "No response received", "Timeout exceeded");
+        if (future.completeExceptionally(error)) {
+            expirationsCounter.increment();
+            logger.warn("Request {} is expired, no response received", requestId);
+        }
+    }
+
+    private void expirePendingRequests() {
+        try {
+            expirationWheel.advance(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.error("Failed to expire pending requests: {}", e.getMessage(), e);
+        }
+    }
+
+    private TopicStats getTopicStats(String topic) {
+        return topicStats.computeIfAbsent(topic, key -> new TopicStats(meterRegistry, key));
     }
 
     /**
@@ -171,7 +285,7 @@ public class KafkaMessagingChannel implements MessagingChannel {
                 InfoMessage infoMessage = (InfoMessage) message;
                 CompletableFuture<InfoData> request = pendingRequests.remove(message.getCorrelationId());
                 if (request != null) {
-                    request.complete(infoMessage.getData());
+                    request.complete(unwrapSingleItem(infoMessage.getData()));
                 }
             } else {
                 logger.trace("Received non-pending message");
@@ -180,50 +294,35 @@ public class KafkaMessagingChannel implements MessagingChannel {
     }
 
     /**
-     * Performs searching and collecting all chunked messages into one chain if possible.
+     * Passes the received chunk to the request it belongs to, the request is completed as soon as its last chunk is
+     * received.
      */
-    private synchronized void processChunkedMessage(ChunkedInfoMessage received) {
-        String requestId = received.getCorrelationId();
-        Set<String> associatedMessages = chunkedMessageIdsPerRequest.get(requestId);
-        if (!associatedMessages.add(received.getMessageId())) {
-            logger.debug("Skipping chunked message, it is already received: {}", received);
+    private void processChunkedMessage(ChunkedInfoMessage received) {
+        PendingChunkedRequest request = pendingChunkedRequests.get(received.getCorrelationId());
+        if (request == null) {
+            logger.debug("Skipping chunked message, there is no pending request for it: {}", received);
             return;
         }
 
-        List<ChunkedInfoMessage> chain = messagesChains.get(requestId);
-        if (received.getTotalMessages() != 0) {
-            chain.add(received);
-        }
-
-        if (chain.size() == received.getTotalMessages()) {
-            completeRequest(requestId, chain);
+        try {
+            request.handle(received);
+        } catch (Exception e) {
+            request.getFuture().completeExceptionally(e);
         }
     }
 
-    /**
-     * Completes pending request with received responses.
-     */
-    private void completeRequest(String requestId, List<ChunkedInfoMessage> chain) {
-        List<InfoData> response = chain.stream()
-                .map(ChunkedInfoMessage::getData)
-                .collect(Collectors.toList());
-
-        pendingChunkedRequests
-                .get(requestId)
-                .complete(response);
-    }
-
     /**
      * Completes a request with an error response.
      */
-    private synchronized void completeWithError(ErrorMessage error) {
+    private void completeWithError(ErrorMessage error) {
         String correlationId = error.getCorrelationId();
 
-        CompletableFuture request = null;
-        if (pendingRequests.containsKey(correlationId)) {
-            request = pendingRequests.remove(correlationId);
-        } else if (pendingChunkedRequests.containsKey(correlationId)) {
-            request = pendingChunkedRequests.remove(correlationId);
+        CompletableFuture<?> request = pendingRequests.remove(correlationId);
+        if (request == null) {
+            PendingChunkedRequest chunkedRequest = pendingChunkedRequests.remove(correlationId);
+            if (chunkedRequest != null) {
+                request = chunkedRequest.getFuture();
+            }
         }
 
         if (request != null) {
@@ -252,13 +351,104 @@ public class KafkaMessagingChannel implements MessagingChannel {
         return message instanceof ChunkedInfoMessage && pendingChunkedRequests.containsKey(message.getCorrelationId());
     }
 
+    /**
+     * Single entity responses are never paged by the sender, but let's be tolerant to a page with exactly one item.
+     */
+    private static InfoData unwrapSingleItem(InfoData data) {
+        if (data instanceof InfoDataPage) {
+            List<InfoData> items = ((InfoDataPage) data).getItems();
+            if (items != null && items.size() == 1) {
+                return items.get(0);
+            }
+        }
+        return data;
+    }
+
     @VisibleForTesting
     Map<String, CompletableFuture<InfoData>> getPendingRequests() {
         return new HashMap<>(pendingRequests);
     }
 
     @VisibleForTesting
-    Map<String, CompletableFuture<List<InfoData>>> getPendingChunkedRequests() {
+    Map<String, PendingChunkedRequest> getPendingChunkedRequests() {
         return new HashMap<>(pendingChunkedRequests);
     }
+
+    @VisibleForTesting
+    int getPendingCount(String topic) {
+        return getTopicStats(topic).pending.get();
+    }
+
+    /**
+     * Pending requests counter and response latency of a topic.
+     */
+    private static class TopicStats {
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Timer latency;
+
+        TopicStats(MeterRegistry meterRegistry, String topic) {
+            meterRegistry.gauge("northbound.messaging.requests.pending", Tags.of("topic", topic), pending);
+            latency = meterRegistry.timer("northbound.messaging.response.latency", "topic", topic);
+        }
+
+        boolean admit(int limit) {
+            if (pending.incrementAndGet() > limit) {
+                pending.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        void release(long startTime, boolean success) {
+            pending.decrementAndGet();
+            if (success) {
+                latency.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * State of a request with a chunked response. The chunk might carry a single entity or a page of entities
+     * ({@link InfoDataPage}), each received chunk is passed to the consumer once, duplicates are dropped (kafka
+     * does not guarantee exactly once delivery).
+     */
+    static class PendingChunkedRequest {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final Consumer<List<InfoData>> pageConsumer;
+        private final Set<String> receivedMessageIds = new HashSet<>();
+
+        PendingChunkedRequest(Consumer<List<InfoData>> pageConsumer) {
+            this.pageConsumer = pageConsumer;
+        }
+
+        CompletableFuture<Void> getFuture() {
+            return future;
+        }
+
+        synchronized void handle(ChunkedInfoMessage received) {
+            if (future.isDone()) {
+                return;
+            }
+            if (received.getTotalMessages() == 0) {
+                future.complete(null);
+                return;
+            }
+            if (!receivedMessageIds.add(received.getMessageId())) {
+                logger.debug("Skipping chunked message, it is already received: {}", received);
+                return;
+            }
+
+            InfoData data = received.getData();
+            if (data instanceof InfoDataPage) {
+                List<InfoData> items = ((InfoDataPage) data).getItems();
+                pageConsumer.accept(items != null ? items : Collections.emptyList());
+            } else {
+                pageConsumer.accept(Collections.singletonList(data));
+            }
+
+            if (receivedMessageIds.size() == received.getTotalMessages()) {
+                future.complete(null);
+            }
+        }
+    }
 }
@@ -16,6 +16,7 @@
 package org.openkilda.northbound.service;
 
 import org.openkilda.messaging.info.meter.FlowMeterEntries;
+import org.openkilda.messaging.payload.flow.DiverseGroupOverlapPayload;
 import org.openkilda.messaging.payload.flow.FlowCreatePayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
@@ -30,6 +31,8 @@ import org.openkilda.northbound.dto.v1.flows.FlowPatchDto;
 import org.openkilda.northbound.dto.v1.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.v1.flows.PingInput;
 import org.openkilda.northbound.dto.v1.flows.PingOutput;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkRequestV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowHistoryStatusesResponse;
 import org.openkilda.northbound.dto.v2.flows.FlowLoopResponse;
 import org.openkilda.northbound.dto.v2.flows.FlowPatchV2;
@@ -41,6 +44,7 @@ import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * FlowService is for operations on flows, primarily against the Flow Topology.
@@ -143,13 +147,39 @@ public interface FlowService {
     CompletableFuture<List<FlowResponseV2>> getAllFlowsV2(String status);
 
     /**
-     * Deletes all flows. Primarily this is a combination of getAllFlows and deleteFlow.
-     * This should be called with care ..
+     * Streams all the flows page by page as soon as the pages are received.
+     *
+     * @param status flow status filter, might be null.
+     * @param consumer receiver of the flow pages.
+     * @return future completed when the last page is passed to the consumer.
+     */
+    CompletableFuture<Void> streamAllFlowsV2(String status, Consumer<List<FlowResponseV2>> consumer);
+
+    /**
+     * Deletes all flows. All flows are deleted by one bulk operation, so the number of concurrent deletions is
+     * limited by the flow HS topology. This should be called with care ..
      *
      * @return the list of all deleted flows
      */
     CompletableFuture<List<FlowResponsePayload>> deleteAllFlows();
 
+    /**
+     * Submits a bulk flow operation. The items are executed asynchronously with a limited number of concurrent
+     * operations.
+     *
+     * @param request the bulk request.
+     * @return the bulk identifier and the initial progress.
+     */
+    CompletableFuture<FlowBulkResponseV2> submitFlowBulkOperation(FlowBulkRequestV2 request);
+
+    /**
+     * Gets progress and results of a bulk flow operation.
+     *
+     * @param bulkId the bulk identifier.
+     * @return the progress and results of completed items.
+     */
+    CompletableFuture<FlowBulkResponseV2> getFlowBulkOperation(String bulkId);
+
     /**
      * Gets flow status by id.
      *
@@ -166,6 +196,14 @@ public interface FlowService {
      */
     CompletableFuture<FlowPathPayload> pathFlow(final String id);
 
+    /**
+     * Gets overlapping stats between all paths of the flow's diverse group.
+     *
+     * @param id flow id
+     * @return overlapping matrix rows
+     */
+    CompletableFuture<List<DiverseGroupOverlapPayload>> getDiverseGroupOverlaps(final String id);
+
     /**
      * Use this to push flows that may not be in the database / caches but they should be.
      *
@@ -46,6 +46,7 @@ import org.openkilda.northbound.dto.v2.switches.SwitchPatchDto;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface SwitchService {
 
@@ -55,6 +56,13 @@ public interface SwitchService {
      */
     CompletableFuture<List<SwitchDto>> getSwitches();
 
+    /**
+     * Streams all available switches page by page as soon as the pages are received.
+     * @param consumer receiver of the switch pages.
+     * @return future completed when the last page is passed to the consumer.
+     */
+    CompletableFuture<Void> streamSwitches(Consumer<List<SwitchDto>> consumer);
+
     /**
      * Get available switch.
      * @return switch.
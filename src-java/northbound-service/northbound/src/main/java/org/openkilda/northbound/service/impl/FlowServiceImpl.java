@@ -17,12 +17,15 @@ package org.openkilda.northbound.service.impl;
 
 import static java.lang.String.format;
 import static org.openkilda.messaging.Utils.FLOW_ID;
-import static org.openkilda.northbound.utils.async.AsyncUtils.collectResponses;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.CreateFlowLoopRequest;
 import org.openkilda.messaging.command.flow.DeleteFlowLoopRequest;
+import org.openkilda.messaging.command.flow.FlowBulkItem;
+import org.openkilda.messaging.command.flow.FlowBulkOperation;
+import org.openkilda.messaging.command.flow.FlowBulkRequest;
+import org.openkilda.messaging.command.flow.FlowBulkStatusRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowPathSwapRequest;
 import org.openkilda.messaging.command.flow.FlowPingRequest;
@@ -32,6 +35,9 @@ import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.SwapFlowEndpointRequest;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.flow.FlowBulkItemResult;
+import org.openkilda.messaging.info.flow.FlowBulkResponse;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
 import org.openkilda.messaging.info.flow.FlowRerouteResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
@@ -45,20 +51,22 @@ import org.openkilda.messaging.nbtopology.request.FlowPatchRequest;
 import org.openkilda.messaging.nbtopology.request.FlowReadRequest;
 import org.openkilda.messaging.nbtopology.request.FlowValidationRequest;
 import org.openkilda.messaging.nbtopology.request.FlowsDumpRequest;
+import org.openkilda.messaging.nbtopology.request.GetDiverseGroupOverlapsRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowHistoryRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowLoopsRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowPathRequest;
 import org.openkilda.messaging.nbtopology.request.GetFlowStatusTimestampsRequest;
 import org.openkilda.messaging.nbtopology.request.MeterModifyRequest;
+import org.openkilda.messaging.nbtopology.response.DiverseGroupOverlapResponse;
 import org.openkilda.messaging.nbtopology.response.FlowLoopsResponse;
 import org.openkilda.messaging.nbtopology.response.FlowValidationResponse;
 import org.openkilda.messaging.nbtopology.response.GetFlowPathResponse;
+import org.openkilda.messaging.payload.flow.DiverseGroupOverlapPayload;
 import org.openkilda.messaging.payload.flow.DiverseGroupPayload;
 import org.openkilda.messaging.payload.flow.FlowCreatePayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload.FlowProtectedPath;
-import org.openkilda.messaging.payload.flow.FlowPayload;
 import org.openkilda.messaging.payload.flow.FlowReroutePayload;
 import org.openkilda.messaging.payload.flow.FlowResponsePayload;
 import org.openkilda.messaging.payload.flow.FlowUpdatePayload;
@@ -75,6 +83,9 @@ import org.openkilda.northbound.dto.v1.flows.FlowPatchDto;
 import org.openkilda.northbound.dto.v1.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.v1.flows.PingInput;
 import org.openkilda.northbound.dto.v1.flows.PingOutput;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkItemV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkRequestV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowHistoryStatusesResponse;
 import org.openkilda.northbound.dto.v2.flows.FlowLoopResponse;
 import org.openkilda.northbound.dto.v2.flows.FlowPatchV2;
@@ -87,18 +98,25 @@ import org.openkilda.northbound.service.FlowService;
 import org.openkilda.northbound.utils.CorrelationIdFactory;
 import org.openkilda.northbound.utils.RequestCorrelationId;
 
+import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -112,6 +130,9 @@ public class FlowServiceImpl implements FlowService {
      */
     private static final Logger logger = LoggerFactory.getLogger(FlowServiceImpl.class);
 
+    private static final Duration FLOW_BULK_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final int DELETE_ALL_FLOWS_BULK_SIZE = 500;
+
     /**
      * The kafka topic for the new flow topology.
      */
@@ -151,6 +172,9 @@ public class FlowServiceImpl implements FlowService {
     @Autowired
     private CorrelationIdFactory idFactory;
 
+    @Autowired
+    private TaskScheduler taskScheduler;
+
     /**
      * {@inheritDoc}
      */
@@ -350,8 +374,25 @@ public class FlowServiceImpl implements FlowService {
      */
     @Override
     public CompletableFuture<List<FlowResponseV2>> getAllFlowsV2(String status) {
-        final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get flows request processing");
+        CommandMessage request = makeFlowsDumpRequest(status);
+        return messagingChannel.sendAndGetChunked(nbworkerTopic, request)
+                .thenApply(this::toFlowResponsesV2);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> streamAllFlowsV2(String status, Consumer<List<FlowResponseV2>> consumer) {
+        logger.debug("Stream flows request processing");
+        CommandMessage request = makeFlowsDumpRequest(status);
+        return messagingChannel.sendAndStreamChunked(nbworkerTopic, request,
+                page -> consumer.accept(toFlowResponsesV2(page)));
+    }
+
+    private CommandMessage makeFlowsDumpRequest(String status) {
+        final String correlationId = RequestCorrelationId.getId();
         FlowsDumpRequest data;
         try {
             data = new FlowsDumpRequest(status);
@@ -360,14 +401,15 @@ public class FlowServiceImpl implements FlowService {
             throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
                     e.getMessage(), "Can not parse arguments of the flow dump request");
         }
+        return new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
+    }
 
-        CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
-        return messagingChannel.sendAndGetChunked(nbworkerTopic, request)
-                .thenApply(result -> result.stream()
-                        .map(FlowResponse.class::cast)
-                        .map(FlowResponse::getPayload)
-                        .map(flowMapper::toFlowResponseV2)
-                        .collect(Collectors.toList()));
+    private List<FlowResponseV2> toFlowResponsesV2(List<InfoData> responses) {
+        return responses.stream()
+                .map(FlowResponse.class::cast)
+                .map(FlowResponse::getPayload)
+                .map(flowMapper::toFlowResponseV2)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -375,25 +417,146 @@ public class FlowServiceImpl implements FlowService {
      */
     @Override
     public CompletableFuture<List<FlowResponsePayload>> deleteAllFlows() {
-        CompletableFuture<List<FlowResponsePayload>> result = new CompletableFuture<>();
         logger.warn("Delete all flows request");
+        final String correlationId = RequestCorrelationId.getId();
+
         // TODO: Need a getFlowIDs .. since that is all we need
-        CompletableFuture<List<FlowResponsePayload>> getFlowsStage = this.getAllFlows();
-
-        getFlowsStage.thenApply(flows -> {
-            List<CompletableFuture<?>> deletionRequests = new ArrayList<>();
-            for (int i = 0; i < flows.size(); i++) {
-                String requestId = idFactory.produceChained(String.valueOf(i));
-                FlowPayload flow = flows.get(i);
-                deletionRequests.add(sendDeleteFlow(flow.getId(), requestId));
+        return getAllFlows().thenCompose(flows -> {
+            List<FlowBulkItem> items = flows.stream()
+                    .map(flow -> FlowBulkItem.builder()
+                            .operation(FlowBulkOperation.DELETE)
+                            .flowId(flow.getId())
+                            .build())
+                    .collect(Collectors.toList());
+
+            // the bulks are executed one by one to keep the size of the bulk request message bounded
+            CompletableFuture<Set<String>> deleted = CompletableFuture.completedFuture(new HashSet<>());
+            for (List<FlowBulkItem> chunk : Lists.partition(items, DELETE_ALL_FLOWS_BULK_SIZE)) {
+                deleted = deleted.thenCompose(accumulator -> deleteFlowsBulk(chunk, correlationId)
+                        .thenApply(chunkDeleted -> {
+                            accumulator.addAll(chunkDeleted);
+                            return accumulator;
+                        }));
             }
-            return deletionRequests;
-        }).thenApply(requests -> collectResponses(requests, FlowResponsePayload.class)
-                .thenApply(result::complete));
+            return deleted.thenApply(deletedIds -> flows.stream()
+                    .filter(flow -> deletedIds.contains(flow.getId()))
+                    .collect(Collectors.toList()));
+        });
+    }
+
+    private CompletableFuture<Set<String>> deleteFlowsBulk(List<FlowBulkItem> items, String correlationId) {
+        return sendFlowBulkRequest(items, correlationId)
+                .thenCompose(status -> awaitFlowBulkCompletion(status, correlationId))
+                .thenApply(status -> {
+                    if (status.getFailed() > 0) {
+                        logger.error("Failed to delete {} of {} flows", status.getFailed(), status.getTotal());
+                    }
+                    return status.getResults().stream()
+                            .filter(FlowBulkItemResult::isSuccess)
+                            .map(FlowBulkItemResult::getFlowId)
+                            .collect(Collectors.toSet());
+                });
+    }
+
+    @Override
+    public CompletableFuture<FlowBulkResponseV2> submitFlowBulkOperation(FlowBulkRequestV2 request) {
+        logger.info("Processing bulk flow operation with {} items", request.getItems().size());
+        final String correlationId = RequestCorrelationId.getId();
+
+        List<FlowBulkItem> items = new ArrayList<>();
+        for (FlowBulkItemV2 item : request.getItems()) {
+            items.add(toFlowBulkItem(item, correlationId));
+        }
+        return sendFlowBulkRequest(items, correlationId)
+                .thenApply(flowMapper::toFlowBulkResponseV2);
+    }
 
+    @Override
+    public CompletableFuture<FlowBulkResponseV2> getFlowBulkOperation(String bulkId) {
+        logger.debug("Get bulk flow operation {}", bulkId);
+        return sendFlowBulkStatusRequest(bulkId, RequestCorrelationId.getId())
+                .thenApply(flowMapper::toFlowBulkResponseV2);
+    }
+
+    private FlowBulkItem toFlowBulkItem(FlowBulkItemV2 item, String correlationId) {
+        FlowBulkOperation operation;
+        try {
+            operation = FlowBulkOperation.valueOf(String.valueOf(item.getOperation()).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
+                    format("Invalid bulk operation %s", item.getOperation()),
+                    "Valid operations are: create, update, delete");
+        }
+
+        String flowId = item.getFlowId();
+        if (flowId == null && item.getFlow() != null) {
+            flowId = item.getFlow().getFlowId();
+        }
+        if (flowId == null) {
+            throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
+                    "Flow id is not specified", format("Flow id is required for %s bulk operation", operation));
+        }
+
+        FlowRequest flow = null;
+        if (item.getFlow() != null) {
+            try {
+                flow = flowMapper.toFlowRequest(item.getFlow());
+            } catch (IllegalArgumentException e) {
+                logger.error("Can not parse arguments: {}", e.getMessage(), e);
+                throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
+                        e.getMessage(), "Can not parse arguments of the bulk flow request");
+            }
+        }
+
+        return FlowBulkItem.builder()
+                .operation(operation)
+                .flowId(flowId)
+                .flow(flow)
+                .priority(Optional.ofNullable(item.getPriority()).orElse(0))
+                .build();
+    }
+
+    private CompletableFuture<FlowBulkResponse> sendFlowBulkRequest(List<FlowBulkItem> items, String correlationId) {
+        FlowBulkRequest request = new FlowBulkRequest(idFactory.produce(), items);
+        CommandMessage command = new CommandMessage(request, System.currentTimeMillis(), correlationId,
+                Destination.WFM);
+        return messagingChannel.sendAndGet(flowHsTopic, command)
+                .thenApply(FlowBulkResponse.class::cast);
+    }
+
+    private CompletableFuture<FlowBulkResponse> sendFlowBulkStatusRequest(String bulkId, String correlationId) {
+        CommandMessage command = new CommandMessage(new FlowBulkStatusRequest(bulkId), System.currentTimeMillis(),
+                correlationId, Destination.WFM);
+        return messagingChannel.sendAndGet(flowHsTopic, command)
+                .thenApply(FlowBulkResponse.class::cast);
+    }
+
+    private CompletableFuture<FlowBulkResponse> awaitFlowBulkCompletion(
+            FlowBulkResponse status, String correlationId) {
+        CompletableFuture<FlowBulkResponse> result = new CompletableFuture<>();
+        pollFlowBulkStatus(status, correlationId, result);
         return result;
     }
 
+    private void pollFlowBulkStatus(
+            FlowBulkResponse status, String correlationId, CompletableFuture<FlowBulkResponse> result) {
+        if (status.isCompleted()) {
+            result.complete(status);
+            return;
+        }
+
+        taskScheduler.schedule(
+                () -> sendFlowBulkStatusRequest(status.getBulkId(), idFactory.produceChained(correlationId))
+                        .whenComplete((current, error) -> {
+                            if (error == null) {
+                                pollFlowBulkStatus(current, correlationId, result);
+                            } else {
+                                result.completeExceptionally(error);
+                            }
+                        }),
+                Date.from(Instant.now().plus(FLOW_BULK_POLL_INTERVAL)));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -471,6 +634,21 @@ public class FlowServiceImpl implements FlowService {
                 .thenApply(respList -> buildFlowPathPayload(respList, id));
     }
 
+    @Override
+    public CompletableFuture<List<DiverseGroupOverlapPayload>> getDiverseGroupOverlaps(final String id) {
+        logger.debug("Diverse group overlaps request for flow {}", id);
+        final String correlationId = RequestCorrelationId.getId();
+
+        GetDiverseGroupOverlapsRequest data = new GetDiverseGroupOverlapsRequest(id);
+        CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId);
+
+        return messagingChannel.sendAndGetChunked(nbworkerTopic, request)
+                .thenApply(result -> result.stream()
+                        .map(DiverseGroupOverlapResponse.class::cast)
+                        .map(DiverseGroupOverlapResponse::getPayload)
+                        .collect(Collectors.toList()));
+    }
+
     private FlowPathPayload buildFlowPathPayload(List<FlowPathDto> paths, String flowId) {
         FlowPathDto askedPathDto = paths.stream().filter(e -> e.getId().equals(flowId)).findAny()
                 .orElseThrow(() -> new IllegalStateException(format("Path for flow %s is not found.", flowId)));
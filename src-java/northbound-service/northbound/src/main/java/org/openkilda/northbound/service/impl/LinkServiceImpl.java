@@ -81,6 +81,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -122,9 +123,25 @@ public class LinkServiceImpl extends BaseService implements LinkService {
     @Override
     public CompletableFuture<List<LinkDto>> getLinks(SwitchId srcSwitch, Integer srcPort,
                                                      SwitchId dstSwitch, Integer dstPort) {
-        final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get links request received");
-        GetLinksRequest request = null;
+        CommandMessage message = makeGetLinksRequest(srcSwitch, srcPort, dstSwitch, dstPort);
+        return messagingChannel.sendAndGetChunked(nbworkerTopic, message)
+                .thenApply(this::toLinkDtos);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamLinks(SwitchId srcSwitch, Integer srcPort, SwitchId dstSwitch,
+                                               Integer dstPort, Consumer<List<LinkDto>> consumer) {
+        logger.debug("Stream links request received");
+        CommandMessage message = makeGetLinksRequest(srcSwitch, srcPort, dstSwitch, dstPort);
+        return messagingChannel.sendAndStreamChunked(nbworkerTopic, message,
+                page -> consumer.accept(toLinkDtos(page)));
+    }
+
+    private CommandMessage makeGetLinksRequest(SwitchId srcSwitch, Integer srcPort,
+                                               SwitchId dstSwitch, Integer dstPort) {
+        final String correlationId = RequestCorrelationId.getId();
+        GetLinksRequest request;
         try {
             request = new GetLinksRequest(new NetworkEndpointMask(srcSwitch, srcPort),
                     new NetworkEndpointMask(dstSwitch, dstPort));
@@ -133,13 +150,14 @@ public class LinkServiceImpl extends BaseService implements LinkService {
             throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
                     e.getMessage(), "Can not parse arguments when create 'get links' request");
         }
-        CommandMessage message = new CommandMessage(request, System.currentTimeMillis(), correlationId);
+        return new CommandMessage(request, System.currentTimeMillis(), correlationId);
+    }
 
-        return messagingChannel.sendAndGetChunked(nbworkerTopic, message)
-                .thenApply(response -> response.stream()
-                        .map(IslInfoData.class::cast)
-                        .map(linkMapper::mapResponse)
-                        .collect(Collectors.toList()));
+    private List<LinkDto> toLinkDtos(List<InfoData> response) {
+        return response.stream()
+                .map(IslInfoData.class::cast)
+                .map(linkMapper::mapResponse)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -35,6 +35,7 @@ import org.openkilda.messaging.command.switches.SwitchRulesInstallRequest;
 import org.openkilda.messaging.command.switches.SwitchValidateRequest;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
@@ -105,6 +106,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -153,11 +155,29 @@ public class SwitchServiceImpl implements SwitchService {
                 correlationId);
 
         return messagingChannel.sendAndGetChunked(nbworkerTopic, request)
-                .thenApply(messages -> messages.stream()
-                        .map(GetSwitchResponse.class::cast)
-                        .map(GetSwitchResponse::getPayload)
-                        .map(switchMapper::toSwitchDto)
-                        .collect(Collectors.toList()));
+                .thenApply(this::toSwitchDtos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> streamSwitches(Consumer<List<SwitchDto>> consumer) {
+        final String correlationId = RequestCorrelationId.getId();
+        logger.debug("Stream switches request received");
+        CommandMessage request = new CommandMessage(new GetSwitchesRequest(), System.currentTimeMillis(),
+                correlationId);
+
+        return messagingChannel.sendAndStreamChunked(nbworkerTopic, request,
+                page -> consumer.accept(toSwitchDtos(page)));
+    }
+
+    private List<SwitchDto> toSwitchDtos(List<InfoData> messages) {
+        return messages.stream()
+                .map(GetSwitchResponse.class::cast)
+                .map(GetSwitchResponse::getPayload)
+                .map(switchMapper::toSwitchDto)
+                .collect(Collectors.toList());
     }
 
     /**
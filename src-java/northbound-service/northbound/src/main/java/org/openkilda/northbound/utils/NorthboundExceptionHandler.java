@@ -23,6 +23,7 @@ import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageError;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.northbound.error.NorthboundException;
+import org.openkilda.northbound.messaging.exception.TooManyPendingRequestsException;
 
 import org.slf4j.MDC;
 import org.slf4j.MDC.MDCCloseable;
@@ -86,6 +87,9 @@ public class NorthboundExceptionHandler extends ResponseEntityExceptionHandler {
             case NOT_IMPLEMENTED:
                 status = HttpStatus.NOT_IMPLEMENTED;
                 break;
+            case SERVICE_UNAVAILABLE:
+                status = HttpStatus.SERVICE_UNAVAILABLE;
+                break;
             default:
                 status = HttpStatus.INTERNAL_SERVER_ERROR;
                 break;
@@ -101,6 +105,22 @@ public class NorthboundExceptionHandler extends ResponseEntityExceptionHandler {
         return super.handleExceptionInternal(exception, error, new HttpHeaders(), status, request);
     }
 
+    /**
+     * Handles rejection of a request caused by too many requests pending for response.
+     */
+    @ExceptionHandler(TooManyPendingRequestsException.class)
+    protected ResponseEntity<Object> handleTooManyPendingRequestsException(TooManyPendingRequestsException exception,
+                                                                           WebRequest request) {
+        String correlationId = Optional.ofNullable(request.getHeader(CORRELATION_ID)).orElse(DEFAULT_CORRELATION_ID);
+        MessageError error = new MessageError(correlationId, System.currentTimeMillis(),
+                ErrorType.SERVICE_UNAVAILABLE.toString(), exception.getMessage(), "Service is overloaded");
+
+        logger.warn(format("Request rejected %s", error));
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), HttpStatus.SERVICE_UNAVAILABLE,
+                request);
+    }
+
     @ExceptionHandler(NorthboundException.class)
     protected ResponseEntity<Object> handleMessageException(NorthboundException exception, WebRequest request) {
         return super.handleExceptionInternal(
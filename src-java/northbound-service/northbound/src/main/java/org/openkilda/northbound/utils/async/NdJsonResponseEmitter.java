@@ -0,0 +1,91 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils.async;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes the entities of a chunked response as newline delimited JSON as soon as the chunks are received, so the
+ * client gets first entities without waiting for the whole dump to be collected.
+ */
+public class NdJsonResponseEmitter extends ResponseBodyEmitter {
+    public static final String MEDIA_TYPE_VALUE = "application/x-ndjson";
+
+    private static final byte[] DELIMITER = {'\n'};
+
+    private final ObjectMapper objectMapper;
+
+    public NdJsonResponseEmitter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts streaming and binds the emitter to the stream lifecycle.
+     *
+     * @param objectMapper serializer for the entities.
+     * @param streamer starts the streaming, passes the pages of entities to the consumer and returns the future
+     *                 completed when the last page is passed.
+     * @return the response to be returned from a controller.
+     */
+    public static ResponseEntity<ResponseBodyEmitter> stream(
+            ObjectMapper objectMapper, Function<Consumer<Collection<?>>, CompletableFuture<Void>> streamer) {
+        NdJsonResponseEmitter emitter = new NdJsonResponseEmitter(objectMapper);
+        streamer.apply(emitter::sendAll)
+                .whenComplete((ignore, error) -> {
+                    if (error != null) {
+                        emitter.completeWithError(error);
+                    } else {
+                        emitter.complete();
+                    }
+                });
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf(MEDIA_TYPE_VALUE));
+        return ResponseEntity.ok().headers(headers).body(emitter);
+    }
+
+    /**
+     * Writes entities, one JSON document per line.
+     */
+    public void sendAll(Collection<?> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            for (Object entry : entities) {
+                buffer.write(objectMapper.writeValueAsBytes(entry));
+                buffer.write(DELIMITER);
+            }
+            send(buffer.toByteArray(), MediaType.APPLICATION_OCTET_STREAM);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -15,16 +15,20 @@
 
 package org.openkilda.northbound.messaging.kafka;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoDataPage;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.SwitchChangeType;
 import org.openkilda.messaging.info.event.SwitchInfoData;
@@ -32,7 +36,10 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.northbound.config.KafkaConfig;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.exception.TooManyPendingRequestsException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.Before;
 import org.junit.Rule;
@@ -47,10 +54,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.SettableListenableFuture;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -63,6 +73,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 @RunWith(SpringRunner.class)
+@TestPropertySource(properties = {
+        "northbound.messages.timeout.seconds=1",
+        "northbound.messages.pending.limit=" + KafkaMessagingChannelTest.PENDING_LIMIT})
 public class KafkaMessagingChannelTest {
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessagingChannelTest.class);
     private static final Set<Message> CHUNKED_RESPONSES = new HashSet<>();
@@ -70,6 +83,8 @@ public class KafkaMessagingChannelTest {
     private static final String MAIN_TOPIC = "topic";
     private static final String CHUNKED_TOPIC = "chunked";
     private static final String BROKEN_TOPIC = "broken";
+    private static final String SILENT_TOPIC = "silent";
+    static final int PENDING_LIMIT = 5;
 
     @Autowired
     private KafkaMessagingChannel messagingChannel;
@@ -151,6 +166,45 @@ public class KafkaMessagingChannelTest {
         assertTrue(messagingChannel.getPendingRequests().isEmpty());
     }
 
+    @Test
+    public void shouldReturnCompletedPagedChunked() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int pagesAmount = 10;
+        int pageSize = 100;
+
+        preparePagedResponses(requestId, timestamp, pagesAmount, pageSize);
+        Message request = new Message(timestamp, requestId);
+
+        CompletableFuture<List<InfoData>> future = messagingChannel.sendAndGetChunked(CHUNKED_TOPIC, request);
+        prepareResponses(CHUNKED_TOPIC);
+        List<InfoData> result = future.get(10, TimeUnit.SECONDS);
+
+        assertEquals(pagesAmount * pageSize, result.size());
+        assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
+    }
+
+    @Test
+    public void shouldStreamPagedChunked() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int pagesAmount = 5;
+        int pageSize = 10;
+
+        preparePagedResponses(requestId, timestamp, pagesAmount, pageSize);
+        Message request = new Message(timestamp, requestId);
+
+        List<Integer> receivedPages = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> future = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, request,
+                page -> receivedPages.add(page.size()));
+        prepareResponses(CHUNKED_TOPIC);
+        future.get(10, TimeUnit.SECONDS);
+
+        assertEquals(pagesAmount, receivedPages.size());
+        receivedPages.forEach(size -> assertEquals(pageSize, size.intValue()));
+        assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
+    }
+
     @Test
     public void shouldReturnEmptyList() throws Exception {
         String requestId = UUID.randomUUID().toString();
@@ -241,6 +295,40 @@ public class KafkaMessagingChannelTest {
         assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
     }
 
+    @Test
+    public void shouldExpireRequestWithoutResponse() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        CompletableFuture<InfoData> response = messagingChannel.sendAndGet(SILENT_TOPIC,
+                new Message(System.currentTimeMillis(), requestId));
+
+        try {
+            response.get(5, TimeUnit.SECONDS);
+            fail("Request must be expired");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof MessageException);
+            assertEquals(ErrorType.OPERATION_TIMED_OUT, ((MessageException) e.getCause()).getErrorType());
+        }
+        assertTrue(messagingChannel.getPendingRequests().isEmpty());
+        assertEquals(0, messagingChannel.getPendingCount(SILENT_TOPIC));
+    }
+
+    @Test
+    public void shouldRejectRequestIfTooManyPending() throws Exception {
+        String topic = "overloaded";
+        for (int i = 0; i < PENDING_LIMIT; i++) {
+            messagingChannel.sendAndGet(topic, new Message(System.currentTimeMillis(), UUID.randomUUID().toString()));
+        }
+
+        CompletableFuture<InfoData> response = messagingChannel.sendAndGet(topic,
+                new Message(System.currentTimeMillis(), UUID.randomUUID().toString()));
+        assertTrue(response.isCompletedExceptionally());
+        assertEquals(PENDING_LIMIT, messagingChannel.getPendingCount(topic));
+
+        thrown.expect(ExecutionException.class);
+        thrown.expectCause(instanceOf(TooManyPendingRequestsException.class));
+        response.get();
+    }
+
     /**
      * Creates chunk of responses started from requestId, with predefined size.
      */
@@ -253,6 +341,19 @@ public class KafkaMessagingChannelTest {
         }
     }
 
+    private void preparePagedResponses(String requestId, long timestamp, int pagesAmount, int pageSize) {
+        for (int i = 0; i < pagesAmount; i++) {
+            List<InfoData> items = new ArrayList<>(pageSize);
+            for (int j = 0; j < pageSize; j++) {
+                items.add(new SwitchInfoData(new SwitchId(i * pageSize + j), SwitchChangeType.ACTIVATED,
+                        null, null, null, null, false));
+            }
+            ChunkedInfoMessage response = new ChunkedInfoMessage(new InfoDataPage(items), timestamp, requestId, i,
+                    pagesAmount);
+            CHUNKED_RESPONSES.add(response);
+        }
+    }
+
     @TestConfiguration
     @Import(KafkaConfig.class)
     @PropertySource({"classpath:northbound.properties"})
@@ -266,6 +367,11 @@ public class KafkaMessagingChannelTest {
         public MessageProducer messageProducer(KafkaMessagingChannel messagingChannel) {
             return new CustomMessageProducer(messagingChannel);
         }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
     }
 
     private static class CustomMessageProducer implements MessageProducer {
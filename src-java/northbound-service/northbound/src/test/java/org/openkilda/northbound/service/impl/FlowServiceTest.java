@@ -16,8 +16,13 @@
 package org.openkilda.northbound.service.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import org.openkilda.messaging.command.flow.FlowBulkOperation;
+import org.openkilda.messaging.info.flow.FlowBulkItemResult;
+import org.openkilda.messaging.info.flow.FlowBulkResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.SwapFlowResponse;
 import org.openkilda.messaging.model.FlowDto;
@@ -26,6 +31,7 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.northbound.MessageExchanger;
 import org.openkilda.northbound.config.KafkaConfig;
 import org.openkilda.northbound.dto.v2.flows.DetectConnectedDevicesV2;
+import org.openkilda.northbound.dto.v2.flows.FlowBulkResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowEndpointV2;
 import org.openkilda.northbound.dto.v2.flows.FlowLoopResponse;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
@@ -45,9 +51,12 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
+
 @RunWith(SpringRunner.class)
 public class FlowServiceTest {
 
@@ -131,6 +140,32 @@ public class FlowServiceTest {
         assertEquals(switchId, result.getSwitchId());
     }
 
+    @Test
+    public void getFlowBulkOperation() throws Exception {
+        String correlationId = "flow-bulk-status";
+        RequestCorrelationId.create(correlationId);
+
+        FlowBulkResponse response = FlowBulkResponse.builder()
+                .bulkId("bulk-1")
+                .total(2)
+                .inProgress(1)
+                .succeeded(1)
+                .results(Collections.singletonList(
+                        new FlowBulkItemResult("flow-1", FlowBulkOperation.DELETE, true, null)))
+                .build();
+        messageExchanger.mockResponse(correlationId, response);
+
+        FlowBulkResponseV2 result = flowService.getFlowBulkOperation("bulk-1").get();
+        assertEquals("bulk-1", result.getBulkId());
+        assertEquals(2, result.getTotal());
+        assertEquals(1, result.getInProgress());
+        assertFalse(result.isCompleted());
+        assertEquals(1, result.getResults().size());
+        assertEquals("flow-1", result.getResults().get(0).getFlowId());
+        assertEquals("DELETE", result.getResults().get(0).getOperation());
+        assertTrue(result.getResults().get(0).isSuccess());
+    }
+
     @TestConfiguration
     @Import(KafkaConfig.class)
     @ComponentScan({
@@ -153,6 +188,11 @@ public class FlowServiceTest {
             return mock(RestTemplate.class);
         }
 
+        @Bean
+        public TaskScheduler taskScheduler() {
+            return mock(TaskScheduler.class);
+        }
+
         @Bean
         public FlowServiceImpl flowService() {
             return new FlowServiceImpl();
@@ -29,12 +29,12 @@ import org.openkilda.wfm.topology.portstate.spout.SwitchPortsSpout;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.tuple.Fields;
 
 public class PortStateTopology extends AbstractTopology<PortStateTopologyConfig> {
 
     public static final String TOPO_DISCO_SPOUT = "topo.disco.spout";
     private static final String WFM_STATS_SPOUT = "wfm.stats.spout";
-    private static final int JANITOR_REFRESH = 600;
     private static final String PARSE_PORT_INFO_BOLT_NAME = ParsePortInfoBolt.class.getSimpleName();
     private static final String TOPO_DISCO_PARSE_BOLT_NAME = TopoDiscoParseBolt.class.getSimpleName();
     private static final String SWITCH_PORTS_SPOUT_NAME = SwitchPortsSpout.class.getSimpleName();
@@ -89,10 +89,14 @@ public class PortStateTopology extends AbstractTopology<PortStateTopologyConfig>
                 .shuffleGrouping(TOPO_DISCO_SPOUT)
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
 
-        ParsePortInfoBolt parsePortInfoBolt = new ParsePortInfoBolt(topologyConfig.getMetricPrefix());
+        // port states are tracked per switch, so all events of a switch must reach the same bolt instance
+        Fields switchIdFields = new Fields(TopoDiscoParseBolt.FIELD_ID_SWITCH_ID);
+        ParsePortInfoBolt parsePortInfoBolt = new ParsePortInfoBolt(
+                topologyConfig.getMetricPrefix(), topologyConfig.getHeartbeatIntervalSeconds());
         declareBolt(builder, parsePortInfoBolt, PARSE_PORT_INFO_BOLT_NAME)
-                .shuffleGrouping(TOPO_DISCO_PARSE_BOLT_NAME, TopoDiscoParseBolt.TOPO_TO_PORT_INFO_STREAM)
-                .shuffleGrouping(WFM_STATS_PARSE_BOLT_NAME, WfmStatsParseBolt.WFM_TO_PARSE_PORT_INFO_STREAM);
+                .fieldsGrouping(TOPO_DISCO_PARSE_BOLT_NAME, TopoDiscoParseBolt.TOPO_TO_PORT_INFO_STREAM, switchIdFields)
+                .fieldsGrouping(WFM_STATS_PARSE_BOLT_NAME, WfmStatsParseBolt.WFM_TO_PARSE_PORT_INFO_STREAM,
+                        switchIdFields);
 
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
         KafkaBolt openTsdbBolt = createKafkaBolt(openTsdbTopic);
@@ -110,7 +114,8 @@ public class PortStateTopology extends AbstractTopology<PortStateTopologyConfig>
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
 
         // Setup spout and bolt for sending SwitchPortsCommand every frequency seconds
-        SwitchPortsSpout switchPortsSpout = new SwitchPortsSpout(JANITOR_REFRESH);
+        SwitchPortsSpout switchPortsSpout = new SwitchPortsSpout(
+                topologyConfig.getDumpIntervalSeconds(), topologyConfig.getDumpShards());
         declareSpout(builder, switchPortsSpout, SWITCH_PORTS_SPOUT_NAME);
 
         RequestSpeakerBolt bolt = new RequestSpeakerBolt(ZooKeeperSpout.SPOUT_ID);
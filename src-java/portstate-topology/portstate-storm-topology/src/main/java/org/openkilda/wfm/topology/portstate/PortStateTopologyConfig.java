@@ -19,8 +19,11 @@ import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Description;
 import com.sabre.oss.conf4j.annotation.Key;
 
+import javax.validation.constraints.Min;
+
 @Configuration
 public interface PortStateTopologyConfig extends AbstractTopologyConfig {
 
@@ -43,4 +46,23 @@ public interface PortStateTopologyConfig extends AbstractTopologyConfig {
     @Key("opentsdb.metric.prefix")
     @Default("kilda.")
     String getMetricPrefix();
+
+    @Key("portstate.dump.interval.seconds")
+    @Default("600")
+    @Min(1)
+    @Description("Each switch ports dump is requested once per this interval")
+    int getDumpIntervalSeconds();
+
+    @Key("portstate.dump.shards")
+    @Default("10")
+    @Min(1)
+    @Description("Switches are split into this number of shards, dumps of the shards are requested evenly "
+            + "during dump interval")
+    int getDumpShards();
+
+    @Key("portstate.heartbeat.interval.seconds")
+    @Default("1800")
+    @Min(1)
+    @Description("State of a port that does not change is reported once per this interval")
+    int getHeartbeatIntervalSeconds();
 }
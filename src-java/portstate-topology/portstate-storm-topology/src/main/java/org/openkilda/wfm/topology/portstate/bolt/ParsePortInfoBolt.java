@@ -17,11 +17,14 @@ package org.openkilda.wfm.topology.portstate.bolt;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
-import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.utils.MetricFormatter;
 import org.openkilda.wfm.topology.AbstractTopology;
+import org.openkilda.wfm.topology.portstate.service.PortStateCarrier;
+import org.openkilda.wfm.topology.portstate.service.PortStateTracker;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
 import org.apache.storm.task.OutputCollector;
@@ -32,90 +35,93 @@ import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
-public class ParsePortInfoBolt extends BaseRichBolt {
+public class ParsePortInfoBolt extends BaseRichBolt implements PortStateCarrier {
     private static final Logger logger = LoggerFactory.getLogger(ParsePortInfoBolt.class);
     private final String metricName;
+    private final String flapsMetricName;
+    private final long heartbeatIntervalMillis;
     private transient OutputCollector collector;
-    private transient Table<String, Integer, Map<String, String>> tagsTable;
+    private transient Table<SwitchId, Integer, Map<String, String>> tagsTable;
+    private transient PortStateTracker tracker;
 
-    public ParsePortInfoBolt(String metricPrefix) {
+    public ParsePortInfoBolt(String metricPrefix, int heartbeatIntervalSeconds) {
         MetricFormatter metricFormatter = new MetricFormatter(metricPrefix);
         this.metricName = metricFormatter.format("switch.state");
+        this.flapsMetricName = metricFormatter.format("switch.state.flaps");
+        this.heartbeatIntervalMillis = TimeUnit.SECONDS.toMillis(heartbeatIntervalSeconds);
     }
 
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
         this.collector = outputCollector;
         tagsTable = HashBasedTable.create();
+        tracker = new PortStateTracker(this, heartbeatIntervalMillis);
     }
 
     @Override
     public void execute(Tuple tuple) {
         try {
-            if (tuple.getValueByField(TopoDiscoParseBolt.FIELD_NAME) instanceof PortInfoData) {
-                try {
-                    PortInfoData port = (PortInfoData) tuple
-                            .getValueByField(TopoDiscoParseBolt.FIELD_NAME);
-
-                    if (getStateAsInt(port) >= 0) {
-                        List<Object> result = makeTsdbDatapoint(port);
-                        logger.debug("Emitting: {}", result);
-                        collector.emit(result);
-                    } else if (logger.isDebugEnabled()) {
-                        List<Object> result = makeTsdbDatapoint(port);
-                        logger.debug("Skip: {}", result);
-                    }
-
-                } catch (IOException e) {
-                    logger.error("Error creating tsdbDatapoint for: {}", tuple.toString(), e);
-                }
+            Object payload = tuple.getValueByField(TopoDiscoParseBolt.FIELD_NAME);
+            if (payload instanceof PortInfoData) {
+                handlePortInfo((PortInfoData) payload);
             }
         } finally {
             collector.ack(tuple);
         }
     }
 
-    private List<Object> makeTsdbDatapoint(PortInfoData data) throws IOException {
-        return tsdbTuple(metricName,
-                data.getTimestamp(),
-                getStateAsInt(data),
-                getTags(data));
-    }
-
-    private int getStateAsInt(PortInfoData data) {
-
-        PortChangeType state = data.getState();
-
-        if (state.equals(PortChangeType.UP) || state.equals(PortChangeType.ADD)) {
-            return 1;
+    private void handlePortInfo(PortInfoData port) {
+        switch (port.getState()) {
+            case UP:
+            case ADD:
+                tracker.handleState(port.getSwitchId(), port.getPortNo(), true, port.getTimestamp());
+                break;
+            case DOWN:
+                tracker.handleState(port.getSwitchId(), port.getPortNo(), false, port.getTimestamp());
+                break;
+            case DELETE:
+                tracker.handleDelete(port.getSwitchId(), port.getPortNo(), port.getTimestamp());
+                break;
+            default:
+                // We skip others state here
+                logger.debug("Skip: {}", port);
         }
+    }
 
-        if (state.equals(PortChangeType.DOWN) || state.equals(PortChangeType.DELETE)) {
-            return 0;
-        }
+    @Override
+    public void reportState(SwitchId switchId, int portNumber, int state, long timestamp) {
+        emitDatapoint(metricName, switchId, portNumber, state, timestamp);
+    }
 
-        return -1; // We skip others state here
+    @Override
+    public void reportFlaps(SwitchId switchId, int portNumber, int flaps, long timestamp) {
+        emitDatapoint(flapsMetricName, switchId, portNumber, flaps, timestamp);
     }
 
-    private static List<Object> tsdbTuple(String metric, long timestamp, Number value, Map<String, String> tag)
-            throws IOException {
-        Datapoint datapoint = new Datapoint(metric, timestamp, tag, value);
-        return Collections.singletonList(Utils.MAPPER.writeValueAsString(datapoint));
+    private void emitDatapoint(String metric, SwitchId switchId, int portNumber, Number value, long timestamp) {
+        Datapoint datapoint = new Datapoint(metric, timestamp, getTags(switchId, portNumber), value);
+        try {
+            List<Object> result = Collections.singletonList(Utils.MAPPER.writeValueAsString(datapoint));
+            logger.debug("Emitting: {}", result);
+            collector.emit(result);
+        } catch (JsonProcessingException e) {
+            logger.error("Error creating tsdbDatapoint for: {}", datapoint, e);
+        }
     }
 
-    private Map<String, String> getTags(PortInfoData data) {
-        Map<String, String> tag = tagsTable.get(data.getSwitchId(), data.getPortNo());
+    private Map<String, String> getTags(SwitchId switchId, int portNumber) {
+        Map<String, String> tag = tagsTable.get(switchId, portNumber);
         if (tag == null) {
             tag = new HashMap<>();
-            tag.put("switchid", data.getSwitchId().toOtsdFormat());
-            tag.put("port", String.valueOf(data.getPortNo()));
-            tagsTable.put(data.getSwitchId().toString(), data.getPortNo(), tag);
+            tag.put("switchid", switchId.toOtsdFormat());
+            tag.put("port", String.valueOf(portNumber));
+            tagsTable.put(switchId, portNumber, tag);
         }
         return tag;
     }
@@ -35,6 +35,8 @@ import org.apache.storm.tuple.Values;
 public class TopoDiscoParseBolt extends AbstractKafkaParserBolt {
     public static final String TOPO_TO_PORT_INFO_STREAM = "parse.port.info.stream";
     public static final String FIELD_NAME = PortInfoData.class.getSimpleName();
+    public static final String FIELD_ID_SWITCH_ID = "switch_id";
+    public static final Fields PORT_INFO_FIELDS = new Fields(FIELD_ID_SWITCH_ID, FIELD_NAME);
 
     public TopoDiscoParseBolt(String lifeCycleEventSourceComponent) {
         super(lifeCycleEventSourceComponent);
@@ -58,7 +60,7 @@ public class TopoDiscoParseBolt extends AbstractKafkaParserBolt {
         try {
             InfoData infoData = getInfoData(message);
             if (infoData instanceof PortInfoData) {
-                emit(TOPO_TO_PORT_INFO_STREAM, new Values(infoData));
+                emit(TOPO_TO_PORT_INFO_STREAM, new Values(((PortInfoData) infoData).getSwitchId(), infoData));
             }
         } catch (MessageException e) {
             log.error("Not an InfoMessage in queue message={}", message);
@@ -67,7 +69,7 @@ public class TopoDiscoParseBolt extends AbstractKafkaParserBolt {
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
-        outputFieldsDeclarer.declareStream(TOPO_TO_PORT_INFO_STREAM, new Fields(FIELD_NAME));
+        outputFieldsDeclarer.declareStream(TOPO_TO_PORT_INFO_STREAM, PORT_INFO_FIELDS);
         outputFieldsDeclarer.declareStream(ZkStreams.ZK.toString(), new Fields(ZooKeeperBolt.FIELD_ID_STATE,
                 ZooKeeperBolt.FIELD_ID_CONTEXT));
     }
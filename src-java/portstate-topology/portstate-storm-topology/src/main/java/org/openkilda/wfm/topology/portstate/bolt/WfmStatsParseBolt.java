@@ -61,14 +61,14 @@ public class WfmStatsParseBolt extends AbstractKafkaParserBolt {
     private void doParseSwitchPortsData(SwitchPortStatusData data) {
         data.getPorts()
                 .stream()
-                .forEach(port -> emit(WFM_TO_PARSE_PORT_INFO_STREAM, new Values(
+                .forEach(port -> emit(WFM_TO_PARSE_PORT_INFO_STREAM, new Values(data.getSwitchId(),
                         new PortInfoData(data.getSwitchId(), port.getId(),
                                 port.getStatus() == UP ? PortChangeType.UP : PortChangeType.DOWN))));
     }
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declareStream(WFM_TO_PARSE_PORT_INFO_STREAM, new Fields(TopoDiscoParseBolt.FIELD_NAME));
+        declarer.declareStream(WFM_TO_PARSE_PORT_INFO_STREAM, TopoDiscoParseBolt.PORT_INFO_FIELDS);
         declarer.declareStream(ZkStreams.ZK.toString(), new Fields(ZooKeeperBolt.FIELD_ID_STATE,
                 ZooKeeperBolt.FIELD_ID_CONTEXT));
     }
@@ -0,0 +1,24 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.portstate.service;
+
+import org.openkilda.model.SwitchId;
+
+public interface PortStateCarrier {
+    void reportState(SwitchId switchId, int portNumber, int state, long timestamp);
+
+    void reportFlaps(SwitchId switchId, int portNumber, int flaps, long timestamp);
+}
@@ -0,0 +1,136 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.portstate.service;
+
+import org.openkilda.model.SwitchId;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps last known state of switch ports and reports only state transitions. The state of a port that does not
+ * change is reported once per heartbeat interval together with the count of transitions (flaps) since the previous
+ * heartbeat.
+ */
+@Slf4j
+public class PortStateTracker {
+    public static final int STATE_DOWN = 0;
+    public static final int STATE_UP = 1;
+
+    private final PortStateCarrier carrier;
+    private final long heartbeatIntervalMillis;
+
+    private final Map<SwitchId, SwitchPorts> switches = new HashMap<>();
+
+    public PortStateTracker(PortStateCarrier carrier, long heartbeatIntervalMillis) {
+        this.carrier = carrier;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    /**
+     * Handle port state observed in port event or port dump.
+     */
+    public void handleState(SwitchId switchId, int portNumber, boolean up, long timestamp) {
+        byte state = (byte) (up ? STATE_UP : STATE_DOWN);
+        SwitchPorts ports = switches.computeIfAbsent(switchId, ignore -> new SwitchPorts());
+        int index = ports.find(portNumber);
+        if (index < 0) {
+            ports.insert(-index - 1, portNumber, state, timestamp);
+            carrier.reportState(switchId, portNumber, state, timestamp);
+        } else if (ports.states[index] != state) {
+            log.debug("Port {}_{} changed state to {}", switchId, portNumber, state);
+            ports.states[index] = state;
+            ports.flaps[index] += 1;
+            carrier.reportState(switchId, portNumber, state, timestamp);
+        } else if (heartbeatIntervalMillis <= timestamp - ports.lastHeartbeat[index]) {
+            carrier.reportState(switchId, portNumber, state, timestamp);
+            carrier.reportFlaps(switchId, portNumber, ports.flaps[index], timestamp);
+            ports.flaps[index] = 0;
+            ports.lastHeartbeat[index] = timestamp;
+        }
+    }
+
+    /**
+     * Handle port removal, the port is reported as down and forgotten.
+     */
+    public void handleDelete(SwitchId switchId, int portNumber, long timestamp) {
+        SwitchPorts ports = switches.get(switchId);
+        if (ports != null) {
+            int index = ports.find(portNumber);
+            if (0 <= index) {
+                ports.remove(index);
+            }
+            if (ports.size == 0) {
+                switches.remove(switchId);
+            }
+        }
+        carrier.reportState(switchId, portNumber, STATE_DOWN, timestamp);
+    }
+
+    int getTrackedPortsCount() {
+        return switches.values().stream().mapToInt(entry -> entry.size).sum();
+    }
+
+    /**
+     * Ports of one switch as parallel arrays sorted by port number.
+     */
+    private static class SwitchPorts {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private int size = 0;
+        private int[] numbers = new int[INITIAL_CAPACITY];
+        private byte[] states = new byte[INITIAL_CAPACITY];
+        private int[] flaps = new int[INITIAL_CAPACITY];
+        private long[] lastHeartbeat = new long[INITIAL_CAPACITY];
+
+        int find(int portNumber) {
+            return Arrays.binarySearch(numbers, 0, size, portNumber);
+        }
+
+        void insert(int index, int portNumber, byte state, long timestamp) {
+            if (size == numbers.length) {
+                int capacity = size * 2;
+                numbers = Arrays.copyOf(numbers, capacity);
+                states = Arrays.copyOf(states, capacity);
+                flaps = Arrays.copyOf(flaps, capacity);
+                lastHeartbeat = Arrays.copyOf(lastHeartbeat, capacity);
+            }
+            int tail = size - index;
+            System.arraycopy(numbers, index, numbers, index + 1, tail);
+            System.arraycopy(states, index, states, index + 1, tail);
+            System.arraycopy(flaps, index, flaps, index + 1, tail);
+            System.arraycopy(lastHeartbeat, index, lastHeartbeat, index + 1, tail);
+
+            numbers[index] = portNumber;
+            states[index] = state;
+            flaps[index] = 0;
+            lastHeartbeat[index] = timestamp;
+            size += 1;
+        }
+
+        void remove(int index) {
+            int tail = size - index - 1;
+            System.arraycopy(numbers, index + 1, numbers, index, tail);
+            System.arraycopy(states, index + 1, states, index, tail);
+            System.arraycopy(flaps, index + 1, flaps, index, tail);
+            System.arraycopy(lastHeartbeat, index + 1, lastHeartbeat, index, tail);
+            size -= 1;
+        }
+    }
+}
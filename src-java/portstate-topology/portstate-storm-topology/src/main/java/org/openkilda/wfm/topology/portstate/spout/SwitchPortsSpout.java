@@ -34,22 +34,29 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Requests switch ports dumps. The switches are split into shards and the dumps of the shards are requested one
+ * after another evenly during the dump interval, so the speakers and this topology get a steady flow of small dumps
+ * instead of the dump of all switches at once.
+ */
 public class SwitchPortsSpout extends BaseRichSpout {
 
     private static final Logger logger = LoggerFactory.getLogger(SwitchPortsSpout.class);
-    private static final String CRON_TUPLE = "cron.tuple";
     private static final int DEFAULT_FREQUENCY = 600;
     private static final String REQUESTER = SwitchPortsSpout.class.getSimpleName();
-    private final long frequency;
+    private final long shardFrequency;
+    private final int shards;
     private SpoutOutputCollector collector;
     private long lastTickTime = 0;
+    private int nextShard = 0;
 
     public SwitchPortsSpout() {
-        this(DEFAULT_FREQUENCY);
+        this(DEFAULT_FREQUENCY, 1);
     }
 
-    public SwitchPortsSpout(int frequency) {
-        this.frequency = frequency * 1000L;
+    public SwitchPortsSpout(int frequency, int shards) {
+        this.shards = Math.max(1, shards);
+        this.shardFrequency = Math.max(1, frequency * 1000L / this.shards);
     }
 
     private static long now() {
@@ -64,18 +71,19 @@ public class SwitchPortsSpout extends BaseRichSpout {
     @Override
     public void nextTuple() {
         final long now = now();
-        if (now - lastTickTime > frequency) {
-            CommandData data = new PortsCommandData(REQUESTER);
+        if (now - lastTickTime > shardFrequency) {
+            CommandData data = new PortsCommandData(REQUESTER, nextShard, shards);
             logger.debug("emitting PortsCommandData: {}", data);
 
             String correlationId = format("SwitchPortsSpout-%s", UUID.randomUUID().toString());
             collector.emit(new Values(correlationId, data, correlationId));
 
-            if (now - lastTickTime > frequency * 2) {
+            if (lastTickTime != 0 && now - lastTickTime > shardFrequency * 2) {
                 logger.warn("long tick for PortsCommandData - {}ms", now - lastTickTime);
             }
 
             lastTickTime = now;
+            nextShard = (nextShard + 1) % shards;
         }
         org.apache.storm.utils.Utils.sleep(1);
     }
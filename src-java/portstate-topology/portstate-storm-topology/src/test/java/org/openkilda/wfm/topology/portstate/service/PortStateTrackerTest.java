@@ -0,0 +1,106 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.portstate.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.openkilda.model.SwitchId;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PortStateTrackerTest {
+    private static final SwitchId SWITCH_ID = new SwitchId(1);
+    private static final long HEARTBEAT = 1000;
+
+    @Mock
+    private PortStateCarrier carrier;
+
+    private PortStateTracker tracker;
+
+    @Before
+    public void setUp() {
+        tracker = new PortStateTracker(carrier, HEARTBEAT);
+    }
+
+    @Test
+    public void shouldReportOnlyTransitions() {
+        tracker.handleState(SWITCH_ID, 2, true, 10);
+        tracker.handleState(SWITCH_ID, 1, true, 10);
+        tracker.handleState(SWITCH_ID, 2, true, 20);
+        tracker.handleState(SWITCH_ID, 2, false, 30);
+        tracker.handleState(SWITCH_ID, 2, false, 40);
+
+        verify(carrier).reportState(SWITCH_ID, 2, PortStateTracker.STATE_UP, 10);
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_UP, 10);
+        verify(carrier).reportState(SWITCH_ID, 2, PortStateTracker.STATE_DOWN, 30);
+        verifyNoMoreInteractions(carrier);
+        assertEquals(2, tracker.getTrackedPortsCount());
+    }
+
+    @Test
+    public void shouldReportStateAndFlapsOnHeartbeat() {
+        tracker.handleState(SWITCH_ID, 1, true, 0);
+        tracker.handleState(SWITCH_ID, 1, false, 100);
+        tracker.handleState(SWITCH_ID, 1, true, 200);
+        tracker.handleState(SWITCH_ID, 1, true, HEARTBEAT);
+        tracker.handleState(SWITCH_ID, 1, true, HEARTBEAT + 10);
+        tracker.handleState(SWITCH_ID, 1, true, HEARTBEAT * 2);
+
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_UP, 0);
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_DOWN, 100);
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_UP, 200);
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_UP, HEARTBEAT);
+        verify(carrier).reportFlaps(SWITCH_ID, 1, 2, HEARTBEAT);
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_UP, HEARTBEAT * 2);
+        verify(carrier).reportFlaps(SWITCH_ID, 1, 0, HEARTBEAT * 2);
+        verifyNoMoreInteractions(carrier);
+    }
+
+    @Test
+    public void shouldForgetDeletedPort() {
+        tracker.handleState(SWITCH_ID, 1, true, 10);
+        tracker.handleDelete(SWITCH_ID, 1, 20);
+        tracker.handleState(SWITCH_ID, 1, true, 30);
+
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_UP, 10);
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_DOWN, 20);
+        verify(carrier).reportState(SWITCH_ID, 1, PortStateTracker.STATE_UP, 30);
+        verifyNoMoreInteractions(carrier);
+        assertEquals(1, tracker.getTrackedPortsCount());
+    }
+
+    @Test
+    public void shouldKeepPortsSorted() {
+        for (int port = 20; port > 0; port--) {
+            tracker.handleState(SWITCH_ID, port, true, 0);
+        }
+        for (int port = 1; port <= 20; port += 2) {
+            tracker.handleDelete(SWITCH_ID, port, 1);
+        }
+        assertEquals(10, tracker.getTrackedPortsCount());
+        for (int port = 2; port <= 20; port += 2) {
+            tracker.handleState(SWITCH_ID, port, true, 2);
+        }
+        assertEquals(10, tracker.getTrackedPortsCount());
+    }
+}
@@ -51,6 +51,7 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
 
     private static final String BOLT_ID_KAFKA_FLOWHS = "kafka-flowhs-bolt";
     private static final String BOLT_ID_KAFKA_NB = "kafka-northbound-bolt";
+    private static final String BOLT_ID_KAFKA_OTSDB = "kafka-otsdb-bolt";
 
     public static final Fields KAFKA_FIELDS = new Fields(FIELD_ID_KEY, FIELD_ID_PAYLOAD);
 
@@ -87,6 +88,10 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
         KafkaBolt<String, Message> kafkaNorthboundBolt = buildKafkaBolt(topologyConfig.getKafkaNorthboundTopic());
         declareBolt(topologyBuilder, kafkaNorthboundBolt, BOLT_ID_KAFKA_NB)
                 .shuffleGrouping(FlowRerouteQueueBolt.BOLT_ID, STREAM_NORTHBOUND_ID);
+
+        KafkaBolt<String, String> kafkaOtsdbBolt = createKafkaBolt(topologyConfig.getKafkaOtsdbTopic());
+        declareBolt(topologyBuilder, kafkaOtsdbBolt, BOLT_ID_KAFKA_OTSDB)
+                .shuffleGrouping(FlowRerouteQueueBolt.BOLT_ID, FlowRerouteQueueBolt.STREAM_STATS_ID);
         zkBolt(topologyBuilder);
         zkSpout(topologyBuilder);
 
@@ -121,7 +126,10 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
         int rerouteTimeout = (int) TimeUnit.SECONDS.toMillis(topologyConfig.getRerouteTimeoutSeconds());
         FlowRerouteQueueBolt flowRerouteQueueBolt = new FlowRerouteQueueBolt(persistenceManager,
                 topologyConfig.getDefaultFlowPriority(),
-                topologyConfig.getMaxRetry(), rerouteTimeout);
+                topologyConfig.getMaxRetry(), rerouteTimeout,
+                topologyConfig.getMaxConcurrentReroutes(),
+                topologyConfig.getMaxConcurrentReroutesPerSwitch(),
+                topologyConfig.getMetricPrefix());
         declareBolt(topologyBuilder, flowRerouteQueueBolt, FlowRerouteQueueBolt.BOLT_ID)
                 .fieldsGrouping(RerouteBolt.BOLT_ID, STREAM_REROUTE_REQUEST_ID, new Fields(RerouteBolt.FLOW_ID_FIELD))
                 .fieldsGrouping(RerouteBolt.BOLT_ID, STREAM_MANUAL_REROUTE_REQUEST_ID,
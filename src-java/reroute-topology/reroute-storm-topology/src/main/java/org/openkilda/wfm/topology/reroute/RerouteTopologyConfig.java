@@ -21,6 +21,8 @@ import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
+import javax.validation.constraints.Min;
+
 @Configuration
 public interface RerouteTopologyConfig extends AbstractTopologyConfig {
 
@@ -42,6 +44,21 @@ public interface RerouteTopologyConfig extends AbstractTopologyConfig {
     @Default("80")
     int getRerouteTimeoutSeconds();
 
+    // limits are applied by each reroute queue bolt instance
+    @Key("reroute.admission.max.concurrent")
+    @Default("200")
+    @Min(1)
+    int getMaxConcurrentReroutes();
+
+    @Key("reroute.admission.max.concurrent.per.switch")
+    @Default("50")
+    @Min(1)
+    int getMaxConcurrentReroutesPerSwitch();
+
+    @Key("opentsdb.metric.prefix")
+    @Default("kilda.")
+    String getMetricPrefix();
+
     default String getKafkaTopoRerouteTopic() {
         return getKafkaTopics().getTopoRerouteTopic();
     }
@@ -53,4 +70,8 @@ public interface RerouteTopologyConfig extends AbstractTopologyConfig {
     default String getKafkaNorthboundTopic() {
         return getKafkaTopics().getNorthboundTopic();
     }
+
+    default String getKafkaOtsdbTopic() {
+        return getKafkaTopics().getOtsdbTopic();
+    }
 }
@@ -20,24 +20,31 @@ import static org.openkilda.wfm.topology.reroute.bolts.RerouteBolt.STREAM_REROUT
 import static org.openkilda.wfm.topology.reroute.bolts.TimeWindowBolt.STREAM_TIME_WINDOW_EVENT_ID;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
+import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.reroute.RerouteResultInfoData;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.hubandspoke.CoordinatedBolt;
+import org.openkilda.wfm.share.utils.MetricFormatter;
+import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.reroute.RerouteTopology;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 import org.openkilda.wfm.topology.reroute.service.IRerouteQueueCarrier;
 import org.openkilda.wfm.topology.reroute.service.RerouteQueueService;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Collections;
+
 public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQueueCarrier {
 
     public static final String BOLT_ID = "reroute-queue-bolt";
@@ -47,17 +54,30 @@ public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQue
     public static final String STREAM_OPERATION_QUEUE_ID = "operation-queue";
     public static final Fields FIELDS_OPERATION_QUEUE = new Fields(FLOW_ID_FIELD, FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
+    public static final String STREAM_STATS_ID = "stats";
+
+    public static final String ADMISSION_QUEUE_SIZE_METRIC = "reroute.admission.queue.size";
+    public static final String ADMISSION_IN_PROGRESS_METRIC = "reroute.admission.in_progress";
+    public static final String ADMISSION_WAIT_TIME_METRIC = "reroute.admission.wait_time";
+
     private final int defaultFlowPriority;
     private final int maxRetry;
+    private final int maxConcurrentReroutes;
+    private final int maxConcurrentReroutesPerSwitch;
+    private final MetricFormatter metricFormatter;
     private PersistenceManager persistenceManager;
     private transient RerouteQueueService rerouteQueueService;
 
     public FlowRerouteQueueBolt(PersistenceManager persistenceManager,
-                                int defaultFlowPriority, int maxRetry, int rerouteTimeout) {
+                                int defaultFlowPriority, int maxRetry, int rerouteTimeout,
+                                int maxConcurrentReroutes, int maxConcurrentReroutesPerSwitch, String metricPrefix) {
         super(true, rerouteTimeout, null);
         this.persistenceManager = persistenceManager;
         this.defaultFlowPriority = defaultFlowPriority;
         this.maxRetry = maxRetry;
+        this.maxConcurrentReroutes = maxConcurrentReroutes;
+        this.maxConcurrentReroutesPerSwitch = maxConcurrentReroutesPerSwitch;
+        this.metricFormatter = new MetricFormatter(metricPrefix);
     }
 
     @Override
@@ -103,7 +123,8 @@ public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQue
 
     @Override
     protected void init() {
-        rerouteQueueService = new RerouteQueueService(this, persistenceManager, defaultFlowPriority, maxRetry);
+        rerouteQueueService = new RerouteQueueService(this, persistenceManager, defaultFlowPriority, maxRetry,
+                maxConcurrentReroutes, maxConcurrentReroutesPerSwitch);
     }
 
     @Override
@@ -112,6 +133,7 @@ public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQue
         declarer.declareStream(TimeWindowBolt.STREAM_TIME_WINDOW_EVENT_ID, new Fields(FIELD_ID_CONTEXT));
         declarer.declareStream(STREAM_OPERATION_QUEUE_ID, FIELDS_OPERATION_QUEUE);
         declarer.declareStream(STREAM_NORTHBOUND_ID, RerouteTopology.KAFKA_FIELDS);
+        declarer.declareStream(STREAM_STATS_ID, AbstractTopology.fieldMessage);
     }
 
     @Override
@@ -138,4 +160,28 @@ public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQue
     public void cancelTimeout(String key) {
         cancelCallback(key);
     }
+
+    @Override
+    public void emitAdmissionStats(int queueSize, int inProgressCount) {
+        long timestamp = System.currentTimeMillis();
+        emitDatapoint(new Datapoint(metricFormatter.format(ADMISSION_QUEUE_SIZE_METRIC), timestamp,
+                Collections.emptyMap(), queueSize));
+        emitDatapoint(new Datapoint(metricFormatter.format(ADMISSION_IN_PROGRESS_METRIC), timestamp,
+                Collections.emptyMap(), inProgressCount));
+    }
+
+    @Override
+    public void emitAdmissionWaitTime(long waitTimeMillis) {
+        emitDatapoint(new Datapoint(metricFormatter.format(ADMISSION_WAIT_TIME_METRIC), System.currentTimeMillis(),
+                Collections.emptyMap(), waitTimeMillis));
+    }
+
+    private void emitDatapoint(Datapoint datapoint) {
+        try {
+            getOutput().emit(STREAM_STATS_ID, getCurrentTuple(),
+                    new Values(Utils.MAPPER.writeValueAsString(datapoint)));
+        } catch (JsonProcessingException e) {
+            log.error("Unable to serialize datapoint {}: {}", datapoint, e.getMessage());
+        }
+    }
 }
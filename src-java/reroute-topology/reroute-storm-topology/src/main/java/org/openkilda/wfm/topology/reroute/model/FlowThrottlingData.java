@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.reroute.model;
 
 import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.SwitchId;
 
 import lombok.Builder;
 import lombok.Data;
@@ -39,12 +40,14 @@ public class FlowThrottlingData implements Serializable {
     private PathComputationStrategy pathComputationStrategy;
     private long bandwidth;
     private int retryCounter;
+    private SwitchId srcSwitchId;
+    private SwitchId destSwitchId;
 
     @Builder
     public FlowThrottlingData(String correlationId, Integer priority, Instant timeCreate,
                               Set<IslEndpoint> affectedIsl, boolean force, boolean ignoreBandwidth,
                               boolean effectivelyDown, String reason, PathComputationStrategy pathComputationStrategy,
-                              long bandwidth, int retryCounter) {
+                              long bandwidth, int retryCounter, SwitchId srcSwitchId, SwitchId destSwitchId) {
         this.correlationId = correlationId;
         this.priority = priority;
         this.timeCreate = timeCreate;
@@ -59,6 +62,8 @@ public class FlowThrottlingData implements Serializable {
         this.pathComputationStrategy = pathComputationStrategy;
         this.bandwidth = bandwidth;
         this.retryCounter = retryCounter;
+        this.srcSwitchId = srcSwitchId;
+        this.destSwitchId = destSwitchId;
     }
 
     public void increaseRetryCounter() {
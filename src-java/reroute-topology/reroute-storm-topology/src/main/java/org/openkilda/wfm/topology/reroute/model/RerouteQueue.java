@@ -131,6 +131,8 @@ public class RerouteQueue {
         merged.priority(Math.max(Optional.ofNullable(first.getPriority()).orElse(0),
                 Optional.ofNullable(second.getPriority()).orElse(0)));
         merged.timeCreate(first.getTimeCreate());
+        merged.srcSwitchId(Optional.ofNullable(first.getSrcSwitchId()).orElse(second.getSrcSwitchId()));
+        merged.destSwitchId(Optional.ofNullable(first.getDestSwitchId()).orElse(second.getDestSwitchId()));
 
         return merged.build();
     }
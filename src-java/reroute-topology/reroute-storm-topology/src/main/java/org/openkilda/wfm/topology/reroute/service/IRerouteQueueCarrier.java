@@ -27,4 +27,8 @@ public interface IRerouteQueueCarrier {
     void sendExtendTimeWindowEvent();
 
     void cancelTimeout(String key);
+
+    void emitAdmissionStats(int queueSize, int inProgressCount);
+
+    void emitAdmissionWaitTime(long waitTimeMillis);
 }
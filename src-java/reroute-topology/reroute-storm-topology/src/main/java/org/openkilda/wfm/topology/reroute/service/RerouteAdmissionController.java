@@ -0,0 +1,179 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.reroute.service;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
+
+import lombok.Value;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Limits the number of reroutes executed at the same time, globally and per flow endpoint switch. Requests which
+ * can't be started right away are queued and started in priority order as soon as running reroutes release their
+ * slots.
+ */
+public class RerouteAdmissionController {
+    private final Clock clock;
+    private final int maxConcurrent;
+    private final int maxConcurrentPerSwitch;
+
+    private final TreeSet<QueuedRequest> queue;
+    private final Map<String, QueuedRequest> queuedByFlowId = new HashMap<>();
+    private final Map<String, Set<SwitchId>> admitted = new HashMap<>();
+    private final Map<SwitchId, Integer> switchUsage = new HashMap<>();
+    private long sequence;
+
+    public RerouteAdmissionController(int maxConcurrent, int maxConcurrentPerSwitch,
+                                      Comparator<FlowThrottlingData> priorityComparator) {
+        this(maxConcurrent, maxConcurrentPerSwitch, priorityComparator, Clock.systemUTC());
+    }
+
+    RerouteAdmissionController(int maxConcurrent, int maxConcurrentPerSwitch,
+                               Comparator<FlowThrottlingData> priorityComparator, Clock clock) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxConcurrentPerSwitch = maxConcurrentPerSwitch;
+        this.clock = clock;
+        this.queue = new TreeSet<>(Comparator.comparing(QueuedRequest::getRequest, priorityComparator)
+                .thenComparingLong(QueuedRequest::getSequence));
+    }
+
+    /**
+     * Put reroute request into admission queue. Replaces the queued request of the same flow, the original queueing
+     * time is kept.
+     */
+    public void submit(String flowId, FlowThrottlingData request) {
+        QueuedRequest previous = queuedByFlowId.remove(flowId);
+        long queuedAt = clock.millis();
+        if (previous != null) {
+            queue.remove(previous);
+            queuedAt = previous.getQueuedAt();
+        }
+        QueuedRequest entry = new QueuedRequest(flowId, request, queuedAt, sequence++);
+        queue.add(entry);
+        queuedByFlowId.put(flowId, entry);
+    }
+
+    /**
+     * Release the slot occupied by the reroute of the flow. Does nothing if there is no admitted reroute for the flow.
+     */
+    public void release(String flowId) {
+        Set<SwitchId> switches = admitted.remove(flowId);
+        if (switches == null) {
+            return;
+        }
+        for (SwitchId switchId : switches) {
+            switchUsage.computeIfPresent(switchId, (key, usage) -> usage > 1 ? usage - 1 : null);
+        }
+    }
+
+    /**
+     * Remove the queued request of the flow if any.
+     */
+    public void cancel(String flowId) {
+        QueuedRequest entry = queuedByFlowId.remove(flowId);
+        if (entry != null) {
+            queue.remove(entry);
+        }
+    }
+
+    /**
+     * Start as many queued requests as free slots allow. Requests blocked by per switch limit are skipped, so they
+     * don't prevent lower priority requests for other switches from starting.
+     *
+     * @return admitted requests in priority order.
+     */
+    public List<AdmittedRequest> admit() {
+        List<AdmittedRequest> result = new ArrayList<>();
+        long now = clock.millis();
+        Iterator<QueuedRequest> iterator = queue.iterator();
+        while (iterator.hasNext() && admitted.size() < maxConcurrent) {
+            QueuedRequest entry = iterator.next();
+            if (admitted.containsKey(entry.getFlowId())) {
+                continue;
+            }
+            Set<SwitchId> switches = getSwitches(entry.getRequest());
+            if (!isSwitchCapacityAvailable(switches)) {
+                continue;
+            }
+
+            iterator.remove();
+            queuedByFlowId.remove(entry.getFlowId());
+            admitted.put(entry.getFlowId(), switches);
+            for (SwitchId switchId : switches) {
+                switchUsage.merge(switchId, 1, Integer::sum);
+            }
+            result.add(new AdmittedRequest(entry.getFlowId(), entry.getRequest(), now - entry.getQueuedAt()));
+        }
+        return result;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getInProgressCount() {
+        return admitted.size();
+    }
+
+    public boolean isAdmitted(String flowId) {
+        return admitted.containsKey(flowId);
+    }
+
+    private boolean isSwitchCapacityAvailable(Set<SwitchId> switches) {
+        for (SwitchId switchId : switches) {
+            if (switchUsage.getOrDefault(switchId, 0) >= maxConcurrentPerSwitch) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<SwitchId> getSwitches(FlowThrottlingData request) {
+        Set<SwitchId> switches = new LinkedHashSet<>();
+        if (request.getSrcSwitchId() != null) {
+            switches.add(request.getSrcSwitchId());
+        }
+        if (request.getDestSwitchId() != null) {
+            switches.add(request.getDestSwitchId());
+        }
+        return switches;
+    }
+
+    @Value
+    private static class QueuedRequest {
+        String flowId;
+        FlowThrottlingData request;
+        long queuedAt;
+        long sequence;
+    }
+
+    @Value
+    public static class AdmittedRequest {
+        String flowId;
+        FlowThrottlingData request;
+        long waitTimeMillis;
+    }
+}
@@ -33,6 +33,7 @@ import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 import org.openkilda.wfm.topology.reroute.model.RerouteQueue;
+import org.openkilda.wfm.topology.reroute.service.RerouteAdmissionController.AdmittedRequest;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
@@ -56,13 +57,22 @@ public class RerouteQueueService {
 
     private Map<String, RerouteQueue> reroutes = new HashMap<>();
     private IRerouteQueueCarrier carrier;
+    private RerouteAdmissionController admissionController;
+    private int reportedQueueSize = -1;
+    private int reportedInProgressCount = -1;
 
     public RerouteQueueService(IRerouteQueueCarrier carrier, PersistenceManager persistenceManager,
-                               int defaultFlowPriority, int maxRetry) {
+                               int defaultFlowPriority, int maxRetry, int maxConcurrentReroutes,
+                               int maxConcurrentReroutesPerSwitch) {
         this.carrier = carrier;
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
         this.defaultFlowPriority = defaultFlowPriority;
         this.maxRetry = maxRetry;
+        Comparator<FlowThrottlingData> comparator = ((Comparator<FlowThrottlingData>) this::comparePriority)
+                .thenComparing(this::compareAvailableBandwidth)
+                .thenComparing(this::compareTimeCreate);
+        admissionController = new RerouteAdmissionController(
+                maxConcurrentReroutes, maxConcurrentReroutesPerSwitch, comparator);
     }
 
     /**
@@ -106,6 +116,7 @@ public class RerouteQueueService {
         } else {
             rerouteQueue.putToInProgress(throttlingData);
             sendRerouteRequest(flowId, throttlingData);
+            admitQueuedRequests();
         }
     }
 
@@ -125,6 +136,7 @@ public class RerouteQueueService {
             return;
         }
         carrier.cancelTimeout(correlationId);
+        admissionController.release(flowId);
 
         if (rerouteResultInfoData.isSuccess()) {
             FlowThrottlingData toSend = rerouteQueue.processPending();
@@ -138,26 +150,20 @@ public class RerouteQueueService {
                 sendRerouteRequest(flowId, toSend);
             }
         }
+        admitQueuedRequests();
     }
 
     /**
-     * Move reroute requests form throttling to pending/in-progress.
+     * Move reroute requests form throttling to pending/in-progress. Requests moved to in-progress are passed to the
+     * admission queue and started in priority order as free reroute slots allow.
      */
     public void flushThrottling() {
         Map<String, FlowThrottlingData> requestsToSend = new HashMap<>();
         reroutes.forEach((flowId, rerouteQueue) -> rerouteQueue.flushThrottling()
                 .ifPresent(flowThrottlingData -> requestsToSend.put(flowId, flowThrottlingData)));
         log.info("Send reroute requests for flows {}", requestsToSend.keySet());
-        Comparator<FlowThrottlingData> comparator = ((Comparator<FlowThrottlingData>) this::comparePriority)
-                .thenComparing(this::compareAvailableBandwidth)
-                .thenComparing(this::compareTimeCreate);
-        requestsToSend.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(comparator))
-                .forEach(es -> {
-                    String flowId = es.getKey();
-                    FlowThrottlingData flowThrottlingData = es.getValue();
-                    sendRerouteRequest(flowId, flowThrottlingData);
-                });
+        requestsToSend.forEach(this::sendRerouteRequest);
+        admitQueuedRequests();
     }
 
     /**
@@ -176,7 +182,11 @@ public class RerouteQueueService {
         } else if (foundReroutes.size() > 1) {
             log.error("Found more than one reroute with correlationId {}. Timed out all of them.", correlationId);
         }
-        foundReroutes.forEach(entry -> injectRetry(entry.getKey(), entry.getValue(), false));
+        foundReroutes.forEach(entry -> {
+            admissionController.release(entry.getKey());
+            injectRetry(entry.getKey(), entry.getValue(), false);
+        });
+        admitQueuedRequests();
     }
 
     private boolean isRetryRequired(String flowId, RerouteError rerouteError) {
@@ -228,13 +238,32 @@ public class RerouteQueueService {
 
     private void sendRerouteRequest(String flowId, FlowThrottlingData throttlingData) {
         if (throttlingData != null) {
-            FlowRerouteRequest request = new FlowRerouteRequest(flowId, throttlingData.isForce(),
-                    throttlingData.isEffectivelyDown(), throttlingData.isIgnoreBandwidth(),
-                    throttlingData.getAffectedIsl(), throttlingData.getReason());
-            carrier.sendRerouteRequest(throttlingData.getCorrelationId(), request);
+            admissionController.submit(flowId, throttlingData);
+        }
+    }
+
+    private void admitQueuedRequests() {
+        for (AdmittedRequest admitted : admissionController.admit()) {
+            carrier.emitAdmissionWaitTime(admitted.getWaitTimeMillis());
+            startReroute(admitted.getFlowId(), admitted.getRequest());
+        }
+
+        int queueSize = admissionController.getQueueSize();
+        int inProgressCount = admissionController.getInProgressCount();
+        if (queueSize != reportedQueueSize || inProgressCount != reportedInProgressCount) {
+            reportedQueueSize = queueSize;
+            reportedInProgressCount = inProgressCount;
+            carrier.emitAdmissionStats(queueSize, inProgressCount);
         }
     }
 
+    private void startReroute(String flowId, FlowThrottlingData throttlingData) {
+        FlowRerouteRequest request = new FlowRerouteRequest(flowId, throttlingData.isForce(),
+                throttlingData.isEffectivelyDown(), throttlingData.isIgnoreBandwidth(),
+                throttlingData.getAffectedIsl(), throttlingData.getReason());
+        carrier.sendRerouteRequest(throttlingData.getCorrelationId(), request);
+    }
+
     private RerouteQueue getRerouteQueue(String flowId) {
         return reroutes.computeIfAbsent(flowId, key -> RerouteQueue.empty());
     }
@@ -244,6 +273,11 @@ public class RerouteQueueService {
         return reroutes;
     }
 
+    @VisibleForTesting
+    RerouteAdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
     private int comparePriority(FlowThrottlingData throttlingDataA, FlowThrottlingData throttlingDataB) {
         Integer priorityA = Optional.ofNullable(throttlingDataA.getPriority()).orElse(defaultFlowPriority);
         Integer priorityB = Optional.ofNullable(throttlingDataB.getPriority()).orElse(defaultFlowPriority);
@@ -428,7 +428,9 @@ public class RerouteService {
                         .priority(flow.getPriority())
                         .timeCreate(flow.getTimeCreate())
                         .pathComputationStrategy(flow.getPathComputationStrategy())
-                        .bandwidth(flow.getBandwidth());
+                        .bandwidth(flow.getBandwidth())
+                        .srcSwitchId(flow.getSrcSwitchId())
+                        .destSwitchId(flow.getDestSwitchId());
     }
 
     @Value
@@ -0,0 +1,137 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.reroute.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
+import org.openkilda.wfm.topology.reroute.service.RerouteAdmissionController.AdmittedRequest;
+
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class RerouteAdmissionControllerTest {
+    private static final SwitchId SWITCH_A = new SwitchId(1L);
+    private static final SwitchId SWITCH_B = new SwitchId(2L);
+    private static final SwitchId SWITCH_C = new SwitchId(3L);
+    private static final Comparator<FlowThrottlingData> PRIORITY_COMPARATOR =
+            Comparator.comparing(FlowThrottlingData::getPriority);
+
+    @Test
+    public void shouldAdmitRequestsInPriorityOrderWithinGlobalLimit() {
+        RerouteAdmissionController controller = new RerouteAdmissionController(2, 10, PRIORITY_COMPARATOR);
+        controller.submit("flow3", request(3, SWITCH_A, SWITCH_B));
+        controller.submit("flow1", request(1, SWITCH_A, SWITCH_B));
+        controller.submit("flow2", request(2, SWITCH_A, SWITCH_B));
+
+        assertEquals(Arrays.asList("flow1", "flow2"), flowIds(controller.admit()));
+        assertEquals(1, controller.getQueueSize());
+        assertEquals(2, controller.getInProgressCount());
+        assertTrue(controller.admit().isEmpty());
+
+        controller.release("flow1");
+        assertEquals(Collections.singletonList("flow3"), flowIds(controller.admit()));
+        assertEquals(0, controller.getQueueSize());
+    }
+
+    @Test
+    public void shouldSkipRequestsBlockedByPerSwitchLimit() {
+        RerouteAdmissionController controller = new RerouteAdmissionController(10, 1, PRIORITY_COMPARATOR);
+        controller.submit("flow1", request(1, SWITCH_A, SWITCH_B));
+        controller.submit("flow2", request(2, SWITCH_B, SWITCH_C));
+        controller.submit("flow3", request(3, SWITCH_C, SWITCH_C));
+
+        // flow2 shares switch B with flow1, lower priority flow3 is not blocked by it
+        assertEquals(Arrays.asList("flow1", "flow3"), flowIds(controller.admit()));
+
+        controller.release("flow1");
+        assertTrue(controller.admit().isEmpty());
+
+        controller.release("flow3");
+        assertEquals(Collections.singletonList("flow2"), flowIds(controller.admit()));
+    }
+
+    @Test
+    public void shouldKeepQueueTimeWhenQueuedRequestIsReplaced() {
+        MutableClock clock = new MutableClock(Instant.ofEpochMilli(1000));
+        RerouteAdmissionController controller = new RerouteAdmissionController(1, 1, PRIORITY_COMPARATOR, clock);
+        controller.submit("busy", request(1, SWITCH_A, SWITCH_A));
+        controller.admit();
+
+        controller.submit("flow", request(5, SWITCH_A, SWITCH_A));
+        clock.advance(Duration.ofMillis(300));
+        controller.submit("flow", request(2, SWITCH_A, SWITCH_A));
+        assertEquals(1, controller.getQueueSize());
+
+        clock.advance(Duration.ofMillis(200));
+        controller.release("busy");
+        List<AdmittedRequest> admitted = controller.admit();
+        assertEquals(1, admitted.size());
+        assertEquals(2, admitted.get(0).getRequest().getPriority().intValue());
+        assertEquals(500, admitted.get(0).getWaitTimeMillis());
+    }
+
+    private static FlowThrottlingData request(int priority, SwitchId src, SwitchId dst) {
+        return FlowThrottlingData.builder()
+                .priority(priority)
+                .affectedIsl(Collections.emptySet())
+                .srcSwitchId(src)
+                .destSwitchId(dst)
+                .build();
+    }
+
+    private static List<String> flowIds(List<AdmittedRequest> admitted) {
+        return admitted.stream().map(AdmittedRequest::getFlowId).collect(Collectors.toList());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -76,6 +77,7 @@ public class RerouteQueueServiceTest {
     @Mock
     private FlowRepository flowRepository;
 
+    private PersistenceManager persistenceManager;
     private RerouteQueueService rerouteQueueService;
 
     @Before
@@ -88,10 +90,10 @@ public class RerouteQueueServiceTest {
         RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
 
-        PersistenceManager persistenceManager = mock(PersistenceManager.class);
+        persistenceManager = mock(PersistenceManager.class);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
-        rerouteQueueService = new RerouteQueueService(carrier, persistenceManager, 0, 3);
+        rerouteQueueService = new RerouteQueueService(carrier, persistenceManager, 0, 3, 100, 100);
     }
 
     @Test
@@ -436,6 +438,44 @@ public class RerouteQueueServiceTest {
         assertNull(rerouteQueue.getThrottling());
     }
 
+    @Test
+    public void shouldStartThrottledRequestsInPriorityOrderWithinAdmissionLimit() {
+        RerouteQueueService limitedService = new RerouteQueueService(carrier, persistenceManager, 0, 3, 1, 1);
+        FlowThrottlingData low = getFlowThrottlingData(flow, "low").priority(10).build();
+        FlowThrottlingData high = getFlowThrottlingData(flow, "high").priority(1).build();
+        limitedService.getReroutes().put("low flow", RerouteQueue.builder().throttling(low).build());
+        limitedService.getReroutes().put("high flow", RerouteQueue.builder().throttling(high).build());
+
+        limitedService.flushThrottling();
+
+        verify(carrier).sendRerouteRequest(eq("high"), eq(getFlowRerouteRequest("high flow", high)));
+        verify(carrier, never()).sendRerouteRequest(eq("low"), any(FlowRerouteRequest.class));
+        assertEquals(1, limitedService.getAdmissionController().getQueueSize());
+        verify(carrier).emitAdmissionStats(1, 1);
+
+        RerouteResultInfoData rerouteResultInfoData = RerouteResultInfoData.builder()
+                .flowId("high flow")
+                .success(true)
+                .build();
+        limitedService.processRerouteResult(rerouteResultInfoData, "high");
+
+        verify(carrier).sendRerouteRequest(eq("low"), eq(getFlowRerouteRequest("low flow", low)));
+        assertEquals(0, limitedService.getAdmissionController().getQueueSize());
+        assertEquals(1, limitedService.getAdmissionController().getInProgressCount());
+    }
+
+    @Test
+    public void shouldReleaseAdmissionSlotOnTimeout() {
+        FlowThrottlingData throttling = getFlowThrottlingData(flow, CORRELATION_ID).build();
+        rerouteQueueService.getReroutes().put(FLOW_ID, RerouteQueue.builder().throttling(throttling).build());
+
+        rerouteQueueService.flushThrottling();
+        assertEquals(1, rerouteQueueService.getAdmissionController().getInProgressCount());
+
+        rerouteQueueService.handleTimeout(CORRELATION_ID);
+        assertEquals(0, rerouteQueueService.getAdmissionController().getInProgressCount());
+    }
+
     private FlowThrottlingDataBuilder getFlowThrottlingData(Flow flow, String correlationId) {
         return FlowThrottlingData.builder()
                 .correlationId(correlationId)
@@ -352,6 +352,8 @@ public class RerouteServiceTest {
                 .correlationId(CORRELATION_ID)
                 .priority(regularFlow.getPriority())
                 .timeCreate(regularFlow.getTimeCreate())
+                .srcSwitchId(regularFlow.getSrcSwitchId())
+                .destSwitchId(regularFlow.getDestSwitchId())
                 .affectedIsl(Collections.singleton(new IslEndpoint(islSide.getSwitchId(), islSide.getPortNo())))
                 .force(false)
                 .effectivelyDown(true)
@@ -442,6 +444,8 @@ public class RerouteServiceTest {
                 .correlationId(CORRELATION_ID)
                 .priority(regularFlow.getPriority())
                 .timeCreate(regularFlow.getTimeCreate())
+                .srcSwitchId(regularFlow.getSrcSwitchId())
+                .destSwitchId(regularFlow.getDestSwitchId())
                 .affectedIsl(Collections.emptySet())
                 .force(false)
                 .effectivelyDown(true)
@@ -476,6 +480,8 @@ public class RerouteServiceTest {
                 .correlationId(CORRELATION_ID)
                 .priority(regularFlow.getPriority())
                 .timeCreate(regularFlow.getTimeCreate())
+                .srcSwitchId(regularFlow.getSrcSwitchId())
+                .destSwitchId(regularFlow.getDestSwitchId())
                 .affectedIsl(Collections.emptySet())
                 .force(true)
                 .effectivelyDown(true)
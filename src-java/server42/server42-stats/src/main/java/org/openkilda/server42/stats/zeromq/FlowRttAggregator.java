@@ -0,0 +1,116 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.server42.stats.zeromq;
+
+import org.openkilda.messaging.info.stats.FlowRttStatsSummary;
+import org.openkilda.server42.messaging.FlowDirection;
+import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds flow RTT samples per flow direction into min/avg/max/percentile summaries. Not thread safe, is used only
+ * from the collector thread.
+ */
+class FlowRttAggregator {
+    private static final long TEN_TO_NINE = 1_000_000_000;
+
+    private final Map<FlowDirectionKey, Samples> samples = new HashMap<>();
+
+    void add(FlowLatencyPacket packet) {
+        FlowDirectionKey key = new FlowDirectionKey(
+                packet.getFlowId(), FlowDirection.fromBoolean(packet.getDirection()).name().toLowerCase());
+        long t0 = noviflowTimestamp(packet.getT0());
+        long t1 = noviflowTimestamp(packet.getT1());
+        samples.computeIfAbsent(key, ignore -> new Samples()).add(t1 - t0, t1);
+    }
+
+    boolean isEmpty() {
+        return samples.isEmpty();
+    }
+
+    /**
+     * Returns summaries of all collected samples and starts a new window.
+     */
+    List<FlowRttStatsSummary> drain() {
+        List<FlowRttStatsSummary> summaries = new ArrayList<>(samples.size());
+        for (Map.Entry<FlowDirectionKey, Samples> entry : samples.entrySet()) {
+            summaries.add(entry.getValue().summarize(entry.getKey()));
+        }
+        samples.clear();
+        return summaries;
+    }
+
+    /**
+     * Transform noviflow nanosecond precision time representation into regular.
+     */
+    private static long noviflowTimestamp(long timestamp) {
+        long seconds = (timestamp >> 32);
+        long nanoseconds = (timestamp & 0xFFFFFFFFL);
+        return seconds * TEN_TO_NINE + nanoseconds;
+    }
+
+    @Value
+    private static class FlowDirectionKey {
+        String flowId;
+        String direction;
+    }
+
+    private static class Samples {
+        private long[] latencies = new long[8];
+        private int size;
+        private long sum;
+        private long timestamp;
+
+        void add(long latency, long sampleTimestamp) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+            sum += latency;
+            timestamp = Math.max(timestamp, sampleTimestamp);
+        }
+
+        FlowRttStatsSummary summarize(FlowDirectionKey key) {
+            Arrays.sort(latencies, 0, size);
+            return FlowRttStatsSummary.builder()
+                    .flowId(key.getFlowId())
+                    .direction(key.getDirection())
+                    .timestamp(timestamp)
+                    .count(size)
+                    .min(latencies[0])
+                    .avg(sum / size)
+                    .max(latencies[size - 1])
+                    .p95(percentile(95))
+                    .p99(percentile(99))
+                    .build();
+        }
+
+        /**
+         * Nearest-rank percentile, expects sorted samples.
+         */
+        private long percentile(int percent) {
+            int rank = (int) Math.ceil(percent / 100.0 * size);
+            return latencies[Math.max(rank, 1) - 1];
+        }
+    }
+}
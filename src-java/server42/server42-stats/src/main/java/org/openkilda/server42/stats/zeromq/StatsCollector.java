@@ -17,7 +17,9 @@
 package org.openkilda.server42.stats.zeromq;
 
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsSummary;
 import org.openkilda.server42.messaging.FlowDirection;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacketBucket;
@@ -33,6 +35,10 @@ import org.zeromq.ZMQ;
 import org.zeromq.ZMQ.Socket;
 import zmq.ZError;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
@@ -47,9 +53,25 @@ public class StatsCollector extends Thread {
 
     @Value("${openkilda.server42.stats.kafka.topic.flowrtt.to_storm}")
     private String toStorm;
+
+    /**
+     * Zero disables aggregation, each RTT sample is sent to kafka as a separate message.
+     */
+    @Value("${openkilda.server42.stats.aggregation.window.seconds:0}")
+    private long aggregationWindowSeconds;
+
+    @Value("${openkilda.server42.stats.aggregation.batch.size:100}")
+    private int aggregationBatchSize;
+
     private String sessionId;
     private ZContext context;
 
+    // the collector is a thread, so its own monitor is not used for locking
+    private final Object aggregationLock = new Object();
+    private final FlowRttAggregator aggregator = new FlowRttAggregator();
+    private long windowStart;
+    private final AtomicLong batchSequence = new AtomicLong();
+
     public StatsCollector(KafkaTemplate<String, Object> template) {
         this.template = template;
     }
@@ -57,6 +79,7 @@ public class StatsCollector extends Thread {
     @PostConstruct
     private void init() {
         context = new ZContext();
+        windowStart = System.currentTimeMillis();
         this.start();
     }
 
@@ -81,6 +104,7 @@ public class StatsCollector extends Thread {
                 server.connect(connectEndpoint);
                 log.info("connect to {}", connectEndpoint);
                 while (!isInterrupted()) {
+                    flushExpiredWindow(System.currentTimeMillis());
                     byte[] recv = server.recv();
                     log.debug("recv {}", recv);
                     if (recv == null && server.errno() == ZError.EAGAIN) {
@@ -118,6 +142,10 @@ public class StatsCollector extends Thread {
     }
 
     void sendStats(FlowLatencyPacketBucket flowLatencyPacketBucket) throws InvalidProtocolBufferException {
+        if (isAggregationEnabled()) {
+            aggregate(flowLatencyPacketBucket);
+            return;
+        }
 
         long currentTimeMillis = System.currentTimeMillis();
         for (FlowLatencyPacket packet : flowLatencyPacketBucket.getPacketList()) {
@@ -134,4 +162,45 @@ public class StatsCollector extends Thread {
             template.send(toStorm, packet.getFlowId(), message);
         }
     }
+
+    private void aggregate(FlowLatencyPacketBucket flowLatencyPacketBucket) {
+        synchronized (aggregationLock) {
+            flowLatencyPacketBucket.getPacketList().forEach(aggregator::add);
+        }
+        flushExpiredWindow(System.currentTimeMillis());
+    }
+
+    /**
+     * Publishes the summaries of the current aggregation window if the window is over.
+     */
+    void flushExpiredWindow(long now) {
+        if (!isAggregationEnabled()) {
+            return;
+        }
+
+        List<FlowRttStatsSummary> summaries;
+        synchronized (aggregationLock) {
+            if (now - windowStart < TimeUnit.SECONDS.toMillis(aggregationWindowSeconds)) {
+                return;
+            }
+            windowStart = now;
+            if (aggregator.isEmpty()) {
+                return;
+            }
+            summaries = aggregator.drain();
+        }
+
+        for (int from = 0; from < summaries.size(); from += aggregationBatchSize) {
+            List<FlowRttStatsSummary> batch = new ArrayList<>(summaries.subList(
+                    from, Math.min(from + aggregationBatchSize, summaries.size())));
+            InfoMessage message = new InfoMessage(new FlowRttStatsBatchData(batch), now,
+                    String.format("stats42-%s-batch-%d", sessionId, batchSequence.incrementAndGet()));
+            log.debug("InfoMessage {}", message);
+            template.send(toStorm, message);
+        }
+    }
+
+    private boolean isAggregationEnabled() {
+        return aggregationWindowSeconds > 0;
+    }
 }
@@ -0,0 +1,121 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.server42.stats.zeromq;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
+import org.openkilda.messaging.info.stats.FlowRttStatsSummary;
+import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
+import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacketBucket;
+import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacketBucket.Builder;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {StatsCollector.class})
+@TestPropertySource(locations = "classpath:test.properties", properties = {
+        "openkilda.server42.stats.aggregation.window.seconds=60",
+        "openkilda.server42.stats.aggregation.batch.size=2"})
+@MockBean(value = {
+        KafkaTemplate.class
+})
+public class StatsCollectorAggregationTest {
+
+    @MockBean
+    KafkaTemplate<String, Object> template;
+    @Autowired
+    StatsCollector statsCollector;
+    @Value("${openkilda.server42.stats.kafka.topic.flowrtt.to_storm}")
+    private String toStorm;
+
+    @Test
+    public void aggregateStatsTest() throws Exception {
+        Builder bucketBuilder = FlowLatencyPacketBucket.newBuilder();
+        for (int i = 1; i <= 100; i++) {
+            bucketBuilder.addPacket(makePacket("flow-1", false, i, 1000, 1000 + i * 10));
+        }
+        bucketBuilder.addPacket(makePacket("flow-1", true, 101, 1000, 1500));
+        bucketBuilder.addPacket(makePacket("flow-2", false, 102, 1000, 1100));
+
+        statsCollector.sendStats(bucketBuilder.build());
+        verify(template, never()).send(any(), any(), any());
+        verify(template, never()).send(any(), any());
+
+        statsCollector.flushExpiredWindow(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2));
+
+        ArgumentCaptor<InfoMessage> argument = ArgumentCaptor.forClass(InfoMessage.class);
+        verify(template, times(2)).send(eq(toStorm), argument.capture());
+
+        List<FlowRttStatsSummary> summaries = argument.getAllValues().stream()
+                .map(message -> ((FlowRttStatsBatchData) message.getData()).getSummaries())
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(FlowRttStatsSummary::getFlowId)
+                        .thenComparing(FlowRttStatsSummary::getDirection))
+                .collect(Collectors.toList());
+        assertEquals(3, summaries.size());
+
+        FlowRttStatsSummary forward = summaries.get(0);
+        assertEquals("flow-1", forward.getFlowId());
+        assertEquals("forward", forward.getDirection());
+        assertEquals(100, forward.getCount());
+        assertEquals(10, forward.getMin());
+        assertEquals(505, forward.getAvg());
+        assertEquals(1000, forward.getMax());
+        assertEquals(950, forward.getP95());
+        assertEquals(990, forward.getP99());
+        assertEquals(2000, forward.getTimestamp());
+
+        FlowRttStatsSummary reverse = summaries.get(1);
+        assertEquals("reverse", reverse.getDirection());
+        assertEquals(1, reverse.getCount());
+        assertEquals(500, reverse.getMin());
+        assertEquals(500, reverse.getMax());
+        assertEquals(500, reverse.getP99());
+
+        assertEquals("flow-2", summaries.get(2).getFlowId());
+        assertEquals(100, summaries.get(2).getAvg());
+    }
+
+    private static FlowLatencyPacket makePacket(String flowId, boolean direction, long packetId, long t0, long t1) {
+        return FlowLatencyPacket.newBuilder()
+                .setFlowId(flowId)
+                .setDirection(direction)
+                .setT0(t0)
+                .setT1(t1)
+                .setPacketId(packetId).build();
+    }
+}
@@ -28,6 +28,7 @@ public enum StatsComponentType {
     FLOW_STATS_METRIC_GEN,
     TABLE_STATS_METRIC_GEN,
     PACKET_IN_OUT_STATS_METRIC_GEN,
+    POLLING_STATS_METRIC_GEN,
     ERROR_BOLT,
     STATS_CACHE_BOLT,
     STATS_KILDA_SPEAKER_SPOUT,
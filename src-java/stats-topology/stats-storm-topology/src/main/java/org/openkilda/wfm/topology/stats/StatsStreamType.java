@@ -27,6 +27,7 @@ public enum StatsStreamType {
     SYSTEM_RULE_STATS,
     TABLE_STATS,
     PACKET_IN_OUT_STATS,
+    POLLING_STATS,
     STATS_RESPONSE,
     STATS_REQUEST,
     GRPC_REQUEST,
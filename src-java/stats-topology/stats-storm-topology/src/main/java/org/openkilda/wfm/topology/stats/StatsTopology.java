@@ -20,6 +20,7 @@ import static org.openkilda.wfm.topology.stats.StatsComponentType.FLOW_STATS_MET
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_CFG_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.PACKET_IN_OUT_STATS_METRIC_GEN;
+import static org.openkilda.wfm.topology.stats.StatsComponentType.POLLING_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.PORT_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.SERVER42_STATS_FLOW_RTT_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.SERVER42_STATS_FLOW_RTT_SPOUT;
@@ -56,6 +57,7 @@ import org.openkilda.wfm.topology.stats.metrics.FlowRttMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.MeterConfigMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.MeterStatsMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.PacketInOutMetricGenBolt;
+import org.openkilda.wfm.topology.stats.metrics.PollingStatsMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.PortMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.SystemRuleMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.TableStatsMetricGenBolt;
@@ -133,6 +135,9 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         declareBolt(builder,
                 new PacketInOutMetricGenBolt(topologyConfig.getMetricPrefix()), PACKET_IN_OUT_STATS_METRIC_GEN.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.PACKET_IN_OUT_STATS.toString(), statsFields);
+        declareBolt(builder,
+                new PollingStatsMetricGenBolt(topologyConfig.getMetricPrefix()), POLLING_STATS_METRIC_GEN.name())
+                .shuffleGrouping(statsOfsBolt, StatsStreamType.POLLING_STATS.toString());
 
         logger.debug("starting flow_stats_metric_gen");
         declareBolt(builder,
@@ -174,6 +179,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .shuffleGrouping(TABLE_STATS_METRIC_GEN.name())
                 .shuffleGrouping(SYSTEM_RULE_STATS_METRIC_GEN.name())
                 .shuffleGrouping(PACKET_IN_OUT_STATS_METRIC_GEN.name())
+                .shuffleGrouping(POLLING_STATS_METRIC_GEN.name())
                 .shuffleGrouping(SERVER42_STATS_FLOW_RTT_METRIC_GEN.name());
 
         ZooKeeperBolt zooKeeperBolt = new ZooKeeperBolt(getConfig().getBlueGreenMode(), getZkTopoName(),
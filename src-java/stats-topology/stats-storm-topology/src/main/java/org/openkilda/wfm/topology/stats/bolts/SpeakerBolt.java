@@ -26,6 +26,7 @@ import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
 import org.openkilda.messaging.info.stats.MeterStatsData;
 import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.StatsPollingData;
 import org.openkilda.messaging.info.stats.SwitchTableStatsData;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.share.zk.ZkStreams;
@@ -55,6 +56,7 @@ public class SpeakerBolt extends AbstractBolt {
     private static final String SYSTEM_RULES_STATS_STREAM = StatsStreamType.SYSTEM_RULE_STATS.toString();
     private static final String TABLE_STATS_STREAM = StatsStreamType.TABLE_STATS.toString();
     private static final String PACKET_IN_OUT_STATS_STREAM = StatsStreamType.PACKET_IN_OUT_STATS.toString();
+    private static final String POLLING_STATS_STREAM = StatsStreamType.POLLING_STATS.toString();
 
     public SpeakerBolt(String lifeCycleEventSourceComponent) {
         super(lifeCycleEventSourceComponent);
@@ -93,6 +95,9 @@ public class SpeakerBolt extends AbstractBolt {
             } else if (data instanceof GetPacketInOutStatsResponse) {
                 logger.debug("Packet in out stats message: {}", infoMessage);
                 emitWithContext(PACKET_IN_OUT_STATS_STREAM, tuple, new Values(data));
+            } else if (data instanceof StatsPollingData) {
+                logger.debug("Stats polling message: {}", infoMessage);
+                emitWithContext(POLLING_STATS_STREAM, tuple, new Values(data));
             } else {
                 //FIXME (ncherevko): we might receive few unexpected messages here,
                 // need to fix it and uncomment below line
@@ -132,6 +137,7 @@ public class SpeakerBolt extends AbstractBolt {
         outputFieldsDeclarer.declareStream(SYSTEM_RULES_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(TABLE_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(PACKET_IN_OUT_STATS_STREAM, statsFields);
+        outputFieldsDeclarer.declareStream(POLLING_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(ZOOKEEPER_STREAM, new Fields(ZooKeeperBolt.FIELD_ID_STATE,
                 ZooKeeperBolt.FIELD_ID_CONTEXT));
     }
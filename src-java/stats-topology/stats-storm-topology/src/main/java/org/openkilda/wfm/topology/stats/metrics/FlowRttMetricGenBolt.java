@@ -18,8 +18,11 @@ package org.openkilda.wfm.topology.stats.metrics;
 import static org.openkilda.wfm.share.utils.TimestampHelper.noviflowTimestamp;
 import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsSummary;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 
@@ -42,20 +45,47 @@ public class FlowRttMetricGenBolt extends MetricGenBolt {
     protected void handleInput(Tuple input) throws Exception {
         if (active) {
             InfoMessage message = (InfoMessage) input.getValueByField(MESSAGE_FIELD);
-            FlowRttStatsData data = (FlowRttStatsData) message.getData();
-            Map<String, String> tags = ImmutableMap.of(
-                    "direction", data.getDirection(),
-                    "flowid", data.getFlowId()
-            );
+            InfoData data = message.getData();
+            if (data instanceof FlowRttStatsBatchData) {
+                for (FlowRttStatsSummary summary : ((FlowRttStatsBatchData) data).getSummaries()) {
+                    emitSummary(summary);
+                }
+            } else {
+                emitSample((FlowRttStatsData) data);
+            }
+        }
+    }
 
-            long t0 = noviflowTimestamp(data.getT0());
-            long t1 = noviflowTimestamp(data.getT1());
+    private void emitSample(FlowRttStatsData data) {
+        Map<String, String> tags = makeTags(data.getFlowId(), data.getDirection());
 
-            // We decided to use t1 time as a timestamp for Datapoint.
-            long timestamp = TimeUnit.NANOSECONDS.toMillis(t1);
+        long t0 = noviflowTimestamp(data.getT0());
+        long t1 = noviflowTimestamp(data.getT1());
 
-            emitMetric("flow.rtt", timestamp, t1 - t0, tags);
-        }
+        // We decided to use t1 time as a timestamp for Datapoint.
+        long timestamp = TimeUnit.NANOSECONDS.toMillis(t1);
+
+        emitMetric("flow.rtt", timestamp, t1 - t0, tags);
+    }
+
+    private void emitSummary(FlowRttStatsSummary summary) {
+        Map<String, String> tags = makeTags(summary.getFlowId(), summary.getDirection());
+        long timestamp = TimeUnit.NANOSECONDS.toMillis(summary.getTimestamp());
+
+        // average keeps the "flow.rtt" series comparable with the per packet mode
+        emitMetric("flow.rtt", timestamp, summary.getAvg(), tags);
+        emitMetric("flow.rtt.min", timestamp, summary.getMin(), tags);
+        emitMetric("flow.rtt.max", timestamp, summary.getMax(), tags);
+        emitMetric("flow.rtt.p95", timestamp, summary.getP95(), tags);
+        emitMetric("flow.rtt.p99", timestamp, summary.getP99(), tags);
+        emitMetric("flow.rtt.samples", timestamp, summary.getCount(), tags);
+    }
+
+    private static Map<String, String> makeTags(String flowId, String direction) {
+        return ImmutableMap.of(
+                "direction", direction,
+                "flowid", flowId
+        );
     }
 
     @Override
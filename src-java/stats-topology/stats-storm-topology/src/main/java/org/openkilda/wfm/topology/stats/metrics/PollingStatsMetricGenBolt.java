@@ -0,0 +1,51 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
+
+import org.openkilda.messaging.info.stats.StatsPollingData;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.storm.tuple.Tuple;
+
+import java.util.Map;
+
+/**
+ * Emits stats polling counters reported by floodlight regions.
+ */
+public class PollingStatsMetricGenBolt extends MetricGenBolt {
+    private static final String NO_REGION = "none";
+
+    public PollingStatsMetricGenBolt(String metricPrefix) {
+        super(metricPrefix);
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        StatsPollingData data = pullValue(input, STATS_FIELD, StatsPollingData.class);
+
+        long timestamp = getCommandContext().getCreateTime();
+        Map<String, String> tags = ImmutableMap.of("region", StringUtils.defaultIfEmpty(data.getRegion(), NO_REGION));
+
+        emitMetric("floodlight.stats.poll.switches", timestamp, data.getPolledSwitches(), tags);
+        emitMetric("floodlight.stats.poll.requests", timestamp, data.getSentRequests(), tags);
+        emitMetric("floodlight.stats.poll.missed", timestamp, data.getMissedPolls(), tags);
+        emitMetric("floodlight.stats.poll.requests.missed", timestamp, data.getMissedRequests(), tags);
+        emitMetric("floodlight.stats.poll.late", timestamp, data.getLatePolls(), tags);
+        emitMetric("floodlight.stats.poll.requests.unanswered", timestamp, data.getUnansweredRequests(), tags);
+    }
+}
@@ -44,7 +44,9 @@ import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.grpc.GetPacketInOutStatsResponse;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsSummary;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.MeterConfigReply;
@@ -679,6 +681,43 @@ public class StatsTopologyTest extends AbstractStormTest {
         assertEquals(timestamp, datapoint.getTime().longValue());
     }
 
+    @Test
+    public void flowRttBatchTest() throws IOException {
+        long summaryTimestamp = TimeUnit.MILLISECONDS.toNanos(timestamp);
+        FlowRttStatsSummary summary = FlowRttStatsSummary.builder()
+                .flowId(flowId)
+                .direction("reverse")
+                .timestamp(summaryTimestamp)
+                .count(10)
+                .min(100)
+                .avg(150)
+                .max(300)
+                .p95(250)
+                .p99(290)
+                .build();
+        InfoMessage infoMessage = new InfoMessage(new FlowRttStatsBatchData(Collections.singletonList(summary)),
+                timestamp, UUID.randomUUID().toString(), Destination.WFM_STATS, null);
+
+        sendMessage(infoMessage, statsTopologyConfig.getServer42StatsFlowRttTopic());
+
+        List<Datapoint> datapoints = pollDatapoints(6);
+
+        Map<String, Datapoint> datapointMap = createDatapointMap(datapoints);
+
+        assertMetric(summary.getAvg(), "flow.rtt", datapointMap);
+        assertMetric(summary.getMin(), "flow.rtt.min", datapointMap);
+        assertMetric(summary.getMax(), "flow.rtt.max", datapointMap);
+        assertMetric(summary.getP95(), "flow.rtt.p95", datapointMap);
+        assertMetric(summary.getP99(), "flow.rtt.p99", datapointMap);
+        assertMetric(summary.getCount(), "flow.rtt.samples", datapointMap);
+
+        datapoints.forEach(datapoint -> {
+            assertEquals("reverse", datapoint.getTags().get("direction"));
+            assertEquals(flowId, datapoint.getTags().get("flowid"));
+            assertEquals(timestamp, datapoint.getTime().longValue());
+        });
+    }
+
     @Test
     public void tableStatsTest() throws IOException {
         TableStatsEntry entry = TableStatsEntry.builder()
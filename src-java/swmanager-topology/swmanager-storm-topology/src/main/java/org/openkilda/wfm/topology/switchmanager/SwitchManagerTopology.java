@@ -80,11 +80,13 @@ public class SwitchManagerTopology extends AbstractTopology<SwitchManagerTopolog
                 topologyConfig.getKafkaSwitchManagerNetworkTopic(),
                 topologyConfig.getKafkaSwitchManagerNbWorkerTopic());
         declareKafkaSpout(builder, inputTopics, HUB_SPOUT);
+        declareKafkaSpout(builder, topologyConfig.getKafkaFlowHsNotifyTopic(), SwitchManagerHub.FLOW_NOTIFY_SPOUT_ID);
         declareBolt(builder, new SwitchManagerHub(hubConfig, persistenceManager,
                 topologyConfig, configurationProvider.getConfiguration(FlowResourcesConfig.class)),
                 SwitchManagerHub.ID)
                 .allGrouping(ZooKeeperSpout.SPOUT_ID)
                 .fieldsGrouping(HUB_SPOUT, FIELDS_KEY)
+                .allGrouping(SwitchManagerHub.FLOW_NOTIFY_SPOUT_ID)
                 .directGrouping(SpeakerWorkerBolt.ID, SwitchManagerHub.INCOME_STREAM)
                 .directGrouping(CoordinatorBolt.ID);
 
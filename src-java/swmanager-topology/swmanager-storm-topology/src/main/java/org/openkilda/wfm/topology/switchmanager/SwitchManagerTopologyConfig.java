@@ -49,6 +49,10 @@ public interface SwitchManagerTopologyConfig  extends AbstractTopologyConfig {
         return getKafkaTopics().getSpeakerTopic();
     }
 
+    default String getKafkaFlowHsNotifyTopic() {
+        return getKafkaTopics().getFlowHsFlowMonitoringNotifyTopic();
+    }
+
     @Key("burst.coefficient")
     @Default("1.05")
     @Description("This coefficient is used to calculate burst size for flow meters. "
@@ -73,4 +77,11 @@ public interface SwitchManagerTopologyConfig  extends AbstractTopologyConfig {
     @Default("20")
     @Description("The timeout for performing validate and synchronize operations")
     int getProcessTimeout();
+
+    @Key("swmanager.expected.state.ttl.seconds")
+    @Default("600")
+    @Min(1)
+    @Description("The lifetime of the switch expected state built for validation, the state is updated on flow "
+            + "notifications and is rebuilt from scratch when it is older than this value")
+    long getExpectedStateTtlSeconds();
 }
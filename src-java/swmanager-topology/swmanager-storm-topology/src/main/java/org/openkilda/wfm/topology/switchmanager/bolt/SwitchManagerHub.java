@@ -30,6 +30,7 @@ import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.flow.FlowInstallResponse;
 import org.openkilda.messaging.info.flow.FlowReinstallResponse;
 import org.openkilda.messaging.info.flow.FlowRemoveResponse;
+import org.openkilda.messaging.info.flow.UpdateFlowInfo;
 import org.openkilda.messaging.info.meter.SwitchMeterData;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
 import org.openkilda.messaging.info.meter.SwitchMeterUnsupported;
@@ -53,6 +54,7 @@ import org.openkilda.wfm.topology.switchmanager.service.SwitchManagerCarrier;
 import org.openkilda.wfm.topology.switchmanager.service.SwitchRuleService;
 import org.openkilda.wfm.topology.switchmanager.service.SwitchSyncService;
 import org.openkilda.wfm.topology.switchmanager.service.SwitchValidateService;
+import org.openkilda.wfm.topology.switchmanager.service.ValidationService;
 import org.openkilda.wfm.topology.switchmanager.service.impl.SwitchRuleServiceImpl;
 import org.openkilda.wfm.topology.switchmanager.service.impl.SwitchSyncServiceImpl;
 import org.openkilda.wfm.topology.switchmanager.service.impl.SwitchValidateServiceImpl;
@@ -73,6 +75,8 @@ public class SwitchManagerHub extends HubBolt implements SwitchManagerCarrier {
 
     public static final String INCOME_STREAM = "switch.manage.command";
 
+    public static final String FLOW_NOTIFY_SPOUT_ID = "flow-notify-spout";
+
     public static final String NORTHBOUND_STREAM_ID = StreamType.TO_NORTHBOUND.toString();
     public static final Fields NORTHBOUND_STREAM_FIELDS = new Fields(
             MessageKafkaTranslator.FIELD_ID_KEY, MessageKafkaTranslator.FIELD_ID_PAYLOAD);
@@ -84,6 +88,7 @@ public class SwitchManagerHub extends HubBolt implements SwitchManagerCarrier {
     private final PersistenceManager persistenceManager;
     private final FlowResourcesConfig flowResourcesConfig;
     private final SwitchManagerTopologyConfig topologyConfig;
+    private transient ValidationService validationService;
     private transient SwitchValidateService validateService;
     private transient SwitchSyncService syncService;
     private transient SwitchRuleService switchRuleService;
@@ -103,12 +108,34 @@ public class SwitchManagerHub extends HubBolt implements SwitchManagerCarrier {
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         super.prepare(stormConf, context, collector);
 
-        validateService = new SwitchValidateServiceImpl(
-                this, persistenceManager, new ValidationServiceImpl(persistenceManager, topologyConfig));
+        validationService = new ValidationServiceImpl(persistenceManager, topologyConfig);
+        validateService = new SwitchValidateServiceImpl(this, persistenceManager, validationService);
         syncService = new SwitchSyncServiceImpl(this, persistenceManager, flowResourcesConfig);
         switchRuleService = new SwitchRuleServiceImpl(this, persistenceManager.getRepositoryFactory());
     }
 
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        if (FLOW_NOTIFY_SPOUT_ID.equals(input.getSourceComponent())) {
+            handleFlowNotification(input);
+        } else {
+            super.handleInput(input);
+        }
+    }
+
+    private void handleFlowNotification(Tuple input) throws PipelineException {
+        if (!active) {
+            return;
+        }
+
+        Message message = pullValue(input, MessageKafkaTranslator.FIELD_ID_PAYLOAD, Message.class);
+        if (message instanceof InfoMessage && ((InfoMessage) message).getData() instanceof UpdateFlowInfo) {
+            validationService.handleFlowUpdate(((UpdateFlowInfo) ((InfoMessage) message).getData()).getFlowId());
+        } else {
+            unhandledInput(input);
+        }
+    }
+
     @Override
     protected void onRequest(Tuple input) throws PipelineException {
         if (!active) {
@@ -188,6 +215,8 @@ public class SwitchManagerHub extends HubBolt implements SwitchManagerCarrier {
 
     @Override
     protected boolean deactivate(LifecycleEvent event) {
+        // flow notifications are not handled while inactive, so the expected states become outdated
+        validationService.resetExpectedStates();
         if (validateService.deactivate() && syncService.deactivate() && switchRuleService.deactivate()) {
             return true;
         }
@@ -197,6 +226,7 @@ public class SwitchManagerHub extends HubBolt implements SwitchManagerCarrier {
 
     @Override
     protected void activate() {
+        validationService.resetExpectedStates();
         validateService.activate();
         syncService.activate();
         switchRuleService.activate();
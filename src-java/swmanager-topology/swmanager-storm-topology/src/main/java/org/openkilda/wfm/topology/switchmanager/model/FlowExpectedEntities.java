@@ -0,0 +1,35 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.switchmanager.model;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Rules, meters and groups one flow requires on one switch.
+ */
+@Data
+public class FlowExpectedEntities {
+    private final Set<Long> cookies = new HashSet<>();
+    private final Set<Long> server42IngressCookies = new HashSet<>();
+    private final Set<SimpleMeterEntry> meters = new HashSet<>();
+    private final Set<Integer> groupIds = new HashSet<>();
+
+    public boolean isEmpty() {
+        return cookies.isEmpty() && server42IngressCookies.isEmpty() && meters.isEmpty() && groupIds.isEmpty();
+    }
+}
@@ -0,0 +1,109 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.switchmanager.model;
+
+import org.openkilda.model.SwitchId;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Materialised expected state of a switch. Keeps the entities required by each flow separately, so the state can be
+ * updated flow by flow. The fingerprint does not depend on the order of updates, equal states have equal
+ * fingerprints.
+ */
+public class SwitchExpectedState {
+    @Getter
+    private final SwitchId switchId;
+    @Getter
+    private final long buildTime;
+
+    private final Map<String, FlowExpectedEntities> flows = new HashMap<>();
+
+    @Getter
+    private long fingerprint;
+
+    public SwitchExpectedState(SwitchId switchId, long buildTime) {
+        this.switchId = switchId;
+        this.buildTime = buildTime;
+    }
+
+    /**
+     * Replace the entities required by the flow.
+     */
+    public void put(String flowId, FlowExpectedEntities entities) {
+        remove(flowId);
+        if (!entities.isEmpty()) {
+            flows.put(flowId, entities);
+            fingerprint += fingerprint(flowId, entities);
+        }
+    }
+
+    /**
+     * Remove the entities required by the flow.
+     */
+    public void remove(String flowId) {
+        FlowExpectedEntities entities = flows.remove(flowId);
+        if (entities != null) {
+            fingerprint -= fingerprint(flowId, entities);
+        }
+    }
+
+    public Set<String> getFlowIds() {
+        return Collections.unmodifiableSet(flows.keySet());
+    }
+
+    public Set<Long> getCookies() {
+        return flows.values().stream()
+                .flatMap(entry -> entry.getCookies().stream())
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    public Set<Long> getServer42IngressCookies() {
+        return flows.values().stream()
+                .flatMap(entry -> entry.getServer42IngressCookies().stream())
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    public Collection<SimpleMeterEntry> getMeters() {
+        return flows.values().stream()
+                .flatMap(entry -> entry.getMeters().stream())
+                .collect(Collectors.toList());
+    }
+
+    public Set<Integer> getGroupIds() {
+        return flows.values().stream()
+                .flatMap(entry -> entry.getGroupIds().stream())
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static long fingerprint(String flowId, FlowExpectedEntities entities) {
+        long hash = flowId.hashCode() * 31L + entities.hashCode();
+        // murmur3 finalizer, spreads the hash over all bits before summing
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb34fe1bc1a53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
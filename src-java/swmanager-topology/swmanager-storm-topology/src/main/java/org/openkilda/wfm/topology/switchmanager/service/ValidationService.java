@@ -33,4 +33,14 @@ public interface ValidationService {
 
     ValidateMetersResult validateMeters(SwitchId switchId, List<MeterEntry> presentMeters,
                                         List<MeterEntry> expectedDefaultMeters);
+
+    /**
+     * Update expected states of switches after the flow was created, updated or removed.
+     */
+    void handleFlowUpdate(String flowId);
+
+    /**
+     * Drop all expected states of switches, they are built from scratch on the next validation.
+     */
+    void resetExpectedStates();
 }
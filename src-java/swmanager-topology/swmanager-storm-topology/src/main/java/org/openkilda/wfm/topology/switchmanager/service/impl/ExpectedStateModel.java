@@ -0,0 +1,277 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.switchmanager.service.impl;
+
+import org.openkilda.adapter.FlowSideAdapter;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEndpoint;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.FlowPathStatus;
+import org.openkilda.model.Meter;
+import org.openkilda.model.MirrorGroup;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.CookieBase.CookieType;
+import org.openkilda.model.cookie.FlowSharedSegmentCookie;
+import org.openkilda.model.cookie.FlowSharedSegmentCookie.SharedSegmentType;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.MirrorGroupRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.wfm.topology.switchmanager.model.FlowExpectedEntities;
+import org.openkilda.wfm.topology.switchmanager.model.SimpleMeterEntry;
+import org.openkilda.wfm.topology.switchmanager.model.SwitchExpectedState;
+
+import com.google.common.collect.Sets;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps materialised expected states of validated switches. A state is built from scratch when a switch is
+ * validated for the first time or the state is older than the TTL, after that it is updated flow by flow on flow
+ * change notifications. The TTL limits the lifetime of the changes made without notifications.
+ */
+@Slf4j
+public class ExpectedStateModel {
+    private final FlowRepository flowRepository;
+    private final FlowPathRepository flowPathRepository;
+    private final MirrorGroupRepository mirrorGroupRepository;
+    private final long flowMeterMinBurstSizeInKbits;
+    private final double flowMeterBurstCoefficient;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final Map<SwitchId, SwitchExpectedState> states = new HashMap<>();
+    private final Map<String, Set<SwitchId>> switchesByFlow = new HashMap<>();
+
+    public ExpectedStateModel(PersistenceManager persistenceManager, long flowMeterMinBurstSizeInKbits,
+                              double flowMeterBurstCoefficient, Duration ttl, Clock clock) {
+        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
+        this.flowRepository = repositoryFactory.createFlowRepository();
+        this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.mirrorGroupRepository = repositoryFactory.createMirrorGroupRepository();
+        this.flowMeterMinBurstSizeInKbits = flowMeterMinBurstSizeInKbits;
+        this.flowMeterBurstCoefficient = flowMeterBurstCoefficient;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Get expected state of the switch, the state is built if it is missing or expired.
+     */
+    public SwitchExpectedState get(SwitchId switchId) {
+        long now = clock.millis();
+        SwitchExpectedState state = states.get(switchId);
+        if (state != null && now - state.getBuildTime() < ttlMillis) {
+            return state;
+        }
+
+        if (state != null) {
+            unindex(state);
+        }
+        state = build(switchId, now);
+        states.put(switchId, state);
+        for (String flowId : state.getFlowIds()) {
+            switchesByFlow.computeIfAbsent(flowId, ignore -> new HashSet<>()).add(switchId);
+        }
+        log.debug("Expected state of switch {} is built: {} flows, fingerprint {}",
+                switchId, state.getFlowIds().size(), Long.toHexString(state.getFingerprint()));
+        return state;
+    }
+
+    /**
+     * Update the states of materialised switches affected by the flow. The flow is removed from all states it was
+     * part of and added to the states of the switches it requires entities on.
+     */
+    public void handleFlowUpdate(String flowId) {
+        Set<SwitchId> affected = switchesByFlow.remove(flowId);
+        if (affected != null) {
+            for (SwitchId switchId : affected) {
+                Optional.ofNullable(states.get(switchId)).ifPresent(state -> state.remove(flowId));
+            }
+        }
+        if (states.isEmpty()) {
+            return;
+        }
+
+        Optional<Flow> flow = flowRepository.findById(flowId);
+        if (!flow.isPresent()) {
+            log.debug("Flow {} is removed from expected states of switches {}", flowId, affected);
+            return;
+        }
+
+        Set<SwitchId> updated = new HashSet<>();
+        collectFlowEntities(flow.get()).forEach((switchId, entities) -> {
+            SwitchExpectedState state = states.get(switchId);
+            if (state != null) {
+                state.put(flowId, entities);
+                updated.add(switchId);
+            }
+        });
+        if (!updated.isEmpty()) {
+            switchesByFlow.put(flowId, updated);
+        }
+        log.debug("Flow {} is updated in expected states of switches {}", flowId, updated);
+    }
+
+    /**
+     * Drop the state of the switch, it will be built from scratch on the next use.
+     */
+    public void invalidate(SwitchId switchId) {
+        SwitchExpectedState state = states.remove(switchId);
+        if (state != null) {
+            unindex(state);
+        }
+    }
+
+    /**
+     * Drop the states of all switches, they will be built from scratch on the next use.
+     */
+    public void clear() {
+        states.clear();
+        switchesByFlow.clear();
+    }
+
+    private SwitchExpectedState build(SwitchId switchId, long now) {
+        Map<String, FlowExpectedEntities> flows = new HashMap<>();
+
+        // transit segments
+        flowPathRepository.findBySegmentDestSwitch(switchId).stream()
+                .filter(this::isActual)
+                .forEach(path -> getEntities(flows, path).getCookies().add(path.getCookie().getValue()));
+
+        // termination segments
+        flowPathRepository.findByEndpointSwitch(switchId).stream()
+                .filter(this::isActual)
+                .forEach(path -> addEndpointEntities(switchId, path, getEntities(flows, path)));
+
+        flowPathRepository.findBySrcSwitch(switchId).stream()
+                .filter(this::isActual)
+                .filter(path -> path.getMeterId() != null)
+                .forEach(path -> getEntities(flows, path).getMeters().add(makeMeterEntry(path)));
+
+        for (MirrorGroup group : mirrorGroupRepository.findBySwitchId(switchId)) {
+            flows.computeIfAbsent(group.getFlowId(), ignore -> new FlowExpectedEntities())
+                    .getGroupIds().add((int) group.getGroupId().getValue());
+        }
+
+        SwitchExpectedState state = new SwitchExpectedState(switchId, now);
+        flows.forEach(state::put);
+        return state;
+    }
+
+    private Map<SwitchId, FlowExpectedEntities> collectFlowEntities(Flow flow) {
+        Map<SwitchId, FlowExpectedEntities> result = new HashMap<>();
+        for (FlowPath path : flow.getPaths()) {
+            for (MirrorGroup group : mirrorGroupRepository.findByPathId(path.getPathId())) {
+                result.computeIfAbsent(group.getSwitchId(), ignore -> new FlowExpectedEntities())
+                        .getGroupIds().add((int) group.getGroupId().getValue());
+            }
+            if (!isActual(path)) {
+                continue;
+            }
+
+            long cookie = path.getCookie().getValue();
+            for (PathSegment segment : path.getSegments()) {
+                result.computeIfAbsent(segment.getDestSwitchId(), ignore -> new FlowExpectedEntities())
+                        .getCookies().add(cookie);
+            }
+
+            // the same filter as in FlowPathRepository.findByEndpointSwitch/findBySrcSwitch
+            boolean includeSrc = !path.isProtected();
+            for (SwitchId endpoint : Sets.newHashSet(path.getSrcSwitchId(), path.getDestSwitchId())) {
+                if (includeSrc || !endpoint.equals(path.getSrcSwitchId())) {
+                    addEndpointEntities(endpoint, path,
+                            result.computeIfAbsent(endpoint, ignore -> new FlowExpectedEntities()));
+                }
+            }
+            if (includeSrc && path.getMeterId() != null) {
+                result.computeIfAbsent(path.getSrcSwitchId(), ignore -> new FlowExpectedEntities())
+                        .getMeters().add(makeMeterEntry(path));
+            }
+        }
+        return result;
+    }
+
+    private void addEndpointEntities(SwitchId switchId, FlowPath path, FlowExpectedEntities entities) {
+        Flow flow = path.getFlow();
+
+        entities.getCookies().add(path.getCookie().getValue());
+
+        // shared outer vlan match rule
+        FlowSideAdapter ingress = FlowSideAdapter.makeIngressAdapter(flow, path);
+        FlowEndpoint endpoint = ingress.getEndpoint();
+        if (path.isSrcWithMultiTable()
+                && switchId.equals(endpoint.getSwitchId())
+                && FlowEndpoint.isVlanIdSet(endpoint.getOuterVlanId())
+                && ingress.isPrimaryEgressPath(path.getPathId())) {
+            entities.getCookies().add(FlowSharedSegmentCookie.builder(SharedSegmentType.QINQ_OUTER_VLAN)
+                    .portNumber(endpoint.getPortNumber())
+                    .vlanId(endpoint.getOuterVlanId())
+                    .build().getValue());
+        }
+        if (switchId.equals(flow.getLoopSwitchId()) && !path.isProtected()) {
+            entities.getCookies().add(path.getCookie().toBuilder().looped(true).build().getValue());
+        }
+
+        // server42 rules are required only if server42 flow RTT is enabled, it is checked during validation
+        if (switchId.equals(path.getSrcSwitchId()) && !path.isOneSwitchFlow()) {
+            entities.getServer42IngressCookies().add(
+                    path.getCookie().toBuilder().type(CookieType.SERVER_42_INGRESS).build().getValue());
+        }
+    }
+
+    private SimpleMeterEntry makeMeterEntry(FlowPath path) {
+        long calculatedBurstSize = Meter.calculateBurstSize(path.getBandwidth(), flowMeterMinBurstSizeInKbits,
+                flowMeterBurstCoefficient, path.getSrcSwitch().getDescription());
+
+        return SimpleMeterEntry.builder()
+                .flowId(path.getFlow().getFlowId())
+                .meterId(path.getMeterId().getValue())
+                .cookie(path.getCookie().getValue())
+                .rate(path.getBandwidth())
+                .burstSize(calculatedBurstSize)
+                .flags(Sets.newHashSet(Meter.getMeterKbpsFlags()))
+                .build();
+    }
+
+    private boolean isActual(FlowPath path) {
+        return path.getStatus() != FlowPathStatus.IN_PROGRESS && path.getFlow().isActualPathId(path.getPathId());
+    }
+
+    private static FlowExpectedEntities getEntities(Map<String, FlowExpectedEntities> flows, FlowPath path) {
+        return flows.computeIfAbsent(path.getFlow().getFlowId(), ignore -> new FlowExpectedEntities());
+    }
+
+    private void unindex(SwitchExpectedState state) {
+        for (String flowId : state.getFlowIds()) {
+            Set<SwitchId> switches = switchesByFlow.get(flowId);
+            if (switches != null) {
+                switches.remove(state.getSwitchId());
+                if (switches.isEmpty()) {
+                    switchesByFlow.remove(flowId);
+                }
+            }
+        }
+    }
+}
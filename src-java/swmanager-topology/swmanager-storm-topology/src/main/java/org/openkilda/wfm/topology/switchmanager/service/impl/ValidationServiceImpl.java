@@ -17,34 +17,20 @@ package org.openkilda.wfm.topology.switchmanager.service.impl;
 
 import static java.util.stream.Collectors.toList;
 
-import org.openkilda.adapter.FlowSideAdapter;
 import org.openkilda.messaging.info.meter.MeterEntry;
 import org.openkilda.messaging.info.rule.FlowEntry;
 import org.openkilda.messaging.info.rule.GroupEntry;
 import org.openkilda.messaging.info.switches.MeterInfoEntry;
 import org.openkilda.messaging.info.switches.MeterMisconfiguredInfoEntry;
 import org.openkilda.model.FeatureToggles;
-import org.openkilda.model.Flow;
-import org.openkilda.model.FlowEndpoint;
-import org.openkilda.model.FlowPath;
-import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.GroupId;
 import org.openkilda.model.Meter;
-import org.openkilda.model.MirrorGroup;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchProperties;
 import org.openkilda.model.cookie.Cookie;
-import org.openkilda.model.cookie.CookieBase;
-import org.openkilda.model.cookie.CookieBase.CookieType;
-import org.openkilda.model.cookie.FlowSegmentCookie;
-import org.openkilda.model.cookie.FlowSegmentCookie.FlowSegmentCookieBuilder;
-import org.openkilda.model.cookie.FlowSharedSegmentCookie;
-import org.openkilda.model.cookie.FlowSharedSegmentCookie.SharedSegmentType;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FeatureTogglesRepository;
-import org.openkilda.persistence.repositories.FlowPathRepository;
-import org.openkilda.persistence.repositories.MirrorGroupRepository;
 import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.topology.switchmanager.SwitchManagerTopologyConfig;
@@ -52,6 +38,7 @@ import org.openkilda.wfm.topology.switchmanager.error.InconsistentDataException;
 import org.openkilda.wfm.topology.switchmanager.error.SwitchNotFoundException;
 import org.openkilda.wfm.topology.switchmanager.mappers.MeterEntryMapper;
 import org.openkilda.wfm.topology.switchmanager.model.SimpleMeterEntry;
+import org.openkilda.wfm.topology.switchmanager.model.SwitchExpectedState;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateGroupsResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateMetersResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateRulesResult;
@@ -61,6 +48,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -73,22 +62,23 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public class ValidationServiceImpl implements ValidationService {
-    private FlowPathRepository flowPathRepository;
     private SwitchRepository switchRepository;
     private final SwitchPropertiesRepository switchPropertiesRepository;
     private final FeatureTogglesRepository featureTogglesRepository;
-    private MirrorGroupRepository mirrorGroupRepository;
-    private final long flowMeterMinBurstSizeInKbits;
-    private final double flowMeterBurstCoefficient;
+    private final ExpectedStateModel expectedStateModel;
 
     public ValidationServiceImpl(PersistenceManager persistenceManager, SwitchManagerTopologyConfig topologyConfig) {
-        this.flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
+        this(persistenceManager, topologyConfig, Clock.systemUTC());
+    }
+
+    ValidationServiceImpl(PersistenceManager persistenceManager, SwitchManagerTopologyConfig topologyConfig,
+                          Clock clock) {
         this.switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         this.switchPropertiesRepository = persistenceManager.getRepositoryFactory().createSwitchPropertiesRepository();
         this.featureTogglesRepository = persistenceManager.getRepositoryFactory().createFeatureTogglesRepository();
-        this.mirrorGroupRepository = persistenceManager.getRepositoryFactory().createMirrorGroupRepository();
-        this.flowMeterMinBurstSizeInKbits = topologyConfig.getFlowMeterMinBurstSizeInKbits();
-        this.flowMeterBurstCoefficient = topologyConfig.getFlowMeterBurstCoefficient();
+        this.expectedStateModel = new ExpectedStateModel(persistenceManager,
+                topologyConfig.getFlowMeterMinBurstSizeInKbits(), topologyConfig.getFlowMeterBurstCoefficient(),
+                Duration.ofSeconds(topologyConfig.getExpectedStateTtlSeconds()), clock);
     }
 
     @Override
@@ -96,35 +86,35 @@ public class ValidationServiceImpl implements ValidationService {
                                              List<FlowEntry> expectedDefaultRules) {
         log.debug("Validating rules on switch {}", switchId);
 
-        Set<Long> expectedCookies = getExpectedFlowRules(switchId);
+        SwitchExpectedState state = expectedStateModel.get(switchId);
+        Set<Long> expectedCookies = state.getCookies();
+        if (isServer42FlowRttEnabled(switchId)) {
+            expectedCookies.addAll(state.getServer42IngressCookies());
+        }
         return makeRulesResponse(expectedCookies, presentRules, expectedDefaultRules, switchId);
     }
 
-    private Set<Long> getExpectedServer42IngressCookies(SwitchId switchId, Collection<FlowPath> paths) {
+    @Override
+    public void handleFlowUpdate(String flowId) {
+        expectedStateModel.handleFlowUpdate(flowId);
+    }
+
+    @Override
+    public void resetExpectedStates() {
+        expectedStateModel.clear();
+    }
+
+    private boolean isServer42FlowRttEnabled(SwitchId switchId) {
         SwitchProperties switchProperties = switchPropertiesRepository.findBySwitchId(switchId)
                 .orElseThrow(() -> new InconsistentDataException(switchId, "switch properties not found"));
 
-        if (switchProperties.isServer42FlowRtt()
-                && featureTogglesRepository.find().map(FeatureToggles::getServer42FlowRtt).orElse(false)) {
-            return paths.stream()
-                    .filter(path -> switchId.equals(path.getSrcSwitchId()))
-                    .filter(path -> !path.isOneSwitchFlow())
-                    .map(FlowPath::getCookie)
-                    .map(FlowSegmentCookie::toBuilder)
-                    .map(builder -> builder.type(CookieType.SERVER_42_INGRESS))
-                    .map(FlowSegmentCookieBuilder::build)
-                    .map(CookieBase::getValue)
-                    .collect(Collectors.toSet());
-        }
-        return new HashSet<>();
+        return switchProperties.isServer42FlowRtt()
+                && featureTogglesRepository.find().map(FeatureToggles::getServer42FlowRtt).orElse(false);
     }
 
     @Override
     public ValidateGroupsResult validateGroups(SwitchId switchId, List<GroupEntry> presentGroups) {
-        Collection<MirrorGroup> expected = mirrorGroupRepository.findBySwitchId(switchId);
-        Set<Integer> expectedGroups = expected
-                .stream()
-                .map(group -> (int) group.getGroupId().getValue()).collect(Collectors.toSet());
+        Set<Integer> expectedGroups = expectedStateModel.get(switchId).getGroupIds();
 
         Set<Integer> presentGroupsIds = presentGroups.stream()
                 .map(GroupEntry::getGroupId)
@@ -148,7 +138,7 @@ public class ValidationServiceImpl implements ValidationService {
                             .collect(Collectors.joining(", ", "[", "]")));
         }
 
-        Set<Integer> misconfiguredGroups = calculateMisconfiguredGroups(switchId, expected, presentGroups);
+        Set<Integer> misconfiguredGroups = calculateMisconfiguredGroups(switchId, expectedGroups, presentGroups);
 
         return new ValidateGroupsResult(
                 ImmutableList.copyOf(missingGroups),
@@ -157,7 +147,7 @@ public class ValidationServiceImpl implements ValidationService {
                 ImmutableList.copyOf(misconfiguredGroups));
     }
 
-    private Set<Integer> calculateMisconfiguredGroups(SwitchId switchId, Collection<MirrorGroup> expected,
+    private Set<Integer> calculateMisconfiguredGroups(SwitchId switchId, Set<Integer> expected,
                                                       List<GroupEntry> presentGroups) {
         // TODO(tdurakov): implement this part
         return Collections.emptySet();
@@ -256,60 +246,11 @@ public class ValidationServiceImpl implements ValidationService {
                 .map(MeterEntryMapper.INSTANCE::map)
                 .collect(toList());
 
-        Collection<FlowPath> paths = flowPathRepository.findBySrcSwitch(switchId).stream()
-                .filter(flowPath -> flowPath.getStatus() != FlowPathStatus.IN_PROGRESS)
-                .filter(flowPath -> flowPath.getFlow().isActualPathId(flowPath.getPathId()))
-                .collect(Collectors.toList());
-
-        if (!paths.isEmpty()) {
-            expectedMeters.addAll(getExpectedFlowMeters(paths));
-        }
+        expectedMeters.addAll(expectedStateModel.get(switchId).getMeters());
 
         return comparePresentedAndExpectedMeters(isESwitch, presentMeters, expectedMeters);
     }
 
-    private Set<Long> getExpectedFlowRules(SwitchId switchId) {
-        Set<Long> result = new HashSet<>();
-
-        // collect transit segments
-        flowPathRepository.findBySegmentDestSwitch(switchId).stream()
-                .filter(flowPath -> flowPath.getStatus() != FlowPathStatus.IN_PROGRESS)
-                .filter(flowPath -> flowPath.getFlow().isActualPathId(flowPath.getPathId()))
-                .map(FlowPath::getCookie)
-                .map(Cookie::getValue)
-                .forEach(result::add);
-
-        // collect termination segments
-        Collection<FlowPath> affectedPaths = flowPathRepository.findByEndpointSwitch(switchId).stream()
-                .filter(flowPath -> flowPath.getStatus() != FlowPathStatus.IN_PROGRESS)
-                .filter(path -> path.getFlow().isActualPathId(path.getPathId()))
-                .collect(Collectors.toList());
-        for (FlowPath path : affectedPaths) {
-            Flow flow = path.getFlow();
-
-            result.add(path.getCookie().getValue());
-
-            // shared outer vlan match rule
-            FlowSideAdapter ingress = FlowSideAdapter.makeIngressAdapter(flow, path);
-            FlowEndpoint endpoint = ingress.getEndpoint();
-            if (path.isSrcWithMultiTable()
-                    && switchId.equals(endpoint.getSwitchId())
-                    && FlowEndpoint.isVlanIdSet(endpoint.getOuterVlanId())
-                    && ingress.isPrimaryEgressPath(path.getPathId())) {
-                result.add(FlowSharedSegmentCookie.builder(SharedSegmentType.QINQ_OUTER_VLAN)
-                        .portNumber(endpoint.getPortNumber())
-                        .vlanId(endpoint.getOuterVlanId())
-                        .build().getValue());
-            }
-            if (switchId.equals(flow.getLoopSwitchId()) && !path.isProtected()) {
-                result.add(path.getCookie().toBuilder().looped(true).build().getValue());
-            }
-        }
-
-        result.addAll(getExpectedServer42IngressCookies(switchId, affectedPaths));
-        return result;
-    }
-
     private ValidateMetersResult comparePresentedAndExpectedMeters(
             boolean isESwitch, List<MeterEntry> presentMeters, List<SimpleMeterEntry> expectedMeters) {
         Map<Long, MeterEntry> presentMeterMap = presentMeters.stream()
@@ -363,30 +304,6 @@ public class ValidationServiceImpl implements ValidationService {
         return excessMeters;
     }
 
-    private List<SimpleMeterEntry> getExpectedFlowMeters(Collection<FlowPath> unfilteredPaths) {
-        List<SimpleMeterEntry> expectedMeters = new ArrayList<>();
-
-        Collection<FlowPath> paths = unfilteredPaths.stream()
-                .filter(path -> path.getMeterId() != null)
-                .collect(Collectors.toList());
-
-        for (FlowPath path : paths) {
-            long calculatedBurstSize = Meter.calculateBurstSize(path.getBandwidth(), flowMeterMinBurstSizeInKbits,
-                    flowMeterBurstCoefficient, path.getSrcSwitch().getDescription());
-
-            SimpleMeterEntry expectedMeter = SimpleMeterEntry.builder()
-                    .flowId(path.getFlow().getFlowId())
-                    .meterId(path.getMeterId().getValue())
-                    .cookie(path.getCookie().getValue())
-                    .rate(path.getBandwidth())
-                    .burstSize(calculatedBurstSize)
-                    .flags(Sets.newHashSet(Meter.getMeterKbpsFlags()))
-                    .build();
-            expectedMeters.add(expectedMeter);
-        }
-        return expectedMeters;
-    }
-
     private MeterInfoEntry makeMissingMeterEntry(SimpleMeterEntry meter) {
         return MeterInfoEntry.builder()
                 .meterId(meter.getMeterId())
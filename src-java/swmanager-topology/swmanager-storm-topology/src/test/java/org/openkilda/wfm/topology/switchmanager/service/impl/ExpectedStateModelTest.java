@@ -0,0 +1,242 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.wfm.topology.switchmanager.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.FlowPathDirection;
+import org.openkilda.model.MeterId;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.FlowSegmentCookie;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.MirrorGroupRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.stubs.ManualClock;
+import org.openkilda.wfm.topology.switchmanager.model.SwitchExpectedState;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class ExpectedStateModelTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private static final Switch SWITCH_A = buildSwitch("00:01");
+    private static final Switch SWITCH_B = buildSwitch("00:02");
+    private static final Switch SWITCH_C = buildSwitch("00:03");
+    private static final List<SwitchId> ALL_SWITCHES = Arrays.asList(
+            SWITCH_A.getSwitchId(), SWITCH_B.getSwitchId(), SWITCH_C.getSwitchId());
+
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final ManualClock clock = new ManualClock();
+
+    private PersistenceManager persistenceManager;
+
+    @Before
+    public void setUp() {
+        FlowRepository flowRepository = mock(FlowRepository.class);
+        when(flowRepository.findById(any())).thenAnswer(
+                invocation -> Optional.ofNullable(flows.get(invocation.<String>getArgument(0))));
+
+        FlowPathRepository flowPathRepository = mock(FlowPathRepository.class);
+        when(flowPathRepository.findBySegmentDestSwitch(any())).thenAnswer(invocation -> findPaths(
+                path -> path.getSegments().stream()
+                        .anyMatch(segment -> segment.getDestSwitchId().equals(invocation.getArgument(0)))));
+        when(flowPathRepository.findByEndpointSwitch(any())).thenAnswer(invocation -> findPaths(
+                path -> isSrc(path, invocation.getArgument(0))
+                        || path.getDestSwitchId().equals(invocation.getArgument(0))));
+        when(flowPathRepository.findBySrcSwitch(any())).thenAnswer(invocation -> findPaths(
+                path -> isSrc(path, invocation.getArgument(0))));
+
+        RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
+        when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
+        when(repositoryFactory.createMirrorGroupRepository()).thenReturn(mock(MirrorGroupRepository.class));
+
+        persistenceManager = mock(PersistenceManager.class);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+    }
+
+    @Test
+    public void incrementalUpdateMatchesFullRebuild() {
+        putFlow("flow_1", 1, SWITCH_A, SWITCH_B, SWITCH_C);
+        putFlow("flow_2", 2, SWITCH_A, SWITCH_B);
+
+        ExpectedStateModel model = makeModel();
+        ALL_SWITCHES.forEach(model::get);
+
+        putFlow("flow_1", 3, SWITCH_A, SWITCH_C);
+        model.handleFlowUpdate("flow_1");
+        putFlow("flow_3", 4, SWITCH_C, SWITCH_B);
+        model.handleFlowUpdate("flow_3");
+
+        ExpectedStateModel reference = makeModel();
+        for (SwitchId switchId : ALL_SWITCHES) {
+            SwitchExpectedState actual = model.get(switchId);
+            SwitchExpectedState expected = reference.get(switchId);
+            assertEquals(expected.getFlowIds(), actual.getFlowIds());
+            assertEquals(expected.getCookies(), actual.getCookies());
+            assertEquals(expected.getServer42IngressCookies(), actual.getServer42IngressCookies());
+            assertEquals(new HashSet<>(expected.getMeters()), new HashSet<>(actual.getMeters()));
+            assertEquals(expected.getFingerprint(), actual.getFingerprint());
+        }
+        assertFalse(model.get(SWITCH_B.getSwitchId()).getFlowIds().contains("flow_1"));
+    }
+
+    @Test
+    public void removedFlowIsRemovedFromStates() {
+        putFlow("flow_1", 1, SWITCH_A, SWITCH_B, SWITCH_C);
+        putFlow("flow_2", 2, SWITCH_A, SWITCH_B);
+
+        ExpectedStateModel model = makeModel();
+        ALL_SWITCHES.forEach(model::get);
+        long initialFingerprint = model.get(SWITCH_A.getSwitchId()).getFingerprint();
+
+        flows.remove("flow_1");
+        model.handleFlowUpdate("flow_1");
+
+        for (SwitchId switchId : ALL_SWITCHES) {
+            assertFalse(model.get(switchId).getFlowIds().contains("flow_1"));
+        }
+        assertTrue(model.get(SWITCH_C.getSwitchId()).getCookies().isEmpty());
+        assertNotEquals(initialFingerprint, model.get(SWITCH_A.getSwitchId()).getFingerprint());
+        assertEquals(makeModel().get(SWITCH_A.getSwitchId()).getFingerprint(),
+                model.get(SWITCH_A.getSwitchId()).getFingerprint());
+    }
+
+    @Test
+    public void expiredStateIsRebuilt() {
+        putFlow("flow_1", 1, SWITCH_A, SWITCH_B);
+
+        ExpectedStateModel model = makeModel();
+        SwitchExpectedState state = model.get(SWITCH_A.getSwitchId());
+
+        // change without notification is not visible until the state is expired
+        putFlow("flow_2", 2, SWITCH_A, SWITCH_B);
+        clock.adjust(TTL.minusSeconds(1));
+        assertSame(state, model.get(SWITCH_A.getSwitchId()));
+
+        clock.adjust(Duration.ofSeconds(1));
+        SwitchExpectedState rebuilt = model.get(SWITCH_A.getSwitchId());
+        assertNotSame(state, rebuilt);
+        assertTrue(rebuilt.getFlowIds().contains("flow_2"));
+    }
+
+    @Test
+    public void clearedStateIsRebuilt() {
+        putFlow("flow_1", 1, SWITCH_A, SWITCH_B);
+
+        ExpectedStateModel model = makeModel();
+        SwitchExpectedState state = model.get(SWITCH_A.getSwitchId());
+
+        // change without notification, e.g. made while the topology was inactive
+        putFlow("flow_2", 2, SWITCH_A, SWITCH_B);
+        model.clear();
+
+        SwitchExpectedState rebuilt = model.get(SWITCH_A.getSwitchId());
+        assertNotSame(state, rebuilt);
+        assertTrue(rebuilt.getFlowIds().contains("flow_2"));
+    }
+
+    private ExpectedStateModel makeModel() {
+        return new ExpectedStateModel(persistenceManager, 1024, 1.05, TTL, clock);
+    }
+
+    private void putFlow(String flowId, long unmaskedCookie, Switch... switches) {
+        Switch src = switches[0];
+        Switch dst = switches[switches.length - 1];
+        Flow flow = Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(src)
+                .destSwitch(dst)
+                .bandwidth(1000)
+                .build();
+
+        List<Switch> forward = Arrays.asList(switches);
+        List<Switch> reverse = new ArrayList<>(forward);
+        Collections.reverse(reverse);
+        flow.setForwardPath(buildPath(flowId + "_forward", forward,
+                new FlowSegmentCookie(FlowPathDirection.FORWARD, unmaskedCookie), unmaskedCookie * 2));
+        flow.setReversePath(buildPath(flowId + "_reverse", reverse,
+                new FlowSegmentCookie(FlowPathDirection.REVERSE, unmaskedCookie), unmaskedCookie * 2 + 1));
+        flows.put(flowId, flow);
+    }
+
+    private static FlowPath buildPath(String pathId, List<Switch> switches, FlowSegmentCookie cookie, long meterId) {
+        List<PathSegment> segments = new ArrayList<>();
+        for (int i = 1; i < switches.size(); i++) {
+            segments.add(PathSegment.builder()
+                    .pathId(new PathId(pathId))
+                    .srcSwitch(switches.get(i - 1))
+                    .destSwitch(switches.get(i))
+                    .srcPort(10 + i)
+                    .destPort(20 + i)
+                    .build());
+        }
+        return FlowPath.builder()
+                .pathId(new PathId(pathId))
+                .srcSwitch(switches.get(0))
+                .destSwitch(switches.get(switches.size() - 1))
+                .cookie(cookie)
+                .meterId(new MeterId(MeterId.MIN_FLOW_METER_ID + meterId))
+                .bandwidth(1000)
+                .segments(segments)
+                .build();
+    }
+
+    private List<FlowPath> findPaths(Predicate<FlowPath> filter) {
+        return flows.values().stream()
+                .flatMap(flow -> flow.getPaths().stream())
+                .filter(filter)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isSrc(FlowPath path, SwitchId switchId) {
+        return !path.isProtected() && path.getSrcSwitchId().equals(switchId);
+    }
+
+    private static Switch buildSwitch(String switchId) {
+        return Switch.builder()
+                .switchId(new SwitchId(switchId))
+                .description("Nicira, Inc. OF_13 2.5.5")
+                .build();
+    }
+}
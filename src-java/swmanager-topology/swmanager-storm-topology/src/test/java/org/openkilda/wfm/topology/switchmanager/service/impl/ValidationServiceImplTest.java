@@ -44,6 +44,8 @@ import org.openkilda.model.cookie.FlowSegmentCookie;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FeatureTogglesRepository;
 import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.MirrorGroupRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
@@ -345,6 +347,8 @@ public class ValidationServiceImplTest {
         private SwitchRepository switchRepository = mock(SwitchRepository.class);
         private SwitchPropertiesRepository switchPropertiesRepository = mock(SwitchPropertiesRepository.class);
         private FeatureTogglesRepository featureTogglesRepository = mock(FeatureTogglesRepository.class);
+        private FlowRepository flowRepository = mock(FlowRepository.class);
+        private MirrorGroupRepository mirrorGroupRepository = mock(MirrorGroupRepository.class);
 
         private long[] segmentsCookies = new long[0];
         private long[] ingressCookies = new long[0];
@@ -468,6 +472,8 @@ public class ValidationServiceImplTest {
 
             RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
             when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
+            when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
+            when(repositoryFactory.createMirrorGroupRepository()).thenReturn(mirrorGroupRepository);
 
             when(switchRepository.findById(SWITCH_ID_A)).thenReturn(Optional.of(switchA));
             when(switchRepository.findById(SWITCH_ID_B)).thenReturn(Optional.of(switchB));